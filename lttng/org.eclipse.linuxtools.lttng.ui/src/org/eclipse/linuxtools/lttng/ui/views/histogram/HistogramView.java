@@ -269,8 +269,9 @@ public class HistogramView extends TmfView {
                 @Override
                 public void handleData(LttngEvent event) {
                     if (event != null) {
+                        // Don't hold the request thread while every view handles the signal
                         TmfTimeSynchSignal signal = new TmfTimeSynchSignal(this, event.getTimestamp());
-                        TmfSignalManager.dispatchSignal(signal);
+                        TmfSignalManager.dispatchSignalAsync(signal);
                     }
                 }
             };
@@ -32,6 +32,8 @@ public class AllTmfCoreTests {
 		suite.addTest(org.eclipse.linuxtools.tmf.tests.trace.AllTests.suite());
 		suite.addTest(org.eclipse.linuxtools.tmf.tests.experiment.AllTests.suite());
 		suite.addTest(org.eclipse.linuxtools.tmf.tests.uml2sd.AllTests.suite());
+		suite.addTest(org.eclipse.linuxtools.tmf.tests.signal.AllTests.suite());
+		suite.addTest(org.eclipse.linuxtools.tmf.tests.metrics.AllTests.suite());
 		//$JUnit-END$
 		return suite;
 	}
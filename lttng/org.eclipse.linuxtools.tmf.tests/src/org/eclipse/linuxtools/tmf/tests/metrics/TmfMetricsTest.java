@@ -0,0 +1,299 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.tests.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.net.URL;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.linuxtools.tmf.component.TmfSyntheticEventProviderStub;
+import org.eclipse.linuxtools.tmf.event.TmfEvent;
+import org.eclipse.linuxtools.tmf.event.TmfTimeRange;
+import org.eclipse.linuxtools.tmf.metrics.TmfCounter;
+import org.eclipse.linuxtools.tmf.metrics.TmfLatencyHistogram;
+import org.eclipse.linuxtools.tmf.metrics.TmfMetrics;
+import org.eclipse.linuxtools.tmf.metrics.TmfProviderMetrics;
+import org.eclipse.linuxtools.tmf.request.TmfEventRequest;
+import org.eclipse.linuxtools.tmf.tests.TmfCoreTestPlugin;
+import org.eclipse.linuxtools.tmf.trace.TmfTraceStub;
+
+/**
+ * <b><u>TmfMetricsTest</u></b>
+ * <p>
+ * Test suite for the TMF metrics classes.
+ */
+@SuppressWarnings("nls")
+public class TmfMetricsTest extends TestCase {
+
+	// ------------------------------------------------------------------------
+	// Variables
+	// ------------------------------------------------------------------------
+
+    private static final String DIRECTORY   = "testfiles";
+    private static final String TEST_STREAM = "A-Test-10K";
+    private static final int    BLOCK_SIZE  = 500;
+    private static final int    NB_EVENTS   = 10000;
+    private static TmfTraceStub fTrace      = null;
+
+	// ------------------------------------------------------------------------
+	// Housekeeping
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @param name the test name
+	 */
+	public TmfMetricsTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		TmfMetrics.setEnabled(true);
+	}
+
+    private TmfTraceStub setupTrace(String path) {
+    	if (fTrace == null) {
+    		try {
+    	        URL location = FileLocator.find(TmfCoreTestPlugin.getDefault().getBundle(), new Path(path), null);
+    			File test = new File(FileLocator.toFileURL(location).toURI());
+    	        fTrace = new TmfTraceStub(test.getPath(), BLOCK_SIZE, false);
+    		} catch (URISyntaxException e) {
+    			e.printStackTrace();
+    		} catch (IOException e) {
+    			e.printStackTrace();
+    		}
+    	}
+    	return fTrace;
+    }
+
+	// ------------------------------------------------------------------------
+	// TmfCounter
+	// ------------------------------------------------------------------------
+
+	public void testCounter() throws Exception {
+		final TmfCounter counter = new TmfCounter();
+		final int NB_THREADS = 4;
+		final int NB_INCREMENTS = 10000;
+
+		Thread[] threads = new Thread[NB_THREADS];
+		for (int i = 0; i < NB_THREADS; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < NB_INCREMENTS; j++) {
+						counter.increment();
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		counter.add(5);
+		assertEquals("getValue", NB_THREADS * NB_INCREMENTS + 5, counter.getValue());
+
+		counter.reset();
+		assertEquals("reset", 0, counter.getValue());
+	}
+
+	// ------------------------------------------------------------------------
+	// TmfLatencyHistogram
+	// ------------------------------------------------------------------------
+
+	public void testHistogram() {
+		TmfLatencyHistogram histogram = new TmfLatencyHistogram();
+		assertEquals("getCount", 0, histogram.getCount());
+		assertEquals("getPercentile", 0, histogram.getPercentile(99));
+
+		for (int i = 0; i < 99; i++) {
+			histogram.record(1000);
+		}
+		histogram.record(1000000);
+		histogram.record(-1);
+
+		assertEquals("getCount", 100, histogram.getCount());
+		assertEquals("getTotal", 99 * 1000 + 1000000, histogram.getTotal());
+		assertEquals("getMax",   1000000, histogram.getMax());
+		assertEquals("getMean",  (99 * 1000 + 1000000) / 100.0, histogram.getMean(), 0.001);
+
+		// Percentiles are bucket upper bounds: within a factor of 2
+		long p50 = histogram.getPercentile(50);
+		assertTrue("p50", p50 >= 1000 && p50 < 2000);
+		long p99 = histogram.getPercentile(99);
+		assertTrue("p99", p99 >= 1000 && p99 < 2000);
+		assertEquals("p100", 1000000, histogram.getPercentile(100));
+
+		histogram.reset();
+		assertEquals("reset", 0, histogram.getCount());
+		assertEquals("reset", 0, histogram.getMax());
+	}
+
+	// ------------------------------------------------------------------------
+	// TmfProviderMetrics
+	// ------------------------------------------------------------------------
+
+	public void testProviderMetrics() {
+		TmfProviderMetrics metrics = new TmfProviderMetrics("test");
+		assertEquals("getName", "test", metrics.getName());
+		assertEquals("getEventsPerSecond", 0.0, metrics.getEventsPerSecond(), 0);
+		assertEquals("getCacheHitRatio",   0.0, metrics.getCacheHitRatio(), 0);
+		assertEquals("getCoalescingRatio", 0.0, metrics.getCoalescingRatio(), 0);
+
+		for (int i = 0; i < 4; i++) {
+			metrics.requestSubmitted();
+		}
+		metrics.requestCoalesced();
+		metrics.eventsRead(1000, 500000000L);
+		metrics.seekCompleted(2000000, true);
+		metrics.seekCompleted(4000000, false);
+		metrics.cacheAccessed(true);
+		metrics.cacheAccessed(true);
+		metrics.requestDequeued(3000000);
+
+		assertEquals("getRequestCount",       4, metrics.getRequestCount());
+		assertEquals("getEventCount",      1000, metrics.getEventCount());
+		assertEquals("getEventsPerSecond", 2000.0, metrics.getEventsPerSecond(), 0.001);
+		assertEquals("getSeekCount",          2, metrics.getSeekCount());
+		assertEquals("getMeanSeekMillis",   3.0, metrics.getMeanSeekMillis(), 0.001);
+		assertEquals("getMeanQueueWaitMillis", 3.0, metrics.getMeanQueueWaitMillis(), 0.001);
+		assertEquals("getCacheHitRatio",   0.75, metrics.getCacheHitRatio(), 0.001);
+		assertEquals("getCoalescingRatio", 0.25, metrics.getCoalescingRatio(), 0.001);
+
+		metrics.reset();
+		assertEquals("reset", 0, metrics.getRequestCount());
+		assertEquals("reset", 0, metrics.getSeekCount());
+		assertEquals("reset", 0.0, metrics.getCacheHitRatio(), 0);
+	}
+
+	// ------------------------------------------------------------------------
+	// TmfMetrics
+	// ------------------------------------------------------------------------
+
+	private static boolean isRegistered(TmfProviderMetrics metrics) {
+		for (TmfProviderMetrics m : TmfMetrics.getProviderMetrics()) {
+			if (m == metrics) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void testRegistry() throws Exception {
+		TmfProviderMetrics metrics = TmfMetrics.register("testRegistry");
+		TmfProviderMetrics other = TmfMetrics.register("testRegistry");
+		assertNotSame("register", metrics, other);
+		assertTrue("getId", metrics.getId() != other.getId());
+		assertTrue("getProviderMetrics", isRegistered(metrics));
+		assertTrue("getProviderMetrics", isRegistered(other));
+
+		metrics.requestSubmitted();
+		TmfMetrics.reset();
+		assertEquals("reset", 0, metrics.getRequestCount());
+
+		// Both are published, and withdrawn one at a time
+		TmfMetrics.init();
+		assertTrue("publish", ManagementFactory.getPlatformMBeanServer().isRegistered(TmfMetrics.getObjectName(metrics)));
+		assertTrue("publish", ManagementFactory.getPlatformMBeanServer().isRegistered(TmfMetrics.getObjectName(other)));
+		TmfMetrics.deregister(metrics);
+		assertFalse("deregister", isRegistered(metrics));
+		assertFalse("deregister", ManagementFactory.getPlatformMBeanServer().isRegistered(TmfMetrics.getObjectName(metrics)));
+		assertTrue("deregister", isRegistered(other));
+		TmfMetrics.deregister(other);
+		assertFalse("deregister", ManagementFactory.getPlatformMBeanServer().isRegistered(TmfMetrics.getObjectName(other)));
+	}
+
+	public void testProviderDisposed() throws Exception {
+		// Two providers of the same name
+		TmfSyntheticEventProviderStub provider1 = new TmfSyntheticEventProviderStub();
+		TmfSyntheticEventProviderStub provider2 = new TmfSyntheticEventProviderStub();
+		TmfProviderMetrics metrics1 = provider1.getMetrics();
+		TmfProviderMetrics metrics2 = provider2.getMetrics();
+		assertNotSame("getMetrics", metrics1, metrics2);
+		assertSame("getMetrics", metrics1, provider1.getMetrics());
+		assertEquals("getName", provider1.getName(), metrics1.getName());
+
+		TmfMetrics.init();
+		provider1.dispose();
+		assertFalse("dispose", isRegistered(metrics1));
+		assertFalse("dispose", ManagementFactory.getPlatformMBeanServer().isRegistered(TmfMetrics.getObjectName(metrics1)));
+		assertTrue("dispose", isRegistered(metrics2));
+
+		// A disposed provider does not register again
+		assertSame("getMetrics", metrics1, provider1.getMetrics());
+		assertFalse("getMetrics", isRegistered(metrics1));
+
+		provider2.dispose();
+		assertFalse("dispose", isRegistered(metrics2));
+	}
+
+	public void testDisabled() {
+		TmfMetrics.setEnabled(false);
+		assertEquals("startTimer", 0, TmfMetrics.startTimer());
+		TmfMetrics.setEnabled(true);
+		assertTrue("startTimer", TmfMetrics.startTimer() != 0);
+	}
+
+	// ------------------------------------------------------------------------
+	// Instrumentation
+	// ------------------------------------------------------------------------
+
+	public void testTraceMetrics() throws Exception {
+		TmfTraceStub trace = setupTrace(DIRECTORY + File.separator + TEST_STREAM);
+
+		// Dummy request to force the trace indexing
+		TmfEventRequest<TmfEvent> request = new TmfEventRequest<TmfEvent>(TmfEvent.class) {
+			@Override
+			public void handleData(TmfEvent event) {
+				super.handleData(event);
+			}
+		};
+		trace.sendRequest(request);
+		request.waitForCompletion();
+
+		TmfProviderMetrics metrics = trace.getMetrics();
+		assertEquals("getName", trace.getName(), metrics.getName());
+		metrics.reset();
+
+		// A seek on a checkpoint is a hit, a seek between checkpoints is not
+		trace.seekEvent(BLOCK_SIZE);
+		trace.seekEvent(BLOCK_SIZE + 10);
+		assertEquals("getSeekCount",     2, metrics.getSeekCount());
+		assertEquals("getCacheHitRatio", 0.5, metrics.getCacheHitRatio(), 0.001);
+
+		request = new TmfEventRequest<TmfEvent>(TmfEvent.class, TmfTimeRange.Eternity, NB_EVENTS, BLOCK_SIZE) {
+			@Override
+			public void handleData(TmfEvent event) {
+				super.handleData(event);
+			}
+		};
+		trace.sendRequest(request);
+		request.waitForCompletion();
+
+		assertEquals("getRequestCount", 1, metrics.getRequestCount());
+		assertEquals("getEventCount", NB_EVENTS, metrics.getEventCount());
+		assertTrue("getEventsPerSecond", metrics.getEventsPerSecond() > 0);
+		assertEquals("getQueueWait", 1, metrics.getQueueWait().getCount());
+
+		trace.dispose();
+		fTrace = null;
+	}
+
+}
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.tests.perf;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.linuxtools.tmf.TmfCorePlugin;
+
+@SuppressWarnings("nls")
+public class AllPerfTests {
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite("Performance test suite for " + TmfCorePlugin.PLUGIN_ID); //$NON-NLS-1$);
+		//$JUnit-BEGIN$
+		suite.addTestSuite(TmfCoreBenchmarks.class);
+		//$JUnit-END$
+		return suite;
+	}
+
+}
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.tests.perf;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <b><u>TmfBenchmark</u></b>
+ * <p>
+ * A minimal micro-benchmark harness: the measured operation is run a few
+ * times to warm up the JIT and the file system caches, then timed over a
+ * number of iterations.
+ * <p>
+ * Each run returns the number of operations it performed (events read,
+ * seeks, filter evaluations, ...) so that the results can be compared
+ * across trace sizes.
+ * <p>
+ * The reported results are kept for the rest of the run and, when the
+ * org.eclipse.linuxtools.tmf.perf.results system property names a file,
+ * appended to that file (one tab-separated line per benchmark).
+ */
+@SuppressWarnings("nls")
+public abstract class TmfBenchmark {
+
+	// ------------------------------------------------------------------------
+	// Attributes
+	// ------------------------------------------------------------------------
+
+	public static final String RESULTS_PROPERTY = "org.eclipse.linuxtools.tmf.perf.results";
+
+	private static final List<Result> fResults = Collections.synchronizedList(new ArrayList<Result>());
+
+	private final String fName;
+
+	// ------------------------------------------------------------------------
+	// Constructors
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @param name the benchmark name
+	 */
+	public TmfBenchmark(String name) {
+		fName = name;
+	}
+
+	// ------------------------------------------------------------------------
+	// Hooks
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Prepares an iteration (not timed).
+	 *
+	 * @throws Exception
+	 */
+	protected void setUp() throws Exception {
+	}
+
+	/**
+	 * Runs the measured operation.
+	 *
+	 * @return the number of operations performed
+	 * @throws Exception
+	 */
+	protected abstract long run() throws Exception;
+
+	/**
+	 * Cleans up after an iteration (not timed).
+	 *
+	 * @throws Exception
+	 */
+	protected void tearDown() throws Exception {
+	}
+
+	// ------------------------------------------------------------------------
+	// Operations
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param warmups the number of untimed iterations
+	 * @param iterations the number of timed iterations
+	 * @return the benchmark result
+	 * @throws Exception
+	 */
+	public Result measure(int warmups, int iterations) throws Exception {
+		for (int i = 0; i < warmups; i++) {
+			setUp();
+			try {
+				run();
+			} finally {
+				tearDown();
+			}
+		}
+
+		Result result = new Result(fName);
+		for (int i = 0; i < iterations; i++) {
+			setUp();
+			try {
+				long start = System.nanoTime();
+				long ops = run();
+				result.add(ops, System.nanoTime() - start);
+			} finally {
+				tearDown();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Records a result and appends it to the results file, if any.
+	 *
+	 * @param result the benchmark result
+	 * @throws IOException if the results file can't be written
+	 */
+	public static void report(Result result) throws IOException {
+		fResults.add(result);
+		String fileName = System.getProperty(RESULTS_PROPERTY);
+		if (fileName != null) {
+			PrintWriter writer = new PrintWriter(new FileWriter(fileName, true));
+			try {
+				writer.println(result.toRecord());
+			} finally {
+				writer.close();
+			}
+		}
+	}
+
+	/**
+	 * @return the results reported so far, in reporting order
+	 */
+	public static List<Result> getResults() {
+		synchronized (fResults) {
+			return new ArrayList<Result>(fResults);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	// Result
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The timings of a benchmark.
+	 */
+	public static class Result {
+
+		private final String fName;
+		private int fIterations = 0;
+		private long fOps = 0;
+		private long fTotalTime = 0;
+		private long fMinTime = Long.MAX_VALUE;
+		private long fMinTimeOps = 0;
+
+		public Result(String name) {
+			fName = name;
+		}
+
+		void add(long ops, long nanos) {
+			fIterations++;
+			fOps += ops;
+			fTotalTime += nanos;
+			if (nanos < fMinTime) {
+				fMinTime = nanos;
+				fMinTimeOps = ops;
+			}
+		}
+
+		public String getName() {
+			return fName;
+		}
+
+		/**
+		 * @return the number of timed iterations
+		 */
+		public int getIterations() {
+			return fIterations;
+		}
+
+		/**
+		 * @return the average number of operations per iteration
+		 */
+		public long getOps() {
+			return (fIterations > 0) ? fOps / fIterations : 0;
+		}
+
+		/**
+		 * @return the average throughput, in operations per second
+		 */
+		public double getOpsPerSecond() {
+			return (fTotalTime > 0) ? fOps * 1000000000.0 / fTotalTime : 0;
+		}
+
+		/**
+		 * @return the best throughput, in operations per second
+		 */
+		public double getBestOpsPerSecond() {
+			return (fMinTime > 0 && fIterations > 0) ? fMinTimeOps * 1000000000.0 / fMinTime : 0;
+		}
+
+		/**
+		 * @return the average latency of an operation, in microseconds
+		 */
+		public double getMicrosPerOp() {
+			return (fOps > 0) ? fTotalTime / 1000.0 / fOps : 0;
+		}
+
+		/**
+		 * @return the average duration of an iteration, in milliseconds
+		 */
+		public double getMillisPerIteration() {
+			return (fIterations > 0) ? fTotalTime / 1000000.0 / fIterations : 0;
+		}
+
+		/**
+		 * @return the result as a tab-separated record: name, ops/s, best
+		 *         ops/s, us/op, ms/iteration, iterations
+		 */
+		public String toRecord() {
+			return String.format("%s\t%.0f\t%.0f\t%.3f\t%.3f\t%d",
+					fName, getOpsPerSecond(), getBestOpsPerSecond(), getMicrosPerOp(), getMillisPerIteration(), fIterations);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-28s %12.0f ops/s (best %12.0f) %10.3f us/op %10.3f ms/iteration (%d iterations)",
+					fName, getOpsPerSecond(), getBestOpsPerSecond(), getMicrosPerOp(), getMillisPerIteration(), fIterations);
+		}
+	}
+
+}
@@ -0,0 +1,348 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.tests.perf;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.tmf.event.TmfEvent;
+import org.eclipse.linuxtools.tmf.event.TmfEventContent;
+import org.eclipse.linuxtools.tmf.event.TmfTimeRange;
+import org.eclipse.linuxtools.tmf.event.TmfTimestamp;
+import org.eclipse.linuxtools.tmf.experiment.TmfExperiment;
+import org.eclipse.linuxtools.tmf.filter.model.TmfFilterAndNode;
+import org.eclipse.linuxtools.tmf.filter.model.TmfFilterEqualsNode;
+import org.eclipse.linuxtools.tmf.filter.model.TmfFilterMatchesNode;
+import org.eclipse.linuxtools.tmf.filter.model.TmfFilterRootNode;
+import org.eclipse.linuxtools.tmf.request.TmfDataRequest;
+import org.eclipse.linuxtools.tmf.request.TmfEventRequest;
+import org.eclipse.linuxtools.tmf.signal.TmfEndSynchSignal;
+import org.eclipse.linuxtools.tmf.signal.TmfStartSynchSignal;
+import org.eclipse.linuxtools.tmf.trace.ITmfTrace;
+import org.eclipse.linuxtools.tmf.trace.TmfTraceStub;
+
+/**
+ * <b><u>TmfCoreBenchmarks</u></b>
+ * <p>
+ * Benchmarks of the TMF core hot paths over synthetic traces.
+ * <p>
+ * The workload can be sized with the following system properties:
+ * <ul>
+ * <li>org.eclipse.linuxtools.tmf.perf.events: events per trace (default 100000)
+ * <li>org.eclipse.linuxtools.tmf.perf.traces: traces per experiment (default 4)
+ * <li>org.eclipse.linuxtools.tmf.perf.warmups: untimed iterations (default 2)
+ * <li>org.eclipse.linuxtools.tmf.perf.iterations: timed iterations (default 5)
+ * </ul>
+ * The results are reported through {@link TmfBenchmark#report}; set the
+ * org.eclipse.linuxtools.tmf.perf.results property to collect them in a file.
+ * These tests are not part of AllTmfCoreTests: run AllPerfTests (or the
+ * "perf" Maven profile) instead.
+ */
+@SuppressWarnings("nls")
+public class TmfCoreBenchmarks extends TestCase {
+
+	// ------------------------------------------------------------------------
+	// Variables
+	// ------------------------------------------------------------------------
+
+	private static final String PROPERTY_PREFIX = "org.eclipse.linuxtools.tmf.perf.";
+
+	private static final int NB_EVENTS  = Integer.getInteger(PROPERTY_PREFIX + "events", 100000);
+	private static final int NB_TRACES  = Integer.getInteger(PROPERTY_PREFIX + "traces", 4);
+	private static final int WARMUPS    = Integer.getInteger(PROPERTY_PREFIX + "warmups", 2);
+	private static final int ITERATIONS = Integer.getInteger(PROPERTY_PREFIX + "iterations", 5);
+
+	private static final int BLOCK_SIZE  = 1000;
+	private static final int NB_SEEKS    = 1000;
+	private static final int NB_REQUESTS = 8;
+	private static final int NB_FILLS    = 100;
+	private static final int CACHE_SIZE  = 100;
+	private static final byte SCALE      = (byte) -3;
+
+	private static File[] fFiles;
+	private static TmfTraceStub fTrace;
+
+	// ------------------------------------------------------------------------
+	// Housekeeping
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @param name the test name
+	 */
+	public TmfCoreBenchmarks(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setupTraces();
+	}
+
+	private synchronized static void setupTraces() throws Exception {
+		if (fFiles == null) {
+			fFiles = TmfSyntheticTraces.createTraces(NB_TRACES, NB_EVENTS);
+			fTrace = new TmfTraceStub(fFiles[0].getPath(), BLOCK_SIZE, false);
+			index(fTrace);
+		}
+	}
+
+	private static int index(TmfTraceStub trace) throws InterruptedException {
+		TmfEventRequest<TmfEvent> request = new TmfEventRequest<TmfEvent>(TmfEvent.class) {
+			@Override
+			public void handleData(TmfEvent event) {
+				super.handleData(event);
+			}
+		};
+		trace.sendRequest(request);
+		request.waitForCompletion();
+		return request.getNbRead();
+	}
+
+	private static void report(TmfBenchmark.Result result) throws Exception {
+		TmfBenchmark.report(result);
+		assertEquals(result.getName() + " iterations", ITERATIONS, result.getIterations());
+		assertTrue(result.getName() + " ops/s", result.getOpsPerSecond() > 0);
+	}
+
+	// ------------------------------------------------------------------------
+	// Indexing
+	// ------------------------------------------------------------------------
+
+	public void testIndexing() throws Exception {
+		TmfBenchmark.Result result = new TmfBenchmark("trace indexing") {
+			TmfTraceStub trace;
+
+			@Override
+			protected void setUp() throws Exception {
+				trace = new TmfTraceStub(fFiles[0].getPath(), BLOCK_SIZE, false);
+			}
+
+			@Override
+			protected long run() throws Exception {
+				return index(trace);
+			}
+
+			@Override
+			protected void tearDown() {
+				trace.dispose();
+			}
+		}.measure(WARMUPS, ITERATIONS);
+
+		report(result);
+		assertEquals("nbEvents", NB_EVENTS, result.getOps());
+	}
+
+	// ------------------------------------------------------------------------
+	// seekEvent
+	// ------------------------------------------------------------------------
+
+	public void testSeekByRank() throws Exception {
+		final Random random = new Random(19580427);
+		TmfBenchmark.Result result = new TmfBenchmark("seekEvent(rank)") {
+			@Override
+			protected long run() {
+				for (int i = 0; i < NB_SEEKS; i++) {
+					long rank = random.nextInt(NB_EVENTS);
+					assertEquals("rank", rank, fTrace.seekEvent(rank).getRank());
+				}
+				return NB_SEEKS;
+			}
+		}.measure(WARMUPS, ITERATIONS);
+
+		report(result);
+	}
+
+	public void testSeekByTime() throws Exception {
+		final Random random = new Random(19580427);
+		TmfBenchmark.Result result = new TmfBenchmark("seekEvent(time)") {
+			@Override
+			protected long run() {
+				for (int i = 0; i < NB_SEEKS; i++) {
+					long rank = random.nextInt(NB_EVENTS);
+					TmfTimestamp timestamp = new TmfTimestamp(rank * NB_TRACES + 1, SCALE, 0);
+					assertEquals("rank", rank, fTrace.seekEvent(timestamp).getRank());
+				}
+				return NB_SEEKS;
+			}
+		}.measure(WARMUPS, ITERATIONS);
+
+		report(result);
+	}
+
+	// ------------------------------------------------------------------------
+	// Experiment
+	// ------------------------------------------------------------------------
+
+	public void testExperimentMerge() throws Exception {
+		TmfBenchmark.Result result = new TmfBenchmark("experiment merge (" + NB_TRACES + " traces)") {
+			TmfExperiment<TmfEvent> experiment;
+
+			@Override
+			protected void setUp() throws Exception {
+				ITmfTrace[] traces = new ITmfTrace[NB_TRACES];
+				for (int i = 0; i < NB_TRACES; i++) {
+					traces[i] = new TmfTraceStub(fFiles[i].getPath(), BLOCK_SIZE, false);
+				}
+				experiment = new TmfExperiment<TmfEvent>(TmfEvent.class, "perf", traces, TmfTimestamp.Zero, BLOCK_SIZE);
+			}
+
+			@Override
+			protected long run() throws Exception {
+				final long[] last = new long[1];
+				TmfEventRequest<TmfEvent> request = new TmfEventRequest<TmfEvent>(TmfEvent.class, TmfTimeRange.Eternity,
+						TmfDataRequest.ALL_DATA, BLOCK_SIZE) {
+					@Override
+					public void handleData(TmfEvent event) {
+						super.handleData(event);
+						long ts = event.getTimestamp().getValue();
+						assertTrue("ordered", ts > last[0]);
+						last[0] = ts;
+					}
+				};
+				experiment.sendRequest(request);
+				request.waitForCompletion();
+				return request.getNbRead();
+			}
+
+			@Override
+			protected void tearDown() {
+				experiment.dispose();
+			}
+		}.measure(WARMUPS, ITERATIONS);
+
+		report(result);
+		assertEquals("nbEvents", NB_EVENTS * NB_TRACES, result.getOps());
+	}
+
+	// ------------------------------------------------------------------------
+	// Coalescing
+	// ------------------------------------------------------------------------
+
+	public void testCoalescedRequests() throws Exception {
+		TmfBenchmark.Result result = new TmfBenchmark("coalesced requests (" + NB_REQUESTS + ")") {
+			@Override
+			protected long run() throws Exception {
+				List<TmfDataRequest<TmfEvent>> requests = new ArrayList<TmfDataRequest<TmfEvent>>();
+				fTrace.startSynch(new TmfStartSynchSignal(0));
+				for (int i = 0; i < NB_REQUESTS; i++) {
+					TmfDataRequest<TmfEvent> request = new TmfDataRequest<TmfEvent>(TmfEvent.class, 0, NB_EVENTS, BLOCK_SIZE) {
+						@Override
+						public void handleData(TmfEvent event) {
+							super.handleData(event);
+						}
+					};
+					requests.add(request);
+					fTrace.sendRequest(request);
+				}
+				fTrace.endSynch(new TmfEndSynchSignal(0));
+
+				long nbRead = 0;
+				for (TmfDataRequest<TmfEvent> request : requests) {
+					request.waitForCompletion();
+					nbRead += request.getNbRead();
+				}
+				return nbRead;
+			}
+		}.measure(WARMUPS, ITERATIONS);
+
+		report(result);
+		assertEquals("nbEvents", (long) NB_EVENTS * NB_REQUESTS, result.getOps());
+	}
+
+	// ------------------------------------------------------------------------
+	// Filter
+	// ------------------------------------------------------------------------
+
+	public void testFilter() throws Exception {
+		final List<TmfEvent> events = new ArrayList<TmfEvent>();
+		TmfEventRequest<TmfEvent> request = new TmfEventRequest<TmfEvent>(TmfEvent.class, TmfTimeRange.Eternity,
+				Math.min(NB_EVENTS, 50000), BLOCK_SIZE) {
+			@Override
+			public void handleData(TmfEvent event) {
+				super.handleData(event);
+				events.add(event.clone());
+			}
+		};
+		fTrace.sendRequest(request);
+		request.waitForCompletion();
+
+		// source == "Source-3" && type matches "Type-[0-3]"
+		TmfFilterRootNode root = new TmfFilterRootNode();
+		TmfFilterAndNode and = new TmfFilterAndNode(root);
+		TmfFilterEqualsNode equals = new TmfFilterEqualsNode(and);
+		equals.setField(TmfEventContent.FIELD_ID_SOURCE);
+		equals.setValue("Source-3");
+		TmfFilterMatchesNode matches = new TmfFilterMatchesNode(and);
+		matches.setField(TmfEventContent.FIELD_ID_TYPE);
+		matches.setRegex("Type-[0-3]");
+		final TmfFilterRootNode filter = root;
+
+		final int[] nbMatches = new int[1];
+		TmfBenchmark.Result result = new TmfBenchmark("filter evaluation") {
+			@Override
+			protected long run() {
+				nbMatches[0] = 0;
+				for (TmfEvent event : events) {
+					if (filter.matches(event)) {
+						nbMatches[0]++;
+					}
+				}
+				return events.size();
+			}
+		}.measure(WARMUPS, ITERATIONS);
+
+		report(result);
+		assertTrue("nbMatches", nbMatches[0] > 0 && nbMatches[0] < events.size());
+	}
+
+	// ------------------------------------------------------------------------
+	// Events cache
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Reproduces the TmfEventsCache page fill (a data request of a cache
+	 * page from a random rank, cloning each event) without the events table.
+	 */
+	public void testEventsCacheFill() throws Exception {
+		final Random random = new Random(19580427);
+		final TmfEvent[] cache = new TmfEvent[CACHE_SIZE];
+		TmfBenchmark.Result result = new TmfBenchmark("events cache fill (" + CACHE_SIZE + ")") {
+			@Override
+			protected long run() throws Exception {
+				for (int i = 0; i < NB_FILLS; i++) {
+					int index = random.nextInt(NB_EVENTS - CACHE_SIZE);
+					TmfDataRequest<TmfEvent> request = new TmfDataRequest<TmfEvent>(TmfEvent.class, index, CACHE_SIZE) {
+						private int count = 0;
+						@Override
+						public void handleData(TmfEvent event) {
+							super.handleData(event);
+							cache[count++] = event.clone();
+						}
+					};
+					fTrace.sendRequest(request);
+					request.waitForCompletion();
+					assertEquals("nbRead", CACHE_SIZE, request.getNbRead());
+				}
+				return NB_FILLS;
+			}
+		}.measure(WARMUPS, ITERATIONS);
+
+		report(result);
+	}
+
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.tests.perf;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * <b><u>TmfSyntheticTraces</u></b>
+ * <p>
+ * Generates a set of synthetic trace files, in the TmfTraceStub format (see
+ * CreateTestFiles), for the benchmarks.
+ * <p>
+ * The timestamps of the traces of a set are interleaved (trace k holds the
+ * timestamps k+1, k+1+n, k+1+2n, ... for a set of n traces) so that an
+ * experiment over the set has to merge the traces at every event.
+ */
+@SuppressWarnings("nls")
+public class TmfSyntheticTraces {
+
+	// ------------------------------------------------------------------------
+	// Constants
+	// ------------------------------------------------------------------------
+
+	public static final int NB_SOURCES = 15;
+	public static final int NB_TYPES   =  7;
+
+	// ------------------------------------------------------------------------
+	// Operations
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Creates a set of trace files in a new temporary directory. The files
+	 * are deleted when the VM exits.
+	 *
+	 * @param nbTraces the number of traces
+	 * @param nbEvents the number of events per trace
+	 * @return the trace files
+	 * @throws IOException
+	 */
+	public static File[] createTraces(int nbTraces, int nbEvents) throws IOException {
+		File directory = File.createTempFile("tmf-perf", "");
+		if (!directory.delete() || !directory.mkdir()) {
+			throw new IOException("Can't create " + directory);
+		}
+		directory.deleteOnExit();
+
+		File[] files = new File[nbTraces];
+		for (int i = 0; i < nbTraces; i++) {
+			files[i] = new File(directory, "Synthetic-" + i + "-" + nbEvents);
+			files[i].deleteOnExit();
+			createTrace(files[i], nbEvents, i, nbTraces);
+		}
+		return files;
+	}
+
+	/**
+	 * Creates a trace file.
+	 *
+	 * @param file the trace file
+	 * @param nbEvents the number of events
+	 * @param offset the timestamp offset of the trace in its set
+	 * @param stride the number of traces in the set
+	 * @throws IOException
+	 */
+	public static void createTrace(File file, int nbEvents, int offset, int stride) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			for (int i = 0; i < nbEvents; i++) {
+				long ts = (long) i * stride + offset + 1;
+				int sourceIndex = i % NB_SOURCES;
+				int typeIndex   = i % NB_TYPES;
+				out.writeLong(ts);                      // Timestamp
+				out.writeUTF("Source-" + sourceIndex);  // Source
+				out.writeUTF("Type-"   + typeIndex);    // Type
+				out.writeInt(i + 1);                    // Reference (event #)
+				for (int j = 0; j < typeIndex; j++) {
+					out.writeUTF("Field-" + sourceIndex + "-" + j);
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+}
@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.tests.signal;
+
+import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.tmf.event.TmfTimestamp;
+import org.eclipse.linuxtools.tmf.signal.TmfEndSynchSignal;
+import org.eclipse.linuxtools.tmf.signal.TmfSignal;
+import org.eclipse.linuxtools.tmf.signal.TmfSignalHandler;
+import org.eclipse.linuxtools.tmf.signal.TmfSignalManager;
+import org.eclipse.linuxtools.tmf.signal.TmfStartSynchSignal;
+import org.eclipse.linuxtools.tmf.signal.TmfTimeSynchSignal;
+
+/**
+ * <b><u>TmfSignalManagerTest</u></b>
+ * <p>
+ * Test suite for the TmfSignalManager class.
+ */
+@SuppressWarnings("nls")
+public class TmfSignalManagerTest extends TestCase {
+
+	// ------------------------------------------------------------------------
+	// Variables
+	// ------------------------------------------------------------------------
+
+	private static final long TIMEOUT = 5000;
+
+	// ------------------------------------------------------------------------
+	// Housekeeping
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @param name the test name
+	 */
+	public TmfSignalManagerTest(String name) {
+		super(name);
+	}
+
+	// ------------------------------------------------------------------------
+	// Helper classes
+	// ------------------------------------------------------------------------
+
+	public static class TmfTestSignal extends TmfSignal {
+		public TmfTestSignal(Object source) {
+			super(source);
+		}
+	}
+
+	public static class TmfBlockingSignal extends TmfSignal {
+		public final CountDownLatch fRelease = new CountDownLatch(1);
+		public TmfBlockingSignal(Object source) {
+			super(source);
+		}
+	}
+
+	public static class SignalListener {
+		public final Vector<TmfSignal> fReceived = new Vector<TmfSignal>();
+		public final Vector<TmfTimeSynchSignal> fTimeSynchs = new Vector<TmfTimeSynchSignal>();
+		public final CountDownLatch fDone = new CountDownLatch(1);
+
+		@TmfSignalHandler
+		public void testSignalReceived(TmfTestSignal signal) {
+			fReceived.add(signal);
+			fDone.countDown();
+		}
+
+		@TmfSignalHandler
+		public void timeSynchSignalReceived(TmfTimeSynchSignal signal) {
+			fTimeSynchs.add(signal);
+		}
+
+		@TmfSignalHandler
+		public void blockingSignalReceived(TmfBlockingSignal signal) throws InterruptedException {
+			signal.fRelease.await(TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+
+		public void notAHandler(TmfTestSignal signal) {
+			fail("notAHandler");
+		}
+	}
+
+	public static class FailingListener {
+		@TmfSignalHandler
+		public void testSignalReceived(TmfTestSignal signal) {
+			throw new IllegalStateException("failing handler");
+		}
+	}
+
+	public static class RegisteringListener {
+		public volatile boolean fRegistered = false;
+
+		// Registers a listener from another thread and waits for it, like a
+		// handler that calls syncExec() on a busy UI thread would
+		@TmfSignalHandler
+		public void testSignalReceived(TmfTestSignal signal) throws InterruptedException {
+			Thread thread = new Thread() {
+				@Override
+				public void run() {
+					Object other = new Object();
+					TmfSignalManager.register(other);
+					TmfSignalManager.deregister(other);
+					fRegistered = true;
+				}
+			};
+			thread.start();
+			thread.join(TIMEOUT);
+		}
+	}
+
+	public static class SynchListener {
+		public final Vector<TmfSignal> fReceived = new Vector<TmfSignal>();
+
+		@TmfSignalHandler
+		public void startSynch(TmfStartSynchSignal signal) {
+			fReceived.add(signal);
+		}
+
+		@TmfSignalHandler
+		public void endSynch(TmfEndSynchSignal signal) {
+			fReceived.add(signal);
+		}
+
+		@TmfSignalHandler
+		public void anySignal(TmfSignal signal) {
+			fReceived.add(signal);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	// dispatchSignal
+	// ------------------------------------------------------------------------
+
+	public void testDispatchSignal() {
+		SignalListener listener = new SignalListener();
+		TmfSignalManager.register(listener);
+
+		TmfTestSignal signal = new TmfTestSignal(this);
+		TmfSignalManager.dispatchSignal(signal);
+		TmfSignalManager.deregister(listener);
+
+		assertEquals("nbReceived", 1, listener.fReceived.size());
+		assertSame("signal", signal, listener.fReceived.get(0));
+		assertEquals("nbTimeSynchs", 0, listener.fTimeSynchs.size());
+	}
+
+	public void testDispatchSignalBracketing() {
+		SynchListener listener = new SynchListener();
+		TmfSignalManager.register(listener);
+
+		TmfTestSignal signal = new TmfTestSignal(this);
+		TmfSignalManager.dispatchSignal(signal);
+		TmfSignalManager.deregister(listener);
+
+		// The synch signals are also received by the generic handler
+		assertEquals("nbReceived", 5, listener.fReceived.size());
+		assertTrue("start", listener.fReceived.get(0) instanceof TmfStartSynchSignal);
+		assertSame("signal", signal, listener.fReceived.get(2));
+		assertTrue("end", listener.fReceived.get(3) instanceof TmfEndSynchSignal);
+		assertEquals("reference", listener.fReceived.get(0).getReference(), signal.getReference());
+		assertEquals("reference", listener.fReceived.get(3).getReference(), signal.getReference());
+	}
+
+	public void testRegisterAfterDispatch() {
+		SignalListener listener1 = new SignalListener();
+		SignalListener listener2 = new SignalListener();
+
+		// Populate the handler table with listener1 only
+		TmfSignalManager.register(listener1);
+		TmfSignalManager.dispatchSignal(new TmfTestSignal(this));
+
+		// The table must be refreshed after a (de)registration
+		TmfSignalManager.register(listener2);
+		TmfSignalManager.dispatchSignal(new TmfTestSignal(this));
+		TmfSignalManager.deregister(listener1);
+		TmfSignalManager.dispatchSignal(new TmfTestSignal(this));
+		TmfSignalManager.deregister(listener2);
+		TmfSignalManager.dispatchSignal(new TmfTestSignal(this));
+
+		assertEquals("listener1", 2, listener1.fReceived.size());
+		assertEquals("listener2", 2, listener2.fReceived.size());
+	}
+
+	public void testFailingHandler() {
+		FailingListener failing = new FailingListener();
+		SignalListener listener = new SignalListener();
+		TmfSignalManager.register(failing);
+		TmfSignalManager.register(listener);
+
+		TmfTestSignal signal = new TmfTestSignal(this);
+		TmfSignalManager.dispatchSignal(signal);
+		TmfSignalManager.deregister(failing);
+		TmfSignalManager.deregister(listener);
+
+		// The handlers after the failing one still get the signal
+		assertEquals("nbReceived", 1, listener.fReceived.size());
+		assertSame("signal", signal, listener.fReceived.get(0));
+	}
+
+	public void testHandlerOutsideLock() {
+		RegisteringListener listener = new RegisteringListener();
+		TmfSignalManager.register(listener);
+
+		TmfSignalManager.dispatchSignal(new TmfTestSignal(this));
+		TmfSignalManager.deregister(listener);
+
+		assertTrue("registered", listener.fRegistered);
+	}
+
+	// ------------------------------------------------------------------------
+	// dispatchSignalAsync
+	// ------------------------------------------------------------------------
+
+	public void testDispatchSignalAsync() throws Exception {
+		SignalListener listener = new SignalListener();
+		TmfSignalManager.register(listener);
+
+		TmfTestSignal signal = new TmfTestSignal(this);
+		TmfSignalManager.dispatchSignalAsync(signal);
+		assertTrue("delivered", listener.fDone.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		TmfSignalManager.deregister(listener);
+
+		assertEquals("nbReceived", 1, listener.fReceived.size());
+		assertSame("signal", signal, listener.fReceived.get(0));
+	}
+
+	public void testDispatchSignalAsyncCoalescing() throws Exception {
+		SignalListener listener = new SignalListener();
+		TmfSignalManager.register(listener);
+
+		// Hold the dispatcher thread while the time synch signals pile up
+		TmfBlockingSignal blocker = new TmfBlockingSignal(this);
+		TmfSignalManager.dispatchSignalAsync(blocker);
+
+		TmfTimeSynchSignal last = null;
+		for (int i = 0; i < 100; i++) {
+			last = new TmfTimeSynchSignal(this, new TmfTimestamp(i));
+			TmfSignalManager.dispatchSignalAsync(last);
+		}
+		TmfSignalManager.dispatchSignalAsync(new TmfTestSignal(this));
+		blocker.fRelease.countDown();
+
+		assertTrue("delivered", listener.fDone.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		TmfSignalManager.deregister(listener);
+
+		assertTrue("isCoalescable", TmfSignalManager.isCoalescable(last));
+		assertEquals("nbTimeSynchs", 1, listener.fTimeSynchs.size());
+		assertSame("latest", last, listener.fTimeSynchs.get(0));
+	}
+
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.tmf.ui.tests.views.timechart;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.linuxtools.tmf.event.TmfEvent;
+import org.eclipse.linuxtools.tmf.event.TmfEventReference;
+import org.eclipse.linuxtools.tmf.event.TmfEventSource;
+import org.eclipse.linuxtools.tmf.event.TmfEventType;
+import org.eclipse.linuxtools.tmf.event.TmfTimestamp;
+import org.eclipse.linuxtools.tmf.filter.ITmfFilter;
+import org.eclipse.linuxtools.tmf.ui.views.timechart.TimeChartDecorationProvider;
+import org.eclipse.linuxtools.tmf.ui.views.timechart.TimeChartEvent;
+
+@SuppressWarnings("nls")
+public class TimeChartEventTest extends TestCase {
+
+    // ------------------------------------------------------------------------
+    // Attributes
+    // ------------------------------------------------------------------------
+    private TimeChartDecorationProvider fDecorationProvider;
+
+    // ------------------------------------------------------------------------
+    // Operations
+    // ------------------------------------------------------------------------
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        fDecorationProvider = new TimeChartDecorationProvider(ResourcesPlugin.getWorkspace().getRoot());
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        fDecorationProvider = null;
+        super.tearDown();
+    }
+
+    private static TmfEvent createEvent(long time, String type) {
+        return new TmfEvent(new TmfTimestamp(time, (byte) -9), new TmfEventSource("source"),
+                new TmfEventType(type, new String[0]), new TmfEventReference("reference"));
+    }
+
+    public void testEventDroppedOnMerge() {
+        TmfEvent event = createEvent(1000, "first");
+        TimeChartEvent timeEvent = new TimeChartEvent(null, event, 0, fDecorationProvider);
+
+        /*
+         * Test Case: 001
+         * Description: Keep a copy of the trace event of a single time event.
+         * Verified Methods: timeEvent.setEvent(), timeEvent.getEvent()
+         * Expected result: The copy is returned.
+         */
+        assertNull(timeEvent.getEvent());
+        timeEvent.setEvent(event);
+        assertSame(event, timeEvent.getEvent());
+
+        /*
+         * Test Case: 002
+         * Description: Merge another time event.
+         * Verified Methods: timeEvent.merge()
+         * Expected result: The copy is dropped since the time event no longer
+         *                  holds a single trace event.
+         */
+        timeEvent.merge(new TimeChartEvent(null, createEvent(2000, "second"), 1, fDecorationProvider));
+        assertNull(timeEvent.getEvent());
+        assertEquals(2, timeEvent.getNbEvents());
+        assertEquals(1000, timeEvent.getTime());
+        assertEquals(1000, timeEvent.getDuration());
+        assertEquals(0, timeEvent.getFirstRank());
+        assertEquals(1, timeEvent.getLastRank());
+    }
+
+    public void testEventKeptOnMergeDecorations() {
+        TmfEvent event = createEvent(1000, "first");
+        TimeChartEvent timeEvent = new TimeChartEvent(null, event, 0, fDecorationProvider);
+        timeEvent.setEvent(event);
+        assertFalse(timeEvent.isSearchMatch());
+
+        fDecorationProvider.searchApplied(new ITmfFilter() {
+            @Override
+            public boolean matches(TmfEvent tmfEvent) {
+                return tmfEvent.getType().getTypeId().equals("second");
+            }
+        });
+        TimeChartEvent other = new TimeChartEvent(null, createEvent(2000, "second"), 1, fDecorationProvider);
+        assertTrue(other.isSearchMatch());
+
+        /*
+         * Test Case: 003
+         * Description: Merge the decorations of the event of an itemized entry.
+         * Verified Methods: timeEvent.mergeDecorations()
+         * Expected result: The decorations are merged but the time event still
+         *                  holds its single trace event.
+         */
+        timeEvent.mergeDecorations(other);
+        assertTrue(timeEvent.isSearchMatch());
+        assertSame(event, timeEvent.getEvent());
+        assertEquals(1, timeEvent.getNbEvents());
+        assertEquals(0, timeEvent.getDuration());
+    }
+}
@@ -81,8 +81,7 @@ public class TmfUml2SDSyncLoaderFilterTest extends TestCase {
          * Verified Methods: loader.filter() 
          * Expected result: Only one lifeline is visible with no messages 
          */
-        fFacility.getLoader().filter(filterToSave);
-        fFacility.delay(IUml2SDTestConstants.GUI_REFESH_DELAY);
+        fFacility.filter(filterToSave);
         
         assertEquals("filter", 1, fFacility.getSdView().getFrame().lifeLinesCount());
         assertEquals("filter", IUml2SDTestConstants.MASTER_PLAYER_NAME, fFacility.getSdView().getFrame().getLifeline(0).getName());
@@ -96,8 +95,7 @@ public class TmfUml2SDSyncLoaderFilterTest extends TestCase {
          * Expected result: Neiter liflines nor messages are visible 
          */
         filterToSave.get(1).setActive(true);
-        fFacility.getLoader().filter(filterToSave);
-        fFacility.delay(IUml2SDTestConstants.GUI_REFESH_DELAY);
+        fFacility.filter(filterToSave);
 
         assertEquals("filter", 0, fFacility.getSdView().getFrame().lifeLinesCount());
         assertEquals("filter", 0, fFacility.getSdView().getFrame().syncMessageCount());
@@ -110,8 +108,7 @@ public class TmfUml2SDSyncLoaderFilterTest extends TestCase {
          */
         filterToSave.get(0).setActive(false);
         filterToSave.get(1).setActive(false);
-        fFacility.getLoader().filter(filterToSave);
-        fFacility.delay(IUml2SDTestConstants.GUI_REFESH_DELAY);
+        fFacility.filter(filterToSave);
        
         assertEquals("filter", 2, fFacility.getSdView().getFrame().lifeLinesCount());
         assertEquals("filter", IUml2SDTestConstants.MAX_MESSEAGES_PER_PAGE, fFacility.getSdView().getFrame().syncMessageCount());
@@ -123,8 +120,7 @@ public class TmfUml2SDSyncLoaderFilterTest extends TestCase {
          * Expected result: Only particular messages are shown
          */
         filterToSave.get(2).setActive(true);
-        fFacility.getLoader().filter(filterToSave);
-        fFacility.delay(IUml2SDTestConstants.GUI_REFESH_DELAY);
+        fFacility.filter(filterToSave);
         
         assertEquals("filter", 2, fFacility.getSdView().getFrame().lifeLinesCount());
         assertEquals("filter", 6, fFacility.getSdView().getFrame().syncMessageCount());
@@ -160,4 +156,45 @@ public class TmfUml2SDSyncLoaderFilterTest extends TestCase {
         
         filterToSave.get(2).setActive(false);
     }
+
+    @SuppressWarnings("nls")
+    public void testFilterReplaced() {
+
+        List<FilterCriteria> hideFirst = new ArrayList<FilterCriteria>();
+        Criteria criteria = new Criteria();
+        criteria.setLifeLineSelected(true);
+        criteria.setExpression(IUml2SDTestConstants.FIRST_PLAYER_NAME);
+        hideFirst.add(new FilterCriteria(criteria, true, false));
+
+        List<FilterCriteria> hideMessages = new ArrayList<FilterCriteria>();
+        criteria = new Criteria();
+        criteria.setSyncMessageSelected(true);
+        criteria.setExpression("BALL_.*"); //$NON-NLS-1$
+        hideMessages.add(new FilterCriteria(criteria, true, false));
+
+        /*
+         * Test Case: 006
+         * Description: Verify that a filter applied while the previous one is still
+         *              being applied replaces it.
+         * Verified Methods: loader.filter(), loader.waitForFilter()
+         * Expected result: The frame is filtered with the second criteria only
+         */
+        fFacility.getLoader().filter(hideFirst);
+        fFacility.filter(hideMessages);
+
+        assertEquals("filter", 2, fFacility.getSdView().getFrame().lifeLinesCount());
+        assertEquals("filter", 6, fFacility.getSdView().getFrame().syncMessageCount());
+
+        /*
+         * Test Case: 007
+         * Description: Verify that deactivating the criteria removes the filter.
+         * Verified Methods: loader.filter(), loader.waitForFilter()
+         * Expected result: The frame is not filtered
+         */
+        hideMessages.get(0).setActive(false);
+        fFacility.filter(hideMessages);
+
+        assertEquals("filter", 2, fFacility.getSdView().getFrame().lifeLinesCount());
+        assertEquals("filter", IUml2SDTestConstants.MAX_MESSEAGES_PER_PAGE, fFacility.getSdView().getFrame().syncMessageCount());
+    }
 }
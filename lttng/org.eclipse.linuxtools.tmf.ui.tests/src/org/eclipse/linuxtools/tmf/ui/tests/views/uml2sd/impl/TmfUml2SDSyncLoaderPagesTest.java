@@ -13,6 +13,11 @@ package org.eclipse.linuxtools.tmf.ui.tests.views.uml2sd.impl;
 
 import junit.framework.TestCase;
 
+import org.eclipse.linuxtools.tmf.event.TmfEvent;
+import org.eclipse.linuxtools.tmf.signal.TmfExperimentSelectedSignal;
+import org.eclipse.linuxtools.tmf.signal.TmfSignalManager;
+import org.eclipse.linuxtools.tmf.ui.views.uml2sd.impl.TmfUml2SDSyncLoader;
+
 public class TmfUml2SDSyncLoaderPagesTest extends TestCase {
 
     // ------------------------------------------------------------------------
@@ -192,6 +197,40 @@ public class TmfUml2SDSyncLoaderPagesTest extends TestCase {
         fFacility.firstPage();
     }
 
+    public void testPageIndexCache() {
+
+        /*
+         * Test Case: 007
+         * Description: Re-select the experiment that was already indexed.
+         * Verified Methods: loader.experimentSelected(), loader.pagesCount()
+         * Expected result: The page index is re-used, i.e. all pages are known
+         *                  without waiting for the indexing.
+         */
+        fFacility.getLoader().experimentSelected(new TmfExperimentSelectedSignal<TmfEvent>(this, fFacility.getExperiment()));
+        assertEquals(IUml2SDTestConstants.TOTAL_NUMBER_OF_PAGES, fFacility.getLoader().pagesCount());
+        fFacility.getLoader().waitForCompletion();
+        fFacility.delay(IUml2SDTestConstants.GUI_REFESH_DELAY);
+        verifyPage(0, IUml2SDTestConstants.MAX_MESSEAGES_PER_PAGE, true, false);
+
+        /*
+         * Test Case: 008
+         * Description: Select the indexed experiment in another loader, as when the
+         *              view is re-opened.
+         * Verified Methods: loader.experimentSelected(), loader.pagesCount()
+         * Expected result: The page index is shared between loaders.
+         */
+        TmfUml2SDSyncLoader loader = new TmfUml2SDSyncLoader();
+        try {
+            loader.experimentSelected(new TmfExperimentSelectedSignal<TmfEvent>(this, fFacility.getExperiment()));
+            assertEquals(IUml2SDTestConstants.TOTAL_NUMBER_OF_PAGES, loader.pagesCount());
+            assertEquals(0, loader.currentPage());
+            loader.waitForCompletion();
+        } finally {
+            // the loader has no view to detach from
+            TmfSignalManager.deregister(loader);
+        }
+    }
+
     private void verifyPage(int currentPage, int numMsg, boolean hasNext, boolean hasPrev) {
         verifyPage(currentPage, numMsg, hasNext, hasPrev, IUml2SDTestConstants.DEFAULT_NUM_LIFELINES);
     }
@@ -163,6 +163,19 @@ public class Uml2SDTestFacility {
         }
     }
 
+    /**
+     * Runs the pending display events, such as the ones posted by
+     * asyncExec().
+     */
+    public void processEvents() {
+        Display display = Display.getCurrent();
+        if (display != null) {
+            while (display.readAndDispatch()) {
+                // keep going
+            }
+        }
+    }
+
     /**
      * Waits for all Eclipse jobs to finish
      */
@@ -243,6 +256,16 @@ public class Uml2SDTestFacility {
         delay(IUml2SDTestConstants.GUI_REFESH_DELAY);
     }
     
+    /**
+     * Applies filters and waits for the filtered frame to be shown.
+     * @param filters the filter criteria
+     */
+    public void filter(List<FilterCriteria> filters) {
+        fLoader.filter(filters);
+        fLoader.waitForFilter();
+        processEvents();
+    }
+
     /**
      * @param page number to set
      */
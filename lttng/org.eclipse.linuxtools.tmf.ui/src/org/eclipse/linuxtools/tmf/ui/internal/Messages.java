@@ -244,6 +244,17 @@ public class Messages extends NLS {
 	public static String FilterViewer_ValueHint;
 	public static String FilterViewer_ValueLabel;
 
+	public static String MetricsView_CacheHitColumnHeader;
+	public static String MetricsView_CoalescingColumnHeader;
+	public static String MetricsView_EventsColumnHeader;
+	public static String MetricsView_EventsPerSecondColumnHeader;
+	public static String MetricsView_ProviderColumnHeader;
+	public static String MetricsView_QueueWaitColumnHeader;
+	public static String MetricsView_RequestsColumnHeader;
+	public static String MetricsView_ResetActionToolTipText;
+	public static String MetricsView_SeekColumnHeader;
+	public static String MetricsView_ValueFormat;
+
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.ui.views.metrics;
+
+import java.text.DecimalFormat;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ITableLabelProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.linuxtools.tmf.metrics.TmfMetrics;
+import org.eclipse.linuxtools.tmf.metrics.TmfProviderMetrics;
+import org.eclipse.linuxtools.tmf.ui.TmfUiPlugin;
+import org.eclipse.linuxtools.tmf.ui.internal.Messages;
+import org.eclipse.linuxtools.tmf.ui.views.TmfView;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+
+/**
+ * <b><u>MetricsView</u></b>
+ * <p>
+ * View that periodically displays the metrics collected for each TMF data
+ * provider (see {@link TmfMetrics}).
+ */
+public class MetricsView extends TmfView {
+
+	public static final String ID = "org.eclipse.linuxtools.tmf.ui.views.metrics"; //$NON-NLS-1$
+
+	private static final Image RESET_IMAGE = TmfUiPlugin.getDefault().getImageFromPath("/icons/elcl16/delete_button.gif"); //$NON-NLS-1$
+
+	// The refresh period, in ms
+	private static final int REFRESH_PERIOD = 1000;
+
+	private static final String[] COLUMN_HEADERS = {
+		Messages.MetricsView_ProviderColumnHeader,
+		Messages.MetricsView_RequestsColumnHeader,
+		Messages.MetricsView_EventsColumnHeader,
+		Messages.MetricsView_EventsPerSecondColumnHeader,
+		Messages.MetricsView_QueueWaitColumnHeader,
+		Messages.MetricsView_SeekColumnHeader,
+		Messages.MetricsView_CacheHitColumnHeader,
+		Messages.MetricsView_CoalescingColumnHeader
+	};
+
+	private static final int[] COLUMN_WIDTHS = { 200, 80, 100, 100, 140, 140, 90, 90 };
+
+	// ------------------------------------------------------------------------
+	// Attributes
+	// ------------------------------------------------------------------------
+
+	private TableViewer fViewer;
+
+	private final Runnable fRefresher = new Runnable() {
+		@Override
+		public void run() {
+			if (fViewer == null || fViewer.getControl().isDisposed()) {
+				return;
+			}
+			refresh();
+			fViewer.getControl().getDisplay().timerExec(REFRESH_PERIOD, this);
+		}
+	};
+
+	// ------------------------------------------------------------------------
+	// Constructor
+	// ------------------------------------------------------------------------
+
+	public MetricsView() {
+		super("MetricsView"); //$NON-NLS-1$
+	}
+
+	// ------------------------------------------------------------------------
+	// ViewPart
+	// ------------------------------------------------------------------------
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.linuxtools.tmf.ui.views.TmfView#createPartControl(org.eclipse.swt.widgets.Composite)
+	 */
+	@Override
+	public void createPartControl(Composite parent) {
+		fViewer = new TableViewer(parent, SWT.FULL_SELECTION | SWT.H_SCROLL | SWT.V_SCROLL);
+		Table table = fViewer.getTable();
+		table.setHeaderVisible(true);
+		table.setLinesVisible(true);
+		for (int i = 0; i < COLUMN_HEADERS.length; i++) {
+			TableColumn column = new TableColumn(table, (i == 0) ? SWT.LEFT : SWT.RIGHT);
+			column.setText(COLUMN_HEADERS[i]);
+			column.setWidth(COLUMN_WIDTHS[i]);
+		}
+		fViewer.setContentProvider(new ArrayContentProvider());
+		fViewer.setLabelProvider(new MetricsLabelProvider());
+
+		fillLocalToolBar(getViewSite().getActionBars().getToolBarManager());
+
+		fRefresher.run();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.linuxtools.tmf.ui.views.TmfView#setFocus()
+	 */
+	@Override
+	public void setFocus() {
+		fViewer.getControl().setFocus();
+	}
+
+	/**
+	 * Reloads the metrics of all the providers
+	 */
+	public void refresh() {
+		fViewer.setInput(TmfMetrics.getProviderMetrics());
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "[MetricsView]"; //$NON-NLS-1$
+	}
+
+	// ------------------------------------------------------------------------
+	// Helper functions
+	// ------------------------------------------------------------------------
+
+	private void fillLocalToolBar(IToolBarManager manager) {
+		Action resetAction = new Action() {
+			@Override
+			public void run() {
+				TmfMetrics.reset();
+				refresh();
+			}
+		};
+		resetAction.setImageDescriptor(ImageDescriptor.createFromImage(RESET_IMAGE));
+		resetAction.setToolTipText(Messages.MetricsView_ResetActionToolTipText);
+		manager.add(resetAction);
+	}
+
+	private static class MetricsLabelProvider extends LabelProvider implements ITableLabelProvider {
+
+		private final DecimalFormat fCountFormat = new DecimalFormat("#,##0"); //$NON-NLS-1$
+		private final DecimalFormat fMillisFormat = new DecimalFormat("0.000"); //$NON-NLS-1$
+		private final DecimalFormat fPercentFormat = new DecimalFormat("0.0"); //$NON-NLS-1$
+
+		@Override
+		public Image getColumnImage(Object element, int columnIndex) {
+			return null;
+		}
+
+		@Override
+		public String getColumnText(Object element, int columnIndex) {
+			TmfProviderMetrics metrics = (TmfProviderMetrics) element;
+			switch (columnIndex) {
+			case 0:
+				return metrics.getName();
+			case 1:
+				return fCountFormat.format(metrics.getRequestCount());
+			case 2:
+				return fCountFormat.format(metrics.getEventCount());
+			case 3:
+				return fCountFormat.format(metrics.getEventsPerSecond());
+			case 4:
+				return NLS.bind(Messages.MetricsView_ValueFormat,
+						fMillisFormat.format(metrics.getMeanQueueWaitMillis()), fMillisFormat.format(metrics.getQueueWait99Millis()));
+			case 5:
+				return NLS.bind(Messages.MetricsView_ValueFormat,
+						fMillisFormat.format(metrics.getMeanSeekMillis()), fMillisFormat.format(metrics.getSeek99Millis()));
+			case 6:
+				return fPercentFormat.format(metrics.getCacheHitRatio() * 100);
+			case 7:
+				return fPercentFormat.format(metrics.getCoalescingRatio() * 100);
+			default:
+				return ""; //$NON-NLS-1$
+			}
+		}
+	}
+
+}
@@ -24,7 +24,7 @@ import org.eclipse.linuxtools.tmf.filter.ITmfFilter;
 public class TimeChartDecorationProvider {
 
 	private IResource fResource;
-    private Set<Long> fBookmarksSet = new HashSet<Long>();
+    private volatile Set<Long> fBookmarksSet = new HashSet<Long>();
     private ITmfFilter fFilterFilter;
     private ITmfFilter fSearchFilter;
 
@@ -41,16 +41,27 @@ public class TimeChartDecorationProvider {
 	    return fBookmarksSet.contains(rank);
     }
 	
+	public boolean isBookmark(long firstRank, long lastRank) {
+		for (Long rank : fBookmarksSet) {
+			if (rank >= firstRank && rank <= lastRank) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public void refreshBookmarks() {
 		try {
-			fBookmarksSet.clear();
+			// The set is read by the trace processing threads: replace it, don't modify it
+			Set<Long> bookmarksSet = new HashSet<Long>();
 	        for (IMarker bookmark : fResource.findMarkers(IMarker.BOOKMARK, false, IResource.DEPTH_ZERO)) {
 	        	int location = bookmark.getAttribute(IMarker.LOCATION, -1);
 	        	if (location != -1) {
 	        		Long rank = (long) location;
-	        		fBookmarksSet.add(rank);
+	        		bookmarksSet.add(rank);
 	        	}
 	        }
+	        fBookmarksSet = bookmarksSet;
         } catch (CoreException e) {
 	        e.printStackTrace();
         }
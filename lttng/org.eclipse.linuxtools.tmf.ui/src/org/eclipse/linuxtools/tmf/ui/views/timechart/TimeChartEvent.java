@@ -36,7 +36,7 @@ public class TimeChartEvent implements ITimeEvent {
     private boolean fIsVisible;
     private boolean fIsSearchMatch;
     private TimeChartAnalysisEntry fItemizedEntry;
-    private boolean fItemizing;
+    private TmfEvent fEvent; // copy of the single trace event, if kept
 
     public TimeChartEvent(TimeChartAnalysisEntry parentEntry, TmfEvent event, long rank, TimeChartDecorationProvider decorationProvider) {
         fParentEntry = parentEntry;
@@ -80,6 +80,7 @@ public class TimeChartEvent implements ITimeEvent {
     
     public void merge(TimeChartEvent event) {
     	mergeDecorations(event);
+    	fEvent = null;
         if (fTime == event.getTime() && fDuration == event.getDuration()) return;
         long endTime = Math.max(fTime + fDuration, event.getTime() + event.getDuration());
         fTime = Math.min(fTime, event.getTime());
@@ -100,6 +101,24 @@ public class TimeChartEvent implements ITimeEvent {
     	fIsSearchMatch |= event.fIsSearchMatch;
     }
     
+    /**
+     * Keeps a copy of the trace event so that this time event can be decorated
+     * again without reading the trace. The copy is dropped on the first merge.
+     * 
+     * @param event the trace event (must not be reused by the trace)
+     */
+    public void setEvent(TmfEvent event) {
+        fEvent = event;
+    }
+
+    /**
+     * @return the trace event if this time event holds a single one and a copy
+     *         was kept, or null otherwise
+     */
+    public TmfEvent getEvent() {
+        return fEvent;
+    }
+
     public long getNbEvents() {
         return fNbEvents;
     }
@@ -144,14 +163,6 @@ public class TimeChartEvent implements ITimeEvent {
         return fItemizedEntry;
     }
 
-    public boolean isItemizing() {
-        return fItemizing;
-    }
-
-    public void setItemizing(boolean itemizing) {
-        fItemizing = itemizing;
-    }
-
     public class RankRange {
         private long firstRank;
         private long lastRank;
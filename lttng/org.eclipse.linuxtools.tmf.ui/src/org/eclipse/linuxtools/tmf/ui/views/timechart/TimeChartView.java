@@ -70,7 +70,7 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
     private ITimeAnalysisViewer fViewer;
     private final ArrayList<TimeChartAnalysisEntry> fTimeAnalysisEntries = new ArrayList<TimeChartAnalysisEntry>();
     private final Map<ITmfTrace, TimeChartDecorationProvider> fDecorationProviders = new HashMap<ITmfTrace, TimeChartDecorationProvider>();
-    private ArrayList<DecorateThread> fDecorateThreads;
+    private final Map<ITmfTrace, TraceProcessor> fTraceProcessors = new HashMap<ITmfTrace, TraceProcessor>();
     private long fStartTime = 0;
     private long fStopTime = Long.MAX_VALUE;
     private boolean fRefreshBusy = false;
@@ -108,14 +108,12 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
                     TimeChartAnalysisEntry timeAnalysisEntry = new TimeChartAnalysisEntry(trace, fDisplayWidth * 2);
                     fTimeAnalysisEntries.add(timeAnalysisEntry);
                     fDecorationProviders.put(trace, new TimeChartDecorationProvider(resource));
-                    Thread thread = new ProcessTraceThread(timeAnalysisEntry);
-                    thread.start();
+                    startTraceProcessor(timeAnalysisEntry);
                 }
             }
         }
         fViewer.display(fTimeAnalysisEntries.toArray(new TimeChartAnalysisEntry[0]));
 
-        fDecorateThreads = new ArrayList<DecorateThread>();
         ColorSettingsManager.addColorSettingsListener(this);
         ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
     }
@@ -123,8 +121,11 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
     @Override
     public void dispose() {
         ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
-        for (DecorateThread thread : fDecorateThreads) {
-            thread.cancel();
+        synchronized (fTraceProcessors) {
+            for (TraceProcessor processor : fTraceProcessors.values()) {
+                processor.cancel();
+            }
+            fTraceProcessors.clear();
         }
         ColorSettingsManager.removeColorSettingsListener(this);
         super.dispose();
@@ -136,152 +137,264 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
         fViewer.setFocus();
     }
 
-    private class ProcessTraceThread extends Thread {
+    private void startTraceProcessor(TimeChartAnalysisEntry timeAnalysisEntry) {
+        TraceProcessor processor = new TraceProcessor(timeAnalysisEntry);
+        synchronized (fTraceProcessors) {
+            fTraceProcessors.put(timeAnalysisEntry.getTrace(), processor);
+        }
+        processor.start();
+    }
+
+    private TraceProcessor getTraceProcessor(ITmfTrace trace) {
+        synchronized (fTraceProcessors) {
+            return fTraceProcessors.get(trace);
+        }
+    }
+
+    /**
+     * The processing pipeline of a trace. A single thread per trace runs the
+     * stages that need the trace or the model of the trace entry:
+     * <ul>
+     * <li>process: read the new trace events into the trace entry</li>
+     * <li>itemize: split the merged events of the visible range</li>
+     * <li>decorate: recompute the decorations (colors, bookmarks, filter and
+     * search) of the events</li>
+     * </ul>
+     * The stages share one trace context, so the trace is read forward as much
+     * as possible. A new request interrupts the current stage, which is resumed
+     * afterwards. Decorating uses the itemized model: single events keep a copy
+     * of their trace event, and bookmarks only need the event ranks, so the
+     * trace is only read for the merged events that are not itemized.
+     */
+    private class TraceProcessor extends Thread {
+
+        private static final int DECORATE_NONE = 0;
+        private static final int DECORATE_BOOKMARKS = 1;
+        private static final int DECORATE_ALL = 2;
 
         private final TimeChartAnalysisEntry fTimeAnalysisEntry;
+        private final ITmfTrace fTrace;
+        private final TimeChartDecorationProvider fDecorationProvider;
+        private TmfContext fContext;
+        private int fCount = 0;
 
-        public ProcessTraceThread(TimeChartAnalysisEntry timeAnalysisEntry) {
-            super("ProcessTraceJob:" + timeAnalysisEntry.getName()); //$NON-NLS-1$
+        // Pending requests, guarded by 'this'
+        private boolean fProcessPending = true;
+        private boolean fItemizePending = false;
+        private long fItemizeStartTime;
+        private long fItemizeStopTime;
+        private int fDecoratePending = DECORATE_NONE;
+        private long fRequestCount = 0;
+        private volatile long fLastRequestCount = 0;
+        private volatile boolean fCancelled = false;
+
+        public TraceProcessor(TimeChartAnalysisEntry timeAnalysisEntry) {
+            super("TimeChart Trace Processor:" + timeAnalysisEntry.getName()); //$NON-NLS-1$
             fTimeAnalysisEntry = timeAnalysisEntry;
+            fTrace = timeAnalysisEntry.getTrace();
+            fDecorationProvider = fDecorationProviders.get(fTrace);
+            setDaemon(true);
         }
 
-        @Override
-        public void run() {
-            updateTraceEntry(fTimeAnalysisEntry, Long.MAX_VALUE, 0, Long.MAX_VALUE);
+        public synchronized void process() {
+            fProcessPending = true;
+            newRequest();
         }
-    }
 
-    private void updateTraceEntry(TimeChartAnalysisEntry timeAnalysisEntry, long stopRank, long startTime, long stopTime) {
-        ITmfTrace trace = timeAnalysisEntry.getTrace();
-        TimeChartDecorationProvider decorationProvider = fDecorationProviders.get(trace);
-        if (decorationProvider == null) {
-            return; // the trace has been closed
-        }
-        TmfContext context = null;
-        // TmfTimestamp lastTimestamp = null;
-        boolean done = false;
-        while (!done) {
-            synchronized (timeAnalysisEntry) {
-                if (timeAnalysisEntry.getLastRank() >= trace.getNbEvents()) {
-                    done = true;
+        public synchronized void itemize(long startTime, long stopTime) {
+            fItemizePending = true;
+            fItemizeStartTime = startTime;
+            fItemizeStopTime = stopTime;
+            newRequest();
+        }
+
+        public synchronized void decorate(boolean bookmarksOnly) {
+            fDecoratePending = Math.max(fDecoratePending, bookmarksOnly ? DECORATE_BOOKMARKS : DECORATE_ALL);
+            newRequest();
+        }
+
+        public synchronized void cancel() {
+            fCancelled = true;
+            notifyAll();
+        }
+
+        private void newRequest() {
+            fRequestCount++;
+            fLastRequestCount = fRequestCount;
+            notifyAll();
+        }
+
+        private synchronized void requeue(boolean process, boolean itemize, long startTime, long stopTime, int decorate) {
+            fProcessPending |= process;
+            if (itemize && !fItemizePending) {
+                // a newer itemize request has precedence
+                fItemizePending = true;
+                fItemizeStartTime = startTime;
+                fItemizeStopTime = stopTime;
+            }
+            fDecoratePending = Math.max(fDecoratePending, decorate);
+        }
+
+        /**
+         * @return true if the current stage must return because the view was
+         *         disposed or because a new request arrived
+         */
+        private boolean isInterrupted(long requestCount) {
+            return fCancelled || fLastRequestCount != requestCount;
+        }
+
+        @Override
+        public void run() {
+            if (fDecorationProvider == null) {
+                return; // the trace has been closed
+            }
+            while (!fCancelled) {
+                boolean process;
+                boolean itemize;
+                long startTime;
+                long stopTime;
+                int decorate;
+                long requestCount;
+                synchronized (this) {
+                    while (!fCancelled && !fProcessPending && !fItemizePending && fDecoratePending == DECORATE_NONE) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                    process = fProcessPending;
+                    itemize = fItemizePending;
+                    startTime = fItemizeStartTime;
+                    stopTime = fItemizeStopTime;
+                    decorate = fDecoratePending;
+                    requestCount = fRequestCount;
+                    fProcessPending = false;
+                    fItemizePending = false;
+                    fDecoratePending = DECORATE_NONE;
+                }
+                if (fCancelled) {
                     break;
                 }
-                if (context == null || context.getRank() != timeAnalysisEntry.getLastRank()) {
-                    if (context != null) {
-                        context.dispose();
-                    }
-                    if (timeAnalysisEntry.getLastRank() != -1) {
-                        context = trace.seekEvent(timeAnalysisEntry.getLastRank());
-                    } else {
-                        // context = trace.seekLocation(null);
-                        context = trace.seekEvent(0);
+
+                // The itemization of the visible range comes first, then the
+                // decorations and finally the rest of the trace. The stages that
+                // are interrupted or not reached are put back in the pending
+                // requests.
+                if (itemize) {
+                    long maxDuration = 3 * (stopTime - startTime) / fDisplayWidth;
+                    if (!itemizeTraceEntry(fTimeAnalysisEntry, startTime, stopTime, maxDuration, requestCount)) {
+                        requeue(process, itemize, startTime, stopTime, decorate);
+                        continue;
                     }
                 }
-                while (true) {
-                    long rank = context.getRank();
-                    TmfEvent event = trace.getNextEvent(context);
-                    if (event == null) {
-                        done = true;
-                        break;
-                    }
-                    // if (!event.getTimestamp().equals(lastTimestamp)) {
-                    TimeChartEvent timeEvent = new TimeChartEvent(timeAnalysisEntry, event, rank, decorationProvider);
-                    if (timeEvent.getTime() >= startTime && timeEvent.getTime() <= stopTime) {
-                        timeAnalysisEntry.addTraceEvent(timeEvent);
+                if (decorate != DECORATE_NONE) {
+                    boolean done;
+                    if (decorate == DECORATE_ALL) {
+                        done = decorateTraceEntry(fTimeAnalysisEntry, null, requestCount);
+                    } else {
+                        done = decorateBookmarks(fTimeAnalysisEntry, null, requestCount);
                     }
-                    // lastTimestamp = event.getTimestamp();
-                    // } *** commented out so that color setting priority gets
-                    // set even if the event has same time
-                    if (context.getRank() == trace.getNbEvents() || context.getRank() == stopRank) {
-                        done = true;
-                        break;
+                    refreshViewer(false);
+                    if (!done) {
+                        requeue(process, false, startTime, stopTime, decorate);
+                        continue;
                     }
-                    if (context.getRank() % trace.getCacheSize() == 1) {
-                        // break for UI refresh
-                        break;
+                }
+                if (process) {
+                    if (!updateTraceEntry(fTimeAnalysisEntry, Long.MAX_VALUE, 0, Long.MAX_VALUE, false, requestCount)) {
+                        requeue(process, false, startTime, stopTime, DECORATE_NONE);
                     }
                 }
-                // timeAnalysisEntry.setLastRank(Math.min(trace.getNbEvents(),
-                // stopRank));
-                timeAnalysisEntry.setLastRank(context.getRank());
             }
-            refreshViewer(false);
-        }
-        if (context != null) {
-            context.dispose();
+            if (fContext != null) {
+                fContext.dispose();
+                fContext = null;
+            }
         }
-    }
 
-    private void refreshViewer(boolean resetTimeIntervals) {
-        if (fComposite == null) {
-            return;
-        }
-        synchronized (fSyncObj) {
-            if (fRefreshBusy) {
-                fRefreshPending = true;
-                return;
-            } else {
-                fRefreshBusy = true;
+        /**
+         * Positions the shared context at the given rank, seeking only if needed.
+         */
+        private void seek(long rank) {
+            if (fContext == null || fContext.getRank() != rank) {
+                if (fContext != null) {
+                    fContext.dispose();
+                }
+                fContext = fTrace.seekEvent(rank);
+                fContext.setRank(rank);
             }
         }
-        final boolean reset = resetTimeIntervals;
-        // Perform the refresh on the UI thread
-        Display.getDefault().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                if (fComposite.isDisposed())
-                    return;
-                fViewer.display(fTimeAnalysisEntries.toArray(new TimeChartAnalysisEntry[0]));
-                if (reset) {
-                    fViewer.resetStartFinishTime();
-                }
-                synchronized (fSyncObj) {
-                    fRefreshBusy = false;
-                    if (fRefreshPending) {
-                        fRefreshPending = false;
-                        refreshViewer(reset);
+
+        /**
+         * Reads the trace events, from the entry's last rank, into the entry.
+         * 
+         * @return false if interrupted before reaching the stop rank
+         */
+        private boolean updateTraceEntry(TimeChartAnalysisEntry timeAnalysisEntry, long stopRank, long startTime, long stopTime, boolean keepEvents,
+                long requestCount) {
+            while (true) {
+                synchronized (timeAnalysisEntry) {
+                    if (timeAnalysisEntry.getLastRank() >= fTrace.getNbEvents()) {
+                        return true;
                     }
+                    seek(Math.max(0, timeAnalysisEntry.getLastRank()));
+                    boolean done = false;
+                    while (true) {
+                        long rank = fContext.getRank();
+                        TmfEvent event = fTrace.getNextEvent(fContext);
+                        if (event == null) {
+                            done = true;
+                            break;
+                        }
+                        TimeChartEvent timeEvent = new TimeChartEvent(timeAnalysisEntry, event, rank, fDecorationProvider);
+                        if (timeEvent.getTime() >= startTime && timeEvent.getTime() <= stopTime) {
+                            if (keepEvents) {
+                                // the trace may reuse its event object
+                                timeEvent.setEvent(event.clone());
+                            }
+                            timeAnalysisEntry.addTraceEvent(timeEvent);
+                        }
+                        if (fContext.getRank() == fTrace.getNbEvents() || fContext.getRank() == stopRank) {
+                            done = true;
+                            break;
+                        }
+                        if (fContext.getRank() % fTrace.getCacheSize() == 1) {
+                            // break for UI refresh
+                            break;
+                        }
+                    }
+                    timeAnalysisEntry.setLastRank(fContext.getRank());
+                    if (done) {
+                        break;
+                    }
+                }
+                refreshViewer(false);
+                if (requestCount >= 0 && isInterrupted(requestCount)) {
+                    return false;
                 }
             }
-        });
-    }
-
-    private void itemize(long startTime, long stopTime) {
-        for (int i = 0; i < fTimeAnalysisEntries.size(); i++) {
-            Thread thread = new ItemizeThread(fTimeAnalysisEntries.get(i), startTime, stopTime);
-            thread.start();
-        }
-    }
-
-    private class ItemizeThread extends Thread {
-
-        private final TimeChartAnalysisEntry fTimeAnalysisEntry;
-        private final long fStartTime;
-        private final long fStopTime;
-        private final long fMaxDuration;
-
-        private ItemizeThread(TimeChartAnalysisEntry timeAnalysisEntry, long startTime, long stopTime) {
-            super("Itemize Thread:" + timeAnalysisEntry.getName()); //$NON-NLS-1$
-            fTimeAnalysisEntry = timeAnalysisEntry;
-            fStartTime = startTime;
-            fStopTime = stopTime;
-            fMaxDuration = 3 * (fStopTime - fStartTime) / fDisplayWidth;
-        }
-
-        @Override
-        public void run() {
-            itemizeTraceEntry(fTimeAnalysisEntry);
+            refreshViewer(false);
+            return true;
         }
 
-        public void itemizeTraceEntry(TimeChartAnalysisEntry timeAnalysisEntry) {
+        /**
+         * Itemizes the merged events of the given time range.
+         * 
+         * @return false if interrupted
+         */
+        private boolean itemizeTraceEntry(TimeChartAnalysisEntry timeAnalysisEntry, long startTime, long stopTime, long maxDuration, long requestCount) {
             Iterator<ITimeEvent> iterator = timeAnalysisEntry.getTraceEventsIterator();
             TimeChartEvent event = null;
             boolean hasNext = true;
             while (hasNext) {
+                if (isInterrupted(requestCount)) {
+                    return false;
+                }
                 synchronized (timeAnalysisEntry) {
                     while (hasNext = iterator.hasNext()) {
                         event = (TimeChartEvent) iterator.next();
-                        if (event.getTime() + event.getDuration() > fStartTime && event.getTime() < fStopTime && event.getDuration() > fMaxDuration
+                        if (event.getTime() + event.getDuration() > startTime && event.getTime() < stopTime && event.getDuration() > maxDuration
                                 && event.getNbEvents() > 1) {
                             break;
                         }
@@ -290,97 +403,38 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
                 if (hasNext) {
                     if (event.getItemizedEntry() == null) {
                         itemizeEvent(event);
-                    } else {
-                        itemizeTraceEntry(event.getItemizedEntry());
+                    }
+                    if (!itemizeTraceEntry(event.getItemizedEntry(), startTime, stopTime, maxDuration, requestCount)) {
+                        return false;
                     }
                 }
             }
+            return true;
         }
 
-        public void itemizeEvent(TimeChartEvent event) {
-            synchronized (event) {
-                if (event.isItemizing()) {
-                    return;
-                }
-                event.setItemizing(true);
-            }
-            TimeChartAnalysisEntry timeAnalysisEntry = new TimeChartAnalysisEntry(fTimeAnalysisEntry.getTrace(), (int) Math.min(
+        private void itemizeEvent(TimeChartEvent event) {
+            TimeChartAnalysisEntry timeAnalysisEntry = new TimeChartAnalysisEntry(fTrace, (int) Math.min(
                     event.getNbEvents() + 1, fDisplayWidth * 2));
+            // Keep the trace events of the small itemized entries, they are
+            // decorated again without reading the trace
+            boolean keepEvents = event.getNbEvents() <= fDisplayWidth * 2;
             synchronized (event.getRankRangeList()) {
                 for (RankRange range : event.getRankRangeList()) {
                     timeAnalysisEntry.setLastRank(range.getFirstRank());
-                    updateTraceEntry(timeAnalysisEntry, range.getLastRank() + 1, event.getTime(), event.getTime() + event.getDuration());
+                    updateTraceEntry(timeAnalysisEntry, range.getLastRank() + 1, event.getTime(), event.getTime() + event.getDuration(), keepEvents, -1);
                 }
             }
             event.setItemizedEntry(timeAnalysisEntry);
             refreshViewer(false);
-            itemizeTraceEntry(timeAnalysisEntry);
-            synchronized (event) {
-                event.setItemizing(false);
-            }
         }
-    }
 
-    private void redecorate() {
-        synchronized (fDecorateThreads) {
-            for (DecorateThread thread : fDecorateThreads) {
-                thread.cancel();
-            }
-            fDecorateThreads.clear();
-            for (int i = 0; i < fTimeAnalysisEntries.size(); i++) {
-                DecorateThread thread = new DecorateThread(fTimeAnalysisEntries.get(i));
-                thread.start();
-                fDecorateThreads.add(thread);
-            }
-        }
-    }
-
-    private class DecorateThread extends Thread {
-        private volatile boolean interrupted = false;
-        private final TimeChartAnalysisEntry fTimeAnalysisEntry;
-        private final TimeChartDecorationProvider fDecorationProvider;
-        private TmfContext fContext;
-        private int fCount = 0;
-
-        private DecorateThread(TimeChartAnalysisEntry timeAnalysisEntry) {
-            super("Decorate Thread:" + timeAnalysisEntry.getName()); //$NON-NLS-1$
-            fTimeAnalysisEntry = timeAnalysisEntry;
-            fDecorationProvider = fDecorationProviders.get(timeAnalysisEntry.getTrace());
-        }
-
-        @Override
-        public void run() {
-            resetTraceEntry(fTimeAnalysisEntry);
-            refreshViewer(false);
-            decorateTraceEntry(fTimeAnalysisEntry, null);
-            refreshViewer(false);
-            synchronized (fDecorateThreads) {
-                fDecorateThreads.remove(this);
-            }
-        }
-
-        public void resetTraceEntry(TimeChartAnalysisEntry timeAnalysisEntry) {
-            Iterator<ITimeEvent> iterator = timeAnalysisEntry.getTraceEventsIterator();
-            TimeChartEvent event = null;
-            boolean hasNext = true;
-            while (!interrupted && hasNext) {
-                synchronized (timeAnalysisEntry) {
-                    while (hasNext = iterator.hasNext()) {
-                        event = (TimeChartEvent) iterator.next();
-                        break;
-                    }
-                }
-                if (hasNext) {
-                    // TODO possible concurrency problem here with ItemizeJob
-                    event.setColorSettingPriority(ColorSettingsManager.PRIORITY_NONE);
-                    if (event.getItemizedEntry() != null) {
-                        resetTraceEntry(event.getItemizedEntry());
-                    }
-                }
-            }
-        }
-
-        public void decorateTraceEntry(TimeChartAnalysisEntry timeAnalysisEntry, TimeChartEvent parentEvent) {
+        /**
+         * Recomputes the decorations of the entry's events and of their
+         * itemized entries.
+         * 
+         * @return false if interrupted
+         */
+        private boolean decorateTraceEntry(TimeChartAnalysisEntry timeAnalysisEntry, TimeChartEvent parentEvent, long requestCount) {
             // Set max duration high to ensure iterator does not consider
             // itemized events
             Iterator<ITimeEvent> iterator = timeAnalysisEntry.getTraceEventsIterator(0, Long.MAX_VALUE, Long.MAX_VALUE);
@@ -390,7 +444,10 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
             boolean entryIsVisible = false;
             boolean entryIsSearchMatch = false;
             boolean hasNext = true;
-            while (!interrupted && hasNext) {
+            while (hasNext) {
+                if (isInterrupted(requestCount)) {
+                    return false;
+                }
                 synchronized (timeAnalysisEntry) {
                     while (hasNext = iterator.hasNext()) {
                         event = (TimeChartEvent) iterator.next();
@@ -398,17 +455,16 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
                     }
                 }
                 if (hasNext) {
-                    // TODO possible concurrency problem here with ItemizeJob
                     if (event.getItemizedEntry() == null) {
                         decorateEvent(event);
-                    } else {
-                        decorateTraceEntry(event.getItemizedEntry(), event);
+                    } else if (!decorateTraceEntry(event.getItemizedEntry(), event, requestCount)) {
+                        return false;
                     }
                     entryPriority = Math.min(entryPriority, event.getColorSettingPriority());
                     entryIsBookmarked |= event.isBookmarked();
                     entryIsVisible |= event.isVisible();
                     entryIsSearchMatch |= event.isSearchMatch();
-                    if (++fCount % timeAnalysisEntry.getTrace().getCacheSize() == 0) {
+                    if (++fCount % fTrace.getCacheSize() == 0) {
                         refreshViewer(false);
                     }
                 }
@@ -419,29 +475,28 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
                 parentEvent.setIsVisible(entryIsVisible);
                 parentEvent.setIsSearchMatch(entryIsSearchMatch);
             }
+            return true;
         }
 
-        public void decorateEvent(TimeChartEvent timeChartEvent) {
-            // TODO possible concurrency problem here with ItemizeJob
-            TimeChartAnalysisEntry timeAnalysisEntry = (TimeChartAnalysisEntry) timeChartEvent.getEntry();
-            ITmfTrace trace = timeAnalysisEntry.getTrace();
+        private void decorateEvent(TimeChartEvent timeChartEvent) {
+            TmfEvent traceEvent = timeChartEvent.getEvent();
+            if (traceEvent != null) {
+                timeChartEvent.setColorSettingPriority(ColorSettingsManager.getColorSettingPriority(traceEvent));
+                timeChartEvent.setIsBookmarked(fDecorationProvider.isBookmark(timeChartEvent.getFirstRank()));
+                timeChartEvent.setIsVisible(fDecorationProvider.isVisible(traceEvent));
+                timeChartEvent.setIsSearchMatch(fDecorationProvider.isSearchMatch(traceEvent));
+                return;
+            }
             int priority = ColorSettingsManager.PRIORITY_NONE;
             boolean isBookmarked = false;
             boolean isVisible = false;
             boolean isSearchMatch = false;
             synchronized (timeChartEvent.getRankRangeList()) {
                 for (RankRange range : timeChartEvent.getRankRangeList()) {
-                    if (interrupted)
-                        return;
-                    if (fContext == null || fContext.getRank() != range.getFirstRank()) {
-                        fContext = trace.seekEvent(range.getFirstRank());
-                        fContext.setRank(range.getFirstRank());
-                    }
+                    seek(range.getFirstRank());
                     while (true) {
-                        if (interrupted)
-                            return;
                         long rank = fContext.getRank();
-                        TmfEvent event = trace.getNextEvent(fContext);
+                        TmfEvent event = fTrace.getNextEvent(fContext);
                         if (event == null) {
                             break;
                         }
@@ -464,8 +519,96 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
             timeChartEvent.setIsSearchMatch(isSearchMatch);
         }
 
-        public void cancel() {
-            interrupted = true;
+        /**
+         * Recomputes the bookmark decorations from the event ranks, without
+         * reading the trace.
+         * 
+         * @return false if interrupted
+         */
+        private boolean decorateBookmarks(TimeChartAnalysisEntry timeAnalysisEntry, TimeChartEvent parentEvent, long requestCount) {
+            Iterator<ITimeEvent> iterator = timeAnalysisEntry.getTraceEventsIterator(0, Long.MAX_VALUE, Long.MAX_VALUE);
+            TimeChartEvent event = null;
+            boolean entryIsBookmarked = false;
+            boolean hasNext = true;
+            while (hasNext) {
+                if (isInterrupted(requestCount)) {
+                    return false;
+                }
+                synchronized (timeAnalysisEntry) {
+                    while (hasNext = iterator.hasNext()) {
+                        event = (TimeChartEvent) iterator.next();
+                        break;
+                    }
+                }
+                if (hasNext) {
+                    if (event.getItemizedEntry() == null) {
+                        boolean isBookmarked = false;
+                        synchronized (event.getRankRangeList()) {
+                            for (RankRange range : event.getRankRangeList()) {
+                                isBookmarked |= fDecorationProvider.isBookmark(range.getFirstRank(), range.getLastRank());
+                            }
+                        }
+                        event.setIsBookmarked(isBookmarked);
+                    } else if (!decorateBookmarks(event.getItemizedEntry(), event, requestCount)) {
+                        return false;
+                    }
+                    entryIsBookmarked |= event.isBookmarked();
+                }
+            }
+            if (parentEvent != null) {
+                parentEvent.setIsBookmarked(entryIsBookmarked);
+            }
+            return true;
+        }
+    }
+
+    private void refreshViewer(boolean resetTimeIntervals) {
+        if (fComposite == null) {
+            return;
+        }
+        synchronized (fSyncObj) {
+            if (fRefreshBusy) {
+                fRefreshPending = true;
+                return;
+            } else {
+                fRefreshBusy = true;
+            }
+        }
+        final boolean reset = resetTimeIntervals;
+        // Perform the refresh on the UI thread
+        Display.getDefault().asyncExec(new Runnable() {
+            @Override
+            public void run() {
+                if (fComposite.isDisposed())
+                    return;
+                fViewer.display(fTimeAnalysisEntries.toArray(new TimeChartAnalysisEntry[0]));
+                if (reset) {
+                    fViewer.resetStartFinishTime();
+                }
+                synchronized (fSyncObj) {
+                    fRefreshBusy = false;
+                    if (fRefreshPending) {
+                        fRefreshPending = false;
+                        refreshViewer(reset);
+                    }
+                }
+            }
+        });
+    }
+
+    private void itemize(long startTime, long stopTime) {
+        synchronized (fTraceProcessors) {
+            for (TraceProcessor processor : fTraceProcessors.values()) {
+                processor.itemize(startTime, stopTime);
+            }
+        }
+    }
+
+    private void redecorate() {
+        synchronized (fTraceProcessors) {
+            for (TraceProcessor processor : fTraceProcessors.values()) {
+                processor.decorate(false);
+            }
         }
     }
 
@@ -502,31 +645,41 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
     @Override
     public void resourceChanged(IResourceChangeEvent event) {
         for (IMarkerDelta delta : event.findMarkerDeltas(IMarker.BOOKMARK, false)) {
-            for (TimeChartDecorationProvider provider : fDecorationProviders.values()) {
+            for (Map.Entry<ITmfTrace, TimeChartDecorationProvider> entry : fDecorationProviders.entrySet()) {
+                TimeChartDecorationProvider provider = entry.getValue();
                 if (delta.getResource().equals(provider.getResource())) {
-                    if (delta.getKind() == IResourceDelta.CHANGED && delta.getMarker().getAttribute(IMarker.LOCATION, -1) != -1) {
-                        provider.refreshBookmarks();
-                    } else if (delta.getKind() == IResourceDelta.REMOVED) {
+                    if (((delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.CHANGED) &&
+                            delta.getMarker().getAttribute(IMarker.LOCATION, -1) != -1) || delta.getKind() == IResourceDelta.REMOVED) {
                         provider.refreshBookmarks();
+                        // bookmarks only depend on the event ranks
+                        TraceProcessor processor = getTraceProcessor(entry.getKey());
+                        if (processor != null) {
+                            processor.decorate(true);
+                        }
                     }
                 }
             }
         }
-        redecorate();
     }
 
     @Override
     public void filterApplied(ITmfFilter filter, ITmfTrace trace) {
         TimeChartDecorationProvider decorationProvider = fDecorationProviders.get(trace);
         decorationProvider.filterApplied(filter);
-        redecorate();
+        TraceProcessor processor = getTraceProcessor(trace);
+        if (processor != null) {
+            processor.decorate(false);
+        }
     }
 
     @Override
     public void searchApplied(ITmfFilter filter, ITmfTrace trace) {
         TimeChartDecorationProvider decorationProvider = fDecorationProviders.get(trace);
         decorationProvider.searchApplied(filter);
-        redecorate();
+        TraceProcessor processor = getTraceProcessor(trace);
+        if (processor != null) {
+            processor.decorate(false);
+        }
     }
 
     // ------------------------------------------------------------------------
@@ -551,8 +704,7 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
             timeAnalysisEntry = new TimeChartAnalysisEntry(trace, fDisplayWidth * 2);
             fTimeAnalysisEntries.add(timeAnalysisEntry);
             fDecorationProviders.put(trace, new TimeChartDecorationProvider(resource));
-            Thread thread = new ProcessTraceThread(timeAnalysisEntry);
-            thread.start();
+            startTraceProcessor(timeAnalysisEntry);
         }
         refreshViewer(true);
         if (eventsFilterProvider != null) {
@@ -568,6 +720,12 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
         for (int i = 0; i < fTimeAnalysisEntries.size(); i++) {
             if (fTimeAnalysisEntries.get(i).getTrace().equals(trace)) {
                 fTimeAnalysisEntries.remove(i);
+                synchronized (fTraceProcessors) {
+                    TraceProcessor processor = fTraceProcessors.remove(trace);
+                    if (processor != null) {
+                        processor.cancel();
+                    }
+                }
                 fDecorationProviders.remove(trace);
                 refreshViewer(true);
                 break;
@@ -593,12 +751,9 @@ public class TimeChartView extends TmfView implements ITmfTimeScaleSelectionList
         if (fTimeAnalysisEntries == null)
             return;
         final ITmfTrace trace = signal.getTrace();
-        for (int i = 0; i < fTimeAnalysisEntries.size(); i++) {
-            TimeChartAnalysisEntry timeAnalysisEntry = fTimeAnalysisEntries.get(i);
-            if (timeAnalysisEntry.getTrace().equals(trace)) {
-                updateTraceEntry(timeAnalysisEntry, Long.MAX_VALUE, 0, Long.MAX_VALUE);
-                break;
-            }
+        TraceProcessor processor = getTraceProcessor(trace);
+        if (processor != null) {
+            processor.process();
         }
     }
 
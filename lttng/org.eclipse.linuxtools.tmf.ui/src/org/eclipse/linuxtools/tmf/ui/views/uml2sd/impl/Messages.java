@@ -20,6 +20,7 @@ public class Messages extends NLS {
     public static String TmfUml2SDSyncLoader_FrameName;
     public static String TmfUml2SDSyncLoader_SearchJobDescrition;
     public static String TmfUml2SDSyncLoader_SearchNotFound;
+    public static String TmfUml2SDSyncLoader_FilterJobDescription;
     
     public static String TmfUml2SDSyncCloader_EventTypeSend;
     public static String TmfUml2SDSyncCloader_EventTypeReceive;
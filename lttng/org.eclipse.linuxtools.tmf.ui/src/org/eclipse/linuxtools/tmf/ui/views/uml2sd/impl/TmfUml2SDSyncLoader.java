@@ -12,8 +12,12 @@
 package org.eclipse.linuxtools.tmf.ui.views.uml2sd.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -76,6 +80,7 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
     protected final static String TITLE = Messages.TmfUml2SDSyncLoader_ViewName;
     protected final static int DEFAULT_BLOCK_SIZE = 50000; 
     protected final static int MAX_NUM_OF_MSG = 10000;
+    protected final static int MAX_CACHED_PAGES = 5;
     protected static final long INITIAL_WINDOW_OFFSET = (1L * 100  * 1000 * 1000); // .1sec
 
     // Experiment attributes
@@ -92,6 +97,7 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
 
     // Checkpoint and page attributes
     protected List<TmfTimeRange> fCheckPoints = new ArrayList<TmfTimeRange>(MAX_NUM_OF_MSG);
+    protected Map<Integer, PageEntry> fPageCache = new PageCache(MAX_CACHED_PAGES);
     volatile protected int fCurrentPage = 0;
     protected TmfTimestamp fCurrentTime = null;
     volatile protected boolean fIsSelect = false; 
@@ -104,6 +110,11 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
 
     // Filter attributes
     protected List<FilterCriteria> fFilterCriteria = null;
+    protected FilterJob fFilterJob = null;
+
+    // Page index (checkpoints) of each completely indexed experiment. Kept
+    // across loader instances so that re-opening the view doesn't re-index.
+    protected final static Map<TmfExperiment<?>, List<TmfTimeRange>> fPageIndexes = Collections.synchronizedMap(new WeakHashMap<TmfExperiment<?>, List<TmfTimeRange>>());
     
     // Thread synchronization
     protected ReentrantLock fLock = new ReentrantLock();
@@ -154,6 +165,27 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
         }
     }
 
+    /**
+     * Waits for the filter job to be completed. The new frame is then passed
+     * to the display thread.
+     */
+    public void waitForFilter() {
+        FilterJob job;
+        fLock.lock();
+        try {
+            job = fFilterJob;
+        } finally {
+            fLock.unlock();
+        }
+        if (job != null) {
+            try {
+                job.join();
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        }
+    }
+
     /**
      * Spawns a request to index the experiment (checkpoints creation) as well as it fills
      * the first page.
@@ -172,6 +204,25 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
                 fExperiment = exp;
             }
 
+            if ((fIndexRequest != null) && !fIndexRequest.isCompleted()) {
+                fIndexRequest.cancel();
+            }
+            cancelOngoingRequests();
+            fCheckPoints.clear();
+            fPageCache.clear();
+            fCurrentPage = 0;
+
+            // Re-use the page index if the experiment was already indexed
+            List<TmfTimeRange> pageIndex = fPageIndexes.get(fExperiment);
+            if (pageIndex != null) {
+                fCheckPoints.addAll(pageIndex);
+                if (fView != null) {
+                    fView.updateCoolBar();
+                }
+                moveToPage(false);
+                return;
+            }
+
             // TmfTimeRange window = getInitTRange(fExperiment.getTimeRange());
             TmfTimeRange window = TmfTimeRange.Eternity;
 
@@ -219,7 +270,7 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
                         fSdEvents.add(sdEvent);
 
                         if (fNbSeqEvents == MAX_NUM_OF_MSG) {
-                            fillCurrentPage(fSdEvents);
+                            fillCurrentPage(0, fSdEvents, null);
                         }
                     }
                 }
@@ -240,8 +291,17 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
                         }
                     }
 
+                    fLock.lock();
+                    try {
+                        if (fCheckPoints.size() > 0) {
+                            fPageIndexes.put(fExperiment, new ArrayList<TmfTimeRange>(fCheckPoints));
+                        }
+                    } finally {
+                        fLock.unlock();
+                    }
+
                     if (fNbSeqEvents <= MAX_NUM_OF_MSG) {
-                        fillCurrentPage(fSdEvents);
+                        fillCurrentPage(0, fSdEvents, null);
                     }
 
                     super.handleSuccess();
@@ -277,10 +337,13 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
 
             cancelOngoingRequests();
 
-            if (fFilterCriteria != null) {
-                fFilterCriteria.clear();
+            if (fExperiment != null) {
+                fPageIndexes.remove(fExperiment);
             }
 
+            // The frames being built keep the criteria they started with
+            fFilterCriteria = null;
+
             FilterListDialog.deactivateSavedGlobalFilters();
 
             resetLoader();
@@ -524,7 +587,13 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
             List<FilterCriteria> list = (List<FilterCriteria>)filters;
             fFilterCriteria =  new ArrayList<FilterCriteria>(list);
 
-            fillCurrentPage(fEvents);
+            // The cached frames were built with the previous criteria
+            for (PageEntry entry : fPageCache.values()) {
+                entry.fFrame = null;
+            }
+
+            fFilterJob = new FilterJob(fCurrentPage, fEvents);
+            fFilterJob.schedule();
 
         } finally {
             fLock.unlock();
@@ -714,6 +783,10 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
             if (fFindJob != null) {
                 fFindJob.cancel();
             }
+            if (fFilterJob != null) {
+                fFilterJob.cancel();
+                fFilterJob = null;
+            }
             fFindResults = null;
             fFindCriteria = null;
             fCurrentFindIndex = 0;
@@ -734,8 +807,9 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
         fLock.lock();
         try {
             fCurrentTime = null;
-            fEvents.clear();
+            fEvents = new ArrayList<ITmfSyncSequenceDiagramEvent>();
             fCheckPoints.clear();
+            fPageCache.clear();
             fCurrentPage = 0;
             fCurrentFindIndex = 0;
             fFindCriteria = null;
@@ -755,17 +829,155 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
      * @param events sequence diagram events
      */
     protected void fillCurrentPage(List<ITmfSyncSequenceDiagramEvent> events) {
+        fillCurrentPage(fCurrentPage, events, null);
+    }
+
+    /**
+     * Fills current page with sequence diagram content.
+     * 
+     * @param page the page the events belong to
+     * @param events sequence diagram events
+     * @param monitor progress monitor to cancel the frame creation (can be null)
+     */
+    protected void fillCurrentPage(int page, List<ITmfSyncSequenceDiagramEvent> events, IProgressMonitor monitor) {
+        fillCurrentPage(page, events, null, monitor);
+    }
+
+    /**
+     * Fills current page with sequence diagram content. The events and the frame
+     * built from them are kept in the page cache, so the frame is only rebuilt
+     * if it is not cached or if the filter criteria changed.
+     * 
+     * @param page the page the events belong to
+     * @param events sequence diagram events
+     * @param job the filter job filling the page, or null. The frame is only
+     *            displayed if the job is still the current filter job.
+     * @param monitor progress monitor to cancel the frame creation (can be null)
+     */
+    protected void fillCurrentPage(int page, List<ITmfSyncSequenceDiagramEvent> events, FilterJob job, IProgressMonitor monitor) {
+
+        PageEntry entry;
+        Frame frame;
+        List<FilterCriteria> filterCriteria;
 
         fLock.lock();
         try {
-            fEvents = new ArrayList<ITmfSyncSequenceDiagramEvent>(events);
+            entry = fPageCache.get(page);
+            if ((entry == null) || (entry.fEvents != events)) {
+                entry = new PageEntry(new ArrayList<ITmfSyncSequenceDiagramEvent>(events));
+                fPageCache.put(page, entry);
+            }
+            fEvents = entry.fEvents;
+            frame = entry.fFrame;
+            filterCriteria = fFilterCriteria;
             if (fView != null) {
                 fView.toggleWaitCursorAsync(true);
             }
         } finally {
             fLock.unlock();
         }
-      
+
+        if (entry.fEvents.size() > 0) {
+
+            if (frame == null) {
+                frame = createFrame(entry.fEvents, filterCriteria, monitor);
+                fLock.lock();
+                try {
+                    if (frame == null) {
+                        // cancelled
+                        if (fView != null) {
+                            fView.toggleWaitCursorAsync(false);
+                        }
+                        return;
+                    }
+                    // Don't cache a frame built with outdated filter criteria
+                    if (filterCriteria == fFilterCriteria) {
+                        entry.fFrame = frame;
+                    }
+                } finally {
+                    fLock.unlock();
+                }
+            }
+
+            final Frame newFrame = frame;
+            fLock.lock();
+            try {
+                // A filter job that was cancelled or replaced meanwhile must
+                // not overwrite the frame of the newer one
+                if ((job != null) && (job != fFilterJob)) {
+                    if (fView != null) {
+                        fView.toggleWaitCursorAsync(false);
+                    }
+                    return;
+                }
+                if ((fView != null) && !fView.getSDWidget().isDisposed()) {
+                    fView.getSDWidget().getDisplay().asyncExec(new Runnable() {
+
+                        @Override
+                        public void run() {
+
+                            fLock.lock();
+                            try {
+                                // check if view was disposed in the meanwhile
+                                if ((fView != null) && (!fView.getSDWidget().isDisposed())) {
+                                    // cached frames must not keep the selection of their last display
+                                    fView.getSDWidget().clearSelection();
+                                    fFrame = newFrame;
+                                    fView.setFrame(fFrame);
+
+                                    if (fCurrentTime != null) {
+                                        moveToMessageInPage();
+                                    }
+
+                                    if (fFindCriteria != null) {
+                                        find(fFindCriteria);
+                                    }
+                                    
+                                    fView.toggleWaitCursorAsync(false);
+                                }
+                            }  finally {
+                                fLock.unlock();
+                            }
+
+                        }
+                    });
+                }
+            }
+            finally {
+                fLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Creates the sequence diagram frame of a page, applying the current filter criteria.
+     * 
+     * @param events sequence diagram events of the page
+     * @param monitor progress monitor to cancel the frame creation (can be null)
+     * @return the new frame or null if cancelled
+     */
+    protected Frame createFrame(List<ITmfSyncSequenceDiagramEvent> events, IProgressMonitor monitor) {
+        List<FilterCriteria> filterCriteria;
+        fLock.lock();
+        try {
+            filterCriteria = fFilterCriteria;
+        } finally {
+            fLock.unlock();
+        }
+        return createFrame(events, filterCriteria, monitor);
+    }
+
+    /**
+     * Creates the sequence diagram frame of a page with the given filter
+     * criteria. The criteria list must not be modified while the frame is built
+     * (the loader replaces its list instead of modifying it).
+     * 
+     * @param events sequence diagram events of the page
+     * @param filterCriteria the filter criteria to apply (can be null)
+     * @param monitor progress monitor to cancel the frame creation (can be null)
+     * @return the new frame or null if cancelled
+     */
+    protected Frame createFrame(List<ITmfSyncSequenceDiagramEvent> events, List<FilterCriteria> filterCriteria, IProgressMonitor monitor) {
         final Frame frame = new Frame();
         if (events.size() > 0) {
 
@@ -777,14 +989,14 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
 
                 ITmfSyncSequenceDiagramEvent sdEvent = events.get(i);
 
-                if ((nodeToLifelineMap.get(sdEvent.getSender()) == null) && (!filterLifeLine(sdEvent.getSender()))) {
+                if ((nodeToLifelineMap.get(sdEvent.getSender()) == null) && (!filterLifeLine(sdEvent.getSender(), filterCriteria))) {
                     Lifeline lifeline = new Lifeline();
                     lifeline.setName(sdEvent.getSender());
                     nodeToLifelineMap.put(sdEvent.getSender(), lifeline);
                     frame.addLifeLine(lifeline);
                 }
 
-                if ((nodeToLifelineMap.get(sdEvent.getReceiver()) == null) && (!filterLifeLine(sdEvent.getReceiver()))) {
+                if ((nodeToLifelineMap.get(sdEvent.getReceiver()) == null) && (!filterLifeLine(sdEvent.getReceiver(), filterCriteria))) {
                     Lifeline lifeline = new Lifeline();
                     lifeline.setName(sdEvent.getReceiver());
                     nodeToLifelineMap.put(sdEvent.getReceiver(), lifeline);
@@ -795,10 +1007,14 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
             int eventOccurence = 1;
 
             for (int i = 0; i < events.size(); i++) {
+                if ((monitor != null) && monitor.isCanceled()) {
+                    return null;
+                }
+
                 ITmfSyncSequenceDiagramEvent sdEvent = (TmfSyncSequenceDiagramEvent) events.get(i);
 
                 // Check message filter
-                if (filterMessage(sdEvent)) {
+                if (filterMessage(sdEvent, filterCriteria)) {
                     continue;
                 }
 
@@ -828,43 +1044,8 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
                 frame.addMessage(message);
                 
             }
-            fLock.lock();
-            try {
-                if (!fView.getSDWidget().isDisposed()) {
-                    fView.getSDWidget().getDisplay().asyncExec(new Runnable() {
-
-                        @Override
-                        public void run() {
-
-                            fLock.lock();
-                            try {
-                                // check if view was disposed in the meanwhile
-                                if ((fView != null) && (!fView.getSDWidget().isDisposed())) {
-                                    fFrame = frame;
-                                    fView.setFrame(fFrame);
-
-                                    if (fCurrentTime != null) {
-                                        moveToMessageInPage();
-                                    }
-
-                                    if (fFindCriteria != null) {
-                                        find(fFindCriteria);
-                                    }
-                                    
-                                    fView.toggleWaitCursorAsync(false);
-                                }
-                            }  finally {
-                                fLock.unlock();
-                            }
-
-                        }
-                    });
-                }
-            }
-            finally {
-                fLock.unlock();
-            }
         }
+        return frame;
     }
 
     /**
@@ -941,18 +1122,32 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
     protected void moveToPage(boolean notifyAll) {
 
         TmfTimeRange window = TmfTimeRange.Eternity;
+        final int page;
+        PageEntry entry;
 
         fLock.lock();
         try {
             // Safety check
-            if (fCurrentPage > fCheckPoints.size()) {
+            if ((fCurrentPage < 0) || (fCurrentPage >= fCheckPoints.size())) {
                 return;
             }
-            window = fCheckPoints.get(fCurrentPage);
+            page = fCurrentPage;
+            window = fCheckPoints.get(page);
+            entry = fPageCache.get(page);
         } finally {
             fLock.unlock();
         }
 
+        if (entry != null) {
+            // The page events are cached: no need to read the trace again
+            fillCurrentPage(page, entry.fEvents, null);
+            if (notifyAll) {
+                TmfTimeRange timeRange = getSignalTimeRange(window.getStartTime());
+                broadcast(new TmfRangeSynchSignal(this, timeRange, timeRange.getStartTime()));
+            }
+            return;
+        }
+
         fPageRequest = new TmfEventRequest<TmfEvent>(TmfEvent.class, window, TmfDataRequest.ALL_DATA, 1, ITmfDataRequest.ExecutionType.FOREGROUND) {
             private List<ITmfSyncSequenceDiagramEvent> fSdEvent = new ArrayList<ITmfSyncSequenceDiagramEvent>();
 
@@ -969,7 +1164,7 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
 
             @Override
             public void handleSuccess() {
-                fillCurrentPage(fSdEvent);
+                fillCurrentPage(page, fSdEvent, null);
                 super.handleSuccess();
             }
             
@@ -1028,8 +1223,7 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
                 return false;
             }
 
-            TmfTimeRange window = new TmfTimeRange(fCheckPoints.get(nextPage).getStartTime().clone(), fCheckPoints.get(fCheckPoints.size()-1).getEndTime().clone());
-            fFindJob = new SearchJob(findCriteria, window);
+            fFindJob = new SearchJob(findCriteria, nextPage);
             fFindJob.schedule();
             fView.toggleWaitCursorAsync(true);
         } finally {
@@ -1062,18 +1256,28 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
     protected boolean filterMessage(ITmfSyncSequenceDiagramEvent sdEvent) {
         fLock.lock();
         try {
-            if (fFilterCriteria != null) {
-                for(FilterCriteria criteria : fFilterCriteria) {
-                    if (criteria.isActive() && criteria.getCriteria().isSyncMessageSelected() ) {
+            return filterMessage(sdEvent, fFilterCriteria);
+        } finally {
+            fLock.unlock();
+        }
+    }
 
-                        if(criteria.getCriteria().matches(sdEvent.getName())) {
-                            return true;
-                        }
+    /**
+     * Checks if the given filter criteria match the message name in given SD event. 
+     * @param sdEvent The SD event to check
+     * @param filterCriteria The filter criteria (can be null)
+     * @return true if match else false.
+     */
+    protected boolean filterMessage(ITmfSyncSequenceDiagramEvent sdEvent, List<FilterCriteria> filterCriteria) {
+        if (filterCriteria != null) {
+            for(FilterCriteria criteria : filterCriteria) {
+                if (criteria.isActive() && criteria.getCriteria().isSyncMessageSelected() ) {
+
+                    if(criteria.getCriteria().matches(sdEvent.getName())) {
+                        return true;
                     }
                 }
             }
-        } finally {
-            fLock.unlock();
         }
         return false;
     }
@@ -1086,28 +1290,42 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
     protected boolean filterLifeLine(String lifeline) {
         fLock.lock();
         try {
-            if (fFilterCriteria != null) {
-                for(FilterCriteria criteria : fFilterCriteria) {
-                    if (criteria.isActive() && criteria.getCriteria().isLifeLineSelected()) {
+            return filterLifeLine(lifeline, fFilterCriteria);
+        } finally {
+            fLock.unlock();
+        }
+    }
 
-                        if(criteria.getCriteria().matches(lifeline)) {
-                            return true;
-                        }
+    /**
+     * Checks if the given filter criteria match a lifeline name (sender or receiver). 
+     * @param lifeline The lifeline name to check
+     * @param filterCriteria The filter criteria (can be null)
+     * @return true if match else false.
+     */
+    protected boolean filterLifeLine(String lifeline, List<FilterCriteria> filterCriteria) {
+        if (filterCriteria != null) {
+            for(FilterCriteria criteria : filterCriteria) {
+                if (criteria.isActive() && criteria.getCriteria().isLifeLineSelected()) {
+
+                    if(criteria.getCriteria().matches(lifeline)) {
+                        return true;
                     }
                 }
             }
-        } finally {
-            fLock.unlock();
         }
         return false;
     }
 
     /**
-     * Job to search in trace for given time range. 
+     * Job to search in trace for given time range. The pages still in the page
+     * cache are scanned in memory, the trace is only read from the first page
+     * that is not cached.
      */
     protected class SearchJob extends Job {
 
-        final protected SearchEventRequest fSearchRequest;
+        final protected Criteria fCriteria;
+        final protected int fStartPage;
+        protected SearchEventRequest fSearchRequest = null;
         
         /**
          * Constructor
@@ -1117,28 +1335,54 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
          */
         public SearchJob(Criteria findCriteria, TmfTimeRange window) {
             super(Messages.TmfUml2SDSyncLoader_SearchJobDescrition);
+            fCriteria = findCriteria;
+            fStartPage = -1;
             fSearchRequest = new SearchEventRequest(window, TmfDataRequest.ALL_DATA, 1, ITmfDataRequest.ExecutionType.FOREGROUND, findCriteria);
         }
 
+        /**
+         * Constructor
+         * 
+         * @param findCriteria The search criteria
+         * @param startPage The first page to search in (up to the last page)
+         */
+        public SearchJob(Criteria findCriteria, int startPage) {
+            super(Messages.TmfUml2SDSyncLoader_SearchJobDescrition);
+            fCriteria = new Criteria(findCriteria);
+            fStartPage = startPage;
+        }
+
         /*
          * (non-Javadoc)
          * @see org.eclipse.core.runtime.jobs.Job#run(org.eclipse.core.runtime.IProgressMonitor)
          */
         @Override
         protected IStatus run(IProgressMonitor monitor) {
-            fSearchRequest.setMonitor(monitor);
-            
-            ((TmfExperiment<TmfEvent>) fExperiment).sendRequest((ITmfDataRequest<TmfEvent>) fSearchRequest);
+            TmfTimestamp foundTime = null;
 
-            try {
-                fSearchRequest.waitForCompletion();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+            if (fStartPage >= 0) {
+                foundTime = searchCachedPages(monitor);
+            }
+
+            if ((foundTime == null) && (fSearchRequest != null) && !monitor.isCanceled()) {
+                fSearchRequest.setMonitor(monitor);
+
+                ((TmfExperiment<TmfEvent>) fExperiment).sendRequest((ITmfDataRequest<TmfEvent>) fSearchRequest);
+
+                try {
+                    fSearchRequest.waitForCompletion();
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+
+                if (fSearchRequest.isFound()) {
+                    foundTime = fSearchRequest.getFoundTime();
+                }
             }
 
             IStatus status = Status.OK_STATUS; 
-            if (fSearchRequest.isFound() && fSearchRequest.getFoundTime() != null) {
-                fCurrentTime = fSearchRequest.getFoundTime();
+            if (foundTime != null) {
+                fCurrentTime = foundTime;
                 
                 // Avoid double-selection. Selection will be done when calling find(criteria)
                 // after moving to relevant page
@@ -1176,13 +1420,54 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
             return status;
         }
         
+        /**
+         * Scans the cached pages, starting at the start page, in memory. At the
+         * first page that is not cached, the search request for the remaining
+         * pages is created.
+         * 
+         * @param monitor The progress monitor
+         * @return the time of the first matching message or null if not found
+         */
+        protected TmfTimestamp searchCachedPages(IProgressMonitor monitor) {
+            int page = fStartPage;
+            while (!monitor.isCanceled()) {
+                List<ITmfSyncSequenceDiagramEvent> events = null;
+                fLock.lock();
+                try {
+                    if (page >= fCheckPoints.size()) {
+                        return null;
+                    }
+                    PageEntry entry = fPageCache.get(page);
+                    if (entry == null) {
+                        TmfTimeRange window = new TmfTimeRange(fCheckPoints.get(page).getStartTime().clone(), fCheckPoints.get(fCheckPoints.size()-1).getEndTime().clone());
+                        fSearchRequest = new SearchEventRequest(window, TmfDataRequest.ALL_DATA, 1, ITmfDataRequest.ExecutionType.FOREGROUND, fCriteria);
+                        return null;
+                    }
+                    events = entry.fEvents;
+                } finally {
+                    fLock.unlock();
+                }
+
+                for (ITmfSyncSequenceDiagramEvent sdEvent : events) {
+                    if (isMatching(fCriteria, sdEvent)) {
+                        return sdEvent.getStartTime().clone();
+                    }
+                }
+                page++;
+            }
+            return null;
+        }
+
         /*
          * (non-Javadoc)
          * @see org.eclipse.core.runtime.jobs.Job#canceling()
          */
         @Override
         protected void canceling() {
-            fSearchRequest.cancel();
+            SearchEventRequest request = fSearchRequest;
+            if (request != null) {
+                request.cancel();
+            }
             fLock.lock();
             try {
                 fFindJob = null;
@@ -1245,29 +1530,10 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
 
             ITmfSyncSequenceDiagramEvent sdEvent = getSequnceDiagramEvent(event);
             
-            if (sdEvent != null) {
-
-                if (fCriteria.isLifeLineSelected()) {
-                    if (fCriteria.matches(sdEvent.getSender())) {
-                        fFoundTime = event.getTimestamp().clone();
-                        fIsFound = true;
-                        super.cancel();
-                    }
-
-                    if (fCriteria.matches(sdEvent.getReceiver())) {
-                        fFoundTime = event.getTimestamp().clone();
-                        fIsFound = true;
-                        super.cancel();
-                    }
-                }
-
-                if (fCriteria.isSyncMessageSelected()) {
-                    if (fCriteria.matches(sdEvent.getName())) {
-                        fFoundTime = event.getTimestamp().clone();
-                        fIsFound = true;
-                        super.cancel();
-                    }
-                }
+            if ((sdEvent != null) && isMatching(fCriteria, sdEvent)) {
+                fFoundTime = event.getTimestamp().clone();
+                fIsFound = true;
+                super.cancel();
             }
         }
 
@@ -1304,6 +1570,108 @@ public class TmfUml2SDSyncLoader extends TmfComponent implements IUml2SDLoader,
         }
     }
 
+    /**
+     * Job to re-create the frame of the current page with new filter criteria.
+     */
+    protected class FilterJob extends Job {
+
+        final protected int fPage;
+        final protected List<ITmfSyncSequenceDiagramEvent> fPageEvents;
+
+        /**
+         * Constructor
+         * 
+         * @param page The page to filter
+         * @param events The sequence diagram events of the page
+         */
+        public FilterJob(int page, List<ITmfSyncSequenceDiagramEvent> events) {
+            super(Messages.TmfUml2SDSyncLoader_FilterJobDescription);
+            fPage = page;
+            fPageEvents = events;
+            setSystem(true);
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see org.eclipse.core.runtime.jobs.Job#run(org.eclipse.core.runtime.IProgressMonitor)
+         */
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            fillCurrentPage(fPage, fPageEvents, this, monitor);
+            fLock.lock();
+            try {
+                if (fFilterJob == this) {
+                    fFilterJob = null;
+                }
+            } finally {
+                fLock.unlock();
+            }
+            return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+    }
+
+    /**
+     * The sequence diagram events of a page and the frame built from them. 
+     */
+    protected static class PageEntry {
+        final protected List<ITmfSyncSequenceDiagramEvent> fEvents;
+        protected Frame fFrame = null;
+
+        /**
+         * Constructor
+         * @param events The sequence diagram events of the page
+         */
+        public PageEntry(List<ITmfSyncSequenceDiagramEvent> events) {
+            fEvents = events;
+        }
+    }
+
+    /**
+     * LRU cache of pages, indexed by page number.
+     */
+    protected static class PageCache extends LinkedHashMap<Integer, PageEntry> {
+
+        private static final long serialVersionUID = -8281829213557040315L;
+
+        final private int fMaxSize;
+
+        /**
+         * Constructor
+         * @param maxSize The maximum number of pages to keep
+         */
+        public PageCache(int maxSize) {
+            super(maxSize + 1, 1.0f, true);
+            fMaxSize = maxSize;
+        }
+
+        /*
+         * (non-Javadoc)
+         * @see java.util.LinkedHashMap#removeEldestEntry(java.util.Map.Entry)
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, PageEntry> eldest) {
+            return size() > fMaxSize;
+        }
+    }
+
+    /**
+     * Checks if a sequence diagram event matches the find criteria.
+     * @param criteria The find criteria
+     * @param sdEvent The SD event to check
+     * @return true if match else false.
+     */
+    protected boolean isMatching(Criteria criteria, ITmfSyncSequenceDiagramEvent sdEvent) {
+        if (criteria.isLifeLineSelected()) {
+            if (criteria.matches(sdEvent.getSender()) || criteria.matches(sdEvent.getReceiver())) {
+                return true;
+            }
+        }
+        if (criteria.isSyncMessageSelected() && criteria.matches(sdEvent.getName())) {
+            return true;
+        }
+        return false;
+    }
+
     /**
      * @param tmfEvent Event to parse for sequence diagram event details
      * @return sequence diagram event if details are available else null
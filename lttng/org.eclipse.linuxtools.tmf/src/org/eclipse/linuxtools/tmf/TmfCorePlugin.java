@@ -13,6 +13,7 @@
 package org.eclipse.linuxtools.tmf;
 
 import org.eclipse.core.runtime.Plugin;
+import org.eclipse.linuxtools.tmf.metrics.TmfMetrics;
 import org.osgi.framework.BundleContext;
 
 /**
@@ -71,10 +72,12 @@ public class TmfCorePlugin extends Plugin {
 		super.start(context);
 		setDefault(this);
 		Tracer.init();
+		TmfMetrics.init();
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		TmfMetrics.stop();
 		Tracer.stop();
 		setDefault(null);
 		super.stop(context);
@@ -19,6 +19,8 @@ import java.util.concurrent.SynchronousQueue;
 
 import org.eclipse.linuxtools.tmf.Tracer;
 import org.eclipse.linuxtools.tmf.event.TmfData;
+import org.eclipse.linuxtools.tmf.metrics.TmfMetrics;
+import org.eclipse.linuxtools.tmf.metrics.TmfProviderMetrics;
 import org.eclipse.linuxtools.tmf.request.ITmfDataRequest;
 import org.eclipse.linuxtools.tmf.request.ITmfDataRequest.ExecutionType;
 import org.eclipse.linuxtools.tmf.request.TmfCoalescedDataRequest;
@@ -71,6 +73,11 @@ public abstract class TmfDataProvider<T extends TmfData> extends TmfComponent im
 
     private int fRequestPendingCounter = 0;
 
+    // The provider metrics (registered again if the name is set late)
+    private volatile TmfProviderMetrics fMetrics;
+    private volatile boolean fMetricsDisposed = false;
+    private final Object fMetricsLock = new Object();
+
     // ------------------------------------------------------------------------
     // Constructors
     // ------------------------------------------------------------------------
@@ -112,6 +119,12 @@ public abstract class TmfDataProvider<T extends TmfData> extends TmfComponent im
     public void dispose() {
         TmfProviderManager.deregister(fType, this);
         fExecutor.stop();
+        synchronized (fMetricsLock) {
+            fMetricsDisposed = true;
+            if (fMetrics != null) {
+                TmfMetrics.deregister(fMetrics);
+            }
+        }
         super.dispose();
 //		if (Tracer.isComponentTraced()) Tracer.traceComponent(this, "stopped");
     }
@@ -124,12 +137,41 @@ public abstract class TmfDataProvider<T extends TmfData> extends TmfComponent im
         return fType;
     }
 
+    /**
+     * Returns the metrics collected for this provider. Once the provider is
+     * disposed, they are no longer in the TmfMetrics registry.
+     *
+     * @return the metrics collected for this provider
+     */
+    public TmfProviderMetrics getMetrics() {
+        TmfProviderMetrics metrics = fMetrics;
+        String name = (getName() != null) ? getName() : ""; //$NON-NLS-1$
+        if (metrics != null && (fMetricsDisposed || metrics.getName().equals(name))) {
+            return metrics;
+        }
+        synchronized (fMetricsLock) {
+            metrics = fMetrics;
+            if (metrics == null || (!fMetricsDisposed && !metrics.getName().equals(name))) {
+                if (metrics != null) {
+                    TmfMetrics.deregister(metrics);
+                }
+                metrics = fMetricsDisposed ? new TmfProviderMetrics(name) : TmfMetrics.register(name);
+                fMetrics = metrics;
+                fExecutor.setMetrics(metrics);
+            }
+        }
+        return metrics;
+    }
+
     // ------------------------------------------------------------------------
     // ITmfRequestHandler
     // ------------------------------------------------------------------------
 
     @Override
     public void sendRequest(final ITmfDataRequest<T> request) {
+        if (TmfMetrics.isEnabled()) {
+            getMetrics().requestSubmitted();
+        }
         synchronized (fLock) {
             if (fSignalDepth > 0) {
                 coalesceDataRequest(request);
@@ -209,6 +251,9 @@ public abstract class TmfDataProvider<T extends TmfData> extends TmfComponent im
             for (TmfCoalescedDataRequest<T> coalescedRequest : fPendingCoalescedRequests) {
                 if (coalescedRequest.isCompatible(request)) {
                     coalescedRequest.addRequest(request);
+                    if (TmfMetrics.isEnabled()) {
+                        getMetrics().requestCoalesced();
+                    }
                     if (Tracer.isRequestTraced()) {
                         Tracer.traceRequest(request, "coalesced with " + coalescedRequest.getRequestId()); //$NON-NLS-1$
                     }
@@ -238,6 +283,9 @@ public abstract class TmfDataProvider<T extends TmfData> extends TmfComponent im
         }
 
         final TmfDataProvider<T> provider = this;
+        if (TmfMetrics.isEnabled()) {
+            getMetrics(); // Makes sure the executor records the queue wait
+        }
 
         // Process the request
         TmfThread thread = new TmfThread(request.getExecType()) {
@@ -260,6 +308,7 @@ public abstract class TmfDataProvider<T extends TmfData> extends TmfComponent im
                     return;
                 }
 
+                long start = TmfMetrics.startTimer();
                 try {
                     // Get the ordered events
                     T data = getNext(context);
@@ -278,6 +327,8 @@ public abstract class TmfDataProvider<T extends TmfData> extends TmfComponent im
                     }
                     if (Tracer.isRequestTraced())
                         Tracer.trace("Request #" + request.getRequestId() + " finished"); //$NON-NLS-1$//$NON-NLS-2$
+                    if (start != 0)
+                        getMetrics().eventsRead(nbRead, System.nanoTime() - start);
 
                     if (request.isCancelled()) {
                         request.cancel();
@@ -23,6 +23,7 @@ import org.eclipse.linuxtools.tmf.component.TmfEventProvider;
 import org.eclipse.linuxtools.tmf.event.TmfEvent;
 import org.eclipse.linuxtools.tmf.event.TmfTimeRange;
 import org.eclipse.linuxtools.tmf.event.TmfTimestamp;
+import org.eclipse.linuxtools.tmf.metrics.TmfMetrics;
 import org.eclipse.linuxtools.tmf.request.ITmfDataRequest;
 import org.eclipse.linuxtools.tmf.request.ITmfEventRequest;
 import org.eclipse.linuxtools.tmf.request.TmfDataRequest;
@@ -302,6 +303,9 @@ public class TmfExperiment<T extends TmfEvent> extends TmfEventProvider<T> imple
             if ((fExperimentContext != null) && fExperimentContext.getRank() == request.getIndex()) {
                 // We are already at the right context -> no need to seek
                 context = fExperimentContext;
+                if (TmfMetrics.isEnabled()) {
+                    getMetrics().cacheAccessed(true);
+                }
             } else {
                 context = seekEvent(request.getIndex());
             }
@@ -384,6 +388,7 @@ public class TmfExperiment<T extends TmfEvent> extends TmfEventProvider<T> imple
 
 //		Tracer.trace("Ctx: seekEvent(TS) - start");
 
+        long start = TmfMetrics.startTimer();
         if (timestamp == null) {
             timestamp = TmfTimestamp.BigBang;
         }
@@ -416,9 +421,11 @@ public class TmfExperiment<T extends TmfEvent> extends TmfEventProvider<T> imple
 
         // And locate the event
         TmfEvent event = parseEvent(context);
+        boolean hit = true;
         while (event != null && event.getTimestamp().compareTo(timestamp, false) < 0) {
             getNextEvent(context);
             event = parseEvent(context);
+            hit = false;
         }
 
         if (event == null) {
@@ -426,6 +433,10 @@ public class TmfExperiment<T extends TmfEvent> extends TmfEventProvider<T> imple
             context.setRank(ITmfContext.UNKNOWN_RANK);
         }
 
+        if (start != 0) {
+            getMetrics().seekCompleted(System.nanoTime() - start, hit);
+        }
+
         return context;
     }
 
@@ -439,6 +450,8 @@ public class TmfExperiment<T extends TmfEvent> extends TmfEventProvider<T> imple
 
 //		Tracer.trace("Ctx: seekEvent(rank) - start");
 
+        long start = TmfMetrics.startTimer();
+
         // Position the stream at the previous checkpoint
         int index = (int) rank / fIndexPageSize;
         ITmfLocation<?> location;
@@ -459,6 +472,7 @@ public class TmfExperiment<T extends TmfEvent> extends TmfEventProvider<T> imple
         // And locate the event
         TmfEvent event = parseEvent(context);
         long pos = context.getRank();
+        boolean hit = (pos >= rank);
         while (event != null && pos++ < rank) {
             getNextEvent(context);
             event = parseEvent(context);
@@ -469,6 +483,10 @@ public class TmfExperiment<T extends TmfEvent> extends TmfEventProvider<T> imple
             context.setRank(ITmfContext.UNKNOWN_RANK);
         }
 
+        if (start != 0) {
+            getMetrics().seekCompleted(System.nanoTime() - start, hit);
+        }
+
         return context;
     }
 
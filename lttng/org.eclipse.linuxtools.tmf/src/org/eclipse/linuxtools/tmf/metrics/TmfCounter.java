@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <b><u>TmfCounter</u></b>
+ * <p>
+ * A monotonic counter that can be updated concurrently at a low cost.
+ * <p>
+ * The count is spread over a number of stripes, selected by the updating
+ * thread id, so that request threads of different providers do not contend
+ * on the same cache line. The stripes are only summed up when the value is
+ * read, which is expected to be rare (i.e. when the metrics are displayed).
+ */
+public class TmfCounter {
+
+	// ------------------------------------------------------------------------
+	// Constants
+	// ------------------------------------------------------------------------
+
+	// The number of stripes (a power of 2)
+	static final int STRIPES = stripes();
+
+	// The distance between 2 stripes, in longs (i.e. a 64-byte cache line)
+	static final int PADDING = 8;
+
+	private static int stripes() {
+		int processors = Runtime.getRuntime().availableProcessors();
+		int stripes = 1;
+		while (stripes < 2 * processors && stripes < 64) {
+			stripes <<= 1;
+		}
+		return stripes;
+	}
+
+	// ------------------------------------------------------------------------
+	// Attributes
+	// ------------------------------------------------------------------------
+
+	private final AtomicLongArray fStripes = new AtomicLongArray(STRIPES * PADDING);
+
+	// ------------------------------------------------------------------------
+	// Operations
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Increments the counter by one.
+	 */
+	public void increment() {
+		add(1);
+	}
+
+	/**
+	 * Increments the counter by the specified amount.
+	 *
+	 * @param value the amount to add
+	 */
+	public void add(long value) {
+		fStripes.addAndGet(stripe(), value);
+	}
+
+	/**
+	 * @return the current value of the counter
+	 */
+	public long getValue() {
+		long value = 0;
+		for (int i = 0; i < STRIPES; i++) {
+			value += fStripes.get(i * PADDING);
+		}
+		return value;
+	}
+
+	/**
+	 * Resets the counter to zero. Concurrent updates may or may not be lost.
+	 */
+	public void reset() {
+		for (int i = 0; i < STRIPES; i++) {
+			fStripes.set(i * PADDING, 0);
+		}
+	}
+
+	/**
+	 * @return the index of the calling thread stripe
+	 */
+	static int stripe() {
+		long id = Thread.currentThread().getId();
+		return (int) ((id ^ (id >>> 16)) & (STRIPES - 1)) * PADDING;
+	}
+
+	// ------------------------------------------------------------------------
+	// Object
+	// ------------------------------------------------------------------------
+
+	@Override
+	public String toString() {
+		return String.valueOf(getValue());
+	}
+
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <b><u>TmfLatencyHistogram</u></b>
+ * <p>
+ * A latency distribution, in nanoseconds, that can be updated concurrently
+ * at a low cost.
+ * <p>
+ * Samples are classified in power-of-2 buckets (i.e. the bucket of a sample
+ * is the position of its highest bit) and each updating thread is assigned
+ * its own set of buckets (see {@link TmfCounter}). Percentiles are therefore
+ * approximated by the upper bound of the bucket where they fall, which is
+ * good enough to tell microseconds from milliseconds.
+ */
+public class TmfLatencyHistogram {
+
+	// ------------------------------------------------------------------------
+	// Constants
+	// ------------------------------------------------------------------------
+
+	// One bucket per bit of a (positive) long
+	private static final int BUCKETS = 64;
+
+	// ------------------------------------------------------------------------
+	// Attributes
+	// ------------------------------------------------------------------------
+
+	private final AtomicLongArray fBuckets = new AtomicLongArray(TmfCounter.STRIPES * BUCKETS);
+	private final TmfCounter fTotal = new TmfCounter();
+	private final AtomicLong fMax = new AtomicLong();
+
+	// ------------------------------------------------------------------------
+	// Operations
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Records a sample.
+	 *
+	 * @param nanos the measured latency, in ns (negative values are ignored)
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			return;
+		}
+		int stripe = TmfCounter.stripe() / TmfCounter.PADDING;
+		fBuckets.incrementAndGet(stripe * BUCKETS + bucket(nanos));
+		fTotal.add(nanos);
+		long max = fMax.get();
+		while (nanos > max && !fMax.compareAndSet(max, nanos)) {
+			max = fMax.get();
+		}
+	}
+
+	/**
+	 * @return the number of recorded samples
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < fBuckets.length(); i++) {
+			count += fBuckets.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * @return the sum of the recorded samples, in ns
+	 */
+	public long getTotal() {
+		return fTotal.getValue();
+	}
+
+	/**
+	 * @return the largest recorded sample, in ns
+	 */
+	public long getMax() {
+		return fMax.get();
+	}
+
+	/**
+	 * @return the average of the recorded samples, in ns (0 if none)
+	 */
+	public double getMean() {
+		long count = getCount();
+		return (count > 0) ? (double) getTotal() / count : 0;
+	}
+
+	/**
+	 * Returns an upper bound of the requested percentile. The result is
+	 * accurate within a factor of 2 and never exceeds the largest sample.
+	 *
+	 * @param percentile the percentile, in the range [0, 100]
+	 * @return the percentile upper bound, in ns (0 if no sample)
+	 */
+	public long getPercentile(double percentile) {
+		long[] counts = new long[BUCKETS];
+		long count = 0;
+		for (int i = 0; i < fBuckets.length(); i++) {
+			long value = fBuckets.get(i);
+			counts[i % BUCKETS] += value;
+			count += value;
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long threshold = (long) Math.ceil(count * Math.max(0, Math.min(100, percentile)) / 100);
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += counts[bucket];
+			if (seen >= threshold && seen > 0) {
+				long bound = (bucket == BUCKETS - 1) ? Long.MAX_VALUE : (1L << bucket + 1) - 1;
+				return Math.min(bound, getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Discards the recorded samples. Concurrent updates may or may not be lost.
+	 */
+	public void reset() {
+		for (int i = 0; i < fBuckets.length(); i++) {
+			fBuckets.set(i, 0);
+		}
+		fTotal.reset();
+		fMax.set(0);
+	}
+
+	private static int bucket(long nanos) {
+		return (nanos == 0) ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(nanos);
+	}
+
+	// ------------------------------------------------------------------------
+	// Object
+	// ------------------------------------------------------------------------
+
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		return "[TmfLatencyHistogram(count=" + getCount() + ",mean=" + (long) getMean() + ",max=" + getMax() + ")]";
+	}
+
+}
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.linuxtools.tmf.TmfCorePlugin;
+
+/**
+ * <b><u>TmfMetrics</u></b>
+ * <p>
+ * The registry of the TMF hot path metrics, one set per data provider
+ * instance. Each set gets its own id, so providers with the same name do not
+ * share their metrics. A provider withdraws its set when it is disposed.
+ * <p>
+ * Unlike the Tracer, the metrics are collected by default: updating them
+ * costs a few striped atomic additions per request or seek, never per event.
+ * They can be turned off with the "org.eclipse.linuxtools.tmf/metrics" debug
+ * option. When the plug-in is started, each provider metrics set is also
+ * published as a JMX MBean in the platform MBean server.
+ */
+public class TmfMetrics {
+
+	// ------------------------------------------------------------------------
+	// Constants
+	// ------------------------------------------------------------------------
+
+	public static final String JMX_DOMAIN = TmfCorePlugin.PLUGIN_ID;
+
+	// ------------------------------------------------------------------------
+	// Attributes
+	// ------------------------------------------------------------------------
+
+	private static volatile boolean fEnabled = true;
+
+	private static final ConcurrentHashMap<Long, TmfProviderMetrics> fProviders = new ConcurrentHashMap<Long, TmfProviderMetrics>();
+
+	private static final AtomicLong fNextId = new AtomicLong(1);
+
+	// The MBean server (null if the metrics are not published)
+	private static MBeanServer fMBeanServer = null;
+
+	// ------------------------------------------------------------------------
+	// Life cycle
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Reads the debug option and publishes the metrics through JMX.
+	 */
+	public static void init() {
+		String option = Platform.getDebugOption(JMX_DOMAIN + "/metrics"); //$NON-NLS-1$
+		if (option != null) {
+			fEnabled = Boolean.valueOf(option).booleanValue();
+		}
+		synchronized (fProviders) {
+			fMBeanServer = ManagementFactory.getPlatformMBeanServer();
+			for (TmfProviderMetrics metrics : fProviders.values()) {
+				publish(metrics);
+			}
+		}
+	}
+
+	/**
+	 * Withdraws the metrics from JMX.
+	 */
+	public static void stop() {
+		synchronized (fProviders) {
+			if (fMBeanServer != null) {
+				for (TmfProviderMetrics metrics : fProviders.values()) {
+					try {
+						fMBeanServer.unregisterMBean(getObjectName(metrics));
+					} catch (JMException e) {
+						// Not registered
+					}
+				}
+				fMBeanServer = null;
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	// Accessors
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @return true if the hot paths should record their metrics
+	 */
+	public static boolean isEnabled() {
+		return fEnabled;
+	}
+
+	/**
+	 * @param enabled the metrics collection state
+	 */
+	public static void setEnabled(boolean enabled) {
+		fEnabled = enabled;
+	}
+
+	/**
+	 * @return the metrics of all the registered providers, sorted by name
+	 *         and registration order
+	 */
+	public static TmfProviderMetrics[] getProviderMetrics() {
+		TmfProviderMetrics[] metrics = fProviders.values().toArray(new TmfProviderMetrics[0]);
+		Arrays.sort(metrics, new Comparator<TmfProviderMetrics>() {
+			@Override
+			public int compare(TmfProviderMetrics o1, TmfProviderMetrics o2) {
+				int result = o1.getName().compareTo(o2.getName());
+				if (result == 0) {
+					result = (o1.getId() < o2.getId()) ? -1 : (o1.getId() > o2.getId()) ? 1 : 0;
+				}
+				return result;
+			}
+		});
+		return metrics;
+	}
+
+	// ------------------------------------------------------------------------
+	// Operations
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Creates (and publishes) a new set of metrics for a provider.
+	 *
+	 * @param name the provider name
+	 * @return the provider metrics
+	 */
+	public static TmfProviderMetrics register(String name) {
+		if (name == null) {
+			name = ""; //$NON-NLS-1$
+		}
+		TmfProviderMetrics metrics = new TmfProviderMetrics(name, fNextId.getAndIncrement());
+		synchronized (fProviders) {
+			fProviders.put(metrics.getId(), metrics);
+			if (fMBeanServer != null) {
+				publish(metrics);
+			}
+		}
+		return metrics;
+	}
+
+	/**
+	 * Withdraws the metrics of a provider from the registry and from JMX.
+	 *
+	 * @param metrics the provider metrics
+	 */
+	public static void deregister(TmfProviderMetrics metrics) {
+		synchronized (fProviders) {
+			if (fProviders.remove(metrics.getId()) != null && fMBeanServer != null) {
+				try {
+					fMBeanServer.unregisterMBean(getObjectName(metrics));
+				} catch (JMException e) {
+					// Not registered
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resets the metrics of all the providers.
+	 */
+	public static void reset() {
+		for (TmfProviderMetrics metrics : fProviders.values()) {
+			metrics.reset();
+		}
+	}
+
+	/**
+	 * Starts a latency measurement, if the metrics are enabled.
+	 *
+	 * @return the current time, in ns (0 if the metrics are disabled)
+	 */
+	public static long startTimer() {
+		return fEnabled ? System.nanoTime() : 0;
+	}
+
+	// ------------------------------------------------------------------------
+	// Helper functions
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @param metrics the provider metrics
+	 * @return the name of their MBean
+	 * @throws JMException if the name is not valid
+	 */
+	public static ObjectName getObjectName(TmfProviderMetrics metrics) throws JMException {
+		return new ObjectName(JMX_DOMAIN + ":type=Provider,name=" + ObjectName.quote(metrics.getName()) + ",id=" + metrics.getId()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static void publish(TmfProviderMetrics metrics) {
+		try {
+			ObjectName objectName = getObjectName(metrics);
+			if (!fMBeanServer.isRegistered(objectName)) {
+				fMBeanServer.registerMBean(metrics, objectName);
+			}
+		} catch (JMException e) {
+			// The metrics are still available to the view
+		}
+	}
+
+}
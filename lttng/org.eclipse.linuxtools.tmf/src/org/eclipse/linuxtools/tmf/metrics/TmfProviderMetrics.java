@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.metrics;
+
+/**
+ * <b><u>TmfProviderMetrics</u></b>
+ * <p>
+ * The metrics collected for a data provider (trace, experiment, ...).
+ * <p>
+ * The hot paths only update the counters and histograms; the derived values
+ * (throughput, ratios) are computed when read.
+ */
+public class TmfProviderMetrics implements TmfProviderMetricsMBean {
+
+	// ------------------------------------------------------------------------
+	// Constants
+	// ------------------------------------------------------------------------
+
+	private static final double NS_PER_MS = 1000000.0;
+	private static final double NS_PER_S  = 1000000000.0;
+
+	// ------------------------------------------------------------------------
+	// Attributes
+	// ------------------------------------------------------------------------
+
+	private final String fName;
+	private final long fId;
+
+	private final TmfCounter fRequests = new TmfCounter();
+	private final TmfCounter fCoalesced = new TmfCounter();
+	private final TmfCounter fEvents = new TmfCounter();
+	private final TmfCounter fReadTime = new TmfCounter();
+	private final TmfCounter fCacheHits = new TmfCounter();
+	private final TmfCounter fCacheMisses = new TmfCounter();
+
+	private final TmfLatencyHistogram fQueueWait = new TmfLatencyHistogram();
+	private final TmfLatencyHistogram fSeekLatency = new TmfLatencyHistogram();
+
+	// ------------------------------------------------------------------------
+	// Constructors
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @param name the name of the data provider
+	 */
+	public TmfProviderMetrics(String name) {
+		this(name, 0);
+	}
+
+	/**
+	 * @param name the name of the data provider
+	 * @param id the registry id, which tells apart providers of the same name
+	 */
+	public TmfProviderMetrics(String name, long id) {
+		fName = name;
+		fId = id;
+	}
+
+	// ------------------------------------------------------------------------
+	// Recording
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Records the submission of a request.
+	 */
+	public void requestSubmitted() {
+		fRequests.increment();
+	}
+
+	/**
+	 * Records the merging of a submitted request into a pending coalesced
+	 * request.
+	 */
+	public void requestCoalesced() {
+		fCoalesced.increment();
+	}
+
+	/**
+	 * Records the time a request spent waiting for the executor.
+	 *
+	 * @param nanos the queue wait, in ns
+	 */
+	public void requestDequeued(long nanos) {
+		fQueueWait.record(nanos);
+	}
+
+	/**
+	 * Records the events read for a request (after it was armed).
+	 *
+	 * @param nbEvents the number of events handed to the request
+	 * @param nanos the time spent reading them, in ns
+	 */
+	public void eventsRead(long nbEvents, long nanos) {
+		fEvents.add(nbEvents);
+		fReadTime.add(nanos);
+	}
+
+	/**
+	 * Records a seek operation.
+	 *
+	 * @param nanos the seek latency, in ns
+	 * @param hit true if the seek was served from a checkpoint or a cached
+	 *        context without reading further events
+	 */
+	public void seekCompleted(long nanos, boolean hit) {
+		fSeekLatency.record(nanos);
+		cacheAccessed(hit);
+	}
+
+	/**
+	 * Records a cache lookup that did not involve a seek.
+	 *
+	 * @param hit true if the lookup succeeded
+	 */
+	public void cacheAccessed(boolean hit) {
+		if (hit) {
+			fCacheHits.increment();
+		} else {
+			fCacheMisses.increment();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	// Accessors
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @return the registry id (0 if the metrics were not registered)
+	 */
+	public long getId() {
+		return fId;
+	}
+
+	/**
+	 * @return the queue wait distribution
+	 */
+	public TmfLatencyHistogram getQueueWait() {
+		return fQueueWait;
+	}
+
+	/**
+	 * @return the seek latency distribution
+	 */
+	public TmfLatencyHistogram getSeekLatency() {
+		return fSeekLatency;
+	}
+
+	// ------------------------------------------------------------------------
+	// TmfProviderMetricsMBean
+	// ------------------------------------------------------------------------
+
+	@Override
+	public String getName() {
+		return fName;
+	}
+
+	@Override
+	public long getRequestCount() {
+		return fRequests.getValue();
+	}
+
+	@Override
+	public long getEventCount() {
+		return fEvents.getValue();
+	}
+
+	@Override
+	public double getEventsPerSecond() {
+		long nanos = fReadTime.getValue();
+		return (nanos > 0) ? fEvents.getValue() * NS_PER_S / nanos : 0;
+	}
+
+	@Override
+	public double getMeanQueueWaitMillis() {
+		return fQueueWait.getMean() / NS_PER_MS;
+	}
+
+	@Override
+	public double getQueueWait99Millis() {
+		return fQueueWait.getPercentile(99) / NS_PER_MS;
+	}
+
+	@Override
+	public long getSeekCount() {
+		return fSeekLatency.getCount();
+	}
+
+	@Override
+	public double getMeanSeekMillis() {
+		return fSeekLatency.getMean() / NS_PER_MS;
+	}
+
+	@Override
+	public double getSeek99Millis() {
+		return fSeekLatency.getPercentile(99) / NS_PER_MS;
+	}
+
+	@Override
+	public double getCacheHitRatio() {
+		long hits = fCacheHits.getValue();
+		long total = hits + fCacheMisses.getValue();
+		return (total > 0) ? (double) hits / total : 0;
+	}
+
+	@Override
+	public double getCoalescingRatio() {
+		long requests = fRequests.getValue();
+		return (requests > 0) ? (double) fCoalesced.getValue() / requests : 0;
+	}
+
+	@Override
+	public void reset() {
+		fRequests.reset();
+		fCoalesced.reset();
+		fEvents.reset();
+		fReadTime.reset();
+		fCacheHits.reset();
+		fCacheMisses.reset();
+		fQueueWait.reset();
+		fSeekLatency.reset();
+	}
+
+	// ------------------------------------------------------------------------
+	// Object
+	// ------------------------------------------------------------------------
+
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		return "[TmfProviderMetrics(" + fName + "," + fId + ")]";
+	}
+
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ * 
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v1.0 which
+ * accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *   Ericsson - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.tmf.metrics;
+
+/**
+ * <b><u>TmfProviderMetricsMBean</u></b>
+ * <p>
+ * The JMX management interface of the metrics of a data provider. Latencies
+ * are reported in milliseconds, ratios in the range [0, 1].
+ */
+public interface TmfProviderMetricsMBean {
+
+	/**
+	 * @return the name of the data provider
+	 */
+	public String getName();
+
+	/**
+	 * @return the number of requests submitted to the provider
+	 */
+	public long getRequestCount();
+
+	/**
+	 * @return the number of events handed to the requests
+	 */
+	public long getEventCount();
+
+	/**
+	 * @return the read throughput, in events per second of request servicing
+	 */
+	public double getEventsPerSecond();
+
+	/**
+	 * @return the average time spent by a request in the executor queue
+	 */
+	public double getMeanQueueWaitMillis();
+
+	/**
+	 * @return the 99th percentile of the executor queue wait
+	 */
+	public double getQueueWait99Millis();
+
+	/**
+	 * @return the number of seek operations
+	 */
+	public long getSeekCount();
+
+	/**
+	 * @return the average seek latency
+	 */
+	public double getMeanSeekMillis();
+
+	/**
+	 * @return the 99th percentile of the seek latency
+	 */
+	public double getSeek99Millis();
+
+	/**
+	 * @return the ratio of seeks served without reading past a checkpoint or
+	 *         a cached context
+	 */
+	public double getCacheHitRatio();
+
+	/**
+	 * @return the ratio of the requests merged into another request
+	 */
+	public double getCoalescingRatio();
+
+	/**
+	 * Resets all the metrics of the provider
+	 */
+	public void reset();
+
+}
@@ -20,6 +20,8 @@ import java.util.concurrent.PriorityBlockingQueue;
 
 import org.eclipse.linuxtools.tmf.Tracer;
 import org.eclipse.linuxtools.tmf.component.TmfThread;
+import org.eclipse.linuxtools.tmf.metrics.TmfMetrics;
+import org.eclipse.linuxtools.tmf.metrics.TmfProviderMetrics;
 import org.eclipse.linuxtools.tmf.request.ITmfDataRequest.ExecutionType;
 
 /**
@@ -42,6 +44,7 @@ public class TmfRequestExecutor implements Executor {
 		}
 	});
 	private Runnable fCurrentRequest;
+	private volatile TmfProviderMetrics fMetrics;
 	
 	// ------------------------------------------------------------------------
 	// Constructors
@@ -65,6 +68,20 @@ public class TmfRequestExecutor implements Executor {
 		return fRequestQueue.size();
 	}
 	
+	/**
+	 * @return the metrics where the queue wait is recorded (may be null)
+	 */
+	public TmfProviderMetrics getMetrics() {
+		return fMetrics;
+	}
+
+	/**
+	 * @param metrics the metrics where the queue wait is recorded
+	 */
+	public void setMetrics(TmfProviderMetrics metrics) {
+		fMetrics = metrics;
+	}
+
 	/**
 	 * @return the shutdown state (i.e. if it is accepting new requests)
 	 */
@@ -96,9 +113,14 @@ public class TmfRequestExecutor implements Executor {
 	 */
 	@Override
 	public synchronized void execute(final Runnable requestThread) {
+		final TmfProviderMetrics metrics = fMetrics;
+		final long queued = (metrics != null) ? TmfMetrics.startTimer() : 0;
 		fRequestQueue.offer(new TmfThread(((TmfThread) requestThread).getExecType()) {
 			@Override
 			public void run() {
+				if (queued != 0) {
+					metrics.requestDequeued(System.nanoTime() - queued);
+				}
 				try {
 					requestThread.run();
 				} finally {
@@ -16,9 +16,17 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.linuxtools.tmf.TmfCorePlugin;
 import org.eclipse.linuxtools.tmf.Tracer;
 
 /**
@@ -28,6 +36,16 @@ import org.eclipse.linuxtools.tmf.Tracer;
  * interested in. When a signal is broadcasted, the appropriate listeners
  * signal handlers are invoked.
  * <p>
+ * The handler methods of a listener class are looked up only once, and the
+ * resulting list of (listener, method) pairs is cached per signal class until
+ * the set of listeners changes. The handlers are invoked outside of the
+ * manager lock, so a handler can wait on another thread (e.g. the UI thread)
+ * that registers listeners or dispatches signals.
+ * <p>
+ * Signals can also be dispatched asynchronously on a dedicated thread. In that
+ * mode, the high-frequency synchronization signals (see
+ * {@link #isCoalescable(TmfSignal)}) are coalesced: under a burst, only the
+ * latest pending signal of each class is delivered.
  */
 public class TmfSignalManager {
 
@@ -35,7 +53,19 @@ public class TmfSignalManager {
 	// Note: listeners could be restricted to ITmfComponents but there is no
 	// harm in letting anyone use this since it is not tied to anything but
 	// the signal data type.
-	static private Map<Object, Method[]> fListeners = new HashMap<Object, Method[]>();
+	static private Map<Object, Method[]> fListeners = new LinkedHashMap<Object, Method[]>();
+
+	// The signal handler methods of each registered listener class (reflection
+	// is costly). Dropped when the last listener of a class is deregistered.
+	static private Map<Class<?>, Method[]> fHandlerMethods = new HashMap<Class<?>, Method[]>();
+
+	// The handlers to invoke for each signal class. Invalidated whenever a
+	// listener is registered or deregistered.
+	static private Map<Class<?>, SignalHandler[]> fHandlers = new HashMap<Class<?>, SignalHandler[]>();
+
+	// The asynchronous dispatcher and its pending coalesced signals
+	static private ExecutorService fDispatcher = null;
+	static private final Map<Class<?>, TmfSignal> fPendingSignals = new ConcurrentHashMap<Class<?>, TmfSignal>();
 
 	// If requested, add universal signal tracer
 	// TODO: Temporary solution: should be enabled/disabled dynamically 
@@ -50,12 +80,25 @@ public class TmfSignalManager {
 
 	public static synchronized void register(Object listener) {
 		Method[] methods = getSignalHandlerMethods(listener);
-		if (methods.length > 0)
+		if (methods.length > 0) {
 			fListeners.put(listener, methods);
+			fHandlers.clear();
+		}
 	}
 
 	public static synchronized void deregister(Object listener) {
-		fListeners.remove(listener);
+		if (fListeners.remove(listener) != null) {
+			fHandlers.clear();
+			// Don't keep the classes of the deregistered listeners (and their
+			// class loaders) alive
+			Class<?> listenerClass = listener.getClass();
+			for (Object other : fListeners.keySet()) {
+				if (other.getClass() == listenerClass) {
+					return;
+				}
+			}
+			fHandlerMethods.remove(listenerClass);
+		}
 	}
 
 	/**
@@ -66,79 +109,198 @@ public class TmfSignalManager {
 	 * @return
 	 */
 	static private Method[] getSignalHandlerMethods(Object listener) {
-		List<Method> handlers = new ArrayList<Method>();
-		Method[] methods = listener.getClass().getMethods();
-		for (Method method : methods) {
-			if (method.isAnnotationPresent(TmfSignalHandler.class)) {
-				handlers.add(method);
+		Class<?> listenerClass = listener.getClass();
+		Method[] handlers = fHandlerMethods.get(listenerClass);
+		if (handlers != null) {
+			return handlers;
+		}
+		List<Method> methods = new ArrayList<Method>();
+		for (Method method : listenerClass.getMethods()) {
+			if (method.isAnnotationPresent(TmfSignalHandler.class) && method.getParameterTypes().length == 1) {
+				try {
+					// Skip the access checks on each invocation
+					method.setAccessible(true);
+				} catch (SecurityException e) {
+					// Keep the checks then
+				}
+				methods.add(method);
+			}
+		}
+		handlers = methods.toArray(new Method[methods.size()]);
+		fHandlerMethods.put(listenerClass, handlers);
+		return handlers;
+	}
+
+	/**
+	 * Returns the handlers listening to signals of a given class. The table is
+	 * built on the first dispatch of that class of signal and kept until the
+	 * set of listeners changes. The returned array is never modified so it is
+	 * safe to iterate over it while handlers (de)register listeners.
+	 * 
+	 * @param signalClass the signal class
+	 * @return the matching handlers, in registration order
+	 */
+	static private synchronized SignalHandler[] getSignalHandlers(Class<?> signalClass) {
+		SignalHandler[] handlers = fHandlers.get(signalClass);
+		if (handlers == null) {
+			List<SignalHandler> matchingHandlers = new ArrayList<SignalHandler>();
+			for (Map.Entry<Object, Method[]> entry : fListeners.entrySet()) {
+				for (Method method : entry.getValue()) {
+					if (method.getParameterTypes()[0].isAssignableFrom(signalClass)) {
+						matchingHandlers.add(new SignalHandler(entry.getKey(), method));
+					}
+				}
 			}
+			handlers = matchingHandlers.toArray(new SignalHandler[matchingHandlers.size()]);
+			fHandlers.put(signalClass, handlers);
 		}
-		return handlers.toArray(new Method[handlers.size()]);
+		return handlers;
 	}
 
 	/**
 	 * Invokes the handling methods that listens to signals of a given type.
 	 * 
-	 * The list of handlers is built on-the-fly to allow for the dynamic
-	 * creation/deletion of signal handlers. Since the number of signal
-	 * handlers shouldn't be too high, this is not a big performance issue
-	 * to pay for the flexibility.
+	 * The list of handlers is cached per signal class and rebuilt only when
+	 * a listener is registered or deregistered.
 	 * 
 	 * For synchronization purposes, the signal is bracketed by two synch signals.
 	 * 
+	 * The handlers are invoked without holding the manager lock. Each signal
+	 * goes to the listeners that are registered when it is sent.
+	 * 
 	 * @param signal the signal to dispatch
 	 */
 	static int fSignalId = 0;
-	static public synchronized void dispatchSignal(TmfSignal signal) {
-		fSignalId++;
-		sendSignal(new TmfStartSynchSignal(fSignalId));
-		signal.setReference(fSignalId);
+	static public void dispatchSignal(TmfSignal signal) {
+		int signalId = nextSignalId();
+		sendSignal(new TmfStartSynchSignal(signalId));
+		signal.setReference(signalId);
 		sendSignal(signal);
-		sendSignal(new TmfEndSynchSignal(fSignalId));
+		sendSignal(new TmfEndSynchSignal(signalId));
 	}
 
-	static private void sendSignal(TmfSignal signal) {
+	static private synchronized int nextSignalId() {
+		return ++fSignalId;
+	}
 
-		if (Tracer.isSignalTraced()) Tracer.traceSignal(signal, "(start)"); //$NON-NLS-1$
+	/**
+	 * Dispatches a signal on the signal manager thread and returns
+	 * immediately. Signals are delivered in the order they were posted,
+	 * except for the coalescable ones: if a signal of the same class is
+	 * still pending, it is replaced by the new one.
+	 * 
+	 * The handlers are then invoked on the signal manager thread, so this is
+	 * meant for signals that are already sent from a background thread.
+	 * 
+	 * @param signal the signal to dispatch
+	 */
+	static public void dispatchSignalAsync(final TmfSignal signal) {
+		if (isCoalescable(signal)) {
+			final Class<?> signalClass = signal.getClass();
+			if (fPendingSignals.put(signalClass, signal) != null) {
+				// The pending dispatch will deliver this one
+				return;
+			}
+			getDispatcher().execute(new Runnable() {
+				@Override
+				public void run() {
+					TmfSignal latest = fPendingSignals.remove(signalClass);
+					if (latest != null) {
+						dispatchSignal(latest);
+					}
+				}
+			});
+		} else {
+			getDispatcher().execute(new Runnable() {
+				@Override
+				public void run() {
+					dispatchSignal(signal);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Indicates if a signal only carries the latest state of something (e.g.
+	 * the current time) so that an older instance can safely be dropped in
+	 * favor of a newer one when dispatched asynchronously.
+	 * 
+	 * @param signal the signal
+	 * @return true if the signal can be coalesced
+	 */
+	static public boolean isCoalescable(TmfSignal signal) {
+		return (signal instanceof TmfTimeSynchSignal) || (signal instanceof TmfRangeSynchSignal);
+	}
 
-		// Build the list of listener methods that are registered for this signal
-		Class<?> signalClass = signal.getClass();
-		Map<Object, List<Method>> listeners = new HashMap<Object, List<Method>>();
-		listeners.clear();
-		for (Map.Entry<Object, Method[]> entry : fListeners.entrySet()) {
-			List<Method> matchingMethods = new ArrayList<Method>();
-			for (Method method : entry.getValue()) {
-				if (method.getParameterTypes()[0].isAssignableFrom(signalClass)) {
-					matchingMethods.add(method);
+	static private synchronized ExecutorService getDispatcher() {
+		if (fDispatcher == null) {
+			fDispatcher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "TmfSignalManager"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
 				}
-			}
-			if (!matchingMethods.isEmpty()) {
-				listeners.put(entry.getKey(), matchingMethods);
-			}
+			});
 		}
+		return fDispatcher;
+	}
+
+	static private void sendSignal(TmfSignal signal) {
+
+		if (Tracer.isSignalTraced()) Tracer.traceSignal(signal, "(start)"); //$NON-NLS-1$
 
 		// Call the signal handlers 
-		for (Map.Entry<Object, List<Method>> entry : listeners.entrySet()) {
-			for (Method method : entry.getValue()) {
-				try {
-					method.invoke(entry.getKey(), new Object[] { signal });
-					if (Tracer.isSignalTraced()) {
-						Object key = entry.getKey();
-						String hash = String.format("%1$08X", entry.getKey().hashCode()); //$NON-NLS-1$
-						String target = "[" + hash + "] " + key.getClass().getSimpleName() + ":" + method.getName();   //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
-						Tracer.traceSignal(signal, target);						
-					}
-				} catch (IllegalArgumentException e) {
-					// TODO Auto-generated catch block
-				} catch (IllegalAccessException e) {
-					// TODO Auto-generated catch block
-				} catch (InvocationTargetException e) {
-					// TODO Auto-generated catch block
+		for (SignalHandler handler : getSignalHandlers(signal.getClass())) {
+			try {
+				handler.fMethod.invoke(handler.fListener, signal);
+				if (Tracer.isSignalTraced()) {
+					Object key = handler.fListener;
+					String hash = String.format("%1$08X", key.hashCode()); //$NON-NLS-1$
+					String target = "[" + hash + "] " + key.getClass().getSimpleName() + ":" + handler.fMethod.getName();   //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+					Tracer.traceSignal(signal, target);						
 				}
+			} catch (IllegalArgumentException e) {
+				logError(handler, signal, e);
+			} catch (IllegalAccessException e) {
+				logError(handler, signal, e);
+			} catch (InvocationTargetException e) {
+				logError(handler, signal, e.getCause());
 			}
 		}
 
 		if (Tracer.isSignalTraced()) Tracer.traceSignal(signal, "(end)"); //$NON-NLS-1$
-}
+	}
+
+	/**
+	 * Reports a signal handler that could not be invoked or that threw. The
+	 * other handlers still get the signal.
+	 */
+	static private void logError(SignalHandler handler, TmfSignal signal, Throwable e) {
+		String message = "Signal handler " + handler.fListener.getClass().getName() + "." + handler.fMethod.getName() //$NON-NLS-1$ //$NON-NLS-2$
+				+ " failed on " + signal.getClass().getSimpleName(); //$NON-NLS-1$
+		if (Tracer.isErrorTraced()) Tracer.traceError(message + ": " + e); //$NON-NLS-1$
+		TmfCorePlugin plugin = TmfCorePlugin.getDefault();
+		if (plugin != null) {
+			plugin.getLog().log(new Status(IStatus.ERROR, TmfCorePlugin.PLUGIN_ID, message, e));
+		}
+	}
 
-}
\ No newline at end of file
+	// ------------------------------------------------------------------------
+	// SignalHandler
+	// ------------------------------------------------------------------------
+
+	/**
+	 * A listener and one of its signal handler methods.
+	 */
+	static private class SignalHandler {
+		final Object fListener;
+		final Method fMethod;
+
+		SignalHandler(Object listener, Method method) {
+			fListener = listener;
+			fMethod = method;
+		}
+	}
+
+}
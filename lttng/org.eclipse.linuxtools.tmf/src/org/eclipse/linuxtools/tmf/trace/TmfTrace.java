@@ -25,6 +25,7 @@ import org.eclipse.linuxtools.tmf.component.TmfEventProvider;
 import org.eclipse.linuxtools.tmf.event.TmfEvent;
 import org.eclipse.linuxtools.tmf.event.TmfTimeRange;
 import org.eclipse.linuxtools.tmf.event.TmfTimestamp;
+import org.eclipse.linuxtools.tmf.metrics.TmfMetrics;
 import org.eclipse.linuxtools.tmf.request.ITmfDataRequest;
 import org.eclipse.linuxtools.tmf.request.ITmfEventRequest;
 import org.eclipse.linuxtools.tmf.request.TmfDataRequest;
@@ -274,6 +275,7 @@ public abstract class TmfTrace<T extends TmfEvent> extends TmfEventProvider<T> i
     @Override
 	public TmfContext seekEvent(TmfTimestamp timestamp) {
 
+    	long start = TmfMetrics.startTimer();
     	if (timestamp == null) {
     		timestamp = TmfTimestamp.BigBang;
     	}
@@ -307,12 +309,17 @@ public abstract class TmfTrace<T extends TmfEvent> extends TmfEventProvider<T> i
         // And locate the event
         TmfContext nextEventContext = context.clone(); // Must use clone() to get the right subtype...
         TmfEvent event = getNextEvent(nextEventContext);
+        boolean hit = true;
         while (event != null && event.getTimestamp().compareTo(timestamp, false) < 0) {
         	context.setLocation(nextEventContext.getLocation().clone());
         	context.updateRank(1);
         	event = getNextEvent(nextEventContext);
+        	hit = false;
         }
 
+        if (start != 0) {
+        	getMetrics().seekCompleted(System.nanoTime() - start, hit);
+        }
         return context;
     }
 
@@ -322,6 +329,8 @@ public abstract class TmfTrace<T extends TmfEvent> extends TmfEventProvider<T> i
     @Override
 	public TmfContext seekEvent(long rank) {
 
+        long start = TmfMetrics.startTimer();
+
         // Position the stream at the previous checkpoint
         int index = (int) rank / fIndexPageSize;
         ITmfLocation<?> location;
@@ -341,6 +350,7 @@ public abstract class TmfTrace<T extends TmfEvent> extends TmfEventProvider<T> i
         long pos = index * fIndexPageSize;
         context.setRank(pos);
 
+        boolean hit = (pos >= rank);
         if (pos < rank) {
             TmfEvent event = getNextEvent(context);
             while (event != null && ++pos < rank) {
@@ -348,6 +358,9 @@ public abstract class TmfTrace<T extends TmfEvent> extends TmfEventProvider<T> i
             }
         }
 
+        if (start != 0) {
+        	getMetrics().seekCompleted(System.nanoTime() - start, hit);
+        }
         return context;
     }
 
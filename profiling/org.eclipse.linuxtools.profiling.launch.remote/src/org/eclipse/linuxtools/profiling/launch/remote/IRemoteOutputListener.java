@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2011 Red Hat Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat Inc. - Initial implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.profiling.launch.remote;
+
+/**
+ * Receives the output of a remote command while the command is running.
+ *
+ * @see RemoteConnection#runCommand(String, org.eclipse.core.runtime.IPath, IRemoteOutputListener, org.eclipse.core.runtime.IProgressMonitor)
+ */
+public interface IRemoteOutputListener {
+
+	/**
+	 * Called for each line of output, in the order the lines were written,
+	 * from the thread that runs the command.
+	 *
+	 * @param line - a line of output
+	 * @throws RemoteConnectionException to stop waiting for the command
+	 */
+	public void outputLine(String line) throws RemoteConnectionException;
+
+}
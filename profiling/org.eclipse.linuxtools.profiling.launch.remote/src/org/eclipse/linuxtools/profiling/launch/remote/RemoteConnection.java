@@ -12,6 +12,7 @@ package org.eclipse.linuxtools.profiling.launch.remote;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -32,6 +33,7 @@ import org.eclipse.rse.subsystems.files.core.subsystems.IRemoteFile;
 import org.eclipse.rse.subsystems.files.core.subsystems.IRemoteFileSubSystem;
 import org.eclipse.rse.subsystems.shells.core.subsystems.IRemoteCmdSubSystem;
 import org.eclipse.rse.subsystems.shells.core.subsystems.IRemoteCommandShell;
+import org.eclipse.rse.subsystems.shells.core.subsystems.IRemoteOutput;
 
 public class RemoteConnection {
 	
@@ -53,10 +55,14 @@ public class RemoteConnection {
 	// to tell when the command has completed.
 	private class RemoteCommand extends RemoteCommandShellOperation {
 
-		private boolean finished;
+		private volatile boolean finished;
+		// output not yet given to the listener, if there is one
+		private List<String> pending;
 		
-		public RemoteCommand(IRemoteCmdSubSystem cmdSubSystem, IRemoteFile pwd) {
+		public RemoteCommand(IRemoteCmdSubSystem cmdSubSystem, IRemoteFile pwd, boolean streamed) {
 			super(cmdSubSystem, pwd);
+			if (streamed)
+				pending = new ArrayList<String>();
 		}
 
 		public boolean isFinished() {
@@ -70,7 +76,26 @@ public class RemoteConnection {
 
 		@Override
 		public void handleOutputChanged(String command, Object output) {
-			// do nothing
+			if (pending != null && output instanceof IRemoteOutput) {
+				synchronized (pending) {
+					pending.add(((IRemoteOutput)output).getText());
+				}
+			}
+		}
+		
+		/**
+		 * Gives the output received so far to the listener.  This is done in
+		 * the thread running the command rather than the thread that receives
+		 * the output.
+		 */
+		public void drain(IRemoteOutputListener listener) throws RemoteConnectionException {
+			String[] lines;
+			synchronized (pending) {
+				lines = pending.toArray(new String[pending.size()]);
+				pending.clear();
+			}
+			for (int i = 0; i < lines.length; ++i)
+				listener.outputLine(lines[i]);
 		}
 		
 	}
@@ -200,7 +225,7 @@ public class RemoteConnection {
 	public int runCommand(String command, IPath remoteWorkingDir, ArrayList<String> output, IProgressMonitor monitor) throws RemoteConnectionException {
 		try {
 			IRemoteFile rf = fs.getRemoteFileObject(remoteWorkingDir.toString(), monitor);
-			RemoteCommand rc = new RemoteCommand(rcs, rf);
+			RemoteCommand rc = new RemoteCommand(rcs, rf, false);
 			IRemoteCommandShell shell = rc.run();
 			rc.sendCommand(command);
 			while (!rc.isFinished() && !monitor.isCanceled()) {
@@ -218,6 +243,40 @@ public class RemoteConnection {
 		}
 	}
 	
+	/**
+	 * Run a command on the remote system, passing its output to a listener as
+	 * it is received rather than once the command has finished.
+	 * 
+	 * @param command - the command to run remotely
+	 * @param remoteWorkingDir - the working directory on the remote system
+	 * @param listener - receives the command line output
+	 * @param monitor - progress monitor
+	 * @return the return code of the command
+	 * @throws RemoteConnectionException
+	 */
+	public int runCommand(String command, IPath remoteWorkingDir, IRemoteOutputListener listener, IProgressMonitor monitor) throws RemoteConnectionException {
+		RemoteCommand rc = null;
+		try {
+			IRemoteFile rf = fs.getRemoteFileObject(remoteWorkingDir.toString(), monitor);
+			rc = new RemoteCommand(rcs, rf, true);
+			rc.run();
+			rc.sendCommand(command);
+			while (!rc.isFinished() && !monitor.isCanceled()) {
+				rc.drain(listener);
+				Thread.sleep(100);
+			}
+			rc.drain(listener);
+			return rc.getReturnCode();
+		} catch (RemoteConnectionException e1) {
+			throw e1;
+		} catch (Exception e1) {
+			throw new RemoteConnectionException(e1.getLocalizedMessage(), e1);
+		} finally {
+			if (rc != null)
+				rc.finish();
+		}
+	}
+	
 	/**
 	 * Remote delete function.  This method is recursive.  If a remote directory is specified,
 	 * the remote directory and all its contents are removed.  A RemoteConnectionException is
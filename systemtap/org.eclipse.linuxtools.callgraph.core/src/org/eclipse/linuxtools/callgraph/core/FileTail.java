@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.callgraph.core;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A reader that follows a file while another process appends to it, as
+ * <code>tail -f</code> does. Each read only consumes the bytes appended since
+ * the previous one, and readLine() only returns complete lines: a line that is
+ * still being written is kept until its end arrives, so parsers can carry on
+ * from where they stopped at each wakeup.
+ * <br><br>
+ * Once the writer is done, call setEndOfStream() so that a last line without
+ * a line terminator is returned too.
+ * <br><br>
+ * Parsers read it through SystemTapParser.readLine(), which also reads the
+ * BufferedReader used when the file is parsed at once. Parsers of binary
+ * output use read(ByteBuffer) instead and never call the character reads.
+ */
+public class FileTail extends Reader {
+	private static final int CHUNK = 8192;
+	
+	private File file;
+	private FileChannel channel;
+	private InputStreamReader source;
+	private char[] chunk = new char[CHUNK];
+	private StringBuilder pending = new StringBuilder();
+	private int pos = 0;
+	private int markPos = -1;
+	private int markLimit = 0;
+	private boolean endOfStream = false;
+	private boolean woken = false;
+	
+	public FileTail(File file) throws FileNotFoundException {
+		this.file = file;
+		FileInputStream in = new FileInputStream(file);
+		channel = in.getChannel();
+		source = new InputStreamReader(in);
+	}
+	
+	/**
+	 * Returns the next complete line, without its terminator, or null if
+	 * no complete line has been written yet.
+	 */
+	public String readLine() throws IOException {
+		int scanned = pos;
+		while (true) {
+			for (int i = scanned; i < pending.length(); i++) {
+				if (pending.charAt(i) == '\n') {
+					int end = (i > pos && pending.charAt(i - 1) == '\r') ? i - 1 : i;
+					String line = pending.substring(pos, end);
+					consume(i + 1);
+					return line;
+				}
+			}
+			scanned = pending.length();
+			if (fill() <= 0)
+				break;
+		}
+		
+		if (endOfStream && pos < pending.length()) {
+			String line = pending.substring(pos);
+			consume(pending.length());
+			return line;
+		}
+		return null;
+	}
+	
+	@Override
+	public int read() throws IOException {
+		if (pos == pending.length() && fill() <= 0)
+			return -1;
+		char c = pending.charAt(pos);
+		consume(pos + 1);
+		return c;
+	}
+	
+	/**
+	 * Reads the characters appended since the previous read.
+	 * 
+	 * @return The number of characters read, or -1 if nothing was appended yet.
+	 */
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		if (len == 0)
+			return 0;
+		if (pos == pending.length() && fill() <= 0)
+			return -1;
+		int n = Math.min(len, pending.length() - pos);
+		pending.getChars(pos, pos + n, cbuf, off);
+		consume(pos + n);
+		return n;
+	}
+	
+	/**
+	 * Reads the raw bytes appended since the previous read, without decoding
+	 * them. Must not be mixed with the character reads, which buffer ahead.
+	 * 
+	 * @return The number of bytes read, or -1 if nothing was appended yet.
+	 */
+	public int read(ByteBuffer dst) throws IOException {
+		return channel.read(dst);
+	}
+	
+	@Override
+	public boolean ready() throws IOException {
+		return pos < pending.length() || source.ready();
+	}
+	
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+	
+	@Override
+	public void mark(int readAheadLimit) {
+		markPos = pos;
+		markLimit = readAheadLimit;
+	}
+	
+	@Override
+	public void reset() throws IOException {
+		if (markPos < 0)
+			throw new IOException("Mark invalid"); //$NON-NLS-1$
+		pos = markPos;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		source.close();
+		wakeUp();
+	}
+	
+	/**
+	 * @return True if bytes were appended to the file that were not read yet.
+	 * A partial line that is already buffered does not count, so that callers
+	 * wait for the rest of it instead of spinning.
+	 */
+	public boolean hasNewData() {
+		try {
+			return file.length() > channel.position();
+		} catch (IOException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Waits until the timeout expires or wakeUp() is called.
+	 */
+	public synchronized void await(long timeout) throws InterruptedException {
+		if (!woken)
+			wait(timeout);
+		woken = false;
+	}
+	
+	/**
+	 * Wakes a thread waiting in await(), for example because the writer is done.
+	 */
+	public synchronized void wakeUp() {
+		woken = true;
+		notifyAll();
+	}
+	
+	/**
+	 * Tells the reader that nothing more will be appended, so that the
+	 * last line is returned even if it has no line terminator.
+	 */
+	public void setEndOfStream(boolean value) {
+		endOfStream = value;
+	}
+	
+	private int fill() throws IOException {
+		int n = source.read(chunk, 0, chunk.length);
+		if (n > 0)
+			pending.append(chunk, 0, n);
+		return n;
+	}
+	
+	private void consume(int newPos) {
+		pos = newPos;
+		if (markPos >= 0 && pos - markPos > markLimit)
+			markPos = -1;
+		//Drop what was read once nothing can go back to it
+		if (markPos < 0 && pos > CHUNK) {
+			pending.delete(0, pos);
+			pos = 0;
+		}
+	}
+}
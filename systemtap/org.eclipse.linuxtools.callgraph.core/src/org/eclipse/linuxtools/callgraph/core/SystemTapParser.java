@@ -14,6 +14,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -33,8 +34,17 @@ public abstract class SystemTapParser extends Job {
 	protected Object data;
 	protected Object internalData;
 	private String secondaryID = ""; //$NON-NLS-1$
+	
+	/**
+	 * Longest time, in ms, the real-time loop sleeps without checking for new data
+	 */
+	private static final long MAX_WAIT = 500;
+	/**
+	 * First wait, in ms, after the real-time loop has consumed all the data
+	 */
+	private static final long MIN_WAIT = 5;
 
-	public boolean done;
+	public volatile boolean done;
 	
 	public SystemTapParser() {
 		super("Parsing data"); //$NON-NLS-1$
@@ -85,7 +95,10 @@ public abstract class SystemTapParser extends Job {
 	 * Implement this method if your parser is to execute in realtime. This method 
 	 * will be called as part of a while loop in a separate Job. Use the setInternalData
 	 * method to initialize some data object for use in realTimeParsing. The default
-	 * setInternalMethod method will set internalData to a BufferedReader
+	 * setInternalMethod method will set internalData to a FileTail, a reader
+	 * that only returns complete lines, so each call should read lines with
+	 * readLine() until it returns null and keep its state for the next call. The loop
+	 * calls this method again as soon as data is appended to the file.
 	 * <br> <br>
 	 * After the isDone flag is set to true, the realTimeParsing() method will 
 	 * be run one more time to catch any stragglers.
@@ -93,6 +106,25 @@ public abstract class SystemTapParser extends Job {
 	public abstract IStatus realTimeParsing();
 	
 
+	/**
+	 * Reads the next line of internalData, which is a FileTail when parsing
+	 * in real time and a BufferedReader otherwise.
+	 * 
+	 * @return The next complete line, or null if there is none yet
+	 */
+	protected String readLine() throws IOException {
+		if (internalData instanceof FileTail)
+			return ((FileTail) internalData).readLine();
+		return ((BufferedReader) internalData).readLine();
+	}
+	
+	/**
+	 * @return True if internalData can be read with readLine()
+	 */
+	protected boolean hasLineReader() {
+		return internalData instanceof FileTail || internalData instanceof BufferedReader;
+	}
+
 	/**
 	 * Cleans names of form 'name").return', returning just the name
 	 * 
@@ -169,8 +201,10 @@ public abstract class SystemTapParser extends Job {
 	            		return Status.CANCEL_STATUS;
 	            	}
 	            	
-	            	Thread.sleep(500);
+	            	waitForData();
 	            }
+	            if (internalData instanceof FileTail)
+	            	((FileTail) internalData).setEndOfStream(true);
 	            if (!monitor.isCanceled()) returnStatus = realTimeParsing();
 	            done = true;
 				return returnStatus;
@@ -194,6 +228,26 @@ public abstract class SystemTapParser extends Job {
 	
 	}
 	
+	/**
+	 * Blocks the real-time loop until data is appended to the file, or until
+	 * the parser is done or cancelled. The file is checked after a short wait
+	 * that doubles up to MAX_WAIT, so that the parser reacts quickly to bursts
+	 * of output and stays idle otherwise.
+	 */
+	private void waitForData() throws InterruptedException {
+		if (!(internalData instanceof FileTail)) {
+			Thread.sleep(MAX_WAIT);
+			return;
+		}
+		
+		FileTail tail = (FileTail) internalData;
+		long wait = MIN_WAIT;
+		while (!done && !monitor.isCanceled() && !tail.hasNewData()) {
+			tail.await(wait);
+			wait = Math.min(2 * wait, MAX_WAIT);
+		}
+	}
+	
 	public void printArrayListMap(HashMap<Integer, ArrayList<Integer>> blah) {
 		int amt = 0;
 		for (int a : blah.keySet()) {
@@ -265,13 +319,13 @@ public abstract class SystemTapParser extends Job {
 	/**
 	 * Generic method for setting the internalData object. This will be called
 	 * by a real-time-parser immediately before its main polling loop. By default,
-	 * this method will attempt to create a bufferedReader around File(filePath)
+	 * this method will attempt to create a FileTail around File(filePath)
 	 * 
 	 * @throws Exception
 	 */
 	protected void setInternalData() throws Exception {
 		File file = new File(sourcePath);
-		internalData = new BufferedReader(new FileReader(file));				
+		internalData = new FileTail(file);
 	}
 
 
@@ -304,12 +358,13 @@ public abstract class SystemTapParser extends Job {
 	}
 
 	/**
-	 * Will terminate the parser at the next opportunity (~once every 0.5s)s
+	 * Will terminate the parser at the next opportunity
 	 * 
 	 * @param val
 	 */
 	public void setDone(boolean val) {
 		done = val;
+		wakeUp();
 	}
 
 	public void setMonitor(IProgressMonitor m) {
@@ -357,6 +412,12 @@ public abstract class SystemTapParser extends Job {
 	 */
 	public void cancelJob() {
 		done = true;
+		wakeUp();
+	}
+	
+	private void wakeUp() {
+		if (internalData instanceof FileTail)
+			((FileTail) internalData).wakeUp();
 	}
 
 	public boolean isDone() {
@@ -10,7 +10,6 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.callgraph.core;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 
 import org.eclipse.core.runtime.IStatus;
@@ -33,23 +32,22 @@ public class SystemTapTextParser extends SystemTapParser{
 
 	@Override
 	public IStatus realTimeParsing() {
-		if (!(internalData instanceof BufferedReader))
+		if (!hasLineReader())
 			return Status.CANCEL_STATUS;
 
-		BufferedReader buff = (BufferedReader) internalData;
 		StringBuffer text = new StringBuffer();
 
 		String line;
 		try {
-			while ((line = buff.readLine()) != null) {
+			while ((line = readLine()) != null) {
 				if (monitor.isCanceled())
 					return Status.CANCEL_STATUS;
 				text.append(line + "\n"); //$NON-NLS-1$
 			}
-			setData(text.toString());
-			if (text.length() > 0)
-				System.out.println(text.toString());
-			view.update();
+			if (text.length() > 0) {
+				setData(text.toString());
+				view.update();
+			}
 		} catch (IOException e) {
 			e.printStackTrace();
 		} catch (InterruptedException e) {
@@ -1,6 +1,5 @@
 package org.eclipse.linuxtools.sleepingthreads;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -33,17 +32,15 @@ public class SleepingThreadsParser extends SystemTapParser {
 	@SuppressWarnings("unchecked")
 	@Override
 	public IStatus realTimeParsing() {
-		if (!(internalData instanceof BufferedReader))
+		if (!hasLineReader())
 			return Status.CANCEL_STATUS;
 
 		if (data == null)
 			data = new ArrayList<XMLData>();
 
-		BufferedReader buff = (BufferedReader) internalData;
-
 		String line;
 		try {
-			while ((line = buff.readLine()) != null) {
+			while ((line = readLine()) != null) {
 				if (monitor.isCanceled())
 					return Status.CANCEL_STATUS;
 				
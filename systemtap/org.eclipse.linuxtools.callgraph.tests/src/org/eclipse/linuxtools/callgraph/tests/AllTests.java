@@ -23,7 +23,11 @@ public class AllTests {
 		TestSuite suite = new TestSuite(
 				"Test for org.eclipse.linuxtools.callgraph.tests");
 		//$JUnit-BEGIN$
+		suite.addTestSuite(CallRecordsTest.class);
+		suite.addTestSuite(FileTailTest.class);
+		suite.addTestSuite(SystemTapParserTest.class);
 		suite.addTestSuite(StapGraphParserTest.class);
+		suite.addTestSuite(SubtreeLayoutTest.class);
 		suite.addTestSuite(SystemTapGraphViewTest.class);
 //		suite.addTestSuite(SystemTapGraphTest.class);
 //		suite.addTestSuite(MouseListenerTest.class);
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.callgraph.tests;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.callgraph.CallRecords;
+
+public class CallRecordsTest extends TestCase {
+	
+	private CallRecords records;
+	
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		records = new CallRecords();
+	}
+	
+	public void testAddCall() {
+		int main = records.addCall(1, "main", 100, 7, -1);
+		int foo = records.addCall(2, "foo", 110, 7, main);
+		int foo2 = records.addCall(3, "foo", 120, 7, main);
+		int bar = records.addCall(4, "bar", 130, 8, foo);
+		
+		assertEquals(4, records.size());
+		assertEquals(foo2, records.getRecord(3));
+		assertEquals(-1, records.getRecord(5));
+		assertEquals("foo", records.getName(foo2));
+		assertEquals(records.getNameIndexOf(foo), records.getNameIndexOf(foo2));
+		assertEquals(3, records.getNameCount());
+		assertEquals(2, records.getCount(records.getNameIndex("foo")));
+		assertEquals(2, records.getThreadCount());
+		
+		assertEquals(2, records.getChildCount(main));
+		assertEquals(foo, records.getChild(main, 0));
+		assertEquals(foo2, records.getChild(main, 1));
+		assertEquals(bar, records.getChild(foo, 0));
+		assertEquals(0, records.getChildCount(bar));
+		
+		assertEquals(4, records.getCallOrder().size());
+		assertEquals(Integer.valueOf(3), records.getCallOrder().get(2));
+	}
+	
+	public void testAggregates() {
+		int main = records.addCall(1, "main", 100, 1, -1);
+		int foo = records.addCall(2, "foo", 110, 1, main);
+		int n = records.getNameIndexOf(foo);
+		records.addAggregateTime(n, -110);
+		records.addAggregateTime(n, 150);
+		assertEquals(40, records.getAggregateTime(n));
+		assertEquals(Long.valueOf(40), records.getAggregateTimes().get("foo"));
+		assertEquals(Long.valueOf(0), records.getAggregateTimes().get("main"));
+		assertEquals(Integer.valueOf(1), records.getCounts().get("main"));
+	}
+	
+	public void testManyRecords() {
+		int count = 100000;
+		for (int i = 0; i < count; i++)
+			records.addCall(count - i, "f" + (i % 50), i, 0, i == 0 ? -1 : i - 1);
+		assertEquals(count, records.size());
+		assertEquals(50, records.getNameCount());
+		for (int i = 0; i < count; i += 997)
+			assertEquals(i, records.getRecord(count - i));
+		
+		int[] order = records.getRecordsById();
+		for (int i = 0; i < count; i++)
+			assertEquals(count - 1 - i, order[i]);
+		assertEquals(1, records.getChildCount(0));
+		assertEquals(1, records.getChild(0, 0));
+	}
+	
+	public void testParentsAndClear() {
+		int a = records.addCall(-5, "a", 0, 0, -1);
+		int b = records.addCall(6, "b", 0, 0, -1);
+		records.setParent(b, a);
+		records.setParent(b, b);
+		assertEquals(a, records.getParent(b));
+		assertEquals(1, records.getChildCount(a));
+		records.setCalled(b, 3);
+		assertEquals(3, records.getCalled(b));
+		
+		records.clear();
+		assertEquals(0, records.size());
+		assertEquals(-1, records.getRecord(6));
+		assertEquals(0, records.getNameCount());
+	}
+}
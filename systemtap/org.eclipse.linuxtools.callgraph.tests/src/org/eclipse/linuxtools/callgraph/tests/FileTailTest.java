@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.callgraph.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.callgraph.core.FileTail;
+
+public class FileTailTest extends TestCase {
+
+	private File file;
+	private FileOutputStream out;
+	private FileTail tail;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		file = File.createTempFile("filetail", ".out"); //$NON-NLS-1$ //$NON-NLS-2$
+		out = new FileOutputStream(file);
+		tail = new FileTail(file);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		tail.close();
+		out.close();
+		file.delete();
+		super.tearDown();
+	}
+
+	private void append(String s) throws IOException {
+		out.write(s.getBytes());
+		out.flush();
+	}
+
+	public void testPartialLastLine() throws IOException {
+		assertNull(tail.readLine());
+		assertFalse(tail.hasNewData());
+
+		append("first\r\nsec"); //$NON-NLS-1$
+		assertTrue(tail.hasNewData());
+		assertEquals("first", tail.readLine()); //$NON-NLS-1$
+		//The second line is still being written
+		assertNull(tail.readLine());
+		assertFalse(tail.hasNewData());
+
+		append("ond\nthi"); //$NON-NLS-1$
+		assertEquals("second", tail.readLine()); //$NON-NLS-1$
+		assertNull(tail.readLine());
+	}
+
+	public void testSetEndOfStream() throws IOException {
+		append("one\ntwo"); //$NON-NLS-1$
+		assertEquals("one", tail.readLine()); //$NON-NLS-1$
+		assertNull(tail.readLine());
+
+		//Once the writer is done, the last line has no terminator
+		tail.setEndOfStream(true);
+		assertEquals("two", tail.readLine()); //$NON-NLS-1$
+		assertNull(tail.readLine());
+		assertEquals(-1, tail.read());
+	}
+
+	public void testMarkResetAcrossRefill() throws IOException {
+		StringBuilder line = new StringBuilder();
+		for (int i = 0; i < 3000; i++)
+			line.append((char) ('a' + i % 26));
+		String s = line.toString();
+
+		//Go past the chunk size so that what was read can be dropped
+		for (int i = 0; i < 4; i++)
+			append(s + "\n"); //$NON-NLS-1$
+		for (int i = 0; i < 4; i++)
+			assertEquals(s, tail.readLine());
+
+		append("xy"); //$NON-NLS-1$
+		assertEquals('x', tail.read());
+		tail.mark(2 * s.length());
+		assertEquals('y', tail.read());
+		assertEquals(-1, tail.read());
+
+		//The rest of the line is read by a new fill after the mark
+		append("z\n" + s + "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("z", tail.readLine()); //$NON-NLS-1$
+		tail.reset();
+		assertEquals("yz", tail.readLine()); //$NON-NLS-1$
+		assertEquals(s, tail.readLine());
+
+		//Reading past the limit invalidates the mark
+		append(s + "\n" + s + "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		tail.mark(10);
+		assertEquals(s, tail.readLine());
+		try {
+			tail.reset();
+			fail();
+		} catch (IOException e) {
+			//Expected
+		}
+		assertEquals(s, tail.readLine());
+	}
+
+	public void testAwait() throws InterruptedException {
+		tail.wakeUp();
+		long start = System.currentTimeMillis();
+		tail.await(5000);
+		assertTrue(System.currentTimeMillis() - start < 1000);
+
+		//The wake up was consumed
+		start = System.currentTimeMillis();
+		tail.await(50);
+		assertTrue(System.currentTimeMillis() - start >= 40);
+	}
+
+}
@@ -10,11 +10,11 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.callgraph.tests;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 
 import junit.framework.TestCase;
 
+import org.eclipse.linuxtools.callgraph.CallRecords;
 import org.eclipse.linuxtools.callgraph.StapGraphParser;
 
 public class StapGraphParserTest extends TestCase {
@@ -28,60 +28,48 @@ public class StapGraphParserTest extends TestCase {
 	}
 	
 	public static void assertSanity(StapGraphParser grph){
-		/*if (grph.serialMap.size() == 0 || grph.timeMap.size() == 0 
-				|| grph.outNeighbours.size() == 0 || grph.countMap.size() == 0
-				|| grph.aggregateTimeMap.size() == 0){
-			fail("Parsing Error : One or more data structures were empty.");
-		}*/
+		CallRecords records = grph.records;
 		
 		//SAME NUMBER OF NODES ENTRIES
-		assertEquals(grph.serialMap.size(),grph.timeMap.size());
 		int nsize = 0;
-		for (int key : grph.neighbourMaps.keySet())
-			if (grph.neighbourMaps.get(key)!= null)
-				nsize+=grph.neighbourMaps.get(key).size();
-		assertEquals(grph.serialMap.size(),nsize);
+		for (int r = 0; r < records.size(); r++) {
+			assertEquals(r, records.getRecord(records.getId(r)));
+			nsize += records.getChildCount(r);
+			if (records.getParent(r) == -1)
+				nsize++;
+		}
+		assertEquals(records.size(),nsize);
 		//ALL UNIQUE FUNCTIONS HAVE A TIME
 		//ALL FUNCTIONS HAVE A CUMULATIVE TIME
-		for (int val : grph.serialMap.keySet()){
-			String fname = grph.serialMap.get(val);
-			assertTrue(grph.timeMap.get(val) != null);
-			assertTrue(grph.aggregateTimeMap.get(fname) != null);
+		HashMap<String, Long> aggregateTimeMap = records.getAggregateTimes();
+		for (int r = 0; r < records.size(); r++){
+			String fname = records.getName(r);
+			assertTrue(records.getNameIndex(fname) >= 0);
+			assertTrue(aggregateTimeMap.get(fname) != null);
 		}
 	}
 	
 	
 	public static void assertTimes(StapGraphParser grph){
+		CallRecords records = grph.records;
 		//NO FUNCTION HAS TIME/CUMULATIVE TIME LARGER THAN TOTAL
-		for (int val : grph.serialMap.keySet()){
-			String fname = grph.serialMap.get(val);
-			assertTrue(grph.totalTime >= grph.timeMap.get(val));
-			assertTrue(grph.totalTime >= grph.aggregateTimeMap.get(fname));
+		for (int r = 0; r < records.size(); r++){
+			assertTrue(grph.totalTime >= records.getTime(r));
+			assertTrue(grph.totalTime >= records.getAggregateTime(records.getNameIndexOf(r)));
 		}
 	}
 	
 	
 	public static void assertConnectedness (StapGraphParser grph){
-		boolean hasParent;
+		CallRecords records = grph.records;
 		//ALL NODES MUST HAVE A PARENT EXCEPT THE ROOT
-		for (int key : grph.serialMap.keySet()){
-			hasParent = false;
-			for (int k:grph.neighbourMaps.keySet()) {
-				HashMap<Integer, ArrayList<Integer>> outNeighbours = grph.neighbourMaps.get(k);
-				if (outNeighbours != null && outNeighbours.size() > 0)
-				for (ArrayList<Integer> list : outNeighbours.values()){
-					if (list.contains(key)){
-						hasParent = true;
-						break;
-					}
-				}
-				
-				if (!hasParent){
-					for (int other : grph.serialMap.keySet()){
-						if (key > other){
-							fail(key + " " + grph.serialMap.get(key) + " had no parent");						
-						}
-					}
+		for (int r = 0; r < records.size(); r++){
+			if (records.getParent(r) != -1)
+				continue;
+			int key = records.getId(r);
+			for (int other = 0; other < records.size(); other++){
+				if (key > records.getId(other)){
+					fail(key + " " + records.getName(r) + " had no parent");						
 				}
 			}
 		}
@@ -89,31 +77,99 @@ public class StapGraphParserTest extends TestCase {
 	}
 	
 	
+	public static void assertAggregates(StapGraphParser grph){
+		CallRecords records = grph.records;
+		//THE CUMULATIVE TIME OF A FUNCTION COVERS EACH OF ITS OUTERMOST CALLS
+		for (int r = 0; r < records.size(); r++){
+			if (records.isOutermost(r))
+				assertTrue(records.getName(r), records.getAggregateTime(records.getNameIndexOf(r)) >= records.getTime(r));
+		}
+	}
+	
+	
+	/**
+	 * Checks the call with the given id against the values read from the file.
+	 * @return The record of the call
+	 */
+	public static int assertCall(CallRecords records, int id, String name, int parentId, long time){
+		int r = records.getRecord(id);
+		assertTrue("no call " + id, r >= 0);
+		assertEquals(name, records.getName(r));
+		if (parentId == -1)
+			assertEquals(-1, records.getParent(r));
+		else
+			assertEquals(parentId, records.getId(records.getParent(r)));
+		assertEquals(time, records.getTime(r));
+		return r;
+	}
+	
+	
+	public static void assertFunction(CallRecords records, String name, int count, long aggregateTime){
+		int n = records.getNameIndex(name);
+		assertTrue("no function " + name, n >= 0);
+		assertEquals(name, count, records.getCount(n));
+		assertEquals(name, aggregateTime, records.getAggregateTime(n));
+	}
+	
+	
 	public final String currentPath = Activator.PLUGIN_LOCATION;
 	public String graphDataPath= "";
 	
 	//FOR TESTING THE GRAPH PARSING
-	public void executeGraphTests(){
+	public StapGraphParser executeGraphTests(){
 		StapGraphParser grph = StapGraphParserTest.initializeGraph(graphDataPath);
 		StapGraphParserTest.assertSanity(grph);
 		StapGraphParserTest.assertTimes(grph);
 		StapGraphParserTest.assertConnectedness(grph);
+		StapGraphParserTest.assertAggregates(grph);
+		return grph;
 	}
 	
 
 	public void testJustMain(){
 		graphDataPath = currentPath+"main.graph";
-		executeGraphTests();	
+		CallRecords records = executeGraphTests().records;
+		assertEquals(1, records.size());
+		assertCall(records, 1, "main", -1, 45512);
+		assertFunction(records, "main", 1, 45512);
 	}
 	
 	public void testCallGraphRunBasic(){
 		graphDataPath = currentPath+"basic.graph";
-		executeGraphTests();
+		StapGraphParser grph = executeGraphTests();
+		CallRecords records = grph.records;
+		assertEquals(2, records.size());
+		int main = assertCall(records, 1, "main", -1, 45512);
+		int foo = assertCall(records, 2, "foo", 1, 24790);
+		assertEquals(1, records.getChildCount(main));
+		assertEquals(foo, records.getChild(main, 0));
+		assertEquals(1, records.getCalled(foo));
+		assertFunction(records, "main", 1, 45512);
+		assertFunction(records, "foo", 1, 24790);
+		
+		//main took less than 99% of the reported total, so its time is used
+		assertEquals(45512, grph.totalTime);
 	}
 	
 	public void testCallGraphRunRecursive(){
 		graphDataPath = currentPath+"catlan.graph";
-		executeGraphTests();
+		StapGraphParser grph = executeGraphTests();
+		CallRecords records = grph.records;
+		assertEquals(244, records.size());
+		assertEquals(3909256, grph.totalTime);
+		assertCall(records, 1, "main", -1, 3902556);
+		assertCall(records, 2, "catlan", 1, 3841607);
+		assertCall(records, 3, "catlan", 2, 1290321);
+		assertCall(records, 7, "catlan", 6, 7389);
+		assertCall(records, 8, "catlan", 6, 7284);
+		assertCall(records, 12, "catlan", 11, 7167);
+		assertCall(records, 244, "catlan", 242, 7323);
+		assertFunction(records, "main", 1, 3902556);
+		
+		//Only the outermost call counts towards the cumulative time of a recursive function
+		assertFunction(records, "catlan", 243, 3841607);
+		assertTrue(records.isOutermost(records.getRecord(2)));
+		assertFalse(records.isOutermost(records.getRecord(3)));
 	}
 	
 	public void testManyFuncs(){
@@ -123,7 +179,33 @@ public class StapGraphParserTest extends TestCase {
 	
 	public void testComprehensive(){
 		graphDataPath = currentPath+"comprehensive.graph";
-		executeGraphTests();
+		StapGraphParser grph = executeGraphTests();
+		CallRecords records = grph.records;
+		assertEquals(93, records.size());
+		assertEquals(6902388045l, grph.totalTime);
+		int main = assertCall(records, 1, "main", -1, 6902388045l);
+		assertEquals(38, records.getChildCount(main));
+		assertCall(records, 2, "callThisOnce", 1, 9392);
+		assertCall(records, 6, "callThisOnce", 5, 8081);
+		assertCall(records, 8, "hasOneChild", 7, 28980636);
+		assertCall(records, 10, "callThisOnce", 7, 7684);
+		assertCall(records, 11, "chainOfFifty", 1, 824891);
+		assertCall(records, 12, "chainOfFifty", 11, 805088);
+		assertCall(records, 61, "chainOfFifty", 60, 8044);
+		assertCall(records, 62, "callThisThirtyTimes", 1, 12562);
+		assertCall(records, 92, "abcdefghijklmnopqrstuvwxyz", 1, 9525);
+		
+		assertFunction(records, "callThisOnce", 4, 33569);
+		assertFunction(records, "callThisTwice", 2, 16609);
+		assertFunction(records, "hasOneChild", 2, 57942485);
+		assertFunction(records, "hasTwoDifferentChildren", 1, 59053777);
+		assertFunction(records, "chainOfFifty", 51, 824891);
+		assertFunction(records, "callThisThirtyTimes", 30, 239681);
+		
+		//brokenFunction never returns, so it ends with the trace
+		assertCall(records, 93, "brokenFunction", 1, 29855);
+		assertFunction(records, "brokenFunction", 1, 29855);
+		assertFunction(records, "main", 1, 6902388045l);
 	}
 	
 	public void testHeavy(){
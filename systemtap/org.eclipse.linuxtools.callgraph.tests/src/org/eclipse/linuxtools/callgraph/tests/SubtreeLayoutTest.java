@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.callgraph.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.linuxtools.callgraph.CallGraphConstants;
+import org.eclipse.linuxtools.callgraph.CallgraphView;
+import org.eclipse.linuxtools.callgraph.StapGraph;
+import org.eclipse.linuxtools.callgraph.StapGraphParser;
+import org.eclipse.linuxtools.callgraph.StapNode;
+import org.eclipse.linuxtools.callgraph.SubtreeLayout;
+import org.eclipse.linuxtools.callgraph.core.StapUIJob;
+import org.eclipse.linuxtools.callgraph.core.ViewFactory;
+import org.eclipse.zest.core.widgets.GraphConnection;
+
+public class SubtreeLayoutTest extends TestCase {
+	
+	private StapGraph g;
+	private SubtreeLayout layout;
+	private int maxNodes;
+	private int levelBuffer;
+	
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		StapGraphParser parse = new StapGraphParser();
+		parse.setSourcePath(Activator.PLUGIN_LOCATION + "catlan.graph");
+		parse.testRun(new NullProgressMonitor(), true);
+
+		CallgraphView cView = (CallgraphView) ViewFactory.createView(CallGraphConstants.viewID);
+		StapUIJob j = new StapUIJob("Test Graph UI Job", parse,
+				CallGraphConstants.viewID);
+		j.runInUIThread(new NullProgressMonitor());
+		
+		g = cView.getGraph();
+		maxNodes = g.getMaxNodes();
+		levelBuffer = g.getLevelBuffer();
+		layout = g.getSubtreeLayout();
+		drawTree();
+	}
+	
+	@Override
+	protected void tearDown() throws Exception {
+		g.setMaxNodes(maxNodes);
+		g.setLevelBuffer(levelBuffer);
+		super.tearDown();
+	}
+	
+	private void drawTree() {
+		g.draw(StapGraph.CONSTANT_DRAWMODE_TREE,
+				StapGraph.CONSTANT_ANIMATION_FASTEST, g.getFirstUsefulNode());
+	}
+	
+	private Rectangle getBounds(int id) {
+		Point p = layout.getLocation(id);
+		return new Rectangle(p.x, p.y, layout.getNodeWidth(id), StapGraph.CONSTANT_NODE_HEIGHT);
+	}
+	
+	/**
+	 * The laid out node furthest from the root
+	 */
+	private int getDeepestNode() {
+		int deepest = layout.getRoot();
+		for (int id : layout.getNodes()) {
+			if (layout.getLocation(id).y > layout.getLocation(deepest).y)
+				deepest = id;
+		}
+		return deepest;
+	}
+	
+	private List<Integer> getCallers(int id) {
+		List<Integer> callers = new ArrayList<Integer>();
+		for (int caller = layout.getParent(id); caller != SubtreeLayout.NO_PARENT;
+				caller = layout.getParent(caller))
+			callers.add(caller);
+		return callers;
+	}
+	
+	public void testVisibleRange() {
+		//Nothing in view, only the root is kept
+		Set<Integer> visible = layout.getVisibleNodes(new Rectangle(-100000, -100000, 1, 1));
+		assertEquals(1, visible.size());
+		assertTrue(visible.contains(layout.getRoot()));
+		
+		//Everything in view
+		Rectangle all = getBounds(layout.getRoot());
+		for (int id : layout.getNodes())
+			all.union(getBounds(id));
+		visible = layout.getVisibleNodes(all);
+		assertEquals(layout.getNodes(), visible);
+		
+		//Only the nodes under a point, and their callers
+		int deepest = getDeepestNode();
+		Point p = layout.getLocation(deepest);
+		Rectangle view = new Rectangle(p.x, p.y, 1, 1);
+		visible = layout.getVisibleNodes(view);
+		assertTrue(visible.contains(deepest));
+		List<Integer> callers = getCallers(deepest);
+		for (int id : visible) {
+			if (id != deepest && !callers.contains(id) && id != layout.getRoot())
+				assertTrue(getBounds(id).intersects(view));
+		}
+		assertTrue(visible.size() < layout.getNodes().size());
+	}
+	
+	public void testAncestorsKept() {
+		int deepest = getDeepestNode();
+		List<Integer> callers = getCallers(deepest);
+		assertTrue(callers.size() > 1);
+		
+		//The callers of a visible node are visible, however far away they are
+		Point p = layout.getLocation(deepest);
+		Set<Integer> visible = layout.getVisibleNodes(new Rectangle(p.x, p.y, 1, 1));
+		assertTrue(visible.containsAll(callers));
+		for (int id : visible) {
+			int caller = layout.getParent(id);
+			if (caller != SubtreeLayout.NO_PARENT)
+				assertTrue(visible.contains(caller));
+		}
+	}
+	
+	public void testConnectionsAfterScrolling() {
+		int deepest = getDeepestNode();
+		Point p = layout.getLocation(deepest);
+		
+		//Scroll down to the deepest node, then back up to the root
+		g.getViewport().setViewLocation(p.x - 10, p.y - 10);
+		checkConnections();
+		assertNotNull(g.getNode(deepest));
+		g.getViewport().setViewLocation(0, 0);
+		checkConnections();
+		g.getViewport().setViewLocation(p.x - 10, p.y - 10);
+		checkConnections();
+	}
+	
+	/**
+	 * Every created node is connected to its caller, which is created too
+	 */
+	private void checkConnections() {
+		for (int id : g.nodeMap.keySet()) {
+			int caller = layout.getParent(id);
+			if (caller == SubtreeLayout.NO_PARENT)
+				continue;
+			StapNode callerNode = g.getNode(caller);
+			assertNotNull(callerNode);
+			GraphConnection connection = g.getNode(id).getConnection();
+			assertNotNull(connection);
+			assertFalse(connection.isDisposed());
+			assertSame(callerNode, connection.getDestination());
+		}
+	}
+	
+	public void testNodeBudget() {
+		g.setMaxNodes(20);
+		drawTree();
+		
+		//The root and at most maxNodes nodes below it
+		assertTrue(layout.getNodes().size() <= 21);
+		boolean collapsed = false;
+		for (int id : layout.getNodes())
+			collapsed |= layout.isCollapsed(id);
+		assertTrue(collapsed);
+	}
+}
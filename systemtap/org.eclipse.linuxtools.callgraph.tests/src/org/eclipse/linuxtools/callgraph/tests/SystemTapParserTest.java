@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.callgraph.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.linuxtools.callgraph.core.SystemTapParser;
+
+public class SystemTapParserTest extends TestCase {
+
+	/**
+	 * Longest wait of the real-time loop, in ms
+	 */
+	private static final long MAX_WAIT = 500;
+
+	/**
+	 * Collects the lines of the file as the real-time loop reads them.
+	 */
+	private static class LineParser extends SystemTapParser {
+		final ArrayList<String> lines = new ArrayList<String>();
+		volatile long lastRead = -1;
+
+		@Override
+		protected void initialize() {
+		}
+
+		@Override
+		public IStatus nonRealTimeParsing() {
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public IStatus realTimeParsing() {
+			if (!hasLineReader())
+				return Status.CANCEL_STATUS;
+			try {
+				String line;
+				while ((line = readLine()) != null) {
+					synchronized (lines) {
+						lines.add(line);
+					}
+					lastRead = System.currentTimeMillis();
+				}
+			} catch (IOException e) {
+				return Status.CANCEL_STATUS;
+			}
+			return Status.OK_STATUS;
+		}
+
+		int lineCount() {
+			synchronized (lines) {
+				return lines.size();
+			}
+		}
+
+		IStatus runNow() {
+			return run(new NullProgressMonitor());
+		}
+	}
+
+	private File file;
+	private FileOutputStream out;
+	private LineParser parser;
+	private Thread thread;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		file = File.createTempFile("parser", ".out"); //$NON-NLS-1$ //$NON-NLS-2$
+		out = new FileOutputStream(file);
+		parser = new LineParser();
+		parser.setSourcePath(file.getPath());
+		parser.setRealTime(true);
+		thread = new Thread() {
+			@Override
+			public void run() {
+				parser.runNow();
+			}
+		};
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		parser.cancelJob();
+		thread.join(2000);
+		out.close();
+		file.delete();
+		super.tearDown();
+	}
+
+	private void append(String s) throws IOException {
+		out.write(s.getBytes());
+		out.flush();
+	}
+
+	private void waitForLines(int count) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (parser.lineCount() < count && System.currentTimeMillis() < end)
+			Thread.sleep(1);
+	}
+
+	public void testBurst() throws Exception {
+		thread.start();
+		append("one\n"); //$NON-NLS-1$
+		waitForLines(1);
+
+		//Right after data, the loop checks the file again within a few ms
+		long written = System.currentTimeMillis();
+		append("two\n"); //$NON-NLS-1$
+		waitForLines(2);
+		assertEquals(2, parser.lineCount());
+		assertTrue(parser.lastRead - written < MAX_WAIT / 2);
+	}
+
+	public void testIdle() throws Exception {
+		thread.start();
+
+		//Let the wait grow to its longest
+		Thread.sleep(3 * MAX_WAIT);
+		long written = System.currentTimeMillis();
+		append("line\n"); //$NON-NLS-1$
+		waitForLines(1);
+		assertEquals("line", parser.lines.get(0)); //$NON-NLS-1$
+		assertTrue(parser.lastRead - written <= MAX_WAIT + 200);
+	}
+
+	public void testCancelWakesUp() throws Exception {
+		thread.start();
+		append("last"); //$NON-NLS-1$
+		Thread.sleep(3 * MAX_WAIT);
+		assertEquals(0, parser.lineCount());
+
+		//The waiting loop stops without sleeping out its timeout
+		long cancelled = System.currentTimeMillis();
+		parser.cancelJob();
+		thread.join(2000);
+		assertFalse(thread.isAlive());
+		assertTrue(System.currentTimeMillis() - cancelled < MAX_WAIT / 2);
+
+		//The last line is read once the writer is done
+		assertEquals(1, parser.lineCount());
+		assertEquals("last", parser.lines.get(0)); //$NON-NLS-1$
+	}
+
+}
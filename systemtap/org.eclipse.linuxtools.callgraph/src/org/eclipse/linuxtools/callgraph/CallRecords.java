@@ -0,0 +1,372 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.callgraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Compact storage for the function calls of a callgraph.  Each call is a
+ * record, numbered in the order it was added, whose fields are kept in
+ * primitive arrays.  Function names are interned so that each distinct name
+ * is stored once, and the children of each record are kept in compressed
+ * sparse row form (an offset per record into one array of records), built
+ * when first needed after records were added.
+ */
+public class CallRecords {
+	
+	private static final int INITIAL_CAPACITY = 1024;
+	
+	private int size;
+	private int[] ids;
+	private int[] names;
+	private long[] times;
+	private int[] threads;
+	private int[] parents;
+	private int[] called;
+	private boolean[] outermost;
+	
+	private ArrayList<String> nameList;
+	private HashMap<String, Integer> nameIndex;
+	private long[] aggregateTimes;
+	private int[] counts;
+	
+	//id -> record + 1, open addressing
+	private int[] idKeys;
+	private int[] idSlots;
+	
+	private int[] childStart;
+	private int[] children;
+	private boolean childrenDirty;
+	
+	private HashSet<Integer> threadSet;
+	
+	public CallRecords() {
+		nameList = new ArrayList<String>();
+		nameIndex = new HashMap<String, Integer>();
+		threadSet = new HashSet<Integer>();
+		clear();
+	}
+	
+	/**
+	 * Removes all the records and names.
+	 */
+	public void clear() {
+		size = 0;
+		ids = new int[INITIAL_CAPACITY];
+		names = new int[INITIAL_CAPACITY];
+		times = new long[INITIAL_CAPACITY];
+		threads = new int[INITIAL_CAPACITY];
+		parents = new int[INITIAL_CAPACITY];
+		called = new int[INITIAL_CAPACITY];
+		outermost = new boolean[INITIAL_CAPACITY];
+		nameList.clear();
+		nameIndex.clear();
+		aggregateTimes = new long[64];
+		counts = new int[64];
+		idKeys = new int[2 * INITIAL_CAPACITY];
+		idSlots = new int[2 * INITIAL_CAPACITY];
+		childStart = null;
+		children = null;
+		childrenDirty = true;
+		threadSet.clear();
+	}
+	
+	/**
+	 * Adds a call, and counts it for its function.
+	 * 
+	 * @param id -- Id of the call, as written by the script.
+	 * @param name -- Function name, interned.
+	 * @param time -- Time of the call.
+	 * @param thread -- Thread of the call.
+	 * @param parent -- Record of the caller, or -1.
+	 * @return The record of the call.
+	 */
+	public int addCall(int id, String name, long time, int thread, int parent) {
+		if (size == ids.length)
+			grow();
+		int r = size++;
+		int n = intern(name);
+		ids[r] = id;
+		names[r] = n;
+		times[r] = time;
+		threads[r] = thread;
+		parents[r] = parent;
+		called[r] = 1;
+		outermost[r] = false;
+		counts[n]++;
+		putId(id, r);
+		threadSet.add(thread);
+		childrenDirty = true;
+		return r;
+	}
+	
+	/**
+	 * @param name -- Function name.
+	 * @return The index of the name, added if it is new.
+	 */
+	public int intern(String name) {
+		Integer n = nameIndex.get(name);
+		if (n != null)
+			return n;
+		int i = nameList.size();
+		nameList.add(name);
+		nameIndex.put(name, i);
+		if (i == counts.length) {
+			counts = Arrays.copyOf(counts, 2 * i);
+			aggregateTimes = Arrays.copyOf(aggregateTimes, 2 * i);
+		}
+		return i;
+	}
+	
+	/**
+	 * @param name -- Function name.
+	 * @return The index of the name, or -1 if no call has it.
+	 */
+	public int getNameIndex(String name) {
+		Integer n = nameIndex.get(name);
+		return n == null ? -1 : n;
+	}
+	
+	/**
+	 * @param id -- Id of a call.
+	 * @return The record of the call, or -1.
+	 */
+	public int getRecord(int id) {
+		int mask = idKeys.length - 1;
+		for (int i = hash(id) & mask; idSlots[i] != 0; i = (i + 1) & mask) {
+			if (idKeys[i] == id)
+				return idSlots[i] - 1;
+		}
+		return -1;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public int getId(int record) {
+		return ids[record];
+	}
+	
+	public String getName(int record) {
+		return nameList.get(names[record]);
+	}
+	
+	public int getNameIndexOf(int record) {
+		return names[record];
+	}
+	
+	public long getTime(int record) {
+		return times[record];
+	}
+	
+	public void setTime(int record, long time) {
+		times[record] = time;
+	}
+	
+	public int getThread(int record) {
+		return threads[record];
+	}
+	
+	public int getParent(int record) {
+		return parents[record];
+	}
+	
+	/**
+	 * Sets the caller of a record.  A record keeps its first caller.
+	 */
+	public void setParent(int record, int parent) {
+		if (parents[record] == -1) {
+			parents[record] = parent;
+			childrenDirty = true;
+		}
+	}
+	
+	/**
+	 * @return The number of times the call was made, 1 unless set otherwise.
+	 */
+	public int getCalled(int record) {
+		return called[record];
+	}
+	
+	public void setCalled(int record, int count) {
+		called[record] = count;
+	}
+	
+	/**
+	 * @return True if no call of the same function was running on the thread
+	 * when this one was made, in which case its duration counts towards the
+	 * cumulative time of the function.
+	 */
+	public boolean isOutermost(int record) {
+		return outermost[record];
+	}
+	
+	public void setOutermost(int record, boolean value) {
+		outermost[record] = value;
+	}
+	
+	public int getThreadCount() {
+		return threadSet.size();
+	}
+	
+	public int getNameCount() {
+		return nameList.size();
+	}
+	
+	public String getFunctionName(int nameIndex) {
+		return nameList.get(nameIndex);
+	}
+	
+	public long getAggregateTime(int nameIndex) {
+		return aggregateTimes[nameIndex];
+	}
+	
+	public void addAggregateTime(int nameIndex, long time) {
+		aggregateTimes[nameIndex] += time;
+	}
+	
+	public int getCount(int nameIndex) {
+		return counts[nameIndex];
+	}
+	
+	/**
+	 * @return The cumulative time of each function.
+	 */
+	public HashMap<String, Long> getAggregateTimes() {
+		HashMap<String, Long> map = new HashMap<String, Long>();
+		for (int i = 0; i < nameList.size(); i++)
+			map.put(nameList.get(i), aggregateTimes[i]);
+		return map;
+	}
+	
+	/**
+	 * @return The number of calls of each function.
+	 */
+	public HashMap<String, Integer> getCounts() {
+		HashMap<String, Integer> map = new HashMap<String, Integer>();
+		for (int i = 0; i < nameList.size(); i++)
+			map.put(nameList.get(i), counts[i]);
+		return map;
+	}
+	
+	/**
+	 * @return The ids of the calls, in the order they were made.
+	 */
+	public ArrayList<Integer> getCallOrder() {
+		ArrayList<Integer> list = new ArrayList<Integer>(size);
+		for (int r = 0; r < size; r++)
+			list.add(ids[r]);
+		return list;
+	}
+	
+	public int getChildCount(int record) {
+		buildChildren();
+		return childStart[record + 1] - childStart[record];
+	}
+	
+	/**
+	 * @return The record of the index-th call made by the record.
+	 */
+	public int getChild(int record, int index) {
+		buildChildren();
+		return children[childStart[record] + index];
+	}
+	
+	/**
+	 * @return The records, sorted by id.
+	 */
+	public int[] getRecordsById() {
+		int[] order = new int[size];
+		boolean sorted = true;
+		for (int r = 0; r < size; r++) {
+			order[r] = r;
+			if (r > 0 && ids[r] < ids[r - 1])
+				sorted = false;
+		}
+		if (sorted)
+			return order;
+		
+		long[] keys = new long[size];
+		for (int r = 0; r < size; r++)
+			keys[r] = ((long) ids[r] << 32) | r;
+		Arrays.sort(keys);
+		for (int r = 0; r < size; r++)
+			order[r] = (int) keys[r];
+		return order;
+	}
+	
+	private void buildChildren() {
+		if (!childrenDirty)
+			return;
+		childStart = new int[size + 1];
+		for (int r = 0; r < size; r++) {
+			if (parents[r] >= 0)
+				childStart[parents[r] + 1]++;
+		}
+		for (int r = 0; r < size; r++)
+			childStart[r + 1] += childStart[r];
+		children = new int[childStart[size]];
+		int[] next = Arrays.copyOf(childStart, size);
+		for (int r = 0; r < size; r++) {
+			if (parents[r] >= 0)
+				children[next[parents[r]]++] = r;
+		}
+		childrenDirty = false;
+	}
+	
+	private void putId(int id, int record) {
+		if (2 * size > idKeys.length)
+			rehash();
+		int mask = idKeys.length - 1;
+		int i = hash(id) & mask;
+		while (idSlots[i] != 0 && idKeys[i] != id)
+			i = (i + 1) & mask;
+		idKeys[i] = id;
+		idSlots[i] = record + 1;
+	}
+	
+	private void rehash() {
+		int[] keys = idKeys;
+		int[] slots = idSlots;
+		idKeys = new int[2 * keys.length];
+		idSlots = new int[2 * keys.length];
+		int mask = idKeys.length - 1;
+		for (int j = 0; j < keys.length; j++) {
+			if (slots[j] == 0)
+				continue;
+			int i = hash(keys[j]) & mask;
+			while (idSlots[i] != 0)
+				i = (i + 1) & mask;
+			idKeys[i] = keys[j];
+			idSlots[i] = slots[j];
+		}
+	}
+	
+	private static int hash(int id) {
+		int h = id * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	private void grow() {
+		int capacity = 2 * ids.length;
+		ids = Arrays.copyOf(ids, capacity);
+		names = Arrays.copyOf(names, capacity);
+		times = Arrays.copyOf(times, capacity);
+		threads = Arrays.copyOf(threads, capacity);
+		parents = Arrays.copyOf(parents, capacity);
+		called = Arrays.copyOf(called, capacity);
+		outermost = Arrays.copyOf(outermost, capacity);
+	}
+}
@@ -16,7 +16,6 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Set;
 
@@ -201,60 +200,9 @@ public class CallgraphView extends SystemTapView {
 		/*
 		 *                Load graph data
 		 */
-	    for (int id_parent : parser.serialMap.keySet()) {
-	    	if (id_parent < 0) continue;
-	    	boolean marked = false;
-	    	String msg = ""; //$NON-NLS-1$
-	    	if (g.getNodeData(id_parent) == null) {
-				if (parser.markedMap.get(id_parent) != null) {
-					marked = true;
-					msg = parser.markedMap.remove(id_parent);
-				}
-	    		g.loadData(SWT.NONE, id_parent, parser.serialMap.get(id_parent), parser.timeMap.get(id_parent),
-	    				1, 0, marked, msg);
-	    	}
-	    	
-	    	for (int key :parser.neighbourMaps.keySet()) { 
-		    	HashMap<Integer, ArrayList<Integer>> outNeighbours = parser.neighbourMaps.get(key);
-		    	if (outNeighbours == null || outNeighbours.get(id_parent) == null)
-		    		continue;
-				for (int id_child : outNeighbours.get(id_parent)) {
-					if (g.getNodeData(id_child) != null && id_child < 0) {
-						//Assume this is an additional call of the same node
-						//Should only happen in dot-files!!
-						g.addCalled(id_child);
-						continue;
-					} else if (g.getNodeData(id_child) != null) {
-						continue;
-					}
-					if (monitor.isCanceled()) {
-						return Status.CANCEL_STATUS;
-					}
-					
-					marked = false;
-					msg = ""; //$NON-NLS-1$
-					if (parser.markedMap.get(id_child) != null) {
-						marked = true;
-						msg = parser.markedMap.remove(id_child);
-					}
-					if (id_child != -1) {
-						if (parser.timeMap.get(id_child) == null){						
-							g.loadData(SWT.NONE, id_child, parser.serialMap
-									.get(id_child), parser.timeMap.get(0),
-									1, id_parent, marked,msg);
-						}else{
-							g.loadData(SWT.NONE, id_child, parser.serialMap
-									.get(id_child), parser.timeMap.get(id_child),
-									1, id_parent, marked,msg);
-						}
-					}
-				}
-	    	}
-			
-	    	if (parser.neighbourMaps.size() > 1) {
-	    		g.setThreaded();
-	    	}
-		}
+	    if (!g.loadRecords(parser.records, parser.markedMap, monitor)) {
+	    	return Status.CANCEL_STATUS;
+	    }
 	    
 	    monitor.worked(1);
 	    if (parser.markedMap.size() > 0) {
@@ -273,8 +221,8 @@ public class CallgraphView extends SystemTapView {
 		if (g.aggregateCount == null)
 	    	g.aggregateCount = new HashMap<String, Integer>();	    
 	    
-	    g.aggregateCount.putAll(parser.countMap);
-	    g.aggregateTime.putAll(parser.aggregateTimeMap);
+	    g.aggregateCount.putAll(parser.records.getCounts());
+	    g.aggregateTime.putAll(parser.records.getAggregateTimes());
 	    //TODO: Do not set to 0.
 	    g.setLastFunctionCalled(0);
 
@@ -301,11 +249,11 @@ public class CallgraphView extends SystemTapView {
 		if (g.aggregateCount == null)
 	    	g.aggregateCount = new HashMap<String, Integer>();
 	    
-	    g.aggregateCount.putAll(parser.countMap);
+	    g.aggregateCount.putAll(parser.records.getCounts());
 	    
 	    if (g.aggregateTime == null)
 	    	g.aggregateTime = new HashMap<String, Long>();
-	    g.aggregateTime.putAll(parser.aggregateTimeMap);
+	    g.aggregateTime.putAll(parser.records.getAggregateTimes());
 
 	    //Set total time
 	    if (parser.totalTime != -1)
@@ -322,7 +270,7 @@ public class CallgraphView extends SystemTapView {
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
-	    g.setCallOrderList(parser.callOrderList);
+	    g.setCallOrderList(parser.records.getCallOrder());
 	    g.setProject(parser.project);
 	    
 	    
@@ -438,7 +386,7 @@ public class CallgraphView extends SystemTapView {
 
 		save_cur_dot = new Action(Messages.getString("CallgraphView.SaveViewAsDot")) { //$NON-NLS-1$
 			public void run(){
-				writeToDot(g.getCollapseMode(), g.nodeMap.keySet());
+				writeToDot(g.getCollapseMode(), g.getDrawnNodes());
 			}
 
 		};
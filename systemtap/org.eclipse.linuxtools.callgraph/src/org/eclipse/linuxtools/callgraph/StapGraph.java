@@ -10,19 +10,25 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.callgraph;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.Map.Entry;
 
 import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.draw2d.Animation;
 import org.eclipse.draw2d.Label;
+import org.eclipse.draw2d.RangeModel;
+import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.jface.viewers.IDoubleClickListener;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TreeViewer;
@@ -42,6 +48,7 @@ import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.zest.core.widgets.Graph;
+import org.eclipse.zest.core.widgets.GraphConnection;
 import org.eclipse.zest.core.widgets.GraphNode;
 import org.eclipse.zest.layouts.LayoutStyles;
 
@@ -66,13 +73,16 @@ public class StapGraph extends Graph {
 	public static final Color CONSTANT_HAS_CHILDREN = new Color(Display.getCurrent(), 200,
 			250, 200);
 	public static final Color CONSTANT_MARKED = new Color(Display.getCurrent(), 210, 112, 214);
+	public static final int CONSTANT_VIEWPORT_MARGIN = 200;			//Nodes this close to the viewport are created
+	public static final int CONSTANT_NODE_HEIGHT = 30;
+	public static final int CONSTANT_MAX_AGGREGATE_NODES = 150;		//Aggregate nodes are all created, keep the most expensive ones
 	private int ANIMATION_TIME = 500;
 	//Draw level management
 	private int topLevelToDraw;
 	private int bottomLevelToDraw;
 	private int topLevelOnScreen;
 	public static int levelBuffer = 30;
-	private static int maxNodes = 150;
+	private static int maxNodes = 1000;
 	private Projectionist proj;
 
 
@@ -85,6 +95,8 @@ public class StapGraph extends Graph {
 	private int idOfLastNode;	
 	private int idOfLastCollapsedNode;
 	public HashMap<Integer, StapNode> nodeMap; 				// HashMap of current nodes
+	private SubtreeLayout layout;							// Positions of nodes in tree and level mode
+	private boolean updatingNodes;
 	public HashMap<Integer, StapData> nodeDataMap; 			// HashMap of all data
 	//The negative side of nodeDataMap is collapsed, the positive side is uncollapsed
 	
@@ -115,7 +127,6 @@ public class StapGraph extends Graph {
 	private static TreeViewer treeViewer;
 	private Composite treeComp;
 	private static IDoubleClickListener treeDoubleListener;
-	public HashMap<Integer, Integer> currentPositionInLevel;
 	//(level, next horizontal position to place a node)
 	
 	//For cycling through marked nodes
@@ -132,7 +143,6 @@ public class StapGraph extends Graph {
 	private Canvas thumbCanvas;
 	private ICProject project;
 	private boolean threaded;
-	private int counter; 		//All purpose counting variable
 	
 	
 	
@@ -171,7 +181,6 @@ public class StapGraph extends Graph {
 		nodeDataMap = new HashMap<Integer, StapData>();
 		aggregateTime = new HashMap<String, Long>();
 		aggregateCount = new HashMap<String, Integer>();
-		currentPositionInLevel = new HashMap<Integer, Integer>();
 		collapsedLevelSize = new HashMap<Integer, Integer>();
 		markedNodes = new ArrayList<Integer>();
 		markedCollapsedNodes = new ArrayList<Integer>();
@@ -186,6 +195,8 @@ public class StapGraph extends Graph {
 		treeLevelFromRoot = 0;
 		idOfLastCollapsedNode = 0;
 		this.callgraphView = callgraphView;
+		layout = new SubtreeLayout(this);
+		updatingNodes = false;
 		
 		this.treeComp = treeComp;
 		if (treeViewer == null || treeViewer.getControl().isDisposed()) {
@@ -203,7 +214,19 @@ public class StapGraph extends Graph {
 		this.addMouseListener(mListener);		
 		this.addKeyListener(kListener);
 		this.addMouseWheelListener(mwListener);
-	
+		
+		//Only nodes in the viewport exist, create the others as they scroll in
+		PropertyChangeListener scrollListener = new PropertyChangeListener() {
+			public void propertyChange(PropertyChangeEvent evt) {
+				if (!RangeModel.PROPERTY_VALUE.equals(evt.getPropertyName())
+						&& !RangeModel.PROPERTY_EXTENT.equals(evt.getPropertyName()))
+					return;
+				if (draw_mode == CONSTANT_DRAWMODE_TREE || draw_mode == CONSTANT_DRAWMODE_LEVEL)
+					showVisibleNodes(false);
+			}
+		};
+		getViewport().getHorizontalRangeModel().addPropertyChangeListener(scrollListener);
+		getViewport().getVerticalRangeModel().addPropertyChangeListener(scrollListener);
 	}
 
 	
@@ -242,8 +265,59 @@ public class StapGraph extends Graph {
 		treeViewer.refresh();
 	}
 	
-	
-	
+	/**
+	 * Loads the calls parsed into a CallRecords model, in increasing id
+	 * order. Calls that are already loaded are skipped, so this can be called
+	 * again as more calls are parsed.
+	 * 
+	 * @param records -- The parsed calls.
+	 * @param markedMap -- Messages of marked calls, removed as they are used.
+	 * @param monitor
+	 * @return False if the monitor was cancelled.
+	 */
+	public boolean loadRecords(CallRecords records, HashMap<Integer, String> markedMap,
+			IProgressMonitor monitor) {
+		int[] order = records.getRecordsById();
+		for (int r : order) {
+			int id_parent = records.getId(r);
+			if (id_parent < 0) continue;
+			if (getNodeData(id_parent) == null) {
+				String msg = markedMap.remove(id_parent);
+				loadData(SWT.NONE, id_parent, records.getName(r), records.getTime(r),
+						1, 0, msg != null, msg == null ? "" : msg); //$NON-NLS-1$
+			}
+			
+			for (int i = 0; i < records.getChildCount(r); i++) {
+				int child = records.getChild(r, i);
+				int id_child = records.getId(child);
+				if (getNodeData(id_child) != null) {
+					//Assume this is an additional call of the same node
+					//Should only happen in dot-files!!
+					if (id_child < 0)
+						for (int j = 0; j < records.getCalled(child); j++)
+							addCalled(id_child);
+					continue;
+				}
+				if (monitor.isCanceled()) {
+					return false;
+				}
+				if (id_child == -1)
+					continue;
+				
+				String msg = markedMap.remove(id_child);
+				loadData(SWT.NONE, id_child, records.getName(child), records.getTime(child),
+						1, id_parent, msg != null, msg == null ? "" : msg); //$NON-NLS-1$
+				if (id_child < 0)
+					for (int j = 1; j < records.getCalled(child); j++)
+						addCalled(id_child);
+			}
+		}
+		
+		if (records.getThreadCount() > 1) {
+			setThreaded();
+		}
+		return true;
+	}
 
 	/**
 	 * Convenience method to loadData with a message preset.
@@ -278,6 +352,7 @@ public class StapGraph extends Graph {
 			markedNodes.add(id);
 		}
 		nodeDataMap.put(id, n);
+		layout.invalidate();
 
 		// Make no assumptions about the order that data is input
 		if (id > idOfLastNode)
@@ -493,6 +568,9 @@ public class StapGraph extends Graph {
 		}
 		
 		sortedValues.addAll(tempMap.entrySet());
+		//Every aggregate node is created, so drop the cheapest functions
+		while (sortedValues.size() > CONSTANT_MAX_AGGREGATE_NODES)
+			sortedValues.pollFirst();
 		
 		//-------------Draw nodes
 		for (Entry<String, Long> ent: sortedValues) {
@@ -540,87 +618,105 @@ public class StapGraph extends Graph {
 
 
 	/**
-	 * Draws a tree starting with node id, putting node id at location x,y
+	 * Draws a tree starting with node id, putting node id at location x,y.
+	 * Only the nodes that are in the viewport are created.
 	 * @param id
 	 * @param x
 	 * @param y
 	 */
 	private void drawTree(int id, int x, int y) {
-		
-		//-------------Create node id
-		// Create and set
-		if (nodeMap.get(id) == null) {
-			nodeMap.put(id, getNodeData(id).makeNode(this));
-		}
-		StapNode n = getNode(id);
-		n.setLocation(x,y);
-		n.setSize(n.getSize().width/scale, n.getSize().height/scale);
-
-		//This is the lowest level of nodes to draw, and it still has kids
-		if (getLevelOfNode(id) == bottomLevelToDraw &&
-				getNodeData(id).children.size() > 0)
-			n.setBackgroundColor(CONSTANT_HAS_CHILDREN);
-		
-		if (getNodeData(id).isMarked())
-			n.setBackgroundColor(CONSTANT_MARKED);
-		
-		
-		//-------------Get appropriate list of children
-		List<Integer> callees = null;
-		int usefulSize = 0;
-		
-		// Determine which list of callees to use
-		if (!collapse_mode)
-			callees = getNodeData(id).children;
-		else
-			callees = getNodeData(id).collapsedChildren;
-		if (callees == null)
+		layout.layoutTree(id, x, y, bottomLevelToDraw - getLevelOfNode(id));
+		showVisibleNodes(false);
+	}
+	
+	/**
+	 * Creates StapNodes for the laid out nodes that are in or near the viewport,
+	 * and disposes of the ones that left it. The root and all the callers of
+	 * visible nodes are kept, and every node is connected to its caller again
+	 * if the caller was disposed and created anew.
+	 * 
+	 * @param animate - move new nodes from the root to their location
+	 */
+	private void showVisibleNodes(boolean animate) {
+		if (updatingNodes)
 			return;
+		updatingNodes = true;
 		
-		int cLevel = getLevelOfNode(id) + 1;
-		
-		if (!collapse_mode) {
-			if (levels.get(cLevel) != null) {
-				usefulSize = levels.get(cLevel).size() - collapsedLevelSize.get(cLevel);
-			}
-		}
-		else {
-		if (collapsedLevelSize.get(cLevel) != null)
-			usefulSize = collapsedLevelSize.get(cLevel);
-		}
-		//-------------Draw all children
-		for (int i = 0; i < callees.size(); i++) {
-			//Find the number of nodes on this level for spacing purposes
-			int childID = callees.get(i);
-			int childLevel = getLevelOfNode(childID);
-
+		try {
+			Rectangle view = getViewport().getClientArea().getExpanded(
+					CONSTANT_VIEWPORT_MARGIN, CONSTANT_VIEWPORT_MARGIN);
+			int root = layout.getRoot();
+			
+			//-------------Find the nodes to show
+			Set<Integer> visible = layout.getVisibleNodes(view);
 			
-			//Initialise the offset to roughly centre the nodes 
-			if (currentPositionInLevel.get(getLevelOfNode(childID)) == null) {
-				int tmp = (int) (CONSTANT_HORIZONTAL_SPACING*(usefulSize-1) * -1/scale);
-				currentPositionInLevel.put(childLevel, getNode(rootVisibleNodeNumber)
-						.getLocation().x + tmp);
+			for (Integer id : new ArrayList<Integer>(nodeMap.keySet())) {
+				if (!visible.contains(id))
+					nodeMap.remove(id).dispose();
 			}
 			
-			//Recursive iteration
-			if (childLevel <= bottomLevelToDraw && 
-					childLevel <= lowestLevelOfNodesAdded) {
-				drawTree(callees.get(i), currentPositionInLevel.get(childLevel), 
-						y + (int)(CONSTANT_VERTICAL_INCREMENT/scale));
-								
-				//Do not scale newSize or nodes will no longer be adjacent
-				int newSize = currentPositionInLevel.get(getLevelOfNode(childID)) 
-								+ getNode(childID).getSize().width;
+			//-------------Create them, callers first
+			if (animate)
+				Animation.markBegin();
+			for (int id : layout.getNodes()) {
+				if (!visible.contains(id))
+					continue;
 				
-				//Leave a small blank space between nodes for aesthetic purposes
-				if (i == callees.size() - 1)
-					newSize += CONSTANT_HORIZONTAL_SPACING/3;
-				currentPositionInLevel.put(getLevelOfNode(childID), newSize);
+				StapNode n = nodeMap.get(id);
+				if (n == null) {
+					n = getNodeData(id).makeNode(this);
+					nodeMap.put(id, n);
+					n.setSize(n.getSize().width/scale, n.getSize().height/scale);
+					if (animate && nodeMap.get(root) != null)
+						n.setLocation(nodeMap.get(root).getLocation().x, 
+								nodeMap.get(root).getLocation().y);
+				}
+				n.setVisible(true);
+				n.setLocation(layout.getLocation(id).x, layout.getLocation(id).y);
+				
+				//Colour nodes whose children are not shown
+				if (getNodeData(id).isMarked())
+					n.setBackgroundColor(CONSTANT_MARKED);
+				else if (layout.isCollapsed(id))
+					n.setBackgroundColor(CONSTANT_HAS_CHILDREN);
+				else
+					n.setBackgroundColor(DEFAULT_NODE_COLOR);
+				
+				//Callers come first, so the caller of id exists by now. Its
+				//connection went away if it was disposed while off screen.
+				int parent = layout.getParent(id);
+				StapNode p = parent == SubtreeLayout.NO_PARENT ? null : nodeMap.get(parent);
+				GraphConnection c = n.getConnection();
+				if (p != null && (c == null || c.isDisposed() || c.getDestination() != p)) {
+					if (c != null && !c.isDisposed())
+						c.dispose();
+					n.makeConnection(SWT.NONE, p, getNodeData(id).timesCalled);
+				}
 			}
-			
+			if (animate)
+				Animation.run(ANIMATION_TIME);
+		} finally {
+			updatingNodes = false;
 		}
 	}
 	
+	/**
+	 * @return Ids of the nodes of the current view, including the ones that
+	 * are laid out but not created because they are outside of the viewport.
+	 */
+	public Set<Integer> getDrawnNodes() {
+		if (draw_mode == CONSTANT_DRAWMODE_TREE || draw_mode == CONSTANT_DRAWMODE_LEVEL)
+			return layout.getNodes();
+		return nodeMap.keySet();
+	}
+	
+	/**
+	 * @return The positions of the nodes of the tree and level views.
+	 */
+	public SubtreeLayout getSubtreeLayout() {
+		return layout;
+	}
+	
 	/**
 	 * Extend the tree downwards
 	 */
@@ -650,16 +746,10 @@ public class StapGraph extends Graph {
 		}
 		
 		
-		List<Integer> bottomList = levels.get(bottomLevelToDraw);
 		bottomLevelToDraw++;
 		
-		for (int i : bottomList) {
-			if (getNode(i) != null) {
-				getNode(i).setBackgroundColor(DEFAULT_NODE_COLOR);
-				getParentNode(i).setBackgroundColor(DEFAULT_NODE_COLOR);
-				drawTree(i, getNode(i).getLocation().x, getNode(i).getLocation().y);
-			}
-		}
+		int i = rootVisibleNodeNumber;
+		drawTree(i, getNode(i).getLocation().x, getNode(i).getLocation().y);
 		
 		treeLevelFromRoot++;		
 	}
@@ -676,7 +766,6 @@ public class StapGraph extends Graph {
 		deleteAll(rootVisibleNodeNumber);
 		
 		int i = rootVisibleNodeNumber;
-		currentPositionInLevel.clear();
 		drawTree(i, getNode(i).getLocation().x, getNode(i).getLocation().y);
 		
 		treeLevelFromRoot--;		
@@ -715,135 +804,9 @@ public class StapGraph extends Graph {
 	 */
 	public void drawBox(int id, int x, int y) {
 		setLevelLimits(id);
-		int MaxLevelPixelWidth = 1;
-		int currPixelWidth = 1;
-		
-		// FIND THE LEVEL THAT WILL BE THE WIDEST
-		// WILL BE A USEFUL VALUE LATER ON
-		int count;
-		
-		
-		for (int i = topLevelToDraw; i <= bottomLevelToDraw; i++) {
-			count = 0;
-			levels.get(i).add(0, count);
-			int size = levels.get(i).size();
-			for (int j = 1; j < size; j++){
-				int val = levels.get(i).get(j);
-				StapData data = nodeDataMap.get(val);
-				if (!data.isOnlyChildWithThisName()) {
-					if (collapse_mode && data.isPartOfCollapsedNode()) {
-						continue;
-					}
-					if (!collapse_mode && data.isCollapsed)
-						continue;
-				}
-				
-				currPixelWidth += data.name.length() * 10 + StapGraph.CONSTANT_HORIZONTAL_SPACING_FOR_LEVEL;
-				if (MaxLevelPixelWidth < currPixelWidth) {
-					MaxLevelPixelWidth = currPixelWidth;
-				}
-				count++;
-				levels.get(i).remove(0);
-				levels.get(i).add(0, count);
-			}
-			currPixelWidth = 1;
-		}
-
-		MaxLevelPixelWidth = (int)(MaxLevelPixelWidth/scale);
-		counter = 0;
-		if (id == getFirstUsefulNode())
-			nodeMap.get(id).setLocation(150 + (MaxLevelPixelWidth/2),y);
-		
-		drawFromBottomToTop(bottomLevelToDraw, y
-				+ ((bottomLevelToDraw  - topLevelToDraw ) * 3 * (int)(CONSTANT_VERTICAL_INCREMENT/scale)),
-				MaxLevelPixelWidth);
-		
-		if (id == getFirstUsefulNode())
-			nodeMap.get(id).setLocation(150 + (MaxLevelPixelWidth/2),y);
-	}
-	
-	
-	public void drawFromBottomToTop(int level, int height,
-			int MaxLevelPixelWidth) {
-		
-		// FINISHED DRAWING THE ROOT IN THE LAST RECURSIVE CALL
-		if (level == 0 || level < topLevelToDraw ) {
-			return;
-		}
-		
-		// FIND ALL THE CHILDREN AT LEVEL 'level'
-		int total = levels.get(level).remove(0);
-		int count = 1;
-		
-		//CREATE THE NODES
-		for (int i = 0; i < levels.get(level).size(); i ++) {
-			int id = levels.get(level).get(i);
-			
-			StapData data = nodeDataMap.get(id);
-			if (!data.isOnlyChildWithThisName()) {
-				if (collapse_mode && data.isPartOfCollapsedNode() ) {
-					continue;
-				}
-				if (!collapse_mode && nodeDataMap.get(id).isCollapsed)
-					continue;
-			}
-			
-			if (nodeMap.get(id) == null) {
-				nodeMap.put(id, getNodeData(id).makeNode(this));
-			}
-			
-			StapNode n = nodeMap.get(id);
-			
-			n.setVisible(true);
-			n.setSize(n.getSize().width/scale, n.getSize().height/scale);
-			//Placement algorithm
-			if (getAnimationMode() == CONSTANT_ANIMATION_SLOW){	
-				
-				if (counter <= ANIMATION_TIME)
-					Animation.markBegin();
-				n.setLocation(150 + (nodeMap.get(getRootVisibleNodeNumber()).getLocation().x),nodeMap.get(getRootVisibleNodeNumber()).getLocation().y);
-				n.setLocation(150 + (MaxLevelPixelWidth / (total + 1) * count),height);
-
-				if (counter <= ANIMATION_TIME) {
-					Animation.run(ANIMATION_TIME/nodeMap.size()/3);
-					counter+=ANIMATION_TIME/nodeMap.size();
-				}
-					
-			}else{
-				n.setLocation(150 + (MaxLevelPixelWidth / (total + 1) * count),height);				
-			}
-			
-			//IF WE CANNOT DISPLAY ALL NODES COLOUR NODES ON BOTTOM THAT STILL HAVE CHILDREN
-			if (level == bottomLevelToDraw && nodeDataMap.get(id).children.size() != 0){
-				n.setBackgroundColor(CONSTANT_HAS_CHILDREN);
-			}
-			
-			
-			
-			if (getNodeData(n.id).isMarked())
-				n.setBackgroundColor(CONSTANT_MARKED);
-			
-			
-			// FIND ALL THE NODES THAT THIS NODE CALLS AND MAKE CONNECTIONS
-			List<Integer> setOfCallees = null;
-			if (collapse_mode)
-				setOfCallees = nodeDataMap.get(id).collapsedChildren;
-			else 
-				setOfCallees = nodeDataMap.get(id).children;
-			
-			for (int val : setOfCallees) {
-				if (nodeMap.get(val) != null)
-					nodeMap.get(val).makeConnection(SWT.NONE, n, 
-						nodeDataMap.get(val).timesCalled);
-			}
-			
-			count++;
-		}
-		// DRAW THE NEXT LEVEL UP
-		drawFromBottomToTop(level - 1, height - (3 * (int)(CONSTANT_VERTICAL_INCREMENT/scale)),
-				MaxLevelPixelWidth);
+		layout.layoutLevels(id, topLevelToDraw, bottomLevelToDraw, y);
+		showVisibleNodes(getAnimationMode() == CONSTANT_ANIMATION_SLOW);
 	}
-
 	
 	
 	/*
@@ -1036,7 +999,6 @@ public class StapGraph extends Graph {
 			return;
 		this.clearSelection();
 		treeLevelFromRoot = 0;
-		currentPositionInLevel.clear();
 		
 		
 		
@@ -1110,8 +1072,7 @@ public class StapGraph extends Graph {
 				setLevelLimits(id);
 				rootVisibleNodeNumber = id;
 				drawTree(id, this.getBounds().width / 2, 20);
-				currentPositionInLevel.clear();
-
+		
 				this.update();
 				Animation.markBegin();
 				drawTree(id, this.getBounds().width / 2, 20);
@@ -1280,6 +1241,7 @@ public class StapGraph extends Graph {
 		//-------------Initialize
 		//If all nodes have been collapsed, don't do anything
 		setCollapseMode(true);
+		layout.invalidate();
 
 		if (nodeDataMap.get(id).children.size() == 0)
 			return true;
@@ -1573,6 +1535,7 @@ public class StapGraph extends Graph {
 			}
 		}
 		collapse_mode = value;
+		layout.invalidate();
 		callgraphView.getMode_collapsednodes().setChecked(value);
 		nextMarkedNode = -1;
 	}
@@ -1617,6 +1580,7 @@ public class StapGraph extends Graph {
 	 */
 	public void setTotalTime(long val) {
 		this.totalTime = val;
+		layout.invalidate();
 	}
 
 	/**
@@ -13,9 +13,9 @@ import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.Reader;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.TreeMap;
 
 import org.eclipse.cdt.core.model.CoreModel;
 import org.eclipse.cdt.core.model.ICProject;
@@ -34,17 +34,17 @@ import org.eclipse.swt.widgets.Shell;
  *
  * After a stap command is sent to be executed, and after data is stored
  * into some temporary file, the data must be parsed to be used. This class
- * handles all of the parsing. All data is stored into Maps and this class
- * also starts the job responsible for taking the parsed data and rendering it.
+ * handles all of the parsing. Calls are stored into a compact CallRecords
+ * model and this class also starts the job responsible for taking the parsed
+ * data and rendering it.
+ *
+ * Lines are tokenized in place, without String.split, and the call stack of
+ * each thread only holds record numbers, so traces with millions of calls
+ * can be parsed in a bounded amount of time and memory.
  */
 public class StapGraphParser extends SystemTapParser {
 	
-	public  HashMap<Integer, Long> timeMap;
-	public  TreeMap<Integer, String> serialMap;
-	public  HashMap<Integer, HashMap<Integer, ArrayList<Integer>>> neighbourMaps;
-	public  HashMap<String, Long> aggregateTimeMap;
-	public  HashMap<String, Integer> countMap;
-	public  ArrayList<Integer> callOrderList;
+	public  CallRecords records;
 	public  HashMap<Integer, String> markedMap;
 	public String markedNodes;
 	public int validator;
@@ -54,13 +54,18 @@ public class StapGraphParser extends SystemTapParser {
 	public ICProject project;
 	private static final String DELIM = ",,"; //$NON-NLS-1$
 	
+	private static final int BUFFER_SIZE = 1 << 16;
+	
 	private boolean encounteredMain = false;
-	private ArrayList<Integer> shouldGetEndingTimeForID = new ArrayList <Integer>();
 	
-	private  HashMap<Integer, ArrayList<String>> nameMaps;
-	private  HashMap<Integer, ArrayList<Integer>> idMaps;
+	private  HashMap<Integer, CallStack> stacks;
 	private boolean skippedDirectives = false; 			
 	private int firstNode = -1;
+	private int cursor;
+	
+	//Real-time state, kept between calls to realTimeParsing()
+	private boolean firstLine = true;
+	private boolean expectProject = false;
 	
 	public long startTime = -1;
 	
@@ -69,17 +74,11 @@ public class StapGraphParser extends SystemTapParser {
 	@Override
 	protected void initialize() {
 		//INITIALIZE MAPS
-		neighbourMaps = new HashMap<Integer, HashMap<Integer, ArrayList<Integer>>>();
-		timeMap = new HashMap<Integer, Long>();
-		serialMap = new TreeMap<Integer, String>();
-		aggregateTimeMap = new HashMap<String, Long>();
-		countMap = new HashMap<String, Integer>();
+		records = new CallRecords();
 		endingTimeInNS = 0l;
-		callOrderList = new ArrayList<Integer>();
 		markedMap = new HashMap<Integer, String>();
 		lastFunctionMap = new HashMap<Integer, Integer>();
-		nameMaps = new HashMap<Integer, ArrayList<String>>();
-		idMaps = new HashMap<Integer, ArrayList<Integer>>();
+		stacks = new HashMap<Integer, CallStack>();
 		project = null;
 		startTime = -1;
 	}
@@ -87,24 +86,19 @@ public class StapGraphParser extends SystemTapParser {
 	
 	public IStatus nonRealTimeParsing(){
 		//Clear maps (in case a previous execution left values hanging)
-		neighbourMaps.clear();
-		timeMap.clear();
-		serialMap.clear();
-		aggregateTimeMap.clear();
-		countMap.clear();
+		records.clear();
 		text = ""; //$NON-NLS-1$
-		callOrderList.clear();
-		shouldGetEndingTimeForID.clear();
-		nameMaps.clear();
-		idMaps.clear();
+		stacks.clear();
 		encounteredMain = false;
 		skippedDirectives = false; 			
 		firstNode = -1;
 		startTime = -1;
+		firstLine = true;
+		expectProject = false;
 		
 		BufferedReader buff = null;
 		try {
-			buff = new BufferedReader(new FileReader(sourcePath));
+			buff = new BufferedReader(new FileReader(sourcePath), BUFFER_SIZE);
 		} catch (FileNotFoundException e1) {
 			Display.getDefault().asyncExec(new Runnable() {
 				
@@ -126,19 +120,19 @@ public class StapGraphParser extends SystemTapParser {
 
 		
 		//CHECK FOR EXIT() CALL
-		for (int key : idMaps.keySet()) {
-			ArrayList<Integer> idList = idMaps.get(key);
+		for (int key : stacks.keySet()) {
+			CallStack stack = stacks.get(key);
 			int lastFunctionCalled = lastFunctionMap.get(key);
-		if (idList.size() > 1) {
-			for (int val : idList){
-				String name = serialMap.get(val);
-				long time =  endingTimeInNS - timeMap.get(val);
-				timeMap.put(val, time);
+		if (stack.size > 1) {
+			for (int i = 0; i < stack.size; i++){
+				int record = stack.records[i];
+				int val = records.getId(record);
+				long time =  endingTimeInNS - records.getTime(record);
+				records.setTime(record, time);
 				if (val == firstNode)
 					showTime(val, time);
-				if (shouldGetEndingTimeForID.contains(val)){
-					long cumulativeTime = aggregateTimeMap.get(name) + endingTimeInNS;
-					aggregateTimeMap.put(name, cumulativeTime);
+				if (records.isOutermost(record)){
+					records.addAggregateTime(stack.names[i], endingTimeInNS);
 				}
 				
 				lastFunctionCalled = val;
@@ -152,15 +146,17 @@ public class StapGraphParser extends SystemTapParser {
 		
 		//timecheck is true if the total execution time is less than 10ms
 		//and the first function is more than 1% off from the total time.
+		int firstRecord = records.getRecord(firstNode);
+		long firstTime = firstRecord < 0 ? 0 : records.getTime(firstRecord);
 		boolean timeCheck = totalTime < 50000000 && 
-							(((float)timeMap.get(firstNode)/totalTime) > 1.01 ||
-							((float)timeMap.get(firstNode)/totalTime) < 0.99);
+							(((float)firstTime/totalTime) > 1.01 ||
+							((float)firstTime/totalTime) < 0.99);
 
 		/*
 		 * Indicate whether or not we had to manipulate total time, and why
 		 */
 		if (skippedDirectives || timeCheck) {
-			totalTime = timeMap.get(firstNode);
+			totalTime = firstTime;
 			String markedMessage = ""; //$NON-NLS-1$
 			if (markedMap.containsKey(firstNode)) {
 				markedMessage = markedMap.get(firstNode) + "\n"; //$NON-NLS-1$
@@ -184,10 +180,10 @@ public class StapGraphParser extends SystemTapParser {
 		
 		int key = Integer.parseInt(parsed[0]);
 		
-		ArrayList<Integer> idList = idMaps.get(key);
-		if (idList == null || msg.length() < 1 || idList.size() < 1)
+		CallStack stack = stacks.get(key);
+		if (stack == null || msg.length() < 1 || stack.size < 1)
 			return;
-		int id = idList.get(idList.size() -1);
+		int id = records.getId(stack.records[stack.size - 1]);
 		if (parsed[1].equals("<unknown>")) { //$NON-NLS-1$
 			parsed[1] = parsed[1] + Messages.getString("StapGraphParser.UnknownMarkers"); //$NON-NLS-1$
 		}
@@ -207,14 +203,12 @@ public class StapGraphParser extends SystemTapParser {
 				 * 
 				 * 
 				 */
-				String[] args = s.substring(1, s.length()).split(DELIM); //$NON-NLS-1$
-				// args[0] = name
-				// args[1] = id
-				// arsg[2] = time of event
-				int id = Integer.parseInt(args[1]);
-				long time = Long.parseLong(args[2]);
-				int tid = Integer.parseInt(args[3]);
-				String name = args[0];
+				// name,,id,,time of event,,tid
+				cursor = 1;
+				String name = nextString(s);
+				int id = (int) nextNumber(s);
+				long time = nextNumber(s);
+				int tid = (int) nextNumber(s);
 				
 				//If we haven't encountered a main function yet and the name isn't clean,
 				//and the name contains "__", then this is probably a C directive
@@ -223,19 +217,10 @@ public class StapGraphParser extends SystemTapParser {
 					break;
 				}
 				
-				ArrayList<String> nameList = nameMaps.get(tid);
-				if (nameList == null) {
-					nameList = new ArrayList<String>();
-				}
-				
-				ArrayList<Integer> idList = idMaps.get(tid);
-				if (idList == null) {
-					idList = new ArrayList<Integer>();
-				}
-				
-				HashMap<Integer, ArrayList<Integer>> outNeighbours = neighbourMaps.get(tid);
-				if (outNeighbours == null) {
-					outNeighbours = new HashMap<Integer, ArrayList<Integer>>();
+				CallStack stack = stacks.get(tid);
+				if (stack == null) {
+					stack = new CallStack();
+					stacks.put(tid, stack);
 				}
 				
 				if (startTime < 1) {
@@ -250,49 +235,19 @@ public class StapGraphParser extends SystemTapParser {
 					firstNode = id;
 				}
 				
-				serialMap.put(id, name);
-				timeMap.put(id, time);
-				
-				if (aggregateTimeMap.get(name) == null){
-					aggregateTimeMap.put(name, (long) 0);
-				}
+				int parent = stack.size > 0 ? stack.records[stack.size - 1] : -1;
+				int record = records.addCall(id, name, time, tid, parent);
+				int nameIndex = records.getNameIndexOf(record);
 
 				//IF THERE ARE PREVIOUS FUNCTIONS WITH THE SAME NAME
 				//WE ARE IN ONE OF THEM SO DO NOT ADD TO CUMULATIVE TIME
-
-				
-				if (nameList.indexOf(name) == -1) {
-					long cumulativeTime = aggregateTimeMap.get(name) - time;
-					aggregateTimeMap.put(name, cumulativeTime);
-					shouldGetEndingTimeForID.add(id);
-				}
-				
-				
-				if (countMap.get(name) == null){
-					countMap.put(name, 0);
-				}
-				countMap.put(name, countMap.get(name) + 1);
-				
-				nameList.add(name);
-				idList.add(id);
-				
-
-				if (outNeighbours.get(id) == null){
-					outNeighbours.put(id, new ArrayList<Integer>());
-				}
-				
-				if (idList.size() > 1) {
-					int parentID = idList.get(idList.size() - 2);
-					outNeighbours.get(parentID).add(id);
+				if (stack.lastIndexOf(nameIndex) == -1) {
+					records.addAggregateTime(nameIndex, -time);
+					records.setOutermost(record, true);
 				}
 				
-				
-				callOrderList.add(id);
+				stack.push(record, nameIndex);
 				lastFunctionMap.put(tid,id);
-				
-				neighbourMaps.put(tid, outNeighbours);
-				nameMaps.put(tid, nameList);
-				idMaps.put(tid, idList);
 
 				break;
 			case '>' :
@@ -303,22 +258,11 @@ public class StapGraphParser extends SystemTapParser {
 				 * 
 				 */
 				
-				args = s.substring(1, s.length()).split(DELIM); //$NON-NLS-1$
-				//args[0] = name
-				//args[1] = time of event
-				name = args[0];
-				tid = Integer.parseInt(args[2]);
-				
-				nameList = nameMaps.get(tid);
-				if (nameList == null) {
-					nameList = new ArrayList<String>();
-				}
-				
-				idList = idMaps.get(tid);
-				if (idList == null) {
-					idList = new ArrayList<Integer>();
-				}
-				
+				// name,,time of event,,tid
+				cursor = 1;
+				name = nextString(s);
+				time = nextNumber(s);
+				tid = (int) nextNumber(s);
 				
 				//If we haven't encountered a main function yet and the name isn't clean,
 				//and the name contains "__", then this is probably a C directive
@@ -328,36 +272,29 @@ public class StapGraphParser extends SystemTapParser {
 				}
 				
 				name = cleanFunctionName(name);
-				int lastOccurance = nameList.lastIndexOf(name);
+				stack = stacks.get(tid);
+				nameIndex = records.getNameIndex(name);
+				int lastOccurance = (stack == null || nameIndex < 0) ? -1 : stack.lastIndexOf(nameIndex);
 				if (lastOccurance < 0) {
 					parsingError(Messages.getString("StapGraphParser.RetMismatch") + name); //$NON-NLS-1$
 					return Status.CANCEL_STATUS;
 				}
 
-				nameList.remove(lastOccurance);
-				id = idList.remove(lastOccurance);
-
+				record = stack.remove(lastOccurance);
+				id = records.getId(record);
 				
-				if (timeMap.get(id) == null) {
-					parsingError(Messages.getString("StapGraphParser.NoStartTime") + name); //$NON-NLS-1$
-					return Status.CANCEL_STATUS;
-				}		
-				endingTimeInNS=Long.parseLong(args[1]);
-				time = endingTimeInNS - timeMap.get(id);
-				timeMap.put(id, time);
+				endingTimeInNS=time;
+				time = endingTimeInNS - records.getTime(record);
+				records.setTime(record, time);
 				if (id == firstNode)
 					showTime(id, time);
 				
 				
-				//IF AN ID IS IN THIS ARRAY IT IS BECAUSE WE NEED THE ENDING TIME
+				//IF A CALL IS OUTERMOST IT IS BECAUSE WE NEED THE ENDING TIME
 				// TO BE ADDED TO THE CUMULATIVE TIME FOR FUNCTIONS OF THIS NAME
-				if (shouldGetEndingTimeForID.contains(id)){
-					long cumulativeTime = aggregateTimeMap.get(name) + Long.parseLong(args[1]);
-					aggregateTimeMap.put(name, cumulativeTime);
+				if (records.isOutermost(record)){
+					records.addAggregateTime(nameIndex, endingTimeInNS);
 				}
-				
-				nameMaps.put(tid, nameList);
-				idMaps.put(tid, idList);
 				break;
 			default : 
 				/*
@@ -386,19 +323,17 @@ public class StapGraphParser extends SystemTapParser {
 
 	
 	private IStatus parseDotFile() {
-		if (!(internalData instanceof BufferedReader))
+		if (!hasLineReader())
 			return Status.CANCEL_STATUS;
 
-		BufferedReader buff = (BufferedReader) internalData;
-		
-		HashMap <Integer, ArrayList<Integer>> outNeighbours= new HashMap<Integer, ArrayList<Integer>>();
-		ArrayList<String> nameList = new ArrayList<String>();
-		ArrayList<Integer> idList = new ArrayList<Integer>();
+		//Connections are applied once all the nodes are known: caller, callee, count
+		int[] edges = new int[3 * 64];
+		int edgeCount = 0;
 		endingTimeInNS =0l;
 		totalTime=10000l;
 		try {
 			String line;
-			while ((line = buff.readLine()) != null) {
+			while ((line = readLine()) != null) {
 				if (line.equals("}")) //$NON-NLS-1$
 					break;
 				if (monitor.isCanceled())
@@ -427,14 +362,11 @@ public class StapGraphParser extends SystemTapParser {
 					}
 					
 					//Set neighbour
-					ArrayList<Integer> tmpList = outNeighbours.get(ids[0]);
-					if (tmpList == null)
-						tmpList = new ArrayList<Integer>();
-					
-					for (int i = 0; i < called; i++)
-						tmpList.add(ids[1]);
-					
-					outNeighbours.put(ids[0], tmpList);
+					if (edgeCount == edges.length)
+						edges = Arrays.copyOf(edges, 2 * edges.length);
+					edges[edgeCount++] = ids[0];
+					edges[edgeCount++] = ids[1];
+					edges[edgeCount++] = called;
 				} else {
 					//node
 					try {
@@ -448,17 +380,8 @@ public class StapGraphParser extends SystemTapParser {
 						dtime = Double.parseDouble(args[1].substring(args[1].indexOf(" ") + 1, args[1].indexOf("%"))); //$NON-NLS-1$ //$NON-NLS-2$
 						long time = (long) (dtime*100); 
 	
-						nameList.add(name);
-						idList.add(id);
-						timeMap.put(id, time);
-						serialMap.put(id, name);
-						if (countMap.get(name) == null){
-							countMap.put(name, 0);
-						}
-						countMap.put(name, countMap.get(name) + 1);
-						
-						long cumulativeTime = (aggregateTimeMap.get(name) != null ? aggregateTimeMap.get(name) : 0) + time;
-						aggregateTimeMap.put(name, cumulativeTime);
+						int record = records.addCall(id, name, time, 0, -1);
+						records.addAggregateTime(records.getNameIndexOf(record), time);
 					} catch (NumberFormatException e) {
 						SystemTapUIErrorMessages m = new SystemTapUIErrorMessages(
 								Messages.getString("StapGraphParser.idOrTime"), Messages.getString("StapGraphParser.idOrTime"),  //$NON-NLS-1$ //$NON-NLS-2$
@@ -475,14 +398,23 @@ public class StapGraphParser extends SystemTapParser {
 			e.printStackTrace();
 		} finally {
 			try {
-				buff.close();
+				((Reader) internalData).close();
 			} catch (IOException e) {
 				//Do nothing
 			}
 		}
-		neighbourMaps.put(0, outNeighbours);
-		nameMaps.put(0, nameList);
-		idMaps.put(0, idList);
+		for (int i = 0; i < edgeCount; i += 3) {
+			int caller = records.getRecord(edges[i]);
+			int callee = records.getRecord(edges[i + 1]);
+			if (caller < 0 || callee < 0)
+				continue;
+			if (records.getParent(callee) == -1) {
+				records.setParent(callee, caller);
+				records.setCalled(callee, edges[i + 2]);
+			} else {
+				records.setCalled(callee, records.getCalled(callee) + edges[i + 2]);
+			}
+		}
 		try {
 			view.update();
 		} catch (InterruptedException e) {
@@ -494,57 +426,56 @@ public class StapGraphParser extends SystemTapParser {
 
 	@Override
 	public IStatus realTimeParsing() {
-		if (!(internalData instanceof BufferedReader))
+		if (!hasLineReader())
 			return Status.CANCEL_STATUS;
 
-		BufferedReader buff = (BufferedReader) internalData;
-
 		String line;
-		boolean draw = false;
-		boolean first = true;
+		boolean draw;
 		try {
-			while ((line = buff.readLine()) != null) {
-				if (monitor.isCanceled())
-					return Status.CANCEL_STATUS;
-				if (line.length() < 1)
-					continue;
-				if (first && (line.contains(Messages.getString("StapGraphParser.17")))) { //$NON-NLS-1$
-					return parseDotFile();
-				}
-				first = false;
+			do {
+				draw = false;
+				while ((line = readLine()) != null) {
+					if (monitor.isCanceled())
+						return Status.CANCEL_STATUS;
+					if (line.length() < 1)
+						continue;
+					if (firstLine && (line.contains(Messages.getString("StapGraphParser.17")))) { //$NON-NLS-1$
+						return parseDotFile();
+					}
+					firstLine = false;
+				
+					draw = true; 
+					if (expectProject) {
+						//The line after PROBE_BEGIN may name the project
+						expectProject = false;
+						char tchar = line.charAt(0);
+						if (tchar != '-' && tchar != '+' && tchar != '?' && tchar != '>' && tchar != '<') {
+							project = CoreModel.getDefault().getCModel().getCProject(line);
+							continue;
+						}
+					}
 				
-				draw = true; 
-				if (line.equals("PROBE_BEGIN")) { //$NON-NLS-1$
-					buff.mark(100);
-					String tmp = buff.readLine();
-					
-					if (tmp != null && tmp.length() > 0) {
-						char tchar = tmp.charAt(0);
-						if (tchar != '-' && tchar != '+' && tchar != '?' && tchar != '>' && tchar != '<')
-							project = CoreModel.getDefault().getCModel().getCProject(tmp);
-						else
-							buff.reset();
+					if (line.equals("PROBE_BEGIN")) { //$NON-NLS-1$
+						expectProject = true;
+					} else if (line.charAt(0) == '-') {
+						endingTimeInNS = Long.parseLong(line.substring(1));
+					} else if (line.charAt(0) == '+') {
+						totalTime = Long.parseLong(line.substring(1));
+						//Total time should be the last line in the output
+						parseEnd();
+					} else if (line.charAt(0) == '?') {
+						if (line.length() > 1)
+							parseMarked(line.substring(1));
+					} else {
+						if (parse(line) == Status.CANCEL_STATUS)
+							break;
 					}
-					
-				} else if (line.charAt(0) == '-') {
-					endingTimeInNS = Long.parseLong(line.substring(1));
-				} else if (line.charAt(0) == '+') {
-					totalTime = Long.parseLong(line.substring(1));
-					//Total time should be the last line in the output
-					parseEnd();
-				} else if (line.charAt(0) == '?') {
-					if (line.length() > 1)
-						parseMarked(line.substring(1));
-				} else {
-					if (parse(line) == Status.CANCEL_STATUS)
-						break;
 				}
-			}
-			if (draw && view != null) {
-				view.update();
+				if (draw && view != null) {
+					view.update();
+				}
 				//Repeat until all lines are read
-				realTimeParsing();
-			}
+			} while (draw && view != null);
 		} catch (IOException e) {
 			e.printStackTrace();
 		} catch (InterruptedException e) {
@@ -554,6 +485,81 @@ public class StapGraphParser extends SystemTapParser {
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Returns the field of the line that starts at the cursor, and moves the
+	 * cursor past the delimiter that ends it.
+	 */
+	private String nextString(String s) {
+		int end = s.indexOf(DELIM, cursor);
+		if (end < 0)
+			end = s.length();
+		String field = s.substring(Math.min(cursor, end), end);
+		cursor = end + DELIM.length();
+		return field;
+	}
+
+	/**
+	 * Parses the field of the line that starts at the cursor as a number,
+	 * without creating a String, and moves the cursor past it.
+	 */
+	private long nextNumber(String s) {
+		int end = s.indexOf(DELIM, cursor);
+		if (end < 0)
+			end = s.length();
+		int i = cursor;
+		cursor = end + DELIM.length();
+		
+		boolean negative = i < end && s.charAt(i) == '-';
+		if (negative)
+			i++;
+		if (i >= end)
+			throw new NumberFormatException(s);
+		long value = 0;
+		for (; i < end; i++) {
+			char c = s.charAt(i);
+			if (c < '0' || c > '9')
+				throw new NumberFormatException(s);
+			value = value * 10 + (c - '0');
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * The calls running on one thread, as records of CallRecords along with
+	 * the index of their function name.
+	 */
+	private static class CallStack {
+		int[] records = new int[16];
+		int[] names = new int[16];
+		int size = 0;
+		
+		void push(int record, int name) {
+			if (size == records.length) {
+				records = Arrays.copyOf(records, 2 * size);
+				names = Arrays.copyOf(names, 2 * size);
+			}
+			records[size] = record;
+			names[size] = name;
+			size++;
+		}
+		
+		int lastIndexOf(int name) {
+			for (int i = size - 1; i >= 0; i--) {
+				if (names[i] == name)
+					return i;
+			}
+			return -1;
+		}
+		
+		int remove(int index) {
+			int record = records[index];
+			System.arraycopy(records, index + 1, records, index, size - index - 1);
+			System.arraycopy(names, index + 1, names, index, size - index - 1);
+			size--;
+			return record;
+		}
+	}
+
 	/**
 	 * Mark node id with a message giving its actual time.
 	 */
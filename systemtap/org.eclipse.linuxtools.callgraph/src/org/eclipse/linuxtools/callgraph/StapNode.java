@@ -25,25 +25,18 @@ public class StapNode extends GraphNode{
 	public int id;
 	public GraphConnection connection;		//Each node should have only one connection (to its caller)
 	static NumberFormat numberFormat = NumberFormat.getInstance(Locale.CANADA);
+	static {
+		numberFormat.setMaximumFractionDigits(2);
+		numberFormat.setMinimumFractionDigits(2);
+	}
 
 	public StapNode(StapGraph graphModel, int style, StapData data) {
 		
 		super(graphModel, style, Messages.getString("StapNode.0")); //$NON-NLS-1$
-		numberFormat.setMaximumFractionDigits(2);
-		numberFormat.setMinimumFractionDigits(2);
 		if (Display.getCurrent().getPrimaryMonitor().getBounds().width < 1000)
 			nodeSize = 10;
 		
-		if (data.name == StapGraph.CONSTANT_TOP_NODE_NAME)
-			this.setText(StapGraph.CONSTANT_TOP_NODE_NAME);
-		else  {
-			String shortName = data.name;
-			if (data.name.length() > nodeSize)
-				 shortName = data.name.substring(0, nodeSize - 3) + "...";   //$NON-NLS-1$
-			this.setText(shortName + ": " +  //$NON-NLS-1$
-				numberFormat.format((float) data.getTime()/graphModel.getTotalTime() * 100) 
-				+ "%"); //$NON-NLS-1$
-		}
+		this.setText(makeText(graphModel, data));
 		
 		if (data.markedMessage != null && data.markedMessage.length() != 0) {
 			Label tooltip = new Label(data.name + ": " +  //$NON-NLS-1$
@@ -75,6 +68,22 @@ public class StapNode extends GraphNode{
 		} //else do not create any connections (this should usually never happen)
 	}
 	
+	/**
+	 * Returns the text of the node for the given data, so that its size
+	 * can be known before the node is created.
+	 */
+	public static String makeText(StapGraph graphModel, StapData data) {
+		if (data.name == StapGraph.CONSTANT_TOP_NODE_NAME)
+			return StapGraph.CONSTANT_TOP_NODE_NAME;
+		
+		String shortName = data.name;
+		if (data.name.length() > nodeSize)
+			 shortName = data.name.substring(0, nodeSize - 3) + "...";   //$NON-NLS-1$
+		return shortName + ": " +  //$NON-NLS-1$
+			numberFormat.format((float) data.getTime()/graphModel.getTotalTime() * 100) 
+			+ "%"; //$NON-NLS-1$
+	}
+	
 	/**
 	 * Returns the StapData object associated with this node.
 	 */
@@ -0,0 +1,431 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.callgraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.swt.graphics.GC;
+
+/**
+ * Computes where the nodes of the tree and level draw modes go, without
+ * creating any widgets. StapGraph then only creates StapNodes for the
+ * positions that fall inside the viewport.
+ * <br><br>
+ * In tree mode, at most getMaxNodes() nodes are laid out. The budget is shared
+ * between the children of each expanded node, smallest subtrees first, and a
+ * subtree that does not fit in its share is cut short: its deepest visible nodes
+ * are shown as collapsed (CONSTANT_HAS_CHILDREN) and can be opened by drawing
+ * from them. Subtree sizes and the widths of fully expanded subtrees are
+ * computed the first time they are needed and cached until invalidate() is called,
+ * so moving around a large graph does not walk the whole graph again.
+ */
+public class SubtreeLayout {
+	public static final int NO_PARENT = Integer.MIN_VALUE;
+	private static final int NODE_PADDING = 10;
+	private static final int GAP = StapGraph.CONSTANT_HORIZONTAL_SPACING/3;
+	
+	private StapGraph graph;
+	private GC gc;
+	private boolean dirty;
+	
+	//Caches, kept between layouts
+	private HashMap<Integer, Integer> labelWidths;		//id, width of the node
+	private HashMap<Long, Integer> counts;				//(id, depth), size of the subtree (negative if capped)
+	private HashMap<Long, Integer> fullWidths;			//(id, depth), width of the fully expanded subtree
+	
+	//Current layout
+	private HashMap<Integer, Integer> partialWidths;	//id, width of a subtree cut short
+	private LinkedHashMap<Integer, Point> positions;	//id, location, parents before children
+	private HashMap<Integer, Integer> parents;
+	private HashSet<Integer> collapsed;
+	private int treeRoot;
+	private String layoutKey;
+	
+	public SubtreeLayout(StapGraph graph) {
+		this.graph = graph;
+		labelWidths = new HashMap<Integer, Integer>();
+		counts = new HashMap<Long, Integer>();
+		fullWidths = new HashMap<Long, Integer>();
+		partialWidths = new HashMap<Integer, Integer>();
+		positions = new LinkedHashMap<Integer, Point>();
+		parents = new HashMap<Integer, Integer>();
+		collapsed = new HashSet<Integer>();
+		dirty = false;
+		layoutKey = null;
+	}
+	
+	/**
+	 * Drops all cached sizes. Call this whenever nodes are added, collapsed
+	 * or uncollapsed.
+	 */
+	public void invalidate() {
+		dirty = true;
+	}
+	
+	/**
+	 * Lays out the subtree of root as a tree, root at (x, y), down to depth levels
+	 * below root. Does nothing if the same tree was laid out last time.
+	 * 
+	 * @param root
+	 * @param x
+	 * @param y
+	 * @param depth
+	 */
+	public void layoutTree(int root, int x, int y, int depth) {
+		String key = "tree " + root + " " + x + " " + y + " " + depth  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			+ " " + graph.scale + " " + graph.isCollapseMode() + " " + graph.getMaxNodes(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		if (!validate(key))
+			return;
+		
+		treeRoot = root;
+		gc = new GC(graph);
+		try {
+			place(root, NO_PARENT, Math.max(depth, 0), graph.getMaxNodes(), 0, 0);
+		} finally {
+			gc.dispose();
+			gc = null;
+		}
+		partialWidths.clear();
+		
+		//Scale, and move root to (x, y)
+		Point rootLocation = positions.get(root);
+		int xOffset = x - (int) (rootLocation.x / graph.scale);
+		for (Point p : positions.values()) {
+			p.x = (int) (p.x / graph.scale) + xOffset;
+			p.y = y + p.y * (int) (StapGraph.CONSTANT_VERTICAL_INCREMENT / graph.scale);
+		}
+	}
+	
+	/**
+	 * Lays out the given levels of the graph as rows, the way the level view
+	 * always has. Nodes on bottomLevel that have children are collapsed.
+	 * 
+	 * @param root
+	 * @param topLevel
+	 * @param bottomLevel
+	 * @param y - height of the top level
+	 */
+	public void layoutLevels(int root, int topLevel, int bottomLevel, int y) {
+		String key = "level " + root + " " + topLevel + " " + bottomLevel + " " + y  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			+ " " + graph.scale + " " + graph.isCollapseMode(); //$NON-NLS-1$ //$NON-NLS-2$
+		if (!validate(key))
+			return;
+		
+		treeRoot = root;
+		boolean collapseMode = graph.isCollapseMode();
+		
+		//Find the widest level, and which nodes are shown on each level
+		int maxLevelPixelWidth = 1;
+		ArrayList<List<Integer>> rows = new ArrayList<List<Integer>>();
+		for (int i = topLevel; i <= bottomLevel; i++) {
+			List<Integer> row = new ArrayList<Integer>();
+			rows.add(row);
+			List<Integer> level = graph.getLevel(i);
+			if (i == 0 || level == null)
+				continue;
+			
+			int pixelWidth = 1;
+			for (int id : level) {
+				StapData data = graph.getNodeData(id);
+				if (!data.isOnlyChildWithThisName()) {
+					if (collapseMode && data.isPartOfCollapsedNode())
+						continue;
+					if (!collapseMode && data.isCollapsed)
+						continue;
+				}
+				row.add(id);
+				pixelWidth += data.name.length() * 10 + StapGraph.CONSTANT_HORIZONTAL_SPACING_FOR_LEVEL;
+			}
+			maxLevelPixelWidth = Math.max(maxLevelPixelWidth, pixelWidth);
+		}
+		maxLevelPixelWidth = (int) (maxLevelPixelWidth/graph.scale);
+		
+		//Rows are spaced by three vertical increments
+		int height = y;
+		for (int i = 0; i < rows.size(); i++) {
+			List<Integer> row = rows.get(i);
+			for (int j = 0; j < row.size(); j++) {
+				int id = row.get(j);
+				StapData data = graph.getNodeData(id);
+				int parent = collapseMode ? data.collapsedParent : data.parent;
+				if (!positions.containsKey(parent))
+					parent = NO_PARENT;
+				
+				parents.put(id, parent);
+				positions.put(id, new Point(150 + (maxLevelPixelWidth / (row.size() + 1) * (j + 1)), height));
+				if (topLevel + i == bottomLevel && data.children.size() != 0)
+					collapsed.add(id);
+			}
+			height += 3 * (int) (StapGraph.CONSTANT_VERTICAL_INCREMENT/graph.scale);
+		}
+		
+		if (root == graph.getFirstUsefulNode()) {
+			parents.put(root, NO_PARENT);
+			positions.put(root, new Point(150 + (maxLevelPixelWidth/2), y));
+		}
+	}
+	
+	/**
+	 * @return Ids of the laid out nodes, parents before children.
+	 */
+	public Set<Integer> getNodes() {
+		return positions.keySet();
+	}
+	
+	/**
+	 * Finds the laid out nodes that are inside the given area, along with the
+	 * root and every caller of those nodes up to the root, so that the nodes
+	 * that are shown are always connected to the root.
+	 * 
+	 * @param view - area to show, in the coordinates of the graph
+	 * @return Ids of the nodes to show.
+	 */
+	public Set<Integer> getVisibleNodes(Rectangle view) {
+		HashSet<Integer> visible = new HashSet<Integer>();
+		for (int id : positions.keySet()) {
+			Point p = positions.get(id);
+			if (id != treeRoot && !view.intersects(new Rectangle(p.x, p.y,
+					getNodeWidth(id), StapGraph.CONSTANT_NODE_HEIGHT)))
+				continue;
+			
+			//Stop at the first caller that is already in, its callers are too
+			int caller = id;
+			while (caller != NO_PARENT && visible.add(caller))
+				caller = getParent(caller);
+		}
+		return visible;
+	}
+	
+	/**
+	 * @param id
+	 * @return Location of the node, or null if it was not laid out.
+	 */
+	public Point getLocation(int id) {
+		return positions.get(id);
+	}
+	
+	/**
+	 * @param id
+	 * @return Id of the laid out node that id is connected to, or NO_PARENT.
+	 */
+	public int getParent(int id) {
+		Integer parent = parents.get(id);
+		if (parent == null)
+			return NO_PARENT;
+		return parent;
+	}
+	
+	/**
+	 * @param id
+	 * @return True if the node has children that were not laid out.
+	 */
+	public boolean isCollapsed(int id) {
+		return collapsed.contains(id);
+	}
+	
+	/**
+	 * @return The node that was at the top of the last layout.
+	 */
+	public int getRoot() {
+		return treeRoot;
+	}
+	
+	/**
+	 * Estimated width of the node of the given id, once scaled.
+	 * @param id
+	 */
+	public int getNodeWidth(int id) {
+		Integer width = labelWidths.get(id);
+		if (width == null)
+			return (int) ((graph.getNodeData(id).name.length() * 10 + NODE_PADDING) / graph.scale);
+		return (int) (width / graph.scale);
+	}
+	
+	
+	/*
+	 * Tree layout
+	 */
+	
+	/**
+	 * Returns false if the layout with the given key is already the current one,
+	 * otherwise clears the current layout (and the caches if needed).
+	 */
+	private boolean validate(String key) {
+		if (dirty) {
+			labelWidths.clear();
+			counts.clear();
+			fullWidths.clear();
+			dirty = false;
+		} else if (key.equals(layoutKey)) {
+			return false;
+		}
+		
+		layoutKey = key;
+		positions.clear();
+		parents.clear();
+		collapsed.clear();
+		return true;
+	}
+	
+	/**
+	 * Places the subtree of id with its left edge at left, id on the given row.
+	 */
+	private void place(int id, int parent, int depth, int budget, int left, int row) {
+		int width = getWidth(id, depth, budget);
+		int labelWidth = getLabelWidth(id);
+		parents.put(id, parent);
+		positions.put(id, new Point(left + (width - labelWidth)/2, row));
+		
+		List<Integer> children = getChildren(id);
+		if (!isExpanded(id, depth, budget)) {
+			if (children.size() > 0)
+				collapsed.add(id);
+			return;
+		}
+		
+		int[] shares = getShares(children, depth, budget);
+		int childrenWidth = getChildrenWidth(children, depth, shares);
+		int x = left + (width - childrenWidth)/2;
+		for (int i = 0; i < children.size(); i++) {
+			int child = children.get(i);
+			place(child, id, depth - 1, shares[i], x, row + 1);
+			x += getWidth(child, depth - 1, shares[i]) + GAP;
+		}
+	}
+	
+	/**
+	 * Width of the subtree of id, when given budget nodes below it.
+	 */
+	private int getWidth(int id, int depth, int budget) {
+		if (!isExpanded(id, depth, budget))
+			return getLabelWidth(id);
+		
+		//A subtree that fits in its budget is always laid out the same way
+		boolean full = getCount(id, depth, budget + 2) <= budget + 1;
+		Integer cached = full ? fullWidths.get(key(id, depth)) : partialWidths.get(id);
+		if (cached != null)
+			return cached;
+		
+		List<Integer> children = getChildren(id);
+		int width = Math.max(getLabelWidth(id),
+				getChildrenWidth(children, depth, getShares(children, depth, budget)));
+		if (full)
+			fullWidths.put(key(id, depth), width);
+		else
+			partialWidths.put(id, width);
+		return width;
+	}
+	
+	private int getChildrenWidth(List<Integer> children, int depth, int[] shares) {
+		int width = GAP * (children.size() - 1);
+		for (int i = 0; i < children.size(); i++)
+			width += getWidth(children.get(i), depth - 1, shares[i]);
+		return width;
+	}
+	
+	private boolean isExpanded(int id, int depth, int budget) {
+		int children = getChildren(id).size();
+		return depth > 0 && children > 0 && (id == treeRoot || children <= budget);
+	}
+	
+	/**
+	 * Splits what is left of the budget once the children are counted between
+	 * the children. Small subtrees get all they need, and the rest is shared
+	 * equally between the larger ones.
+	 */
+	private int[] getShares(List<Integer> children, int depth, int budget) {
+		final int size = children.size();
+		int remaining = Math.max(budget - size, 0);
+		final int[] needed = new int[size];
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			needed[i] = getCount(children.get(i), depth - 1, remaining + 1) - 1;
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			public int compare(Integer a, Integer b) {
+				return needed[a] - needed[b];
+			}
+		});
+		
+		int[] shares = new int[size];
+		for (int i = 0; i < size; i++) {
+			int share = Math.min(needed[order[i]], remaining / (size - i));
+			shares[order[i]] = share;
+			remaining -= share;
+		}
+		return shares;
+	}
+	
+	/**
+	 * Number of nodes in the subtree of id, at most depth levels deep,
+	 * or cap if there are at least cap of them.
+	 */
+	private int getCount(int id, int depth, int cap) {
+		long key = key(id, depth);
+		Integer cached = counts.get(key);
+		if (cached != null) {
+			if (cached >= 0)
+				return Math.min(cached, cap);
+			if (-cached >= cap)
+				return cap;
+		}
+		
+		int total = 1;
+		if (depth > 0) {
+			for (int child : getChildren(id)) {
+				if (total >= cap)
+					break;
+				total += getCount(child, depth - 1, cap - total);
+			}
+		}
+		
+		if (total < cap)
+			counts.put(key, total);
+		else
+			counts.put(key, -total);
+		return total;
+	}
+	
+	private int getLabelWidth(int id) {
+		Integer width = labelWidths.get(id);
+		if (width == null) {
+			StapData data = graph.getNodeData(id);
+			if (gc == null)
+				return data.name.length() * 10 + NODE_PADDING;
+			width = gc.textExtent(StapNode.makeText(graph, data)).x + NODE_PADDING;
+			labelWidths.put(id, width);
+		}
+		return width;
+	}
+	
+	private List<Integer> getChildren(int id) {
+		StapData data = graph.getNodeData(id);
+		List<Integer> children = graph.isCollapseMode() ? data.collapsedChildren : data.children;
+		if (children == null)
+			return Collections.emptyList();
+		return children;
+	}
+	
+	private static long key(int id, int depth) {
+		return ((long) id << 32) | (depth & 0xffffffffL);
+	}
+}
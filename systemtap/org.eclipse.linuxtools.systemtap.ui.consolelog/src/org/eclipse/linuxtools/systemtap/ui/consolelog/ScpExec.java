@@ -8,6 +8,12 @@ import org.eclipse.linuxtools.systemtap.ui.structures.runnable.StreamGobbler;
 import com.jcraft.jsch.*;
 import java.io.*;
 import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 @SuppressWarnings("deprecation")
 public class ScpExec implements Runnable {
@@ -43,8 +49,7 @@ public class ScpExec implements Runnable {
 	 */
 	public void start() {
 		if(init()) {
-			Thread t = new Thread(this, command);
-			t.start();
+			CONNECTOR.execute(this);
 		} else {
 			stop();
 		//	returnVal = Integer.MIN_VALUE;
@@ -95,51 +100,46 @@ public class ScpExec implements Runnable {
       }
     }
 	
+	/**
+	 * Connects the channel and starts the <code>StreamGobblers</code>.  Watching
+	 * for the end of the command is then left to the monitor thread shared by
+	 * all commands, so no thread is kept busy for each running command.
+	 */
     public void run() {
       try {
- //     Channel channel=session.openChannel("exec");
-  //    ((ChannelExec)channel).setCommand(cmd);
-
-      // get I/O streams for remote scp
-      
-  //    channel.setInputStream(null,true);
-  //    channel.setOutputStream(System.out,true);
-  //    channel.setExtOutputStream(System.err,
-   // 		  true);
-   //   InputStream in=channel.getInputStream();
       channel.connect();
       
   	  errorGobbler.start();
 	  inputGobbler.start();
 
-     // Thread.sleep(1000);
-      //  while (true) {
-		while(!stopped) {
-        if (session.isConnected() == false) {
-    	                          throw new
-    	  RuntimeException("Connection Timed Out");
-    	                      }
-
-    /*	   while (in.available() > 0) {
-                 int i = in.read(tmp, 0, 1024);
-                    if (i < 0) {
-    	                              break;
-    	                          }
-                   output = output + new String(tmp, 0, i);
-    	                      }*/
-    	    if (channel.isClosed() || (channel.getExitStatus() != -1) ) 
-    	         {
-    	    		stop();
-    	                          break;
-    	                      }
-
-        }
-
+	  monitor = MONITOR.scheduleWithFixedDelay(new Runnable() {
+		  public void run() {
+			  checkFinished();
+		  }
+	  }, MONITOR_DELAY, MONITOR_DELAY, TimeUnit.MILLISECONDS);
     }
     catch(Exception e){
+    	stop();
     }
   }
     
+    /**
+     * Called by the monitor thread to stop once the remote command has exited
+     * or the connection was lost.
+     */
+    private void checkFinished() {
+    	if (stopped || !session.isConnected() || channel.isClosed() || (channel.getExitStatus() != -1)) {
+    		stop();
+    		cancelMonitor();
+    	}
+    }
+    
+    private void cancelMonitor() {
+    	ScheduledFuture<?> m = monitor;
+    	if (null != m)
+    		m.cancel(false);
+    }
+    
     /* Stops the process from running and stops the <code>StreamGobblers</code> from monitering
 	 * the dead process.
 	 */
@@ -147,6 +147,7 @@ public class ScpExec implements Runnable {
 		
 		if(!stopped) {
 			stopped = true;
+			cancelMonitor();
 			if(null != errorGobbler)
 				errorGobbler.stop();
 			if(null != inputGobbler)
@@ -289,7 +290,7 @@ public class ScpExec implements Runnable {
   }
 
   
-   private boolean stopped = false;
+   private volatile boolean stopped = false;
 	private boolean disposed = false;
 	private StreamGobbler inputGobbler = null;
 	private StreamGobbler errorGobbler = null;
@@ -297,9 +298,27 @@ public class ScpExec implements Runnable {
 	private ArrayList<IGobblerListener> errorListeners = new ArrayList<IGobblerListener>();	//Only used to allow adding listeners before creating the StreamGobbler
 	//private int returnVal = Integer.MAX_VALUE;
 	private String command;
+	private volatile ScheduledFuture<?> monitor;
 
 	
 	public static final int ERROR_STREAM = 0;
 	public static final int INPUT_STREAM = 1;
+	
+	/** The time in MS between checks of whether a command has finished. */
+	private static final int MONITOR_DELAY = 100;
+	
+	private static final ThreadFactory DAEMON_THREADS = new ThreadFactory() {
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "ScpExec");
+			t.setDaemon(true);
+			return t;
+		}
+	};
+	
+	/** Runs the blocking connects, so that starting a command returns at once. */
+	private static final ExecutorService CONNECTOR = Executors.newCachedThreadPool(DAEMON_THREADS);
+	
+	/** Checks every running command for completion. */
+	private static final ScheduledExecutorService MONITOR = Executors.newSingleThreadScheduledExecutor(DAEMON_THREADS);
 
 }
\ No newline at end of file
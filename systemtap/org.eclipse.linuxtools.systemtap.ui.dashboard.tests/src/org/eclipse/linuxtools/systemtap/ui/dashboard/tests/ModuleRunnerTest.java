@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.dashboard.tests;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.ScriptConsole;
+import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.DashboardModule;
+import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.ModuleRunner;
+import org.eclipse.linuxtools.systemtap.ui.graphicalrun.structures.ChartStreamDaemon2;
+import org.eclipse.ui.console.ConsolePlugin;
+import org.eclipse.ui.console.IConsole;
+
+public class ModuleRunnerTest extends TestCase {
+
+	/**
+	 * Stands in for the stap processes: a console is running from the time
+	 * it is started until it is stopped or finishes.
+	 */
+	private static class FakeRunner extends ModuleRunner {
+		int max;
+		final HashSet<ScriptConsole> running = new HashSet<ScriptConsole>();
+		final ArrayList<ScriptConsole> stopped = new ArrayList<ScriptConsole>();
+		final ArrayList<ChartStreamDaemon2> listeners = new ArrayList<ChartStreamDaemon2>();
+
+		@Override
+		protected int getMaxScripts() {
+			return max;
+		}
+
+		@Override
+		protected boolean isRunning(ScriptConsole console) {
+			return running.contains(console);
+		}
+
+		@Override
+		protected void stop(ScriptConsole console) {
+			running.remove(console);
+			stopped.add(console);
+			//Like ScriptConsole.stop, so that running the script again gets a new console
+			ConsolePlugin.getDefault().getConsoleManager().removeConsoles(new IConsole[] {console});
+		}
+
+		@Override
+		protected void listen(ScriptConsole console, ChartStreamDaemon2 daemon) {
+			listeners.add(daemon);
+		}
+
+		@Override
+		protected void unlisten(ScriptConsole console, ChartStreamDaemon2 daemon) {
+			listeners.remove(daemon);
+		}
+
+		/**
+		 * Starts a script the way RunModuleAction does.
+		 */
+		ScriptConsole run(String script, DashboardModule module) {
+			ScriptConsole console = getConsole(script);
+			if(null == console) {
+				if(!canStart())
+					return null;
+				console = ScriptConsole.getInstance(script);
+				running.add(console);
+			}
+			add(script, console, module, null);
+			return console;
+		}
+	}
+
+	private FakeRunner runner;
+	private ArrayList<ScriptConsole> consoles;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		runner = new FakeRunner();
+		consoles = new ArrayList<ScriptConsole>();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		ConsolePlugin.getDefault().getConsoleManager().removeConsoles(consoles.toArray(new IConsole[consoles.size()]));
+		super.tearDown();
+	}
+
+	private ScriptConsole run(String script, DashboardModule module) {
+		ScriptConsole console = runner.run(script, module);
+		if(null != console && !consoles.contains(console))
+			consoles.add(console);
+		return console;
+	}
+
+	private static DashboardModule module(String display) {
+		DashboardModule module = new DashboardModule();
+		module.display = display;
+		return module;
+	}
+
+	public void testMaxScripts() {
+		runner.max = 2;
+		assertNotNull(run("a.stp", module("a")));
+		assertNotNull(run("b.stp", module("b")));
+		assertEquals(2, runner.getRunningCount());
+		assertFalse(runner.canStart());
+		assertNull(run("c.stp", module("c")));
+
+		//A module of a running script shares its process, even at the limit
+		assertNotNull(run("a.stp", module("a2")));
+		assertEquals(2, runner.getRunningCount());
+
+		//A script that finished on its own frees its slot
+		runner.running.remove(runner.getConsole("b.stp"));
+		assertTrue(runner.canStart());
+		assertNotNull(run("c.stp", module("c")));
+		assertEquals(2, runner.getRunningCount());
+		assertTrue(runner.stopped.isEmpty());
+	}
+
+	public void testNoLimit() {
+		runner.max = 0;
+		for(int i=0; i<5; i++)
+			assertNotNull(run(i + ".stp", module("m" + i)));
+		assertEquals(5, runner.getRunningCount());
+		assertTrue(runner.canStart());
+	}
+
+	public void testSharedScript() {
+		DashboardModule first = module("first");
+		DashboardModule second = module("second");
+		ScriptConsole console = run("a.stp", first);
+		assertSame(console, run("a.stp", second));
+		assertEquals(1, runner.getRunningCount());
+		assertEquals(2, runner.listeners.size());
+	}
+
+	public void testStop() {
+		DashboardModule first = module("first");
+		DashboardModule second = module("second");
+		ScriptConsole console = run("a.stp", first);
+		run("a.stp", second);
+		ChartStreamDaemon2 firstDaemon = runner.listeners.get(0);
+		ChartStreamDaemon2 secondDaemon = runner.listeners.get(1);
+
+		//The process keeps running for the other module
+		runner.remove(first);
+		assertTrue(firstDaemon.isDisposed());
+		assertFalse(secondDaemon.isDisposed());
+		assertEquals(1, runner.listeners.size());
+		assertTrue(runner.stopped.isEmpty());
+		assertSame(console, runner.getConsole("a.stp"));
+
+		//Stopping the last module stops the process
+		runner.remove(second);
+		assertTrue(secondDaemon.isDisposed());
+		assertTrue(runner.listeners.isEmpty());
+		assertEquals(1, runner.stopped.size());
+		assertSame(console, runner.stopped.get(0));
+		assertNull(runner.getConsole("a.stp"));
+		assertEquals(0, runner.getRunningCount());
+
+		//Removing a module that is not running does nothing
+		runner.remove(second);
+		assertEquals(1, runner.stopped.size());
+	}
+
+	public void testPauseAndResume() {
+		runner.max = 1;
+		DashboardModule module = module("module");
+		run("a.stp", module);
+
+		//Pausing stops the process and frees its slot
+		runner.remove(module);
+		assertEquals(1, runner.stopped.size());
+		assertTrue(runner.canStart());
+
+		//Resuming starts the script again
+		assertNotNull(run("a.stp", module));
+		assertEquals(1, runner.getRunningCount());
+		assertEquals(1, runner.listeners.size());
+		assertFalse(runner.listeners.get(0).isDisposed());
+	}
+
+	public void testRunAgain() {
+		DashboardModule module = module("module");
+		run("a.stp", module);
+		ChartStreamDaemon2 old = runner.listeners.get(0);
+
+		//Running a module again replaces its daemon
+		run("a.stp", module);
+		assertTrue(old.isDisposed());
+		assertEquals(1, runner.listeners.size());
+		assertFalse(runner.listeners.get(0).isDisposed());
+	}
+
+	public void testFinished() {
+		DashboardModule module = module("module");
+		ScriptConsole console = run("a.stp", module);
+		ChartStreamDaemon2 daemon = runner.listeners.get(0);
+
+		runner.running.remove(console);
+		assertNull(runner.getConsole("a.stp"));
+		assertTrue(daemon.isDisposed());
+		assertEquals(0, runner.getRunningCount());
+
+		//The module was forgotten with its script
+		runner.remove(module);
+		assertTrue(runner.stopped.isEmpty());
+	}
+
+}
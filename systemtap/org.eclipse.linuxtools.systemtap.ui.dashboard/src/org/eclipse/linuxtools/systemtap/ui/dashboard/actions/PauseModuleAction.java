@@ -30,6 +30,7 @@ import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IActionListener;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.actions.hidden.GetSelectedModule;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.ActiveModuleData;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.DashboardModule;
+import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.ModuleRunner;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.views.ActiveModuleBrowserView;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.views.DashboardModuleBrowserView;
 
@@ -61,9 +62,7 @@ public class PauseModuleAction extends Action implements IViewActionDelegate, IW
 		ActiveModuleBrowserView ambv = (ActiveModuleBrowserView)ivp;
 		if(ambv.isActive(module)) {
 			ActiveModuleData amd = ambv.pause(module);
-			if (amd.cmd.isRunning()) {
-			amd.cmd.stop();
-			amd.cmd.dispose(); }
+			ModuleRunner.getInstance().remove(module);
 			amd.paused = true;
 		}
 		fireActionEvent();
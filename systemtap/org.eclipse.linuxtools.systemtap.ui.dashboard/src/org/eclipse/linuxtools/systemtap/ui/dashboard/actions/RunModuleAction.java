@@ -15,6 +15,7 @@ import java.util.ArrayList;
 
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IAction;
+import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.jface.viewers.SelectionChangedEvent;
@@ -42,9 +43,10 @@ import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IActionListener;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.actions.hidden.GetSelectedModule;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.ActiveModuleData;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.DashboardModule;
+import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.ModuleRunner;
+import org.eclipse.linuxtools.systemtap.ui.dashboard.internal.Localization;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.views.ActiveModuleBrowserView;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.views.DashboardModuleBrowserView;
-import org.eclipse.linuxtools.systemtap.ui.graphicalrun.structures.ChartStreamDaemon2;
 
 
 /**
@@ -99,7 +101,8 @@ public class RunModuleAction extends Action implements IViewActionDelegate, IWor
 		else { 
 			for(int j=0; j<node.getChildCount(); j++) {
 			module = (DashboardModule)node.getChildAt(j).getData();
-			runScript(module);
+			if(!runScript(module))
+				break;
 			setEnablement(false);
 			buildEnablementChecks();
 			fireActionEvent();
@@ -168,12 +171,53 @@ public class RunModuleAction extends Action implements IViewActionDelegate, IWor
 		return EnvironmentVariablesPreferencePage.getEnvironmentVariables();
 	}*/
 	
-	private void runScript(DashboardModule module)
+	/**
+	 * Runs the script of the provided module.  If another module with the same
+	 * script is already running its stap process is shared instead of starting
+	 * a new one.
+	 * @param module The module to run.
+	 * @return False if the module could not be run because too many scripts are running.
+	 */
+	private boolean runScript(DashboardModule module)
 	{
 		IViewPart ivp = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage().findView(ActiveModuleBrowserView.ID);
 		ActiveModuleBrowserView ambv = (ActiveModuleBrowserView)ivp;
 		boolean paused = ambv.isPaused(module);
 		fileName = module.script.getAbsolutePath();
+		ModuleRunner runner = ModuleRunner.getInstance();
+		ScriptConsole console = runner.getConsole(fileName);
+		if(null == console) {
+			if(!runner.canStart()) {
+				MessageDialog.openWarning(PlatformUI.getWorkbench().getDisplay().getActiveShell(), Localization.getString("RunModuleAction.Problem"), Localization.getString("RunModuleAction.TooManyScripts"));
+				return false;
+			}
+			console = startScript(module);
+		}
+		
+		IDataSet ds;
+		if(paused)
+			ds = ambv.pause(module).data;
+		else
+			ds = DataSetFactory.createDataSet(module.dataSetID, module.labels);
+		
+		runner.add(fileName, console, module, ds);
+
+		ActiveModuleData amd = new ActiveModuleData();
+		amd.module = module;
+		amd.cmd = console;
+		amd.data = ds;
+		amd.paused = false;
+		addActive(module.category + "." + module.display, amd);
+		return true;
+	}
+	
+	/**
+	 * Copies the script to the server if needed and starts stap on it.
+	 * @param module The module whose script should be run.
+	 * @return The console running the script.
+	 */
+	private ScriptConsole startScript(DashboardModule module)
+	{
 		String tmpfileName = fileName;
 		String serverfileName = fileName.substring(fileName.lastIndexOf('/')+1);
 		if(ConsoleLogPlugin.getDefault().getPluginPreferences().getBoolean(ConsoleLogPreferenceConstants.REMEMBER_SERVER)!=true)
@@ -203,30 +247,7 @@ public class RunModuleAction extends Action implements IViewActionDelegate, IWor
 		
 			   	ScriptConsole console = ScriptConsole.getInstance(serverfileName);
             console.run(cmd, null, null, null);
-		IDataSet ds;
-		if(paused)
-			ds = ambv.pause(module).data;
-		else
-			ds = DataSetFactory.createDataSet(module.dataSetID, module.labels);
-		  
-		console.getCommand().addInputStreamListener(new ChartStreamDaemon2(console, ds, module.parser));
-		  
-		 
-		  
-	//	createClientSession();
-	//	subscription.addInputStreamListener(new ChartStreamDaemon2(console, ds, module.parser));
-
-		//if(paused)
-			//ambv.pause(module).paused = false;
-		//else {
-			ActiveModuleData amd = new ActiveModuleData();
-			amd.module = module;
-			amd.cmd = console;
-			amd.data = ds;
-			amd.paused = false;
-			addActive(module.category + "." + module.display, amd);
-		//}
-	
+		return console;
 	}
 	
 	/**
@@ -33,6 +33,7 @@ import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.ActiveModuleTree
 import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.DashboardGraphData;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.DashboardModule;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.GraphTreeNode;
+import org.eclipse.linuxtools.systemtap.ui.dashboard.structures.ModuleRunner;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.views.ActiveModuleBrowserView;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.views.DashboardModuleBrowserView;
 import org.eclipse.linuxtools.systemtap.ui.dashboard.views.DashboardView;
@@ -110,8 +111,7 @@ public class StopModuleAction extends Action implements IViewActionDelegate, IWo
 				}
 				
 				if(!amd.paused) {
-					if (amd.cmd.isRunning())
-					amd.cmd.stop();
+					ModuleRunner.getInstance().remove(module);
 					amd.data = null;
 				}
 				dv.closeComposite(amd.module.category);
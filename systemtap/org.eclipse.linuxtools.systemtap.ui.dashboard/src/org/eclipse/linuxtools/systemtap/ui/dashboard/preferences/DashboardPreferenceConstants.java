@@ -16,5 +16,6 @@ public class DashboardPreferenceConstants {
 	public static final String P_DASHBOARD_UPDATE_DELAY = "DashboardUpdateDelay";
 	public static final String P_DASHBOARD_EXAMPLES_DIR = "ExamplesDir";
 	public static final String P_DASHBOARD_SCRIPT = "Script";
+	public static final String P_DASHBOARD_MAX_SCRIPTS = "DashboardMaxScripts";
 
 }
@@ -36,6 +36,9 @@ public class DashboardPreferencePage extends FieldEditorPreferencePage implement
 		addField(new IntegerFieldEditor(DashboardPreferenceConstants.P_DASHBOARD_UPDATE_DELAY,
 				Localization.getString("DashboardPreferencePage.RefreshDelay"), getFieldEditorParent()));
 		
+		addField(new IntegerFieldEditor(DashboardPreferenceConstants.P_DASHBOARD_MAX_SCRIPTS,
+				Localization.getString("DashboardPreferencePage.MaxScripts"), getFieldEditorParent()));
+		
 		addField(new StringFieldEditor(DashboardPreferenceConstants.P_DASHBOARD_EXAMPLES_DIR,
 				Localization.getString("DashboardPreferencePage.ExamplesDir"),  getFieldEditorParent()));
 		
@@ -27,6 +27,7 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
 		store.setDefault(DashboardPreferenceConstants.P_MODULE_FOLDERS, "");
 		store.setDefault(DashboardPreferenceConstants.P_DASHBOARD_UPDATE_DELAY, 1000);
 		store.setDefault(DashboardPreferenceConstants.P_DASHBOARD_EXAMPLES_DIR, "/usr/local/share/doc/systemtap/examples");
+		store.setDefault(DashboardPreferenceConstants.P_DASHBOARD_MAX_SCRIPTS, 8);
 
 		LogManager.logDebug("End initializeDefaultPreferences:", this);
 	}
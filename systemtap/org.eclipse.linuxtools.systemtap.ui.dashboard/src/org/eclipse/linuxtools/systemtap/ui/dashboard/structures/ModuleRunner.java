@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.dashboard.structures;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.ScriptConsole;
+import org.eclipse.linuxtools.systemtap.ui.dashboard.internal.DashboardPlugin;
+import org.eclipse.linuxtools.systemtap.ui.dashboard.preferences.DashboardPreferenceConstants;
+import org.eclipse.linuxtools.systemtap.ui.graphicalrun.structures.ChartStreamDaemon2;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSet;
+
+/**
+ * This class keeps track of the stap processes run for the dashboard modules.
+ * Modules that use the same script share a single process: each one gets its
+ * own <code>ChartStreamDaemon2</code> on the shared console, feeding its own
+ * <code>DataSet</code>, and the process is only stopped when the last of these
+ * modules is stopped.  The number of processes running at once is limited by
+ * the P_DASHBOARD_MAX_SCRIPTS preference.
+ * <p>
+ * All access to the consoles and to the preference goes through the protected
+ * methods, so that subclasses can stand in for the stap process.
+ */
+public class ModuleRunner {
+	protected ModuleRunner() {}
+
+	public static ModuleRunner getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Finds the console already running the provided script.
+	 * @param script The absolute path of the module's script.
+	 * @return The running console, or null if the script is not running.
+	 */
+	public synchronized ScriptConsole getConsole(String script) {
+		RunningScript rs = scripts.get(script);
+		if(null == rs)
+			return null;
+		if(!isRunning(rs.console)) {
+			removeScript(script, rs);
+			return null;
+		}
+		return rs.console;
+	}
+
+	/**
+	 * Checks whether another script can be started without going over the
+	 * limit set in the preferences.
+	 * @return boolean representing whether a new process can be started.
+	 */
+	public synchronized boolean canStart() {
+		pruneFinished();
+		int max = getMaxScripts();
+		return max <= 0 || scripts.size() < max;
+	}
+
+	/**
+	 * Adds a module to the console running its script, so that the output of
+	 * the script is also parsed into the module's <code>DataSet</code>.
+	 * @param script The absolute path of the module's script.
+	 * @param console The console running the script.
+	 * @param module The module to add.
+	 * @param data The <code>DataSet</code> for the module's graphs.
+	 */
+	public synchronized void add(String script, ScriptConsole console, DashboardModule module, IDataSet data) {
+		RunningScript rs = scripts.get(script);
+		if(null == rs || rs.console != console) {
+			rs = new RunningScript(console);
+			scripts.put(script, rs);
+		}
+		ChartStreamDaemon2 daemon = new ChartStreamDaemon2(console, data, module.parser);
+		listen(console, daemon);
+		ChartStreamDaemon2 old = rs.daemons.put(module, daemon);
+		if(null != old)
+			detach(console, old);
+		modules.put(module, script);
+	}
+
+	/**
+	 * Removes a module from the console running its script.  The console is
+	 * stopped if no other module uses it.
+	 * @param module The module to remove.
+	 */
+	public synchronized void remove(DashboardModule module) {
+		String script = modules.remove(module);
+		if(null == script)
+			return;
+		RunningScript rs = scripts.get(script);
+		if(null == rs)
+			return;
+		ChartStreamDaemon2 daemon = rs.daemons.remove(module);
+		if(null != daemon)
+			detach(rs.console, daemon);
+		if(rs.daemons.isEmpty()) {
+			scripts.remove(script);
+			if(isRunning(rs.console))
+				stop(rs.console);
+		}
+	}
+
+	/**
+	 * @return The number of stap processes started for the dashboard that are still running.
+	 */
+	public synchronized int getRunningCount() {
+		pruneFinished();
+		return scripts.size();
+	}
+
+	/**
+	 * @return The most scripts that can run at once, 0 for no limit.
+	 */
+	protected int getMaxScripts() {
+		return DashboardPlugin.getDefault().getPreferenceStore().getInt(DashboardPreferenceConstants.P_DASHBOARD_MAX_SCRIPTS);
+	}
+
+	protected boolean isRunning(ScriptConsole console) {
+		return console.isRunning();
+	}
+
+	protected void stop(ScriptConsole console) {
+		console.stop();
+	}
+
+	/**
+	 * Passes the output of the console's command to the daemon.
+	 */
+	protected void listen(ScriptConsole console, ChartStreamDaemon2 daemon) {
+		console.getCommand().addInputStreamListener(daemon);
+	}
+
+	/**
+	 * Stops passing the output of the console's command to the daemon.
+	 */
+	protected void unlisten(ScriptConsole console, ChartStreamDaemon2 daemon) {
+		if(null != console.getCommand() && !console.isDisposed())
+			console.getCommand().removeInputStreamListener(daemon);
+	}
+
+	private void detach(ScriptConsole console, ChartStreamDaemon2 daemon) {
+		unlisten(console, daemon);
+		daemon.dispose();
+	}
+
+	private void removeScript(String script, RunningScript rs) {
+		scripts.remove(script);
+		Iterator<DashboardModule> it = rs.daemons.keySet().iterator();
+		while(it.hasNext()) {
+			DashboardModule module = it.next();
+			modules.remove(module);
+			rs.daemons.get(module).dispose();
+		}
+	}
+
+	/**
+	 * Forgets about the scripts that finished on their own.
+	 */
+	private void pruneFinished() {
+		Object[] names = scripts.keySet().toArray();
+		for(int i=0; i<names.length; i++) {
+			RunningScript rs = scripts.get(names[i]);
+			if(!isRunning(rs.console))
+				removeScript((String)names[i], rs);
+		}
+	}
+
+	/**
+	 * A stap process and the modules reading its output.
+	 */
+	private static class RunningScript {
+		RunningScript(ScriptConsole console) {
+			this.console = console;
+		}
+
+		final ScriptConsole console;
+		final HashMap<DashboardModule, ChartStreamDaemon2> daemons = new HashMap<DashboardModule, ChartStreamDaemon2>();
+	}
+
+	private final HashMap<String, RunningScript> scripts = new HashMap<String, RunningScript>();
+	private final HashMap<DashboardModule, String> modules = new HashMap<DashboardModule, String>();
+
+	private static final ModuleRunner instance = new ModuleRunner();
+}
@@ -28,7 +28,6 @@ import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.ScriptConsole;
 import org.eclipse.linuxtools.systemtap.ui.editor.PathEditorInput;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSetParser;
-import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.ChartStreamDaemon;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.ui.wizards.dataset.DataSetWizard;
 import org.eclipse.linuxtools.systemtap.ui.graphicalrun.structures.ChartStreamDaemon2;
 import org.eclipse.linuxtools.systemtap.ui.graphing.GraphingConstants;
@@ -68,7 +67,8 @@ public class ModifyParsingAction extends ConsoleAction implements IWorkbenchWind
 			ChartStreamDaemon2 daemon = null;
 			if(null != listeners) {
 				for(int i=0; i<listeners.size(); i++) {
-					if(listeners.get(i) instanceof ChartStreamDaemon) {
+					if(listeners.get(i) instanceof ChartStreamDaemon2
+							&& !((ChartStreamDaemon2)listeners.get(i)).isDisposed()) {
 						daemon = (ChartStreamDaemon2)listeners.get(i);
 						break;
 					}
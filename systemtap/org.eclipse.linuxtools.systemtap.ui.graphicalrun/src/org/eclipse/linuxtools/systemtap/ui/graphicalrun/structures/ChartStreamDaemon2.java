@@ -14,30 +14,32 @@ package org.eclipse.linuxtools.systemtap.ui.graphicalrun.structures;
 import org.eclipse.linuxtools.systemtap.ui.consolelog.structures.ScriptConsole;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSetParser;
-import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.ChartStreamDaemon;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.ChartStreamPipeline;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.RingBuffer;
 
 /**
  * Listens for data events and populates the internal <code>DataSet</code> with the data
- * that was received and matched the regExpr
+ * that was received and matched the regExpr.  Reading the script output waits
+ * when the <code>DataSet</code> can not keep up with it, so that no entry is lost.
+ * The daemon disposes of itself once the script has stopped.
  * @author Ryan Morse
  */
-public class ChartStreamDaemon2 extends ChartStreamDaemon {
+public class ChartStreamDaemon2 extends ChartStreamPipeline {
 	public ChartStreamDaemon2(ScriptConsole console, IDataSet d, IDataSetParser p) {
-		super(d, p);
+		super(d, p, RingBuffer.BLOCK, DEFAULT_CAPACITY);
+		this.console = console;
 	}
 
 	/**
-	 * Changes the internal <code>DataSet</code> and parsing expression.
+	 * Changes the internal <code>DataSet</code> and parsing expression.  The whole
+	 * output of the script so far is parsed again for the new <code>DataSet</code>.
 	 * @param d The new <code>DataSet</code> to store the parsed output.
-	 * @param regExpr String[] containing the RegEx patterns to match against.
+	 * @param p The parser of the output.
 	 */
 	public void setParser(IDataSet d, IDataSetParser p) {
-		data = d;
-		parser = p;
-		if(0 != outputData.length())
-			outputData.delete(0, outputData.length()-1);
-		//outputData.append(console.);
-		outputData.append(console.getCommand().getOutput());
+		ScriptConsole c = console;
+		if(null != c)
+			setParser(d, p, c.getCommand().getOutput());
 	}
 	
 	/**
@@ -17,7 +17,16 @@ import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.aggregates.Av
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.aggregates.CountAggregateTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.aggregates.MaxAggregateTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.aggregates.MinAggregateTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.aggregates.RunningAggregateTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.aggregates.SumAggregateTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.column.ColumnTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.column.ColumnarDataSetTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.column.ColumnarTableDataSetTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.column.FilteredColumnarDataSetTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.column.FilteredColumnarTableDataSetTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.row.BoundedRowDataSetTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.row.BucketEntryTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.row.FilteredBoundedRowDataSetTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.row.FilteredRowDataSetTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.row.RowDataSetTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.row.RowEntryTest;
@@ -26,14 +35,20 @@ import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.tabl
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.table.TableDataSetTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.table.TableEntryTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.table.TableParserTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.filters.IncrementalFilterChainTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.filters.MatchFilterTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.filters.RangeFilterTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.filters.SortFilterTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.filters.UniqueFilterTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures.ChartStreamDaemonTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures.ChartStreamPipelineTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures.DataPointTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures.DecimatorTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures.GraphDataTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures.MonotonicDequeTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures.NumberTypeTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures.OrderStatisticTreeTest;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures.RingBufferTest;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures.UpdateManagerTest;
 
 import junit.framework.Test;
@@ -52,11 +67,22 @@ public class AllTests {
 		suite.addTestSuite(CountAggregateTest.class);
 		suite.addTestSuite(MaxAggregateTest.class);
 		suite.addTestSuite(MinAggregateTest.class);
+		suite.addTestSuite(RunningAggregateTest.class);
 		suite.addTestSuite(SumAggregateTest.class);
 		
 		//DataSets
 		
+		//DataSets.Column
+		suite.addTestSuite(ColumnTest.class);
+		suite.addTestSuite(ColumnarDataSetTest.class);
+		suite.addTestSuite(ColumnarTableDataSetTest.class);
+		suite.addTestSuite(FilteredColumnarDataSetTest.class);
+		suite.addTestSuite(FilteredColumnarTableDataSetTest.class);
+		
 		//DataSets.Row
+		suite.addTestSuite(BoundedRowDataSetTest.class);
+		suite.addTestSuite(BucketEntryTest.class);
+		suite.addTestSuite(FilteredBoundedRowDataSetTest.class);
 		suite.addTestSuite(FilteredRowDataSetTest.class);
 		suite.addTestSuite(RowDataSetTest.class);
 		suite.addTestSuite(RowEntryTest.class);
@@ -69,6 +95,7 @@ public class AllTests {
 		suite.addTestSuite(TableParserTest.class);
 
 		//Filters
+		suite.addTestSuite(IncrementalFilterChainTest.class);
 		suite.addTestSuite(MatchFilterTest.class);
 		suite.addTestSuite(RangeFilterTest.class);
 		suite.addTestSuite(SortFilterTest.class);
@@ -77,9 +104,14 @@ public class AllTests {
 		//Structures
 		suite.addTestSuite(ChartStreamDaemonTest.class);
 	//	suite.addTestSuite(ChartStreamDaemonTest2.class);
+		suite.addTestSuite(ChartStreamPipelineTest.class);
 		suite.addTestSuite(DataPointTest.class);
+		suite.addTestSuite(DecimatorTest.class);
 		suite.addTestSuite(GraphDataTest.class);
+		suite.addTestSuite(MonotonicDequeTest.class);
 		suite.addTestSuite(NumberTypeTest.class);
+		suite.addTestSuite(OrderStatisticTreeTest.class);
+		suite.addTestSuite(RingBufferTest.class);
 		suite.addTestSuite(UpdateManagerTest.class);
 
 		return suite;
@@ -1,5 +1,10 @@
 package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.adapters;
 
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.adapters.BlockAdapter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.table.TableDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.table.TableEntry;
+
 import junit.framework.TestCase;
 
 public class BlockAdapterTest extends TestCase {
@@ -9,12 +14,41 @@ public class BlockAdapterTest extends TestCase {
 
 	protected void setUp() throws Exception {
 		super.setUp();
+
+		data = new TableDataSet(new String[] {"a", "b"});
+		TableEntry entry = new TableEntry();
+		for(int i=0; i<4; i++)
+			entry.putRow(i, new String[] {"" + (i*10), "" + (i*100)});
+		data.setData(entry);
+		adapter = new BlockAdapter(data, IDataSet.COL_ROW_NUM, new int[] {1});
 	}
 
 	public void testIsValid() {
 	}
-	
+
+	public void testGetData() {
+		Object[][] o = adapter.getData();
+		assertEquals(4, o.length);
+		for(int i=0; i<o.length; i++) {
+			assertEquals(new Integer(i), o[i][0]);
+			assertEquals("" + (i*100), o[i][1]);
+		}
+	}
+
+	public void testGetDataRange() {
+		//Row numbers start at the first requested row, not at 0
+		Object[][] o = adapter.getData(2, 4);
+		assertEquals(2, o.length);
+		assertEquals(new Integer(2), o[0][0]);
+		assertEquals("200", o[0][1]);
+		assertEquals(new Integer(3), o[1][0]);
+		assertEquals("300", o[1][1]);
+	}
+
 	protected void tearDown() throws Exception {
 		super.tearDown();
 	}
+
+	private TableDataSet data;
+	private BlockAdapter adapter;
 }
@@ -1,5 +1,10 @@
 package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.adapters;
 
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.adapters.ScrollAdapter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnarDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowEntry;
+
 import junit.framework.TestCase;
 
 public class ScrollAdapterTest extends TestCase {
@@ -14,6 +19,31 @@ public class ScrollAdapterTest extends TestCase {
 	public void testIsValid() {
 	}
 	
+	public void testGetYSeriesValues() {
+		ColumnarDataSet data = new ColumnarDataSet(new String[] {"x", "a", "b"});
+		String[][] rows = new String[][] {{"t0", "1", "2.5"}, {"t1", "", "3"}, {"t2", "4", "5"}};
+		for(int i=0; i<rows.length; i++) {
+			RowEntry entry = new RowEntry();
+			entry.putRow(0, rows[i]);
+			data.append(entry);
+		}
+		ScrollAdapter adapter = new ScrollAdapter(data, 0, new int[] {1, 2}, null);
+		
+		double[][] values = adapter.getYSeriesValues(1, 3);
+		assertEquals(2, values.length);
+		assertEquals(2, values[0].length);
+		assertTrue(Double.isNaN(values[0][0]));
+		assertEquals(4.0, values[0][1], 0.0);
+		assertEquals(3.0, values[1][0], 0.0);
+		assertEquals("t2", adapter.getXLabel(2));
+		
+		assertNull(adapter.getYSeriesValues(2, 5));
+		
+		//Row data sets have no primitive columns
+		adapter = new ScrollAdapter(new RowDataSet(new String[] {"x", "a"}), 0, new int[] {1}, null);
+		assertNull(adapter.getYSeriesValues(0, 0));
+	}
+	
 	protected void tearDown() throws Exception {
 		super.tearDown();
 	}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.aggregates;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.AverageAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.CountAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.IDataAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.MaxAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.MinAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.RunningAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.SumAggregate;
+
+import junit.framework.TestCase;
+
+public class RunningAggregateTest extends TestCase {
+	public RunningAggregateTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+	}
+
+	public void testAggregates() {
+		IDataAggregate[] aggregates = {
+			new AverageAggregate(),
+			new CountAggregate(),
+			new MaxAggregate(),
+			new MinAggregate(),
+			new SumAggregate()
+		};
+		Number[] column = {new Double(2.5), new Double(-1), new Double(7.25), new Double(3)};
+		
+		for(int i=0; i<aggregates.length; i++) {
+			RunningAggregate running = new RunningAggregate(aggregates[i]);
+			assertNull(running.getValue());
+			for(int j=0; j<column.length; j++) {
+				running.add(column[j]);
+				Number[] part = new Number[j+1];
+				System.arraycopy(column, 0, part, 0, part.length);
+				assertEquals(aggregates[i].aggregate(part), running.getValue());
+			}
+			assertEquals(column.length, running.getCount());
+			assertSame(aggregates[i], running.getAggregate());
+		}
+	}
+	
+	public void testType() {
+		RunningAggregate running = new RunningAggregate(new AverageAggregate());
+		running.add(new Long(1));
+		running.add(new Long(2));
+		assertEquals(new Long(1), running.getValue());
+		assertEquals(new Double(1.5), running.getValue(new Double(0)));
+	}
+	
+	public void testOtherAggregate() {
+		RunningAggregate running = new RunningAggregate(new IDataAggregate() {
+			public Number aggregate(Number[] column) {
+				return new Integer(column.length * 10);
+			}
+			
+			public String getID() {
+				return "test";
+			}
+		});
+		running.add(new Integer(1));
+		running.add(new Integer(1));
+		assertEquals(new Integer(20), running.getValue());
+	}
+	
+	public void testClear() {
+		RunningAggregate running = new RunningAggregate(new SumAggregate());
+		running.add(new Long(5));
+		running.clear();
+		assertEquals(0, running.getCount());
+		assertNull(running.getValue());
+		running.add(new Long(3));
+		assertEquals(new Long(3), running.getValue());
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+}
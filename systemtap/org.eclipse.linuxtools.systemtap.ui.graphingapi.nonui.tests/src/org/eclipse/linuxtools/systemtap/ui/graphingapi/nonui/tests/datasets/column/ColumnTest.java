@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.column;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.Column;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnView;
+
+import junit.framework.TestCase;
+
+public class ColumnTest extends TestCase {
+	public ColumnTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		column = new Column();
+	}
+	
+	public void testLongColumn() {
+		assertEquals(Column.NONE, column.getType());
+		for(int i=0; i<100; i++)
+			column.append("" + i);
+		assertEquals(Column.LONG, column.getType());
+		assertEquals(100, column.size());
+		assertEquals(new Long(42), column.get(42));
+		assertEquals(42, column.getLong(42));
+		assertEquals(42.0, column.getDouble(42), 0.0);
+		assertEquals("42", column.getString(42));
+	}
+	
+	public void testPromoteToDouble() {
+		column.append("1");
+		column.append(new Long(2));
+		column.append("2.5");
+		assertEquals(Column.DOUBLE, column.getType());
+		assertEquals(new Double(1), column.get(0));
+		assertEquals(2.0, column.getDouble(1), 0.0);
+		assertEquals(2.5, column.getDouble(2), 0.0);
+		column.append("3");
+		assertEquals(3.0, column.getDouble(3), 0.0);
+	}
+	
+	public void testPromoteToString() {
+		column.append("1");
+		column.append("a");
+		column.append("b");
+		column.append("a");
+		assertEquals(Column.STRING, column.getType());
+		assertEquals(3, column.getDictionarySize());
+		assertEquals("1", column.get(0));
+		assertEquals("a", column.get(3));
+		assertEquals(1.0, column.getDouble(0), 0.0);
+		assertTrue(Double.isNaN(column.getDouble(1)));
+		
+		column.append(null);
+		assertNull(column.get(4));
+	}
+	
+	public void testMissing() {
+		column.append("");
+		column.append("1");
+		column.append(null);
+		column.append("3");
+		assertEquals(Column.LONG, column.getType());
+		assertTrue(column.isMissing(0));
+		assertNull(column.get(2));
+		assertTrue(Double.isNaN(column.getDouble(2)));
+		assertEquals(3, column.getLong(3));
+		
+		column.append("3.5");
+		assertEquals(Column.DOUBLE, column.getType());
+		assertTrue(Double.isNaN(column.getDouble(0)));
+		assertEquals(1.0, column.getDouble(1), 0.0);
+		
+		column.remove(0, 1);
+		assertFalse(column.isMissing(0));
+		assertTrue(column.isMissing(1));
+		assertFalse(column.isMissing(2));
+		
+		double[] values = new double[4];
+		column.getView(0, 4).getDoubles(values);
+		assertEquals(1.0, values[0], 0.0);
+		assertTrue(Double.isNaN(values[1]));
+		assertEquals(3.5, values[3], 0.0);
+		
+		column.append("a");
+		assertEquals(Column.STRING, column.getType());
+		assertTrue(column.isMissing(1));
+		assertNull(column.get(1));
+		assertEquals("a", column.get(4));
+	}
+	
+	public void testRemove() {
+		for(int i=0; i<10; i++)
+			column.append("" + i);
+		column.remove(2, 5);
+		assertEquals(7, column.size());
+		assertEquals(1, column.getLong(1));
+		assertEquals(5, column.getLong(2));
+		
+		try {
+			column.remove(5, 10);
+			fail();
+		} catch(ArrayIndexOutOfBoundsException aioobe) {}
+	}
+	
+	public void testView() {
+		for(int i=0; i<10; i++)
+			column.append("" + i);
+		ColumnView view = column.getView(2, 6);
+		assertEquals(4, view.size());
+		assertTrue(view.isNumeric());
+		assertEquals(2, view.getLong(0));
+		assertEquals(5.0, view.getDouble(3), 0.0);
+		assertEquals(2.0, view.getMin(), 0.0);
+		assertEquals(5.0, view.getMax(), 0.0);
+		
+		//Appending does not change the view
+		for(int i=0; i<100; i++)
+			column.append("" + i);
+		assertEquals(4, view.size());
+		assertEquals(new Long(3), view.get(1));
+		
+		try {
+			view.get(4);
+			fail();
+		} catch(ArrayIndexOutOfBoundsException aioobe) {}
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private Column column;
+}
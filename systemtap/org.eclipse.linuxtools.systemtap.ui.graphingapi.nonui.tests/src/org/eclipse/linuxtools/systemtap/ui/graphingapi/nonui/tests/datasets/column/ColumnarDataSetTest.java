@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.column;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnView;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnarDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowEntry;
+
+import junit.framework.TestCase;
+
+public class ColumnarDataSetTest extends TestCase {
+	public ColumnarDataSetTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		
+		data = new ColumnarDataSet(new String[] {"a", "b", "c"});
+		RowEntry entry = new RowEntry();
+		entry.putRow(0, new String[] {"1", "2", "3"});
+		data.setData(entry);
+		entry = new RowEntry();
+		entry.putRow(0, new String[] {"4", "5.5", "x"});
+		data.setData(entry);
+	}
+
+	public void testAppend() {
+		assertEquals(2, data.getRowCount());
+		RowEntry entry = new RowEntry();
+		entry.putRow(0, new String[] {"7", "8", "9"});
+		data.append(entry);
+		assertEquals(3, data.getRowCount());
+		assertEquals(3, data.getEntryCount());
+		
+		entry = new RowEntry();
+		entry.putRow(0, new String[] {"1"});
+		try {
+			data.append(entry);
+			fail();
+		} catch(ArrayIndexOutOfBoundsException aioobe) {}
+	}
+	
+	public void testGetID() {
+		assertEquals(ColumnarDataSet.ID, data.getID());
+	}
+	
+	public void testGetColumn() {
+		assertNull(data.getColumn(-3));
+		assertNull(data.getColumn(10));
+		assertNull(data.getColumn(1, 1, 0));
+		assertNull(data.getColumn(1, 0, 20));
+		
+		Object[] col = data.getColumn(0);
+		assertEquals(2, col.length);
+		assertEquals(new Long(1), col[0]);
+		assertEquals(new Long(4), col[1]);
+		
+		col = data.getColumn(1);
+		assertEquals(new Double(2), col[0]);
+		assertEquals(new Double(5.5), col[1]);
+
+		col = data.getColumn(2);
+		assertEquals("3", col[0]);
+		assertEquals("x", col[1]);
+		
+		col = data.getColumn(IDataSet.COL_ROW_NUM);
+		assertEquals(new Integer(1), col[0]);
+		assertEquals(new Integer(2), col[1]);
+	}
+	
+	public void testGetColumnView() {
+		assertNull(data.getColumnView(-1, 0, 1));
+		assertNull(data.getColumnView(0, 0, 3));
+		
+		ColumnView view = data.getColumnView(1, 0, 2);
+		assertEquals(2, view.size());
+		assertTrue(view.isNumeric());
+		assertEquals(2.0, view.getMin(), 0.0);
+		assertEquals(5.5, view.getMax(), 0.0);
+		
+		view = data.getColumnView(2, 0, 2);
+		assertFalse(view.isNumeric());
+		assertEquals(3.0, view.getMax(), 0.0);
+	}
+	
+	public void testGetRow() {
+		assertNull(data.getRow(-1));
+		assertNull(data.getRow(2));
+		
+		Object[] row = data.getRow(1);
+		assertEquals(3, row.length);
+		assertEquals(new Long(4), row[0]);
+		assertEquals("x", row[2]);
+	}
+	
+	public void testGetHistoricalData() {
+		Object[] col = data.getHistoricalData(null, 0);
+		assertEquals(2, col.length);
+		assertEquals(new Long(4), col[1]);
+		
+		col = data.getHistoricalData(null, 0, 1, 2);
+		assertEquals(1, col.length);
+		assertEquals(new Long(4), col[0]);
+		
+		assertNull(data.getHistoricalData(null, 0, 1, 3));
+	}
+	
+	public void testGetEntry() {
+		assertNull(data.getEntry(2));
+		RowEntry entry = (RowEntry)data.getEntry(0);
+		assertEquals(new Long(1), entry.getRow(null)[0]);
+	}
+	
+	public void testRemove() {
+		RowEntry entry = new RowEntry();
+		entry.putRow(0, new String[] {"4", "5.5", "x"});
+		assertTrue(data.remove(entry));
+		assertEquals(1, data.getRowCount());
+		assertFalse(data.remove(entry));
+		
+		assertFalse(data.remove(1));
+		assertTrue(data.remove(0));
+		assertEquals(0, data.getRowCount());
+	}
+
+	public void testMissingValues() {
+		RowEntry entry = new RowEntry();
+		entry.putRow(0, new String[] {"", "6", null});
+		data.append(entry);
+		assertNull(data.getRow(2)[0]);
+		
+		ColumnView view = data.getColumnView(0, 0, 3);
+		assertTrue(view.isNumeric());
+		assertTrue(view.isMissing(2));
+		assertTrue(Double.isNaN(view.getDouble(2)));
+		assertEquals(4.0, view.getMax(), 0.0);
+	}
+	
+	public void testReadWriteFile() throws IOException {
+		RowEntry entry = new RowEntry();
+		entry.putRow(0, new String[] {"", "6", ""});
+		data.append(entry);
+		
+		File file = File.createTempFile("columnar", ".txt");
+		try {
+			assertTrue(data.writeToFile(file));
+			ColumnarDataSet read = new ColumnarDataSet(new String[] {"a", "b", "c"});
+			assertTrue(read.readFromFile(file));
+			assertEquals(3, read.getRowCount());
+			assertEquals("x", read.getRow(1)[2]);
+			assertNull(read.getRow(2)[0]);
+			assertTrue(read.getColumnView(0, 0, 3).isNumeric());
+			assertEquals(6.0, read.getColumnView(1, 0, 3).getDouble(2), 0.0);
+			
+			//The file is closed, so it can be deleted
+			assertTrue(file.delete());
+			assertFalse(read.readFromFile(file));
+		} finally {
+			file.delete();
+		}
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private ColumnarDataSet data;
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.column;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnView;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnarTableDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.table.TableEntry;
+
+import junit.framework.TestCase;
+
+public class ColumnarTableDataSetTest extends TestCase {
+	public ColumnarTableDataSetTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		
+		data = new ColumnarTableDataSet(new String[] {"a", "b"});
+		entry0 = new TableEntry();
+		entry0.add(new String[] {"x", "1"});
+		entry0.add(new String[] {"y", "2"});
+		data.setData(entry0);
+		TableEntry entry = new TableEntry();
+		entry.add(new String[] {"y", "3"});
+		entry.add(new String[] {"z", "4"});
+		entry.add(new String[] {"x", "5"});
+		data.setData(entry);
+	}
+
+	public void testAppend() {
+		assertEquals(2, data.getEntryCount());
+		assertEquals(3, data.getRowCount());
+		
+		for(int i=0; i<40; i++)
+			data.append(entry0);
+		assertEquals(42, data.getEntryCount());
+		assertEquals(2, data.getRowCount());
+	}
+	
+	public void testGetID() {
+		assertEquals(ColumnarTableDataSet.ID, data.getID());
+	}
+	
+	public void testGetColumn() {
+		assertNull(data.getColumn(-3));
+		assertNull(data.getColumn(5));
+		assertNull(data.getColumn(0, 0, 4));
+
+		Object[] col = data.getColumn(1);
+		assertEquals(3, col.length);
+		assertEquals(new Long(3), col[0]);
+		assertEquals(new Long(5), col[2]);
+		
+		ColumnView view = data.getColumnView(1, 1, 3);
+		assertEquals(2, view.size());
+		assertEquals(4, view.getLong(0));
+		assertEquals(5.0, view.getMax(), 0.0);
+	}
+	
+	public void testGetRow() {
+		assertNull(data.getRow(3));
+		Object[] row = data.getRow(1);
+		assertEquals("z", row[0]);
+		assertEquals(new Long(4), row[1]);
+	}
+	
+	public void testGetData() {
+		Object[][] d = data.getData();
+		assertEquals(3, d.length);
+		assertEquals("y", d[0][0]);
+	}
+	
+	public void testGetHistoricalData() {
+		Object[] col = data.getHistoricalData("y", 1);
+		assertEquals(2, col.length);
+		assertEquals(new Long(2), col[0]);
+		assertEquals(new Long(3), col[1]);
+		
+		col = data.getHistoricalData("z", 1);
+		assertEquals(new Integer(0), col[0]);
+		assertEquals(new Long(4), col[1]);
+		
+		assertNull(data.getHistoricalData("x", 1, 0, 3));
+	}
+	
+	public void testGetEntry() {
+		assertNull(data.getEntry(2));
+		TableEntry entry = (TableEntry)data.getEntry(0);
+		assertEquals(2, entry.getRowCount());
+		assertEquals("y", entry.getRow(1)[0]);
+		assertEquals(new Long(2), entry.getRow(1)[1]);
+	}
+	
+	public void testRemove() {
+		assertTrue(data.remove(entry0));
+		assertEquals(1, data.getEntryCount());
+		assertEquals(3, data.getRowCount());
+		assertEquals("y", data.getRow(0)[0]);
+		
+		assertFalse(data.remove(1));
+		assertTrue(data.remove(0));
+		assertEquals(0, data.getEntryCount());
+		assertEquals(0, data.getRowCount());
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private ColumnarTableDataSet data;
+	private TableEntry entry0;
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.column;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnarDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.FilteredColumnarDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.RangeFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.SortFilter;
+
+import junit.framework.TestCase;
+
+public class FilteredColumnarDataSetTest extends TestCase {
+	public FilteredColumnarDataSetTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		
+		data = new ColumnarDataSet(new String[] {"a", "b"});
+		fdata = new FilteredColumnarDataSet(data);
+		add(5, 1);
+		add(2, 2);
+		add(8, 3);
+	}
+	
+	private void add(int a, int b) {
+		RowEntry entry = new RowEntry();
+		entry.putRow(0, new String[] {"" + a, "" + b});
+		data.append(entry);
+	}
+	
+	public void testFilteredDataSet() {
+		FilteredColumnarDataSet fds = new FilteredColumnarDataSet(new String[] {"a", "b"});
+		assertEquals(2, fds.getColCount());
+		assertEquals(0, fds.getRowCount());
+		assertEquals(ColumnarDataSet.ID, fds.getID());
+	}
+	
+	public void testAppend() {
+		RowEntry entry = new RowEntry();
+		entry.putRow(0, new String[] {"1", "1"});
+		fdata.append(entry);
+		assertEquals(4, data.getRowCount());
+		assertEquals(4, fdata.getRowCount());
+	}
+	
+	public void testNoFilters() {
+		assertEquals(3, fdata.getRowCount());
+		assertEquals("2", fdata.getRow(1)[0].toString());
+		assertEquals("3", fdata.getColumn(1)[2].toString());
+	}
+	
+	public void testFilters() {
+		fdata.addFilter(new RangeFilter(0, new Integer(2), new Integer(5), RangeFilter.INCLUSIVE | RangeFilter.INSIDE_BOUNDS));
+		fdata.addFilter(new SortFilter(0, SortFilter.ASCENDING));
+		assertEquals(2, fdata.getRowCount());
+		assertEquals("2", fdata.getRow(0)[0].toString());
+		assertEquals("5", fdata.getRow(1)[0].toString());
+		
+		//Appended rows go through the filters
+		add(3, 4);
+		add(9, 5);
+		assertEquals(3, fdata.getRowCount());
+		assertEquals("3", fdata.getRow(1)[0].toString());
+		
+		assertEquals(2, fdata.getFilters().length);
+		fdata.clearFilters();
+		assertEquals(5, fdata.getRowCount());
+	}
+	
+	public void testRejectedRows() {
+		fdata.addFilter(new RangeFilter(0, new Integer(4), new Integer(9), RangeFilter.INCLUSIVE | RangeFilter.INSIDE_BOUNDS));
+		assertEquals(2, fdata.getRowCount());
+		
+		//Rejected rows between kept ones must not overwrite them
+		add(1, 4);
+		add(6, 5);
+		add(3, 6);
+		assertEquals(3, fdata.getRowCount());
+		Object[] column = fdata.getColumn(1);
+		assertEquals("1", column[0].toString());
+		assertEquals("3", column[1].toString());
+		assertEquals("5", column[2].toString());
+		assertEquals("6", fdata.getHistoricalData(null, 0, 2, 3)[0].toString());
+		assertNull(fdata.getHistoricalData(null, 0, 2, 4));
+		assertNull(fdata.getRow(3));
+	}
+	
+	public void testRemove() {
+		fdata.addFilter(new SortFilter(0, SortFilter.DESCENDING));
+		assertEquals("8", fdata.getRow(0)[0].toString());
+		
+		//A removal with as many appends must not look like nothing changed
+		assertTrue(fdata.remove(2));
+		add(1, 4);
+		assertEquals(3, fdata.getRowCount());
+		assertEquals("5", fdata.getRow(0)[0].toString());
+		assertEquals("1", fdata.getRow(2)[0].toString());
+	}
+	
+	public void testRemoveFilter() {
+		RangeFilter filter = new RangeFilter(0, new Integer(6), new Integer(9), RangeFilter.INCLUSIVE | RangeFilter.INSIDE_BOUNDS);
+		fdata.addFilter(filter);
+		assertEquals(1, fdata.getRowCount());
+		assertTrue(fdata.removeFilter(filter));
+		assertFalse(fdata.removeFilter(filter));
+		assertEquals(3, fdata.getRowCount());
+	}
+	
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private ColumnarDataSet data;
+	private FilteredColumnarDataSet fdata;
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.column;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnarTableDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.FilteredColumnarTableDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.table.TableEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.RangeFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.SortFilter;
+
+import junit.framework.TestCase;
+
+public class FilteredColumnarTableDataSetTest extends TestCase {
+	public FilteredColumnarTableDataSetTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		
+		data = new ColumnarTableDataSet(new String[] {"a", "b"});
+		fdata = new FilteredColumnarTableDataSet(data);
+		add(new String[][] {{"5", "1"}, {"2", "2"}, {"8", "3"}});
+	}
+	
+	private void add(String[][] rows) {
+		TableEntry entry = new TableEntry();
+		for(int i=0; i<rows.length; i++)
+			entry.add(rows[i]);
+		data.append(entry);
+	}
+	
+	public void testFilteredDataSet() {
+		FilteredColumnarTableDataSet fds = new FilteredColumnarTableDataSet(new String[] {"a", "b"});
+		assertEquals(2, fds.getColCount());
+		assertEquals(0, fds.getRowCount());
+		assertEquals(ColumnarTableDataSet.ID, fds.getID());
+	}
+	
+	public void testAppend() {
+		TableEntry entry = new TableEntry();
+		entry.add(new String[] {"1", "1"});
+		fdata.append(entry);
+		assertEquals(2, data.getEntryCount());
+		assertEquals(2, fdata.getEntryCount());
+		assertEquals(1, fdata.getRowCount());
+	}
+	
+	public void testFilters() {
+		fdata.addFilter(new RangeFilter(0, new Integer(2), new Integer(5), RangeFilter.INCLUSIVE | RangeFilter.INSIDE_BOUNDS));
+		fdata.addFilter(new SortFilter(0, SortFilter.DESCENDING));
+		assertEquals(2, fdata.getRowCount());
+		assertEquals("5", fdata.getRow(0)[0].toString());
+		assertEquals("2", fdata.getData()[1][0].toString());
+		
+		//Only the latest table is filtered
+		add(new String[][] {{"3", "4"}, {"4", "5"}, {"9", "6"}, {"1", "7"}});
+		assertEquals(2, fdata.getRowCount());
+		assertEquals("4", fdata.getRow(0)[0].toString());
+		assertEquals("3", fdata.getRow(1)[0].toString());
+		
+		//The history is not filtered
+		assertEquals(2, fdata.getEntryCount());
+		assertEquals(4, fdata.getEntry(1).getRowCount());
+		
+		fdata.clearFilters();
+		assertEquals(4, fdata.getRowCount());
+	}
+	
+	public void testRemove() {
+		add(new String[][] {{"1", "1"}});
+		assertEquals(1, fdata.getRowCount());
+		assertTrue(fdata.remove(1));
+		assertEquals(3, fdata.getRowCount());
+		assertEquals("8", fdata.getRow(2)[0].toString());
+	}
+	
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private ColumnarTableDataSet data;
+	private FilteredColumnarTableDataSet fdata;
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.row;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.AverageAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.BoundedRowDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.BucketEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowEntry;
+
+import junit.framework.TestCase;
+
+public class BoundedRowDataSetTest extends TestCase {
+	public BoundedRowDataSetTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		
+		data = new BoundedRowDataSet(new String[] {"a", "b"}, 4, 3, 2, new AverageAggregate());
+	}
+	
+	public void testConstructor() {
+		try {
+			new BoundedRowDataSet(new String[] {"a"}, 4, 0, 2, null);
+			fail();
+		} catch(IllegalArgumentException iae) {}
+		try {
+			new BoundedRowDataSet(new String[] {"a"}, 4, 2, 5, null);
+			fail();
+		} catch(IllegalArgumentException iae) {}
+		
+		BoundedRowDataSet set = new BoundedRowDataSet(new String[] {"a"});
+		assertEquals(BoundedRowDataSet.DEFAULT_CAPACITY, set.getCapacity());
+		assertEquals(BoundedRowDataSet.DEFAULT_LEVELS, set.getLevelCount());
+		assertEquals(BoundedRowDataSet.DEFAULT_FACTOR, set.getFactor());
+	}
+	
+	public void testAppend() {
+		append(3);
+		assertEquals(3, data.getEntryCount());
+		assertEquals(3, data.getSampleCount());
+		
+		RowEntry entry = new RowEntry();
+		entry.putRow(0, new String[] {"1"});
+		try {
+			data.append(entry);
+			fail();
+		} catch(ArrayIndexOutOfBoundsException aioobe) {}
+	}
+	
+	public void testDownsample() {
+		append(5);
+		//Samples 0 and 1 are summarized in a bucket
+		assertEquals(4, data.getEntryCount());
+		assertTrue(data.getEntry(0) instanceof BucketEntry);
+		assertEquals(2, data.getSampleCount(0));
+		assertEquals(1, data.getSampleCount(1));
+		
+		Object[] col = data.getColumn(0);
+		assertEquals(new Long(0), col[0]);
+		assertEquals("2", col[1]);
+		assertEquals("4", col[3]);
+		
+		col = data.getColumn(IDataSet.COL_ROW_NUM);
+		assertEquals(new Integer(1), col[0]);
+		assertEquals(new Integer(3), col[1]);
+		assertEquals(new Integer(5), col[3]);
+	}
+	
+	public void testConstantMemory() {
+		append(10000);
+		assertEquals(10000, data.getSampleCount());
+		assertTrue(data.getEntryCount() <= data.getCapacity() * data.getLevelCount());
+		
+		//The whole history is still covered, oldest first
+		long samples = 0;
+		for(int i=0; i<data.getEntryCount(); i++)
+			samples += data.getSampleCount(i);
+		assertEquals(10000, samples);
+		
+		Object[] rows = data.getColumn(IDataSet.COL_ROW_NUM);
+		assertEquals(new Integer(1), rows[0]);
+		for(int i=1; i<rows.length; i++)
+			assertTrue(((Integer)rows[i]).intValue() > ((Integer)rows[i-1]).intValue());
+		assertEquals(new Integer(10000), rows[rows.length-1]);
+		
+		//The average of all the buckets matches the average of the samples
+		double total = 0;
+		for(int i=0; i<data.getEntryCount(); i++) {
+			IDataEntry entry = data.getEntry(i);
+			if(entry instanceof BucketEntry)
+				total += ((BucketEntry)entry).getSum(1).doubleValue();
+			else
+				total += Double.parseDouble(entry.getRow(null)[1].toString());
+		}
+		assertEquals(10000.0 * 9999 / 2, total, 0.0);
+	}
+	
+	public void testRetentionWindow() {
+		data = new BoundedRowDataSet(new String[] {"a", "b"}, 4, 1, 2, new AverageAggregate());
+		append(10);
+		assertEquals(4, data.getEntryCount());
+		assertEquals("6", data.getRow(0)[0]);
+		assertEquals("9", data.getRow(3)[0]);
+		assertEquals(new Integer(7), data.getColumn(IDataSet.COL_ROW_NUM)[0]);
+	}
+	
+	public void testGetHistoricalData() {
+		append(5);
+		assertNull(data.getHistoricalData(null, 0, 3, 1));
+		assertNull(data.getHistoricalData(null, 0, 0, 5));
+		assertNull(data.getHistoricalData(null, 3, 0, 1));
+		
+		Object[] col = data.getHistoricalData(null, 1, 1, 3);
+		assertEquals(2, col.length);
+		assertEquals("2", col[0]);
+		assertEquals("3", col[1]);
+	}
+	
+	public void testRemove() {
+		append(5);
+		IDataEntry entry = data.getEntry(2);
+		assertTrue(data.remove(entry));
+		assertEquals(3, data.getEntryCount());
+		assertFalse(data.remove(entry));
+		assertEquals("4", data.getRow(2)[0]);
+		
+		assertFalse(data.remove(3));
+		assertTrue(data.remove(0));
+		assertEquals("2", data.getRow(0)[0]);
+	}
+	
+	public void testWriteToFile() throws IOException {
+		File file = File.createTempFile("bounded", ".txt");
+		try {
+			append(3);
+			assertTrue(data.writeToFile(file));
+			
+			BoundedRowDataSet read = new BoundedRowDataSet(new String[] {"a", "b"});
+			assertTrue(read.readFromFile(file));
+			assertEquals(3, read.getRowCount());
+			assertEquals("2", read.getRow(2)[1]);
+			
+			//The file is closed, so it can be written again
+			assertTrue(data.writeToFile(file));
+			assertTrue(file.delete());
+			assertFalse(read.readFromFile(file));
+		} finally {
+			file.delete();
+		}
+	}
+	
+	private void append(int count) {
+		RowEntry entry;
+		for(int i=0; i<count; i++) {
+			entry = new RowEntry();
+			entry.putRow(0, new String[] {"" + i, "" + i});
+			data.append(entry);
+		}
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private BoundedRowDataSet data;
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.row;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.AverageAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.MaxAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.BucketEntry;
+
+import junit.framework.TestCase;
+
+public class BucketEntryTest extends TestCase {
+	public BucketEntryTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		
+		entry0 = new BucketEntry(new Object[][] {{"1", "2.0", "a"}, {"3", "4.0", "b"}}, 0, new AverageAggregate());
+		entry1 = new BucketEntry(new Object[][] {{"5", "6.0", "c"}}, 2, new AverageAggregate());
+	}
+	
+	public void testGetRow() {
+		Object[] row = entry0.getRow(null);
+		assertEquals(3, row.length);
+		assertEquals(new Long(2), row[0]);
+		assertEquals(new Double(3), row[1]);
+		assertEquals("b", row[2]);
+		assertSame(row, entry0.getRow(0));
+		assertNull(entry0.getRow(1));
+		assertEquals(1, entry0.getRowCount());
+		assertEquals(3, entry0.getColCount());
+	}
+	
+	public void testGetColumn() {
+		assertNull(entry0.getColumn(-1));
+		assertNull(entry0.getColumn(3));
+		assertEquals(new Long(2), entry0.getColumn(0)[0]);
+		assertEquals("b", entry0.get(null, 2));
+	}
+	
+	public void testStatistics() {
+		assertEquals(new Long(1), entry0.getMin(0));
+		assertEquals(new Long(3), entry0.getMax(0));
+		assertEquals(new Long(4), entry0.getSum(0));
+		assertNull(entry0.getMin(2));
+		assertEquals(2, entry0.getSampleCount());
+		assertEquals(0, entry0.getFirstSample());
+	}
+	
+	public void testMerge() {
+		BucketEntry merged = new BucketEntry(new BucketEntry[] {entry0, entry1});
+		assertEquals(3, merged.getSampleCount());
+		assertEquals(0, merged.getFirstSample());
+		assertEquals(new Long(1), merged.getMin(0));
+		assertEquals(new Long(5), merged.getMax(0));
+		assertEquals(new Long(9), merged.getSum(0));
+		
+		//The average is weighted by the number of samples of each bucket
+		assertEquals(4.0, ((Number)merged.getRow(null)[1]).doubleValue(), 0.0);
+		assertEquals("c", merged.getRow(null)[2]);
+	}
+	
+	public void testAggregate() {
+		BucketEntry entry = new BucketEntry(new Object[][] {{"1"}, {"7"}, {"3"}}, 0, new MaxAggregate());
+		assertEquals(new Long(7), entry.getRow(null)[0]);
+	}
+	
+	public void testReadOnly() {
+		assertSame(entry0, entry0.copy());
+		assertFalse(entry0.remove(0));
+		entry0.putRow(0, new Object[] {"9", "9", "9"});
+		assertEquals(new Long(2), entry0.getRow(null)[0]);
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private BucketEntry entry0;
+	private BucketEntry entry1;
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.datasets.row;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.AverageAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.BoundedRowDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.BucketEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.FilteredBoundedRowDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.RangeFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.SortFilter;
+
+import junit.framework.TestCase;
+
+public class FilteredBoundedRowDataSetTest extends TestCase {
+	public FilteredBoundedRowDataSetTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		
+		data = new BoundedRowDataSet(new String[] {"a", "b"}, 4, 3, 2, new AverageAggregate());
+		fdata = new FilteredBoundedRowDataSet(data);
+		append(3);
+	}
+	
+	public void testFilteredDataSet() {
+		FilteredBoundedRowDataSet fds = new FilteredBoundedRowDataSet(new String[] {"a", "b"});
+		assertEquals(2, fds.getColCount());
+		assertEquals(0, fds.getRowCount());
+		assertEquals(BoundedRowDataSet.ID, fds.getID());
+	}
+	
+	public void testNoFilters() {
+		append(2);
+		//The buckets and the sample numbers of the original are kept
+		assertEquals(4, fdata.getRowCount());
+		assertTrue(fdata.getEntry(0) instanceof BucketEntry);
+		assertEquals("4", fdata.getRow(3)[0]);
+		assertEquals(new Integer(3), fdata.getColumn(IDataSet.COL_ROW_NUM)[1]);
+	}
+	
+	public void testFilters() {
+		fdata.addFilter(new RangeFilter(0, new Integer(1), new Integer(5), RangeFilter.INCLUSIVE | RangeFilter.INSIDE_BOUNDS));
+		fdata.addFilter(new SortFilter(0, SortFilter.DESCENDING));
+		assertEquals(2, fdata.getRowCount());
+		assertEquals("2", fdata.getRow(0)[0]);
+		
+		//Samples 0 and 1 are merged in a bucket, whose average is out of the range
+		append(2);
+		assertEquals(3, fdata.getRowCount());
+		assertEquals("4", fdata.getRow(0)[0]);
+		assertEquals("2", fdata.getRow(2)[0]);
+		
+		fdata.clearFilters();
+		assertEquals(4, fdata.getRowCount());
+	}
+	
+	public void testAppendRemove() {
+		RowEntry entry = new RowEntry();
+		entry.putRow(0, new String[] {"7", "7"});
+		fdata.append(entry);
+		assertEquals(4, data.getRowCount());
+		assertEquals(4, fdata.getRowCount());
+		
+		assertTrue(fdata.remove(entry));
+		assertTrue(fdata.remove(0));
+		assertEquals(2, data.getRowCount());
+		assertEquals(2, fdata.getRowCount());
+		assertEquals("1", fdata.getRow(0)[0]);
+	}
+	
+	public void testRemoveFilter() {
+		SortFilter filter = new SortFilter(0, SortFilter.DESCENDING);
+		fdata.addFilter(filter);
+		assertEquals("2", fdata.getRow(0)[0]);
+		assertTrue(fdata.removeFilter(filter));
+		assertFalse(fdata.removeFilter(filter));
+		assertEquals("0", fdata.getRow(0)[0]);
+	}
+	
+	private void append(int count) {
+		RowEntry entry;
+		for(int i=0; i<count; i++) {
+			entry = new RowEntry();
+			entry.putRow(0, new String[] {"" + (data.getSampleCount()), "" + (data.getSampleCount())});
+			data.append(entry);
+		}
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private BoundedRowDataSet data;
+	private FilteredBoundedRowDataSet fdata;
+}
@@ -172,6 +172,32 @@ public class FilteredRowDataSetTest extends TestCase {
 		assertEquals(3, ((Integer)row[2]).intValue());
 	}
 	
+	public void testAppendFiltered() {
+		data.remove(0);
+		data.remove(0);
+
+		fdata.addFilter(new RangeFilter(0, new Integer(3), new Integer(5), RangeFilter.INCLUSIVE | RangeFilter.INSIDE_BOUNDS));
+		fdata.addFilter(new SortFilter(2, SortFilter.ASCENDING));
+		assertEquals(0, fdata.getRowCount());
+
+		RowEntry entry;
+		int[][] rows = new int[][] {{3, 2, 5}, {4, 2, 3}, {7, 2, 9}, {2, 2, 6}, {5, 2, 2}, {4, 1, 4}};
+		for(int i=0; i<rows.length; i++) {
+			entry = new RowEntry();
+			entry.putRow(0, new Integer[] {new Integer(rows[i][0]), new Integer(rows[i][1]), new Integer(rows[i][2])});
+			data.append(entry);
+		}
+
+		assertEquals(4, fdata.getRowCount());
+		int[] sorted = new int[] {2, 3, 4, 5};
+		for(int i=0; i<sorted.length; i++)
+			assertEquals(sorted[i], ((Integer)fdata.getRow(i)[2]).intValue());
+
+		data.remove(0);
+		assertEquals(3, fdata.getRowCount());
+		assertEquals(4, ((Integer)fdata.getRow(2)[2]).intValue());
+	}
+
 	public void testRemoveFilter() {
 		data.remove(0);
 		data.remove(0);
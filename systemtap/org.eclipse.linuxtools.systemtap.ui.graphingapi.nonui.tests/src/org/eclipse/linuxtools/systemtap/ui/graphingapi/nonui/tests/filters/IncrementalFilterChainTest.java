@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.filters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.AverageAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.SumAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IDataSetFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IncrementalFilterChain;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.MatchFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.RangeFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.SortFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.UniqueFilter;
+
+import junit.framework.TestCase;
+
+public class IncrementalFilterChainTest extends TestCase {
+	public IncrementalFilterChainTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		
+		//Column 0: a few keys, column 1: distinct numbers, column 2: numbers, column 3: strings
+		Random random = new Random(3);
+		rows = new ArrayList<Object[]>();
+		for(int i=0; i<200; i++) {
+			rows.add(new Object[] {
+				"k" + random.nextInt(12),
+				"" + (i * 7919 % 1000),
+				"" + random.nextInt(100),
+				"s" + random.nextInt(4)
+			});
+		}
+	}
+	
+	public void testNoFilter() {
+		IncrementalFilterChain chain = new IncrementalFilterChain(new IDataSetFilter[0], 4);
+		assertTrue(chain.isIncremental());
+		for(int i=0; i<rows.size(); i++)
+			assertTrue(chain.add(rows.get(i)));
+		assertEquals(rows.size(), chain.getRows().size());
+		assertSame(rows.get(5), chain.getRows().get(5));
+		
+		chain.clear();
+		assertEquals(0, chain.getRows().size());
+	}
+	
+	public void testRangeAndSort() {
+		checkSameAsFilters(new IDataSetFilter[] {
+			new RangeFilter(2, new Integer(20), new Integer(70), RangeFilter.INSIDE_BOUNDS | RangeFilter.INCLUSIVE),
+			new SortFilter(1, SortFilter.ASCENDING)
+		});
+	}
+	
+	public void testSortAndMatch() {
+		checkSameAsFilters(new IDataSetFilter[] {
+			new SortFilter(1, SortFilter.DESCENDING),
+			new MatchFilter(3, "s2", MatchFilter.REMOVE_MATCHING)
+		});
+	}
+	
+	public void testUnique() {
+		checkSameAsFilters(new IDataSetFilter[] {
+			new MatchFilter(3, "s1", MatchFilter.REMOVE_MATCHING),
+			new UniqueFilter(0, new SumAggregate(), 0)
+		});
+		checkSameAsFilters(new IDataSetFilter[] {
+			new UniqueFilter(3, new AverageAggregate(), 0)
+		});
+	}
+	
+	public void testAcceptAndKeep() {
+		IncrementalFilterChain chain = new IncrementalFilterChain(new IDataSetFilter[] {
+			new MatchFilter(3, "s2", MatchFilter.REMOVE_MATCHING),
+			new SortFilter(1, SortFilter.ASCENDING)
+		}, 4);
+		Object[] kept = new Object[] {"k1", "5", "1", "s1"};
+		Object[] removed = new Object[] {"k1", "3", "1", "s2"};
+		assertTrue(chain.accept(kept));
+		assertFalse(chain.accept(removed));
+		
+		//Checking a row does not keep it
+		assertEquals(0, chain.getRows().size());
+		assertTrue(chain.keep(kept));
+		assertEquals(1, chain.getRows().size());
+		assertSame(kept, chain.getRows().get(0));
+	}
+	
+	public void testSortBecomesTextual() {
+		IncrementalFilterChain chain = new IncrementalFilterChain(new IDataSetFilter[] {new SortFilter(0, SortFilter.ASCENDING)}, 1);
+		chain.add(new Object[] {"10"});
+		chain.add(new Object[] {"9"});
+		assertEquals("9", chain.getRows().get(0)[0]);
+		
+		//Once a value is not a number, the values are compared as strings
+		chain.add(new Object[] {"a"});
+		assertTrue(chain.isIncremental());
+		List<Object[]> result = chain.getRows();
+		assertEquals("10", result.get(0)[0]);
+		assertEquals("9", result.get(1)[0]);
+		assertEquals("a", result.get(2)[0]);
+	}
+	
+	public void testNotIncremental() {
+		IncrementalFilterChain chain = new IncrementalFilterChain(new IDataSetFilter[] {
+			new UniqueFilter(0, new SumAggregate(), 0),
+			new SortFilter(1, SortFilter.ASCENDING)
+		}, 4);
+		assertFalse(chain.isIncremental());
+		assertFalse(chain.add(rows.get(0)));
+		
+		chain = new IncrementalFilterChain(new IDataSetFilter[] {new SortFilter(4, SortFilter.ASCENDING)}, 4);
+		assertFalse(chain.isIncremental());
+		
+		//A number column of a group that gets a string can not be aggregated anymore
+		chain = new IncrementalFilterChain(new IDataSetFilter[] {new UniqueFilter(0, new SumAggregate(), 0)}, 2);
+		assertTrue(chain.add(new Object[] {"a", "1"}));
+		assertFalse(chain.add(new Object[] {"a", "b"}));
+		assertFalse(chain.isIncremental());
+	}
+	
+	/**
+	 * Checks that the chain gives the same rows as the filters after each row.
+	 */
+	@SuppressWarnings("unchecked")
+	private void checkSameAsFilters(IDataSetFilter[] filters) {
+		IncrementalFilterChain chain = new IncrementalFilterChain(filters, 4);
+		assertTrue(chain.isIncremental());
+		
+		for(int i=0; i<rows.size(); i++) {
+			assertTrue(chain.add(rows.get(i)));
+			
+			ArrayList[] data = new ArrayList[4];
+			for(int j=0; j<data.length; j++) {
+				data[j] = new ArrayList();
+				for(int k=0; k<=i; k++)
+					data[j].add(rows.get(k)[j]);
+			}
+			for(int j=0; j<filters.length; j++)
+				data = filters[j].filter(data);
+			
+			List<Object[]> result = chain.getRows();
+			assertEquals(data[0].size(), result.size());
+			for(int k=0; k<result.size(); k++) {
+				for(int j=0; j<data.length; j++)
+					assertEquals(data[j].get(k), result.get(k)[j]);
+			}
+		}
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private ArrayList<Object[]> rows;
+}
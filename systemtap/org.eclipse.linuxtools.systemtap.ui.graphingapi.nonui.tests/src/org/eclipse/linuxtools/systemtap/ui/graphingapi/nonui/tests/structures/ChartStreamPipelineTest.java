@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowParser;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.ChartStreamPipeline;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.RingBuffer;
+
+import junit.framework.TestCase;
+
+public class ChartStreamPipelineTest extends TestCase {
+	public ChartStreamPipelineTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		data = new RowDataSet(new String[] {"a", "b"});
+		pipeline = new ChartStreamPipeline(data, new RowParser(new String[] {"\\d+", "\\s", "\\d+", "\\n"}));
+	}
+	
+	public void testHandleEvent() throws InterruptedException {
+		for(int i=0; i<1000; i++)
+			pipeline.handleDataEvent(i + " " + (2*i) + "\n");
+		assertTrue(pipeline.flush(5000));
+		
+		assertEquals(1000, pipeline.getReadCount());
+		assertEquals(1000, pipeline.getParsedCount());
+		assertEquals(1000, pipeline.getIngestedCount());
+		assertEquals(0, pipeline.getDroppedCount());
+		assertEquals(0, pipeline.getBacklog());
+		assertEquals(1000, data.getRowCount());
+		assertEquals("999", data.getRow(999)[0]);
+		assertEquals("1998", data.getRow(999)[1]);
+	}
+	
+	public void testHandleEvents() throws InterruptedException {
+		byte[] buffer = "1 2\n3 4\n5 6\n".getBytes();
+		pipeline.handleDataEvents(buffer, 0, new int[] {4, 8, 12}, 3);
+		assertTrue(pipeline.flush(5000));
+		
+		assertEquals(1, pipeline.getReadCount());
+		assertEquals(3, pipeline.getParsedCount());
+		assertEquals(3, data.getRowCount());
+		assertEquals("5", data.getRow(2)[0]);
+	}
+	
+	public void testDropOldest() throws InterruptedException {
+		pipeline.dispose();
+		pipeline = new ChartStreamPipeline(data, new RowParser(new String[] {"\\d+", "\\s", "\\d+", "\\n"}), RingBuffer.DROP_OLDEST, 16);
+		for(int i=0; i<1000; i++)
+			pipeline.handleDataEvent(i + " " + i + "\n");
+		assertTrue(pipeline.flush(5000));
+		
+		assertEquals(1000, pipeline.getParsedCount());
+		assertEquals(1000, pipeline.getIngestedCount() + pipeline.getDroppedCount());
+		assertEquals(pipeline.getIngestedCount(), data.getRowCount());
+		assertEquals("999", data.getRow(data.getRowCount()-1)[0]);
+	}
+	
+	public void testSetParser() throws InterruptedException {
+		for(int i=0; i<100; i++)
+			pipeline.handleDataEvent(i + " " + i + "\n");
+		
+		//The lines read before the change go to the old data set, the new one
+		//gets the output so far then the lines that follow
+		RowDataSet other = new RowDataSet(new String[] {"a", "b"});
+		pipeline.setParser(other, new RowParser(new String[] {"\\d+", "\\s", "\\d+", "\\n"}), "7 8\n9 10\n");
+		for(int i=100; i<110; i++)
+			pipeline.handleDataEvent(i + " " + i + "\n");
+		assertTrue(pipeline.flush(5000));
+		
+		assertEquals(100, data.getRowCount());
+		assertEquals("99", data.getRow(99)[0]);
+		assertEquals(12, other.getRowCount());
+		assertEquals("7", other.getRow(0)[0]);
+		assertEquals("9", other.getRow(1)[0]);
+		assertEquals("100", other.getRow(2)[0]);
+		assertEquals("109", other.getRow(11)[0]);
+	}
+	
+	public void testStopEvent() throws InterruptedException {
+		for(int i=0; i<1000; i++)
+			pipeline.handleDataEvent(i + " " + i + "\n");
+		pipeline.handleStopEvent();
+		pipeline.handleDataEvent("1000 1000\n");
+		assertEquals(1000, pipeline.getReadCount());
+		
+		//Everything queued is still added, then the pipeline disposes of itself
+		for(int i=0; i<50 && !pipeline.isDisposed(); i++)
+			Thread.sleep(100);
+		assertTrue(pipeline.isDisposed());
+		assertEquals(1000, pipeline.getIngestedCount());
+		assertEquals(1000, data.getRowCount());
+		assertEquals("999", data.getRow(999)[0]);
+	}
+	
+	public void testDispose() {
+		assertFalse(pipeline.isDisposed());
+		pipeline.dispose();
+		assertTrue(pipeline.isDisposed());
+		pipeline.handleDataEvent("1 2\n");
+		assertEquals(0, pipeline.getReadCount());
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		pipeline.dispose();
+	}
+	
+	private RowDataSet data;
+	private ChartStreamPipeline pipeline;
+}
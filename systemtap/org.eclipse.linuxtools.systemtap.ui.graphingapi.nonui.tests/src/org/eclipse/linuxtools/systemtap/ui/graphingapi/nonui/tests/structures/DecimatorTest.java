@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures;
+
+import java.util.Random;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.Decimator;
+
+import junit.framework.TestCase;
+
+public class DecimatorTest extends TestCase {
+	public DecimatorTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		values = new double[10000];
+		Random random = new Random(0);
+		for(int i=0; i<values.length; i++)
+			values[i] = random.nextDouble();
+		values[1234] = 5;
+		values[8765] = -5;
+	}
+	
+	public void testSmall() {
+		int[] rows = Decimator.minMax(values, 40, 10);
+		assertEquals(40, rows.length);
+		rows = Decimator.lttb(values, 10, 10);
+		assertEquals(10, rows.length);
+		assertEquals(9, rows[9]);
+	}
+	
+	public void testMinMax() {
+		int[] rows = Decimator.minMax(values, values.length, 100);
+		assertTrue(rows.length <= 400);
+		assertEquals(0, rows[0]);
+		assertEquals(values.length-1, rows[rows.length-1]);
+		assertIncreasing(rows);
+		assertContains(rows, 1234);
+		assertContains(rows, 8765);
+	}
+	
+	public void testLTTB() {
+		int[] rows = Decimator.lttb(values, values.length, 100);
+		assertEquals(100, rows.length);
+		assertEquals(0, rows[0]);
+		assertEquals(values.length-1, rows[99]);
+		assertIncreasing(rows);
+		assertContains(rows, 1234);
+		assertContains(rows, 8765);
+	}
+	
+	public void testDecimate() {
+		double[] other = new double[values.length];
+		other[42] = 100;
+		int[] rows = Decimator.decimate(new double[][] {values, other}, values.length, 100, Decimator.MIN_MAX);
+		assertIncreasing(rows);
+		assertContains(rows, 42);
+		assertContains(rows, 1234);
+		assertTrue(rows.length <= 800);
+
+		rows = Decimator.decimate(new double[][] {values}, values.length, 0, Decimator.MIN_MAX);
+		assertEquals(values.length, rows.length);
+	}
+	
+	private void assertIncreasing(int[] rows) {
+		for(int i=1; i<rows.length; i++)
+			assertTrue(rows[i-1] < rows[i]);
+	}
+	
+	private void assertContains(int[] rows, int row) {
+		for(int i=0; i<rows.length; i++) {
+			if(rows[i] == row)
+				return;
+		}
+		fail("" + row);
+	}
+	
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private double[] values;
+}
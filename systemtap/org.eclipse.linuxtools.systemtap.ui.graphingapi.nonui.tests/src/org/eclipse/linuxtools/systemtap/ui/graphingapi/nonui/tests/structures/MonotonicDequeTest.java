@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures;
+
+import java.util.Random;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.MonotonicDeque;
+
+import junit.framework.TestCase;
+
+public class MonotonicDequeTest extends TestCase {
+	public MonotonicDequeTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		max = new MonotonicDeque(true);
+		min = new MonotonicDeque(false);
+	}
+	
+	public void testEmpty() {
+		assertTrue(max.isEmpty());
+		assertTrue(Double.isNaN(max.getExtremum()));
+	}
+	
+	public void testWindow() {
+		double[] values = {3, 1, 4, 1, 5, 9, 2, 6};
+		for(int i=0; i<values.length; i++) {
+			max.add(i, values[i]);
+			min.add(i, values[i]);
+		}
+		assertEquals(9.0, max.getExtremum(), 0.0);
+		assertEquals(1.0, min.getExtremum(), 0.0);
+		//Only 9 and 6 can still be the maximum
+		assertEquals(2, max.size());
+		
+		max.evict(6);
+		min.evict(6);
+		assertEquals(6.0, max.getExtremum(), 0.0);
+		assertEquals(2.0, min.getExtremum(), 0.0);
+		
+		max.evict(8);
+		assertTrue(max.isEmpty());
+		
+		min.clear();
+		assertTrue(min.isEmpty());
+	}
+	
+	public void testRandom() {
+		Random random = new Random(7);
+		int width = 50;
+		double[] values = new double[5000];
+		for(int i=0; i<values.length; i++) {
+			values[i] = random.nextInt(1000);
+			max.add(i, values[i]);
+			max.evict(i - width + 1);
+			
+			double expected = Double.NEGATIVE_INFINITY;
+			for(int j=Math.max(0, i-width+1); j<=i; j++)
+				expected = Math.max(expected, values[j]);
+			assertEquals(expected, max.getExtremum(), 0.0);
+		}
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private MonotonicDeque max;
+	private MonotonicDeque min;
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.OrderStatisticTree;
+
+import junit.framework.TestCase;
+
+public class OrderStatisticTreeTest extends TestCase {
+	public OrderStatisticTreeTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		tree = new OrderStatisticTree<Integer>(new Comparator<Integer>() {
+			public int compare(Integer a, Integer b) {
+				return a.compareTo(b);
+			}
+		});
+	}
+	
+	public void testInsert() {
+		assertEquals(0, tree.size());
+		assertEquals(0, tree.insert(new Integer(5)));
+		assertEquals(0, tree.insert(new Integer(3)));
+		assertEquals(2, tree.insert(new Integer(8)));
+		assertEquals(2, tree.insert(new Integer(5)));
+		assertEquals(4, tree.size());
+		assertEquals(new Integer(3), tree.get(0));
+		assertEquals(new Integer(5), tree.get(1));
+		assertEquals(new Integer(8), tree.get(3));
+		
+		try {
+			tree.get(4);
+			fail();
+		} catch(IndexOutOfBoundsException ioobe) {}
+	}
+	
+	public void testRandom() {
+		Random random = new Random(42);
+		ArrayList<Integer> list = new ArrayList<Integer>();
+		for(int i=0; i<2000; i++) {
+			Integer n = new Integer(random.nextInt(500));
+			list.add(n);
+			tree.add(n);
+			if(0 == i % 7) {
+				int index = random.nextInt(tree.size());
+				Collections.sort(list);
+				assertEquals(list.remove(index), tree.remove(index));
+			}
+		}
+		Collections.sort(list);
+		assertEquals(list.size(), tree.size());
+		for(int i=0; i<list.size(); i++)
+			assertEquals(list.get(i), tree.get(i));
+	}
+	
+	public void testRemoveItem() {
+		Integer a = new Integer(1000);
+		Integer b = new Integer(1000);
+		tree.add(new Integer(1));
+		tree.add(a);
+		tree.add(b);
+		tree.add(new Integer(2000));
+		
+		//Equal items are found by identity
+		assertEquals(2, tree.indexOfItem(b));
+		assertEquals(1, tree.removeItem(a));
+		assertSame(b, tree.get(1));
+		assertEquals(-1, tree.removeItem(a));
+		assertEquals(-1, tree.indexOfItem(new Integer(5)));
+		assertEquals(3, tree.size());
+		
+		tree.clear();
+		assertEquals(0, tree.size());
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private OrderStatisticTree<Integer> tree;
+}
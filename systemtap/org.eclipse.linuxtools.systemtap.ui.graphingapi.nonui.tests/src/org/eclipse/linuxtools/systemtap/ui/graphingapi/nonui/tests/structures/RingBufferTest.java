@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.tests.structures;
+
+import java.util.ArrayList;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.RingBuffer;
+
+import junit.framework.TestCase;
+
+public class RingBufferTest extends TestCase {
+	public RingBufferTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		items = new ArrayList<Integer>();
+	}
+	
+	public void testFifo() throws InterruptedException {
+		RingBuffer<Integer> buffer = new RingBuffer<Integer>(4, RingBuffer.BLOCK);
+		for(int i=0; i<10; i++) {
+			assertTrue(buffer.put(i));
+			assertEquals(1, buffer.drainTo(items, 10));
+		}
+		assertEquals(10, items.size());
+		for(int i=0; i<10; i++)
+			assertEquals(i, items.get(i).intValue());
+		assertEquals(10, buffer.getPutCount());
+		assertEquals(10, buffer.getTakeCount());
+		assertEquals(0, buffer.size());
+	}
+	
+	public void testDropOldest() throws InterruptedException {
+		RingBuffer<Integer> buffer = new RingBuffer<Integer>(4, RingBuffer.DROP_OLDEST);
+		for(int i=0; i<10; i++)
+			assertTrue(buffer.put(i));
+		assertEquals(4, buffer.size());
+		assertEquals(6, buffer.getDropCount());
+		assertEquals(4, buffer.drainTo(items, 10));
+		for(int i=0; i<4; i++)
+			assertEquals(6+i, items.get(i).intValue());
+	}
+	
+	public void testSample() throws InterruptedException {
+		RingBuffer<Integer> buffer = new RingBuffer<Integer>(4, RingBuffer.SAMPLE, 3);
+		for(int i=0; i<10; i++)
+			buffer.put(i);
+		//6 overflowing puts: 4 and 7 replace 0 and 1, 5 6 8 9 are dropped
+		assertEquals(4, buffer.size());
+		assertEquals(6, buffer.getDropCount());
+		assertEquals(6, buffer.getPutCount());
+		buffer.drainTo(items, 10);
+		assertEquals(2, items.get(0).intValue());
+		assertEquals(3, items.get(1).intValue());
+		assertEquals(4, items.get(2).intValue());
+		assertEquals(7, items.get(3).intValue());
+	}
+	
+	public void testBlock() throws InterruptedException {
+		final RingBuffer<Integer> buffer = new RingBuffer<Integer>(2, RingBuffer.BLOCK);
+		Thread producer = new Thread() {
+			public void run() {
+				try {
+					for(int i=0; i<1000; i++)
+						buffer.put(i);
+				} catch(InterruptedException ie) {}
+				buffer.close();
+			}
+		};
+		producer.start();
+		while(0 <= buffer.drainTo(items, 10));
+		producer.join();
+		
+		assertEquals(1000, items.size());
+		for(int i=0; i<1000; i++)
+			assertEquals(i, items.get(i).intValue());
+		assertEquals(0, buffer.getDropCount());
+	}
+	
+	public void testClose() throws InterruptedException {
+		RingBuffer<Integer> buffer = new RingBuffer<Integer>(4, RingBuffer.BLOCK);
+		buffer.put(1);
+		buffer.close();
+		assertTrue(buffer.isClosed());
+		assertFalse(buffer.put(2));
+		assertEquals(1, buffer.drainTo(items, 10));
+		assertEquals(-1, buffer.drainTo(items, 10));
+	}
+	
+	public void testCloseWhileBlocked() throws InterruptedException {
+		final RingBuffer<Integer> buffer = new RingBuffer<Integer>(1, RingBuffer.BLOCK);
+		buffer.put(1);
+		final boolean[] stored = {true};
+		Thread producer = new Thread() {
+			public void run() {
+				try {
+					stored[0] = buffer.put(2);
+				} catch(InterruptedException ie) {}
+			}
+		};
+		producer.start();
+		while(Thread.State.WAITING != producer.getState())
+			Thread.sleep(1);
+		buffer.close();
+		producer.join();
+		
+		//The put that failed is not counted
+		assertFalse(stored[0]);
+		assertEquals(1, buffer.getPutCount());
+		assertFalse(buffer.put(3));
+		assertEquals(1, buffer.getPutCount());
+	}
+	
+	public void testPolicy() {
+		try {
+			new RingBuffer<Integer>(4, 42);
+			fail("Unknown policy accepted");
+		} catch(IllegalArgumentException iae) {}
+	}
+	
+	public void testWakeUp() throws InterruptedException {
+		RingBuffer<Integer> buffer = new RingBuffer<Integer>(4, RingBuffer.BLOCK);
+		buffer.wakeUp();
+		assertEquals(0, buffer.drainTo(items, 10));
+		buffer.put(1);
+		buffer.wakeUp();
+		assertEquals(1, buffer.drainTo(items, 10));
+		buffer.close();
+		buffer.wakeUp();
+		assertEquals(-1, buffer.drainTo(items, 10));
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+	}
+	
+	private ArrayList<Integer> items;
+}
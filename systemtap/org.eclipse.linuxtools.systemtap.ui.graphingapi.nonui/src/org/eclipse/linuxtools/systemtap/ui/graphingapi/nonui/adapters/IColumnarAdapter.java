@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.adapters;
+
+/**
+ * An adapter that can hand out its series as primitives when its data set
+ * stores them that way, so that charts don't box every value.
+ */
+public interface IColumnarAdapter extends IAdapter {
+	/**
+	 * @return [series][row] the values of the y series for the rows from
+	 * <code>start</code> to <code>end</code>, NaN where a value is missing or
+	 * not a number, or null if the data set does not store primitive columns
+	 */
+	public double[][] getYSeriesValues(int start, int end);
+	
+	/**
+	 * @return The x value of a row as a label, the way <code>getData</code> would give it
+	 */
+	public String getXLabel(int row);
+}
@@ -11,16 +11,27 @@
 
 package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.adapters;
 
+import java.util.HashMap;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IBlockDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IColumnarDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IFilteredDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IHistoricalDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnView;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.internal.Localization;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.MonotonicDeque;
 
-public class ScrollAdapter implements IAdapter {
+public class ScrollAdapter implements IColumnarAdapter {
 	public ScrollAdapter(IHistoricalDataSet data, int xSeries, int[] ySeries, String key) {
 		this.data = data;
 		this.xSeries = xSeries;
 		this.ySeries = ySeries;
 		this.key = key;
+		maxWindows = new HashMap<Integer, Window>();
+		minWindows = new HashMap<Integer, Window>();
 	}
 
 	public Number getXMax() {
@@ -61,6 +72,18 @@ public class ScrollAdapter implements IAdapter {
 		if(start < 0 || end > data.getRowCount() || start > end)
 			return null;
 		
+		ColumnView view = getView(series, start, end);
+		if(null != view) {
+			double max = view.getMax();
+			return new Double(Double.isNaN(max) ? Double.NEGATIVE_INFINITY : max);
+		}
+		
+		Window window = getWindow(maxWindows, true, series, start, end);
+		if(null != window) {
+			double max = window.deque.getExtremum();
+			return new Double(Double.isNaN(max) ? Double.NEGATIVE_INFINITY : max);
+		}
+		
 		Number max = new Double(Double.NEGATIVE_INFINITY);
 		Number cur;
 
@@ -113,6 +136,18 @@ public class ScrollAdapter implements IAdapter {
 		if(start < 0 || end > data.getRowCount() || start > end)
 			return null;
 		
+		ColumnView view = getView(series, start, end);
+		if(null != view) {
+			double min = view.getMin();
+			return new Double(Double.isNaN(min) ? Double.POSITIVE_INFINITY : min);
+		}
+		
+		Window window = getWindow(minWindows, false, series, start, end);
+		if(null != window) {
+			double min = window.deque.getExtremum();
+			return new Double(Double.isNaN(min) ? Double.POSITIVE_INFINITY : min);
+		}
+		
 		Number min = new Double(Double.POSITIVE_INFINITY);
 		Number cur;
 
@@ -127,6 +162,92 @@ public class ScrollAdapter implements IAdapter {
 		return min;
 	}
 
+	public double[][] getYSeriesValues(int start, int end) {
+		if(start < 0 || end > data.getRowCount() || start > end)
+			return null;
+		
+		double[][] values = new double[ySeries.length][];
+		for(int i=0; i<ySeries.length; i++) {
+			ColumnView view = getView(ySeries[i], start, end);
+			if(null == view)
+				return null;
+			values[i] = new double[end - start];
+			view.getDoubles(values[i]);
+		}
+		return values;
+	}
+	
+	public String getXLabel(int row) {
+		Object[] x = data.getHistoricalData(key, xSeries, row, row+1);
+		return (null == x || null == x[0]) ? "" : x[0].toString();
+	}
+
+	/**
+	 * Returns a view on the series when the data set stores its columns as
+	 * primitives, so that they can be scanned without boxing each value.  The
+	 * columns of a block data set only hold its latest table, not the history.
+	 */
+	private ColumnView getView(int series, int start, int end) {
+		if(data instanceof IColumnarDataSet && !(data instanceof IBlockDataSet) && IDataSet.COL_ROW_NUM != series)
+			return ((IColumnarDataSet)data).getColumnView(series, start, end);
+		return null;
+	}
+
+	/**
+	 * Returns the sliding window of the series moved to the provided range.
+	 * The graphs ask for the extremum of the last entries each time new
+	 * entries arrive, so the window usually only has to add the new entries
+	 * and drop the old ones.  This requires the entries to only be appended,
+	 * so it is only done for plain <code>RowDataSet</code>s; the window is
+	 * rebuilt when the range moves back or the entries changed.
+	 */
+	private Window getWindow(HashMap<Integer, Window> windows, boolean maximum, int series, int start, int end) {
+		if(!(data instanceof RowDataSet) || data instanceof IFilteredDataSet)
+			return null;
+		
+		Integer k = new Integer(series);
+		Window window = windows.get(k);
+		if(null == window) {
+			window = new Window(maximum);
+			windows.put(k, window);
+		}
+		
+		if(start < window.start || end < window.end
+				|| (window.end > 0 && data.getEntry(window.end-1) != window.last)) {
+			window.deque.clear();
+			window.end = start;
+		}
+		window.start = start;
+		window.deque.evict(start);
+		
+		int from = Math.max(window.end, start);
+		if(from < end) {
+			Object[] dataColumn = data.getHistoricalData(key, series, from, end);
+			for(int i=0; i<dataColumn.length; i++) {
+				try {
+					window.deque.add(from + i, Double.parseDouble(dataColumn[i].toString()));
+				} catch (NumberFormatException e) {}
+			}
+		}
+		window.end = end;
+		window.last = (end > 0) ? data.getEntry(end-1) : null;
+		return window;
+	}
+	
+	private static final class Window {
+		Window(boolean maximum) {
+			deque = new MonotonicDeque(maximum);
+			start = 0;
+			end = 0;
+			last = null;
+		}
+		
+		MonotonicDeque deque;
+		int start;
+		int end;
+		IDataEntry last;
+	}
+
 	public String[] getLabels() {
 		String[] labels = data.getTitles();
 		
@@ -174,4 +295,6 @@ public class ScrollAdapter implements IAdapter {
 	private int xSeries;
 	private int[] ySeries;
 	private String key;
+	private HashMap<Integer, Window> maxWindows;
+	private HashMap<Integer, Window> minWindows;
 }
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates;
+
+import java.util.ArrayList;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.NumberType;
+
+/**
+ * Computes an <code>IDataAggregate</code> over a column that keeps growing,
+ * without going over the whole column each time a value is added.  The
+ * average, count, maximum, minimum and sum are updated in O(1) from a running
+ * count, sum, minimum and maximum.  Other aggregates are computed over all the
+ * values added so far.
+ */
+public class RunningAggregate {
+	public RunningAggregate(IDataAggregate aggregate) {
+		this.aggregate = aggregate;
+		String id = aggregate.getID();
+		if(AverageAggregate.ID.equals(id))
+			type = AVERAGE;
+		else if(CountAggregate.ID.equals(id))
+			type = COUNT;
+		else if(MaxAggregate.ID.equals(id))
+			type = MAX;
+		else if(MinAggregate.ID.equals(id))
+			type = MIN;
+		else if(SumAggregate.ID.equals(id))
+			type = SUM;
+		else {
+			type = OTHER;
+			values = new ArrayList<Number>();
+		}
+		clear();
+	}
+
+	/**
+	 * Adds a value at the end of the column.
+	 */
+	public void add(Number value) {
+		if(0 == count)
+			first = value;
+		double d = value.doubleValue();
+		count++;
+		sum += d;
+		if(d < min)
+			min = d;
+		if(d > max)
+			max = d;
+		if(OTHER == type)
+			values.add(value);
+	}
+
+	/**
+	 * @return The aggregate of the values added so far, as the aggregate would
+	 * return it for the whole column, or null if no value was added
+	 */
+	public Number getValue() {
+		return getValue(first);
+	}
+
+	/**
+	 * @param prototype The number the type of the result is taken from
+	 * @return The aggregate of the values added so far, with the type of
+	 * <code>prototype</code>, or null if no value was added
+	 */
+	public Number getValue(Number prototype) {
+		if(0 == count)
+			return null;
+
+		switch(type) {
+		case AVERAGE:
+			return NumberType.getNumber(prototype, sum / count);
+		case COUNT:
+			return new Integer(count);
+		case MAX:
+			return NumberType.getNumber(prototype, max);
+		case MIN:
+			return NumberType.getNumber(prototype, min);
+		case SUM:
+			return NumberType.getNumber(prototype, sum);
+		default:
+			Number[] column = new Number[values.size()];
+			values.toArray(column);
+			return aggregate.aggregate(column);
+		}
+	}
+
+	/**
+	 * @return The number of values added
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	public IDataAggregate getAggregate() {
+		return aggregate;
+	}
+
+	public void clear() {
+		count = 0;
+		sum = 0;
+		min = Double.POSITIVE_INFINITY;
+		max = Double.NEGATIVE_INFINITY;
+		first = null;
+		if(null != values)
+			values.clear();
+	}
+
+	private IDataAggregate aggregate;
+	private int type;
+	private int count;
+	private double sum;
+	private double min;
+	private double max;
+	private Number first;
+	private ArrayList<Number> values;
+
+	private static final int AVERAGE = 0;
+	private static final int COUNT = 1;
+	private static final int MAX = 2;
+	private static final int MIN = 3;
+	private static final int SUM = 4;
+	private static final int OTHER = 5;
+}
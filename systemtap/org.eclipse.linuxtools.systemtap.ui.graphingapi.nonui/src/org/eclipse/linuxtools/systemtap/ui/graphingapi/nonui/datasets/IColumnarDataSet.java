@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnView;
+
+/**
+ * A data set that stores its values by column, in primitive arrays.
+ */
+public interface IColumnarDataSet extends IHistoricalDataSet {
+	/**
+	 * Returns the same rows as <code>getColumn(col, start, end)</code>, without copying them.
+	 */
+	public ColumnView getColumnView(int col, int start, int end);
+}
@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.NumberType;
+
+/**
+ * A growable column of primitive values.  The type of the column is chosen
+ * from the values appended to it, the same way <code>NumberType</code>
+ * converts them: whole numbers are stored in a <code>long[]</code>, numbers
+ * with a '.' in a <code>double[]</code>, and anything else as codes into a
+ * dictionary of the distinct strings of the column.  The column is promoted
+ * from long to double to string as needed, so numbers lose their original
+ * formatting but never their value.
+ * 
+ * Missing values (<code>null</code> or blank strings) do not change the type
+ * of a numeric column: they are marked in a bitmap and read back as
+ * <code>null</code>, or NaN by <code>getDouble</code>.
+ */
+public class Column {
+	public Column() {
+		type = NONE;
+		size = 0;
+	}
+	
+	/**
+	 * Adds a value at the end of the column.
+	 * @param value The value, either a <code>Number</code> or its string form
+	 */
+	public void append(Object value) {
+		ensureCapacity(size + 1);
+		if(STRING != type) {
+			if(isMissing(value)) {
+				if(null == missing)
+					missing = new BitSet();
+				missing.set(size);
+				if(LONG == type)
+					longs[size] = 0;
+				else if(DOUBLE == type)
+					doubles[size] = Double.NaN;
+				size++;
+				return;
+			}
+			Number n = toNumber(value);
+			if(null == n) {
+				promote(STRING);
+			} else if(n instanceof Double || n instanceof Float) {
+				if(DOUBLE != type)
+					promote(DOUBLE);
+				doubles[size++] = n.doubleValue();
+				return;
+			} else {
+				if(NONE == type)
+					promote(LONG);
+				if(LONG == type)
+					longs[size++] = n.longValue();
+				else
+					doubles[size++] = n.doubleValue();
+				return;
+			}
+		}
+		codes[size++] = encode(value);
+	}
+	
+	/**
+	 * @return The value at the provided row, boxed the way <code>NumberType</code> would
+	 */
+	public Object get(int row) {
+		checkRow(row);
+		if(isMissing(missing, row))
+			return null;
+		switch(type) {
+		case LONG:
+			return new Long(longs[row]);
+		case DOUBLE:
+			return new Double(doubles[row]);
+		default:
+			return decode(codes[row]);
+		}
+	}
+	
+	public double getDouble(int row) {
+		checkRow(row);
+		return getDouble(type, longs, doubles, codes, dictionary, missing, row);
+	}
+	
+	/**
+	 * @return The value at the provided row, 0 if it is missing or not a number
+	 */
+	public long getLong(int row) {
+		checkRow(row);
+		return getLong(type, longs, doubles, codes, dictionary, missing, row);
+	}
+	
+	/**
+	 * @return Whether the value at the provided row is missing (or null in a string column)
+	 */
+	public boolean isMissing(int row) {
+		checkRow(row);
+		return isMissing(missing, row) || (STRING == type && 0 > codes[row]);
+	}
+	
+	public String getString(int row) {
+		Object o = get(row);
+		return (null == o) ? null : o.toString();
+	}
+	
+	/**
+	 * Removes the rows from <code>start</code> (inclusive) to <code>end</code> (exclusive).
+	 */
+	public void remove(int start, int end) {
+		if(start < 0 || end > size || start > end)
+			throw new ArrayIndexOutOfBoundsException(start);
+		Object array = (LONG == type) ? (Object)longs : (DOUBLE == type) ? (Object)doubles : (Object)codes;
+		if(null != array)
+			System.arraycopy(array, end, array, start, size - end);
+		if(null != missing && !missing.isEmpty()) {
+			for(int i=end; i<size; i++)
+				missing.set(i - (end - start), missing.get(i));
+			missing.clear(size - (end - start), size);
+		}
+		size -= end - start;
+	}
+	
+	/**
+	 * Returns a read only view of part of the column.  The view shares the
+	 * arrays of the column: it stays valid while rows are appended, but not
+	 * after rows are removed.
+	 */
+	public ColumnView getView(int start, int end) {
+		if(start < 0 || end > size || start > end)
+			throw new ArrayIndexOutOfBoundsException(start);
+		return new ColumnView(type, longs, doubles, codes, dictionary, missing, start, end - start);
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public int getType() {
+		return type;
+	}
+	
+	/**
+	 * @return The number of distinct strings stored by a string column
+	 */
+	public int getDictionarySize() {
+		return (null == dictionary) ? 0 : dictionary.size();
+	}
+	
+	static double getDouble(int type, long[] longs, double[] doubles, int[] codes, ArrayList<String> dictionary, BitSet missing, int row) {
+		if(isMissing(missing, row))
+			return Double.NaN;
+		switch(type) {
+		case LONG:
+			return longs[row];
+		case DOUBLE:
+			return doubles[row];
+		case STRING:
+			int code = codes[row];
+			if(0 > code)
+				return Double.NaN;
+			try {
+				return Double.parseDouble(dictionary.get(code));
+			} catch(NumberFormatException nfe) {
+				return Double.NaN;
+			}
+		default:
+			return Double.NaN;
+		}
+	}
+	
+	static long getLong(int type, long[] longs, double[] doubles, int[] codes, ArrayList<String> dictionary, BitSet missing, int row) {
+		if(LONG == type)
+			return longs[row];
+		return (long)getDouble(type, longs, doubles, codes, dictionary, missing, row);
+	}
+	
+	static boolean isMissing(BitSet missing, int row) {
+		return null != missing && missing.get(row);
+	}
+	
+	private static boolean isMissing(Object value) {
+		return null == value || (value instanceof String && 0 == ((String)value).trim().length());
+	}
+	
+	/**
+	 * Compares a row read from columns with the original values of a row,
+	 * which may have been normalized when they were stored.
+	 */
+	static boolean sameRow(Object[] stored, Object[] original) {
+		if(null == original || stored.length != original.length)
+			return false;
+		for(int i=0; i<stored.length; i++) {
+			if(null == stored[i] || null == original[i]) {
+				if(stored[i] != original[i] && !(isMissing(stored[i]) && isMissing(original[i])))
+					return false;
+			} else if(!stored[i].toString().equals(original[i].toString())) {
+				Number n = toNumber(original[i]);
+				if(null == n || !(stored[i] instanceof Number) || ((Number)stored[i]).doubleValue() != n.doubleValue())
+					return false;
+			}
+		}
+		return true;
+	}
+	
+	private static Number toNumber(Object value) {
+		if(null == value)
+			return null;
+		try {
+			return NumberType.cleanObj2Num(value);
+		} catch(NumberFormatException nfe) {
+			return null;
+		}
+	}
+	
+	private void checkRow(int row) {
+		if(row < 0 || row >= size)
+			throw new ArrayIndexOutOfBoundsException(row);
+	}
+	
+	private void ensureCapacity(int capacity) {
+		if(capacity <= this.capacity)
+			return;
+		int newCapacity = Math.max(capacity, this.capacity + (this.capacity >> 1) + INITIAL_CAPACITY);
+		if(null != longs) {
+			long[] a = new long[newCapacity];
+			System.arraycopy(longs, 0, a, 0, size);
+			longs = a;
+		}
+		if(null != doubles) {
+			double[] a = new double[newCapacity];
+			System.arraycopy(doubles, 0, a, 0, size);
+			doubles = a;
+		}
+		if(null != codes) {
+			int[] a = new int[newCapacity];
+			System.arraycopy(codes, 0, a, 0, size);
+			codes = a;
+		}
+		this.capacity = newCapacity;
+	}
+	
+	/**
+	 * Converts the values already in the column to a wider type.
+	 */
+	private void promote(int newType) {
+		int i;
+		switch(newType) {
+		case LONG:
+			longs = new long[capacity];
+			break;
+		case DOUBLE:
+			doubles = new double[capacity];
+			for(i=0; i<size; i++)
+				doubles[i] = (LONG == type && !isMissing(missing, i)) ? longs[i] : Double.NaN;
+			longs = null;
+			break;
+		case STRING:
+			codes = new int[capacity];
+			dictionary = new ArrayList<String>();
+			codesByValue = new HashMap<String, Integer>();
+			for(i=0; i<size; i++) {
+				if(isMissing(missing, i))
+					codes[i] = -1;
+				else
+					codes[i] = encode((LONG == type) ? (Object)new Long(longs[i]) : (Object)new Double(doubles[i]));
+			}
+			longs = null;
+			doubles = null;
+			missing = null;	//A null code marks the missing strings
+			break;
+		}
+		type = newType;
+	}
+	
+	private int encode(Object value) {
+		if(null == value)
+			return -1;
+		String s = value.toString();
+		Integer code = codesByValue.get(s);
+		if(null == code) {
+			code = new Integer(dictionary.size());
+			dictionary.add(s);
+			codesByValue.put(s, code);
+		}
+		return code.intValue();
+	}
+	
+	private String decode(int code) {
+		return (0 > code) ? null : dictionary.get(code);
+	}
+	
+	private int type;
+	private int size;
+	private int capacity = 0;
+	private long[] longs;
+	private double[] doubles;
+	private int[] codes;
+	private ArrayList<String> dictionary;
+	private HashMap<String, Integer> codesByValue;
+	private BitSet missing;	//Missing values of a numeric column, null until there is one
+	
+	public static final int NONE = -1;
+	public static final int LONG = 0;
+	public static final int DOUBLE = 1;
+	public static final int STRING = 2;
+	
+	private static final int INITIAL_CAPACITY = 16;
+}
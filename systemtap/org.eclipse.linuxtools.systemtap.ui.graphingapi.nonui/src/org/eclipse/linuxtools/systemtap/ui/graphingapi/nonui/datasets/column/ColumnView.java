@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+/**
+ * A read only window on a <code>Column</code> that shares its arrays, so
+ * that charts can go through the values without copying or boxing them.
+ */
+public final class ColumnView {
+	ColumnView(int type, long[] longs, double[] doubles, int[] codes, ArrayList<String> dictionary, BitSet missing, int offset, int size) {
+		this.type = type;
+		this.longs = longs;
+		this.doubles = doubles;
+		this.codes = codes;
+		this.dictionary = dictionary;
+		this.missing = missing;
+		this.offset = offset;
+		this.size = size;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return The <code>Column</code> type of the values
+	 */
+	public int getType() {
+		return type;
+	}
+	
+	public boolean isNumeric() {
+		return Column.LONG == type || Column.DOUBLE == type;
+	}
+	
+	/**
+	 * @return The value at index i, or NaN if it is missing or not a number
+	 */
+	public double getDouble(int i) {
+		return Column.getDouble(type, longs, doubles, codes, dictionary, missing, index(i));
+	}
+	
+	public long getLong(int i) {
+		return Column.getLong(type, longs, doubles, codes, dictionary, missing, index(i));
+	}
+	
+	/**
+	 * Copies the values of the view to an array, the same way as <code>getDouble</code>.
+	 * @param target The array receiving the values, from index 0
+	 */
+	public void getDoubles(double[] target) {
+		if(Column.DOUBLE == type) {	//Missing doubles are already stored as NaN
+			System.arraycopy(doubles, offset, target, 0, size);
+		} else {
+			for(int i=0; i<size; i++)
+				target[i] = Column.getDouble(type, longs, doubles, codes, dictionary, missing, offset + i);
+		}
+	}
+	
+	public boolean isMissing(int i) {
+		int row = index(i);
+		return Column.isMissing(missing, row) || (Column.STRING == type && 0 > codes[row]);
+	}
+	
+	/**
+	 * @return The value at index i, boxed, or null if it is missing
+	 */
+	public Object get(int i) {
+		int row = index(i);
+		if(Column.isMissing(missing, row))
+			return null;
+		switch(type) {
+		case Column.LONG:
+			return new Long(longs[row]);
+		case Column.DOUBLE:
+			return new Double(doubles[row]);
+		case Column.STRING:
+			return (0 > codes[row]) ? null : dictionary.get(codes[row]);
+		default:
+			return null;
+		}
+	}
+	
+	/**
+	 * @return The smallest number of the view, NaN if there is none
+	 */
+	public double getMin() {
+		double min = Double.NaN;
+		double d;
+		for(int i=0; i<size; i++) {
+			d = getDouble(i);
+			if(d < min || (Double.isNaN(min) && !Double.isNaN(d)))
+				min = d;
+		}
+		return min;
+	}
+	
+	/**
+	 * @return The largest number of the view, NaN if there is none
+	 */
+	public double getMax() {
+		double max = Double.NaN;
+		double d;
+		for(int i=0; i<size; i++) {
+			d = getDouble(i);
+			if(d > max || (Double.isNaN(max) && !Double.isNaN(d)))
+				max = d;
+		}
+		return max;
+	}
+	
+	private int index(int i) {
+		if(i < 0 || i >= size)
+			throw new ArrayIndexOutOfBoundsException(i);
+		return offset + i;
+	}
+	
+	private final int type;
+	private final long[] longs;
+	private final double[] doubles;
+	private final int[] codes;
+	private final ArrayList<String> dictionary;
+	private final BitSet missing;
+	private final int offset;
+	private final int size;
+}
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IColumnarDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.internal.Localization;
+
+
+
+/**
+ * A <code>RowDataSet</code> replacement that keeps each column in a primitive
+ * <code>Column</code> instead of keeping one <code>RowEntry</code> per sample.
+ * Rows are rebuilt on demand by <code>getRow</code> and <code>getEntry</code>.
+ */
+public class ColumnarDataSet implements IColumnarDataSet {
+	//IDataSet Methods
+	public ColumnarDataSet(String[] titles) {
+		this.titles = titles;
+		columns = new Column[(null == titles) ? 0 : titles.length];
+		for(int i=0; i<columns.length; i++)
+			columns[i] = new Column();
+		rowCount = 0;
+	}
+
+	public void setData(IDataEntry entry) {
+		append(entry);
+	}
+	
+	public void append(IDataEntry entry) throws ArrayIndexOutOfBoundsException {
+		Object[] row = entry.getRow(null);
+		if(row.length != this.getColCount())
+			throw new ArrayIndexOutOfBoundsException(Localization.getString("RowDataSet.ArraySizeMismatch") + row.length + " != " + this.getColCount());
+
+		for(int i=0; i<columns.length; i++)
+			columns[i].append(row[i]);
+		rowCount++;
+		modCount++;
+	}
+	
+	public String[] getTitles() {
+		return titles;
+	}
+	
+	public Object[] getColumn(int col) {
+		return getColumn(col, 0, getRowCount());
+	}
+	
+	public Object[] getColumn(int col, int start, int end) {
+		return getHistoricalData(null, col, start, end);
+	}
+	
+	public ColumnView getColumnView(int col, int start, int end) {
+		if(start > end || start < 0 || end > getRowCount() || col < 0 || col >= this.getColCount())
+			return null;
+		return columns[col].getView(start, end);
+	}
+	
+	public Object[] getRow(int row) {
+		return getRow(row, null);
+	}
+	
+	/**
+	 * Same as <code>getRow</code>, but fills the provided array when there is one.
+	 */
+	Object[] getRow(int row, Object[] target) {
+		if(row < 0 || row >= rowCount)
+			return null;
+		Object[] o = (null == target) ? new Object[columns.length] : target;
+		for(int i=0; i<columns.length; i++)
+			o[i] = columns[i].get(row);
+		return o;
+	}
+	
+	public int getRowCount() {
+		return rowCount;
+	}
+	
+	public int getColCount() {
+		if(null == titles)
+			return -1;
+		return titles.length;
+	}
+	
+	public boolean readFromFile(File file) {
+		BufferedReader br = null;
+		try {
+			br = new BufferedReader(new FileReader(file));
+			
+			br.readLine();	//Skip the ID
+			br.readLine();	//Skip the Titles
+			String line;
+			RowEntry entry;
+			while(null != (line = br.readLine())) {
+				entry = new RowEntry();
+				entry.putRow(0, splitRow(line));
+				append(entry);
+			}
+			return true;
+		} catch(FileNotFoundException fnfe) {
+		} catch(IOException ioe) {
+		} catch(ArrayIndexOutOfBoundsException aioobe) {
+		} finally {
+			try {
+				if(null != br)
+					br.close();
+			} catch(IOException ioe) {}
+		}
+		return false;
+	}
+	
+	public boolean writeToFile(File file) {
+		try {
+			file.createNewFile();
+			FileOutputStream fos = new FileOutputStream(file);
+			PrintStream ps = new PrintStream(fos);
+			StringBuilder b = new StringBuilder();
+
+			//ID
+			b.append(ID + "\n");
+			
+			//Labels
+			int i, j;
+			for(i=0; i<titles.length; i++) 
+				b.append(titles[i] + ", ");
+			b.append("\n");
+			
+			//Data
+			for(i=0; i<rowCount; i++) {
+				for(j=0; j<columns.length; j++)
+					b.append((columns[j].isMissing(i) ? "" : columns[j].getString(i)) + ", ");
+				b.append("\n");
+			}
+			ps.print(b.toString());
+			ps.close();
+			return true;
+		} catch(FileNotFoundException e) {
+		} catch(IOException e) {}
+		return false;
+	}
+	
+	public String getID() {
+		return ID;
+	}
+	//End IDataSet Methods
+	
+	//IHistoricalDataSet Methods
+	public Object[] getHistoricalData(String key, int col) {
+		return getHistoricalData(key, col, 0, getRowCount());
+	}
+	
+	public Object[] getHistoricalData(String key, int col, int start, int end) {
+		if(start > end || start < 0 || end > getRowCount() || col < COL_ROW_NUM || col >= this.getColCount())
+			return null;
+
+		if(COL_ROW_NUM == col) {
+			Integer[] rows = new Integer[end-start];
+			for(int i=0;i<rows.length; i++)
+				rows[i] = new Integer(start+i+1);
+			return rows;
+		}
+
+		Object[] d = new Object[end-start];
+		for(int i=0; i<d.length; i++)
+			d[i] = columns[col].get(start+i);
+		return d;
+	}
+	
+	public int getEntryCount() {
+		return rowCount;
+	}
+	
+	public boolean remove(IDataEntry entry) {
+		if(null == entry)
+			return false;
+		Object[] row = entry.getRow(null);
+		for(int i=0; i<rowCount; i++) {
+			if(Column.sameRow(getRow(i), row))
+				return remove(i);
+		}
+		return false;
+	}
+	
+	public boolean remove(int entry) {
+		if(entry < 0 || entry >= rowCount)
+			return false;
+		for(int i=0; i<columns.length; i++)
+			columns[i].remove(entry, entry+1);
+		rowCount--;
+		modCount++;
+		return true;
+	}
+	
+	public IDataEntry getEntry(int entry) {
+		if(entry < 0 || entry >= getEntryCount())
+			return null;
+		RowEntry e = new RowEntry();
+		e.putRow(0, getRow(entry));
+		return e;
+	}
+	//End IHistoricalDataSet Methods
+	
+	/**
+	 * Splits a row written by <code>writeToFile</code>.  Each value is
+	 * followed by ", ", and missing values are written as empty strings, so
+	 * the trailing ones must be kept.
+	 */
+	static String[] splitRow(String line) {
+		if(line.endsWith(", "))
+			line = line.substring(0, line.length() - 2);
+		return line.split(", ", -1);
+	}
+	
+	/**
+	 * @return The number of rows appended or removed so far, which tells
+	 * <code>FilteredColumnarDataSet</code> whether rows were only appended
+	 */
+	int getModCount() {
+		return modCount;
+	}
+	
+	private Column[] columns;
+	private int rowCount;
+	private int modCount = 0;
+	private String[] titles;
+	public static final String ID = "org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.columnardataset";
+}
@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IBlockDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IColumnarDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.table.TableEntry;
+
+
+
+/**
+ * A <code>TableDataSet</code> replacement that keeps the rows of all of its
+ * tables in primitive <code>Columns</code>.  Table i is made of the rows
+ * <code>entryStarts[i]</code> to <code>entryStarts[i+1]</code>.
+ */
+public class ColumnarTableDataSet implements IColumnarDataSet, IBlockDataSet {
+	public ColumnarTableDataSet(String[] labels) {
+		if(null == labels)
+			this.titles = new String[0];
+		else {
+			this.titles = labels;
+		}
+		columns = new Column[titles.length];
+		for(int i=0; i<columns.length; i++)
+			columns[i] = new Column();
+		entryStarts = new int[INITIAL_ENTRIES + 1];
+		entryCount = 0;
+	}
+	
+	//IDataSet Methods
+	public String[] getTitles() {
+		return titles;
+	}
+	
+	public String getID() {
+		return ID;
+	}
+	
+	public boolean readFromFile(File file) {
+		BufferedReader br = null;
+		try {
+			br = new BufferedReader(new FileReader(file));
+			
+			br.readLine();	//Skip the ID
+			br.readLine();	//Skip the Titles
+			String line;
+			TableEntry entry = new TableEntry();
+			while(null != (line = br.readLine())) {
+				if(line.equals("")) {
+					append(entry);
+					entry = new TableEntry();
+				} else
+					entry.add(ColumnarDataSet.splitRow(line));
+			}
+			return true;
+		} catch(FileNotFoundException fnfe) {
+		} catch(IOException ioe) {
+		} catch(ArrayIndexOutOfBoundsException aioobe) {
+		} finally {
+			try {
+				if(null != br)
+					br.close();
+			} catch(IOException ioe) {}
+		}
+		return false;
+	}
+	
+	public boolean writeToFile(File file) {
+		try {
+			file.createNewFile();
+			FileOutputStream fos = new FileOutputStream(file);
+			PrintStream ps = new PrintStream(fos);
+			StringBuilder b = new StringBuilder();
+
+			//ID
+			b.append(ID + "\n");
+			
+			//Labels
+			int i, j, k;
+			for(i=0; i<titles.length; i++) 
+				b.append(titles[i] + ", ");
+			b.append("\n");
+			
+			//Data
+			for(i=0; i<entryCount; i++) {
+				for(j=entryStarts[i]; j<entryStarts[i+1]; j++) {
+					for(k=0; k<columns.length; k++)
+						b.append((columns[k].isMissing(j) ? "" : columns[k].getString(j)) + ", ");
+					b.append("\n");
+				}
+				b.append("\n");
+			}
+			ps.print(b.toString());
+			ps.close();
+			return true;
+		} catch(FileNotFoundException e) {
+		} catch(IOException e) {}
+		return false;
+	}
+	
+	public int getRowCount() {
+		if(entryCount > 0)
+			return entryStarts[entryCount] - entryStarts[entryCount-1];
+		else
+			return 0;
+	}
+
+	public int getColCount() {
+		return titles.length;
+	}
+	
+	public Object[] getRow(int row) {
+		if(row < 0 || row >= getRowCount())
+			return null;
+		return getTableRow(entryStarts[entryCount-1] + row);
+	}
+	
+	public Object[] getColumn(int col) {
+		return getColumn(col, 0, getRowCount());
+	}
+	
+	public Object[] getColumn(int col, int start, int end) {
+		if(start > end || start < 0 || end > getRowCount() || col < COL_ROW_NUM || col >= this.getColCount())
+			return null;
+		if(COL_ROW_NUM == col) {
+			Integer[] rows = new Integer[end-start];
+			for(int i=0;i<rows.length; i++)
+				rows[i] = new Integer(start+i+1);
+			return rows;
+		}
+		int first = entryStarts[entryCount-1];
+		Object[] d = new Object[end-start];
+		for(int i=0; i<d.length; i++)
+			d[i] = columns[col].get(first+start+i);
+		return d;
+	}
+	
+	public ColumnView getColumnView(int col, int start, int end) {
+		if(start > end || start < 0 || end > getRowCount() || col < 0 || col >= this.getColCount())
+			return null;
+		int first = (entryCount > 0) ? entryStarts[entryCount-1] : 0;
+		return columns[col].getView(first+start, first+end);
+	}
+
+	public void setData(IDataEntry data) {
+		append(data);
+	}
+	
+	public boolean remove(IDataEntry entry) {
+		if(!(entry instanceof TableEntry))
+			return false;
+		for(int i=0; i<entryCount; i++) {
+			if(sameData(i, entry.getData()))
+				return remove(i);
+		}
+		return false;
+	}
+	//End IDataSet Methods
+	
+	//IHistoricalDataSet Methods	
+	public void append(IDataEntry data) {
+		if(!(data instanceof TableEntry))
+			return;
+		
+		if(entryCount + 1 == entryStarts.length) {
+			int[] a = new int[entryStarts.length * 2];
+			System.arraycopy(entryStarts, 0, a, 0, entryStarts.length);
+			entryStarts = a;
+		}
+		
+		Object[] row;
+		for(int i=0; i<data.getRowCount(); i++) {
+			row = data.getRow(i);
+			for(int j=0; j<columns.length; j++)
+				columns[j].append((j < row.length) ? row[j] : null);
+		}
+		entryStarts[entryCount+1] = entryStarts[entryCount] + data.getRowCount();
+		entryCount++;
+		modCount++;
+	}
+	
+	public Object[] getHistoricalData(String key, int col) {
+		return getHistoricalData(key, col, 0, getEntryCount());
+	}
+	
+	public Object[] getHistoricalData(String key, int col, int start, int end) {
+		if(start > end || start < 0 || end > getEntryCount() || col < COL_ROW_NUM || col >= this.getColCount())
+			return null;
+
+		if(COL_ROW_NUM == col) {
+			Integer[] rows = new Integer[end-start];
+			for(int i=0;i<rows.length; i++)
+				rows[i] = new Integer(start+i+1);
+			return rows;
+		}
+		
+		Object[] d = new Object[end-start];
+		int row;
+		for(int i=0; i<d.length; i++) {
+			row = findRow(start+i, key);
+			d[i] = (0 > row) ? null : columns[col].get(row);
+			if(null == d[i])
+				d[i] = new Integer(0);
+		}
+		return d;
+	}
+
+	public int getEntryCount() {
+		return entryCount;
+	}
+	
+	public IDataEntry getEntry(int entry) {
+		if(entry < 0 || entry >= getEntryCount())
+			return null;
+		TableEntry e = new TableEntry();
+		for(int i=entryStarts[entry]; i<entryStarts[entry+1]; i++)
+			e.add(getTableRow(i));
+		return e;
+	}
+	
+	public boolean remove(int entry) {
+		if(entry < 0 || entry >= entryCount)
+			return false;
+		int start = entryStarts[entry];
+		int end = entryStarts[entry+1];
+		for(int i=0; i<columns.length; i++)
+			columns[i].remove(start, end);
+		for(int i=entry+1; i<=entryCount; i++)
+			entryStarts[i-1] = entryStarts[i] - (end - start);
+		entryCount--;
+		modCount++;
+		return true;
+	}
+	//End IHistoricalDataSet Methods
+	
+	//IBlockDataSet Methods
+	public Object[][] getData() {
+		Object[][] d = new Object[getRowCount()][];
+		for(int i=0; i<d.length; i++)
+			d[i] = getRow(i);
+		return d;
+	}
+	//End IBlockDataSet Methods
+	
+	/**
+	 * @return The number of tables appended or removed so far
+	 */
+	int getModCount() {
+		return modCount;
+	}
+	
+	private Object[] getTableRow(int row) {
+		Object[] o = new Object[columns.length];
+		for(int i=0; i<columns.length; i++)
+			o[i] = columns[i].get(row);
+		return o;
+	}
+	
+	/**
+	 * Finds the row of a table whose first column matches the key, the way
+	 * <code>TableEntry.getRow(String)</code> does.
+	 */
+	private int findRow(int entry, String key) {
+		if(null == key || 0 == columns.length)
+			return -1;
+		for(int i=entryStarts[entry]; i<entryStarts[entry+1]; i++)
+			if(key.equals(columns[0].getString(i)))
+				return i;
+		return -1;
+	}
+	
+	private boolean sameData(int entry, Object[][] rows) {
+		if(rows.length != entryStarts[entry+1] - entryStarts[entry])
+			return false;
+		for(int i=0; i<rows.length; i++) {
+			if(!Column.sameRow(getTableRow(entryStarts[entry] + i), rows[i]))
+				return false;
+		}
+		return true;
+	}
+	
+	private Column[] columns;
+	private int[] entryStarts;
+	private int entryCount;
+	private int modCount = 0;
+	private String[] titles;
+	
+	public static final String ID = "org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.columnartabledataset";
+	private static final int INITIAL_ENTRIES = 16;
+}
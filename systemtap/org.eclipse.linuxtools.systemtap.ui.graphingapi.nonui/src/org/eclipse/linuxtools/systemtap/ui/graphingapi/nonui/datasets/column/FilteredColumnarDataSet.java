@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IFilteredDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IDataSetFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IncrementalFilterChain;
+
+
+
+/**
+ * The <code>FilteredRowDataSet</code> of a <code>ColumnarDataSet</code>.  The
+ * filtered rows are kept as entries, the original rows stay in their columns.
+ * Rows appended since the last call go through the filters incrementally when
+ * possible; any removal from the original makes the filters start over.
+ */
+public class FilteredColumnarDataSet extends RowDataSet implements IFilteredDataSet {
+	public FilteredColumnarDataSet(ColumnarDataSet data) {
+		super(data.getTitles());
+		original = data;
+		filters = new ArrayList<IDataSetFilter>();
+
+		filtersChanged = true;
+		dataCount = 0;
+		modCount = 0;
+	}
+	
+	public FilteredColumnarDataSet(String[] titles) {
+		this(new ColumnarDataSet(titles));
+	}
+	
+	public String getID() {
+		return original.getID();
+	}
+	
+	//Overwrite methods to insure data is removed from the original DataSet
+	public void append(IDataEntry entry) throws ArrayIndexOutOfBoundsException {
+		original.append(entry);
+	}
+	
+	public boolean remove(IDataEntry entry) {
+		return original.remove(entry);
+	}
+	
+	public boolean remove(int entry) {
+		return original.remove(entry);
+	}
+	//End overwrite methods to insure data is removed from the original DataSet
+	
+ 	//Overwrite to ensure the data returned has all the filters applied
+	public Object[] getColumn(int col, int start, int end) {
+		rebuildDataSet();
+		return super.getColumn(col, start, end);
+	}
+
+	public Object[] getRow(int row) {
+		rebuildDataSet();
+		if(data instanceof RowList)
+			return ((RowList)data).getRow(row);
+		return super.getRow(row);
+	}
+	
+	//public int getRowCount() - calls getEntryCount();
+	
+	public Object[] getHistoricalData(String key, int col, int start, int end) {
+		rebuildDataSet();
+		if(data instanceof RowList && 0 <= col && col < getColCount() && 0 <= start && start <= end && end <= data.size())
+			return ((RowList)data).getColumn(col, start, end);
+		return super.getHistoricalData(key, col, start, end);
+	}
+	
+	public int getEntryCount() {
+		rebuildDataSet();
+		return super.getEntryCount();
+	}
+	
+	public IDataEntry getEntry(int entry) {
+		rebuildDataSet();
+		return super.getEntry(entry);
+	}
+ 	//End overwrite to ensure the data returned has all the filters applied
+
+	//IFilteredDataSet Methods
+	public void addFilter(IDataSetFilter filter) {
+		filters.add(filter);
+		filtersChanged = true;
+	}
+	
+	public boolean removeFilter(IDataSetFilter filter) {
+		boolean removed = filters.remove(filter);
+		if(removed)
+			filtersChanged = true;
+		return removed;
+	}
+	
+	public void clearFilters() {
+		filters.clear();
+		filtersChanged = true;
+	}
+	
+	public IDataSetFilter[] getFilters() {
+		IDataSetFilter[] f = new IDataSetFilter[filters.size()];
+		filters.toArray(f);
+		return f;
+	}
+	//End IFilteredDataSet Methods
+	
+	/**
+	 * Brings the filtered data up to date with the original data set.  The
+	 * original counts its changes, so rows that were only appended since the
+	 * last call are told apart from removals.
+	 */
+	@SuppressWarnings("unchecked")
+	private void rebuildDataSet() {
+		boolean rebuild = filtersChanged;
+		if(filtersChanged) {
+			filtersChanged = false;
+			chain = new IncrementalFilterChain(getFilters(), original.getColCount());
+		}
+		
+		int count = original.getRowCount();
+		int mods = original.getModCount();
+		if(!rebuild && mods == modCount)
+			return;
+		if(rebuild || mods - modCount != count - dataCount) {
+			chain.clear();
+			dataCount = 0;
+		}
+		modCount = mods;
+
+		if(chain.isIncremental()) {
+			Object[] row = null;
+			for(; dataCount<count && chain.isIncremental(); dataCount++) {
+				row = original.getRow(dataCount, row);
+				if(chain.accept(row)) {
+					chain.keep(row);
+					row = null;	//The chain keeps the row, the next one needs its own
+				}
+			}
+			if(chain.isIncremental()) {
+				setFilteredData(chain.getRows());
+				return;
+			}
+		}
+		
+		dataCount = count;
+		ArrayList[] filterData = getFilterData();
+		for(int i=0; i<filters.size(); i++)
+			filterData = ((IDataSetFilter)filters.get(i)).filter(filterData);
+		setFilteredData(filterData);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private ArrayList[] getFilterData() {
+		ArrayList[] data = new ArrayList[original.getColCount()];
+		for(int i=0; i<data.length; i++)
+			data[i] = new ArrayList<Object>();
+
+		Object[] row;
+		for(int j,i=0; i<original.getRowCount(); i++) {
+			row = original.getRow(i);
+			for(j=0; j<data.length; j++)
+				data[j].add(row[j]);
+		}
+		
+		return data;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void setFilteredData(ArrayList[] data) {
+		this.data = new ArrayList<IDataEntry>();
+		
+		RowEntry entry;
+		Object[] row;
+		for(int j,i=0; i<data[0].size(); i++) {
+			row = new Object[data.length];
+			entry = new RowEntry();
+			for(j=0; j<data.length; j++)
+				row[j] = data[j].get(i);
+			entry.putRow(0, row);
+			this.data.add(entry);
+		}
+	}
+
+	/**
+	 * Shows the rows of the chain as entries, without copying them.
+	 */
+	private void setFilteredData(List<Object[]> rows) {
+		this.data = new RowList(rows);
+	}
+	
+	/**
+	 * The filtered rows as entries.  An entry is only made when one is asked
+	 * for; the rows and columns are read from the rows directly.
+	 */
+	private static final class RowList extends AbstractList<IDataEntry> {
+		RowList(List<Object[]> rows) {
+			this.rows = rows;
+		}
+		
+		public IDataEntry get(int index) {
+			RowEntry entry = new RowEntry();
+			entry.putRow(0, rows.get(index));
+			return entry;
+		}
+		
+		public int size() {
+			return rows.size();
+		}
+		
+		Object[] getRow(int row) {
+			if(row < 0 || row >= rows.size())
+				return null;
+			return rows.get(row);
+		}
+		
+		Object[] getColumn(int col, int start, int end) {
+			Object[] d = new Object[end - start];
+			for(int i=0; i<d.length; i++)
+				d[i] = rows.get(start+i)[col];
+			return d;
+		}
+		
+		List<Object[]> rows;
+	}
+
+	private ColumnarDataSet original;
+	private ArrayList<IDataSetFilter> filters;
+	private IncrementalFilterChain chain;
+
+	private boolean filtersChanged;
+	private int dataCount;
+	private int modCount;
+}
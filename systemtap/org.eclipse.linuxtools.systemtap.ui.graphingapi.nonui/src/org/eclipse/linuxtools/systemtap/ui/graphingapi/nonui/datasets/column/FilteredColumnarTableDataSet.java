@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IFilteredDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.table.TableDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.table.TableEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IDataSetFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IncrementalFilterChain;
+
+
+
+/**
+ * The <code>FilteredTableDataSet</code> of a <code>ColumnarTableDataSet</code>.
+ * Only the latest table is filtered, and only again once the original changed.
+ */
+public class FilteredColumnarTableDataSet extends TableDataSet implements IFilteredDataSet {
+	public FilteredColumnarTableDataSet(ColumnarTableDataSet data) {
+		super(data.getTitles());
+		original = data;
+		filters = new ArrayList<IDataSetFilter>();
+
+		filtersChanged = true;
+		modCount = 0;
+	}
+	
+	public FilteredColumnarTableDataSet(String[] titles) {
+		this(new ColumnarTableDataSet(titles));
+	}
+	
+	public String getID() {
+		return original.getID();
+	}
+
+	//Overwrite methods to insure data is removed from the original DataSet
+	public void append(IDataEntry entry) throws ArrayIndexOutOfBoundsException {
+		original.append(entry);
+	}
+	
+	public boolean remove(IDataEntry entry) {
+		return original.remove(entry);
+	}
+	
+	public boolean remove(int entry) {
+		return original.remove(entry);
+	}
+	//End overwrite methods to insure data is removed from the original DataSet
+	
+ 	//Overwrite to ensure the data returned has all the filters applied
+	public Object[] getColumn(int col, int start, int end) {
+		rebuildDataSet();
+		return super.getColumn(col, start, end);
+	}
+
+	public Object[] getRow(int row) {
+		rebuildDataSet();
+		return super.getRow(row);
+	}
+	
+	public int getRowCount() {
+		rebuildDataSet();
+		return super.getRowCount();
+	}
+
+	public Object[] getHistoricalData(String key, int col, int start, int end) {
+		return original.getHistoricalData(key, col, start, end);
+	}
+	
+	public int getEntryCount() {
+		return original.getEntryCount();
+	}
+	
+	public IDataEntry getEntry(int entry) {
+		return original.getEntry(entry);
+	}
+
+	public Object[][] getData() {
+		rebuildDataSet();
+		return super.getData();
+	}
+ 	//End overwrite to ensure the data returned has all the filters applied
+
+	//IFilteredDataSet Methods
+	public void addFilter(IDataSetFilter filter) {
+		filters.add(filter);
+		filtersChanged = true;
+	}
+	
+	public boolean removeFilter(IDataSetFilter filter) {
+		boolean removed = filters.remove(filter);
+		if(removed)
+			filtersChanged = true;
+		return removed;
+	}
+	
+	public void clearFilters() {
+		filters.clear();
+		filtersChanged = true;
+	}
+	
+	public IDataSetFilter[] getFilters() {
+		IDataSetFilter[] f = new IDataSetFilter[filters.size()];
+		filters.toArray(f);
+		return f;
+	}
+	//End IFilteredDataSet Methods
+	
+	/**
+	 * Filters the latest table again when the original or the filters changed.
+	 */
+	@SuppressWarnings("unchecked")
+	private void rebuildDataSet() {
+		if(!filtersChanged && modCount == original.getModCount())
+			return;
+		if(filtersChanged)
+			chain = new IncrementalFilterChain(getFilters(), original.getColCount());
+		filtersChanged = false;
+		modCount = original.getModCount();
+
+		chain.clear();
+		Object[][] table = original.getData();
+		for(int i=0; i<table.length && chain.isIncremental(); i++)
+			chain.add(table[i]);
+		if(chain.isIncremental()) {
+			setFilteredData(chain.getRows());
+			return;
+		}
+		
+		ArrayList[] filterData = getFilterData(table);
+		for(int i=0; i<filters.size(); i++)
+			filterData = ((IDataSetFilter)filters.get(i)).filter(filterData);
+		setFilteredData(filterData);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private ArrayList[] getFilterData(Object[][] table) {
+		ArrayList[] data = new ArrayList[original.getColCount()];
+		for(int i=0; i<data.length; i++)
+			data[i] = new ArrayList();
+		
+		for(int j,i=0; i<table.length; i++) {
+			for(j=0; j<data.length; j++)
+				data[j].add(table[i][j]);
+		}
+		
+		return data;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void setFilteredData(ArrayList[] data) {
+		this.data = new ArrayList<TableEntry>();
+		
+		TableEntry entry = new TableEntry();
+		Object[] row;
+		for(int j,i=0; i<data[0].size(); i++) {
+			row = new Object[data.length];
+			for(j=0; j<data.length; j++)
+				row[j] = data[j].get(i);
+			entry.add(row);
+		}
+		this.data.add(entry);
+	}
+
+	private void setFilteredData(List<Object[]> rows) {
+		this.data = new ArrayList<TableEntry>();
+		
+		TableEntry entry = new TableEntry();
+		for(int i=0; i<rows.size(); i++)
+			entry.add(rows.get(i));
+		this.data.add(entry);
+	}
+
+	private ColumnarTableDataSet original;
+	private IncrementalFilterChain chain;
+	private ArrayList<IDataSetFilter> filters;
+
+	private boolean filtersChanged;
+	private int modCount;
+}
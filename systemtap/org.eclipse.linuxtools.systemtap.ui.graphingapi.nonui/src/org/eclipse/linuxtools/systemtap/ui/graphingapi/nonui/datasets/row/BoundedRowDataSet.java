@@ -0,0 +1,416 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.AverageAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.IDataAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IHistoricalDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.internal.Localization;
+
+
+
+/**
+ * A <code>RowDataSet</code> that uses a constant amount of memory however
+ * long the script runs.  The newest samples are kept as they are in a ring of
+ * <code>capacity</code> entries.  When the ring is full, its oldest
+ * <code>factor</code> entries are summarized in one <code>BucketEntry</code>
+ * and moved to the next, coarser, ring, and so on for each level.  When the
+ * last ring is full, its buckets are merged by pairs, halving its resolution.
+ * The entries of the data set are the content of the rings, oldest first, so
+ * the whole history stays available at decreasing resolution.
+ *
+ * With a single level the data set is a plain retention window: the oldest
+ * samples are dropped.
+ */
+public class BoundedRowDataSet implements IHistoricalDataSet {
+	//IDataSet Methods
+	public BoundedRowDataSet(String[] titles) {
+		this(titles, DEFAULT_CAPACITY, DEFAULT_LEVELS, DEFAULT_FACTOR, new AverageAggregate());
+	}
+
+	/**
+	 * @param titles The column titles
+	 * @param capacity The number of entries kept at each level
+	 * @param levels The number of levels, including the raw samples
+	 * @param factor The number of entries summarized by a bucket of the next level
+	 * @param aggregate Selects the value shown for the numeric columns of the buckets
+	 */
+	public BoundedRowDataSet(String[] titles, int capacity, int levels, int factor, IDataAggregate aggregate) {
+		if(levels < 1)
+			throw new IllegalArgumentException("levels");
+		if(factor < 2 || capacity < factor)
+			throw new IllegalArgumentException("factor");
+		this.titles = titles;
+		this.factor = factor;
+		this.aggregate = aggregate;
+		this.levels = new Level[levels];
+		for(int i=0; i<levels; i++)
+			this.levels[i] = new Level(capacity);
+		sampleCount = 0;
+	}
+
+	public void setData(IDataEntry entry) {
+		append(entry);
+	}
+
+	public void append(IDataEntry entry) throws ArrayIndexOutOfBoundsException {
+		if(entry.getRow(null).length != this.getColCount())
+			throw new ArrayIndexOutOfBoundsException(Localization.getString("RowDataSet.ArraySizeMismatch") + entry.getRow(null).length + " != " + this.getColCount());
+
+		makeRoom(0);
+		levels[0].add(entry, sampleCount++);
+		modCount++;
+	}
+
+	public String[] getTitles() {
+		return titles;
+	}
+
+	public Object[] getColumn(int col) {
+		return getColumn(col, 0, getRowCount());
+	}
+
+	public Object[] getColumn(int col, int start, int end) {
+		return getHistoricalData(null, col, start, end);
+	}
+
+	public Object[] getRow(int row) {
+		IDataEntry entry = getEntry(row);
+		if(null != entry)
+			return entry.getRow(null);
+		return null;
+	}
+
+	public int getRowCount() {
+		return getEntryCount();
+	}
+
+	public int getColCount() {
+		if(null == titles)
+			return -1;
+		return titles.length;
+	}
+
+	public boolean readFromFile(File file) {
+		BufferedReader br = null;
+		try {
+			br = new BufferedReader(new FileReader(file));
+
+			br.readLine();	//Skip the ID
+			br.readLine();	//Skip the Titles
+			String line;
+			RowEntry entry;
+			while(null != (line = br.readLine())) {
+				entry = new RowEntry();
+				entry.putRow(0, line.split(", "));
+				append(entry);
+			}
+			return true;
+		} catch(FileNotFoundException fnfe) {
+		} catch(IOException ioe) {
+		} catch(ArrayIndexOutOfBoundsException aioobe) {
+		} finally {
+			if(null != br) {
+				try {
+					br.close();
+				} catch(IOException ioe) {}
+			}
+		}
+		return false;
+	}
+
+	public boolean writeToFile(File file) {
+		PrintStream ps = null;
+		try {
+			file.createNewFile();
+			ps = new PrintStream(new FileOutputStream(file));
+
+			String line = "";
+			Object[] dataRow;
+
+			//ID
+			ps.print(ID + "\n");
+
+			//Labels
+			int i, j;
+			for(i=0; i<titles.length; i++)
+				line += titles[i] + ", ";
+			ps.print(line + "\n");
+
+			//Data
+			for(i=0; i<getRowCount(); i++) {
+				dataRow = getRow(i);
+				line = "";
+				for(j=0; j<dataRow.length; j++)
+					line += dataRow[j].toString() + ", ";
+				ps.print(line + "\n");
+			}
+			return !ps.checkError();
+		} catch(FileNotFoundException e) {
+		} catch(IOException e) {
+		} finally {
+			if(null != ps)
+				ps.close();
+		}
+		return false;
+	}
+
+	public String getID() {
+		return ID;
+	}
+	//End IDataSet Methods
+
+	//IHistoricalDataSet Methods
+	public Object[] getHistoricalData(String key, int col) {
+		return getHistoricalData(key, col, 0, getRowCount());
+	}
+
+	/**
+	 * Returns the values of a column.  For <code>COL_ROW_NUM</code> the values
+	 * are the numbers of the first sample of each entry, so that charts keep
+	 * the real position of the samples once they are downsampled.
+	 */
+	public Object[] getHistoricalData(String key, int col, int start, int end) {
+		if(start > end || start < 0 || end > getRowCount() || col < COL_ROW_NUM || col >= this.getColCount())
+			return null;
+
+		Object[] d = (COL_ROW_NUM == col) ? new Integer[end-start] : new Object[end-start];
+		int level = levels.length - 1;
+		int index = start;
+		while(level > 0 && index >= levels[level].size)
+			index -= levels[level--].size;
+
+		for(int i=0; i<d.length; i++, index++) {
+			while(index >= levels[level].size) {
+				index -= levels[level].size;
+				level--;
+			}
+			if(COL_ROW_NUM == col)
+				d[i] = new Integer((int)levels[level].getFirst(index) + 1);
+			else
+				d[i] = levels[level].get(index).getColumn(col)[0];
+		}
+		return d;
+	}
+
+	public int getEntryCount() {
+		int count = 0;
+		for(int i=0; i<levels.length; i++)
+			count += levels[i].size;
+		return count;
+	}
+
+	public boolean remove(IDataEntry entry) {
+		for(int i=levels.length-1; i>=0; i--) {
+			for(int j=0; j<levels[i].size; j++) {
+				if(levels[i].get(j) == entry) {
+					levels[i].remove(j);
+					modCount++;
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	public boolean remove(int entry) {
+		if(entry < 0 || entry >= getEntryCount())
+			return false;
+		for(int i=levels.length-1; i>=0; i--) {
+			if(entry < levels[i].size) {
+				levels[i].remove(entry);
+				modCount++;
+				return true;
+			}
+			entry -= levels[i].size;
+		}
+		return false;
+	}
+
+	public IDataEntry getEntry(int entry) {
+		if(entry < 0 || entry >= getEntryCount())
+			return null;
+		for(int i=levels.length-1; i>=0; i--) {
+			if(entry < levels[i].size)
+				return levels[i].get(entry);
+			entry -= levels[i].size;
+		}
+		return null;
+	}
+	//End IHistoricalDataSet Methods
+
+	/**
+	 * @return The number of samples appended since the data set was created
+	 */
+	public long getSampleCount() {
+		return sampleCount;
+	}
+
+	/**
+	 * @return The number of samples covered by the entry, 1 for a raw sample
+	 */
+	public long getSampleCount(int entry) {
+		IDataEntry e = getEntry(entry);
+		if(e instanceof BucketEntry)
+			return ((BucketEntry)e).getSampleCount();
+		return (null == e) ? 0 : 1;
+	}
+
+	public int getCapacity() {
+		return levels[0].entries.length;
+	}
+
+	public int getLevelCount() {
+		return levels.length;
+	}
+
+	public int getFactor() {
+		return factor;
+	}
+
+	public IDataAggregate getAggregate() {
+		return aggregate;
+	}
+
+	/**
+	 * @return The number of appends and removals so far.  Any of them can
+	 * move entries between the levels, so a change of this count means that
+	 * the entries must be read again.
+	 */
+	int getModCount() {
+		return modCount;
+	}
+
+	/**
+	 * Ensures that the provided level can take one more entry, moving its
+	 * oldest entries to the next level if needed.
+	 */
+	private void makeRoom(int level) {
+		Level l = levels[level];
+		if(l.size < l.entries.length)
+			return;
+
+		if(level == levels.length - 1) {
+			if(0 == level)
+				l.removeOldest();
+			else
+				l.halve();
+			return;
+		}
+
+		BucketEntry bucket;
+		if(0 == level) {
+			Object[][] rows = new Object[factor][];
+			for(int i=0; i<factor; i++)
+				rows[i] = l.get(i).getRow(null);
+			bucket = new BucketEntry(rows, l.getFirst(0), aggregate);
+		} else {
+			BucketEntry[] buckets = new BucketEntry[factor];
+			for(int i=0; i<factor; i++)
+				buckets[i] = (BucketEntry)l.get(i);
+			bucket = new BucketEntry(buckets);
+		}
+		for(int i=0; i<factor; i++)
+			l.removeOldest();
+
+		makeRoom(level + 1);
+		levels[level + 1].add(bucket, bucket.getFirstSample());
+	}
+
+	/**
+	 * A ring of entries along with the index of their first sample.
+	 */
+	private static final class Level {
+		Level(int capacity) {
+			entries = new IDataEntry[capacity];
+			firsts = new long[capacity];
+			head = 0;
+			size = 0;
+		}
+
+		IDataEntry get(int i) {
+			return entries[(head + i) % entries.length];
+		}
+
+		long getFirst(int i) {
+			return firsts[(head + i) % entries.length];
+		}
+
+		void add(IDataEntry entry, long first) {
+			int i = (head + size) % entries.length;
+			entries[i] = entry;
+			firsts[i] = first;
+			size++;
+		}
+
+		void removeOldest() {
+			entries[head] = null;
+			head = (head + 1) % entries.length;
+			size--;
+		}
+
+		void remove(int index) {
+			for(int i=index; i<size-1; i++) {
+				entries[(head + i) % entries.length] = entries[(head + i + 1) % entries.length];
+				firsts[(head + i) % entries.length] = firsts[(head + i + 1) % entries.length];
+			}
+			size--;
+			entries[(head + size) % entries.length] = null;
+		}
+
+		/**
+		 * Merges the buckets by pairs.
+		 */
+		void halve() {
+			IDataEntry[] merged = new IDataEntry[entries.length];
+			long[] mergedFirsts = new long[entries.length];
+			int count = 0;
+			for(int i=0; i<size; i+=2, count++) {
+				if(i + 1 < size)
+					merged[count] = new BucketEntry(new BucketEntry[] {(BucketEntry)get(i), (BucketEntry)get(i+1)});
+				else
+					merged[count] = get(i);
+				mergedFirsts[count] = getFirst(i);
+			}
+			entries = merged;
+			firsts = mergedFirsts;
+			head = 0;
+			size = count;
+		}
+
+		IDataEntry[] entries;
+		long[] firsts;
+		int head;
+		int size;
+	}
+
+	private Level[] levels;
+	private long sampleCount;
+	private int modCount;
+	private int factor;
+	private IDataAggregate aggregate;
+	private String[] titles;
+
+	public static final int DEFAULT_CAPACITY = 1000;
+	public static final int DEFAULT_LEVELS = 4;
+	public static final int DEFAULT_FACTOR = 10;
+	public static final String ID = "org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.boundedrowdataset";
+}
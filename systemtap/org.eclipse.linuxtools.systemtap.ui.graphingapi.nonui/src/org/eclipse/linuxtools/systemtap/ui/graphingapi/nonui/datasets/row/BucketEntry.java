@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.CountAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.IDataAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.MaxAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.MinAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.SumAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.NumberType;
+
+/**
+ * A read only row summarizing a run of consecutive samples.  For each numeric
+ * column the bucket keeps the minimum, maximum and sum of the samples, so
+ * buckets can be merged again without going back to the samples.  The row
+ * returned by <code>getRow</code> holds, for each numeric column, the value
+ * selected by the aggregate of the bucket, and for the other columns the
+ * value of the last sample.
+ */
+public class BucketEntry implements IDataEntry {
+	/**
+	 * Creates a bucket from raw samples.
+	 * @param rows The samples, oldest first
+	 * @param firstSample The index of the first sample in the data set
+	 * @param aggregate Selects the value shown for the numeric columns
+	 */
+	public BucketEntry(Object[][] rows, long firstSample, IDataAggregate aggregate) {
+		int cols = rows[0].length;
+		init(cols, firstSample, rows.length, aggregate);
+
+		Number[] column = new Number[rows.length];
+		for(int i=0; i<cols; i++) {
+			last[i] = rows[rows.length-1][i];
+			try {
+				for(int j=0; j<rows.length; j++) {
+					if(null == rows[j][i])
+						throw new NumberFormatException();
+					column[j] = NumberType.cleanObj2Num(rows[j][i]);
+				}
+			} catch(NumberFormatException nfe) {
+				continue;
+			}
+			min[i] = MIN.aggregate(column);
+			max[i] = MAX.aggregate(column);
+			sum[i] = SUM.aggregate(column);
+		}
+	}
+
+	/**
+	 * Creates a bucket covering all the samples of the provided buckets.
+	 * @param buckets The buckets to merge, oldest first
+	 */
+	public BucketEntry(BucketEntry[] buckets) {
+		long count = 0;
+		for(int i=0; i<buckets.length; i++)
+			count += buckets[i].count;
+		int cols = buckets[0].getColCount();
+		init(cols, buckets[0].firstSample, count, buckets[0].aggregate);
+
+		Number[] mins = new Number[buckets.length];
+		Number[] maxs = new Number[buckets.length];
+		Number[] sums = new Number[buckets.length];
+		for(int i=0; i<cols; i++) {
+			last[i] = buckets[buckets.length-1].last[i];
+			boolean numeric = true;
+			for(int j=0; j<buckets.length && numeric; j++) {
+				mins[j] = buckets[j].min[i];
+				maxs[j] = buckets[j].max[i];
+				sums[j] = buckets[j].sum[i];
+				numeric = (null != mins[j]);
+			}
+			if(numeric) {
+				min[i] = MIN.aggregate(mins);
+				max[i] = MAX.aggregate(maxs);
+				sum[i] = SUM.aggregate(sums);
+			}
+		}
+	}
+
+	private void init(int cols, long firstSample, long count, IDataAggregate aggregate) {
+		this.firstSample = firstSample;
+		this.count = count;
+		this.aggregate = aggregate;
+		min = new Number[cols];
+		max = new Number[cols];
+		sum = new Number[cols];
+		last = new Object[cols];
+	}
+
+	public int getRowCount() {
+		return 1;
+	}
+
+	public int getColCount() {
+		return last.length;
+	}
+
+	public Object get(String key, int col) {
+		return (0 <= col && col < getColCount()) ? getRow(null)[col] : null;
+	}
+
+	public Object[] getRow(int row) {
+		if(0 == row)
+			return getRow(null);
+		return null;
+	}
+
+	public Object[] getRow(String key) {
+		if(null == row) {
+			row = new Object[last.length];
+			for(int i=0; i<row.length; i++)
+				row[i] = getValue(i);
+		}
+		return row;
+	}
+
+	public Object[] getColumn(int col) {
+		if(0 <= col && getColCount() > col)
+			return new Object[] {get(null, col)};
+		return null;
+	}
+
+	public Object[][] getData() {
+		return new Object[][] {getRow(null)};
+	}
+
+	/**
+	 * Buckets are read only, so the copy is the bucket itself.
+	 */
+	public IDataEntry copy() {
+		return this;
+	}
+
+	public void putRow(int row, Object[] data) {}
+
+	public boolean remove(int row) {
+		return false;
+	}
+
+	/**
+	 * @return The smallest sample of the column, or null if the column is not numeric
+	 */
+	public Number getMin(int col) {
+		return min[col];
+	}
+
+	/**
+	 * @return The largest sample of the column, or null if the column is not numeric
+	 */
+	public Number getMax(int col) {
+		return max[col];
+	}
+
+	/**
+	 * @return The total of the samples of the column, or null if the column is not numeric
+	 */
+	public Number getSum(int col) {
+		return sum[col];
+	}
+
+	/**
+	 * @return The number of samples covered by the bucket
+	 */
+	public long getSampleCount() {
+		return count;
+	}
+
+	/**
+	 * @return The index of the first sample covered by the bucket
+	 */
+	public long getFirstSample() {
+		return firstSample;
+	}
+
+	private Object getValue(int col) {
+		if(null == min[col])
+			return last[col];
+
+		String id = (null == aggregate) ? null : aggregate.getID();
+		if(MinAggregate.ID.equals(id))
+			return min[col];
+		else if(MaxAggregate.ID.equals(id))
+			return max[col];
+		else if(SumAggregate.ID.equals(id))
+			return sum[col];
+		else if(CountAggregate.ID.equals(id))
+			return new Long(count);
+		return NumberType.getNumber(sum[col], sum[col].doubleValue() / count);
+	}
+
+	private Number[] min;
+	private Number[] max;
+	private Number[] sum;
+	private Object[] last;
+	private Object[] row;
+	private long count;
+	private long firstSample;
+	private IDataAggregate aggregate;
+
+	private static final IDataAggregate MIN = new MinAggregate();
+	private static final IDataAggregate MAX = new MaxAggregate();
+	private static final IDataAggregate SUM = new SumAggregate();
+}
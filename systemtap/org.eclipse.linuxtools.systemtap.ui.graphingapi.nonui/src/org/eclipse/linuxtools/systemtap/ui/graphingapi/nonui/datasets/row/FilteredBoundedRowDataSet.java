@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row;
+
+import java.util.ArrayList;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IFilteredDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IDataSetFilter;
+
+
+
+/**
+ * The <code>FilteredRowDataSet</code> of a <code>BoundedRowDataSet</code>.
+ * Appending to the original can merge or drop any of its entries, so the
+ * filters are applied again to all of them whenever it changed.  Without
+ * filters the entries of the original are shown as they are, along with the
+ * sample numbers of <code>COL_ROW_NUM</code>.
+ */
+public class FilteredBoundedRowDataSet extends RowDataSet implements IFilteredDataSet {
+	public FilteredBoundedRowDataSet(BoundedRowDataSet data) {
+		super(data.getTitles());
+		original = data;
+		filters = new ArrayList<IDataSetFilter>();
+
+		filtersChanged = true;
+		modCount = 0;
+	}
+	
+	public FilteredBoundedRowDataSet(String[] titles) {
+		this(new BoundedRowDataSet(titles));
+	}
+	
+	public String getID() {
+		return original.getID();
+	}
+	
+	//Overwrite methods to insure data is removed from the original DataSet
+	public void append(IDataEntry entry) throws ArrayIndexOutOfBoundsException {
+		original.append(entry);
+	}
+	
+	public boolean remove(IDataEntry entry) {
+		return original.remove(entry);
+	}
+	
+	public boolean remove(int entry) {
+		return original.remove(entry);
+	}
+	//End overwrite methods to insure data is removed from the original DataSet
+	
+ 	//Overwrite to ensure the data returned has all the filters applied
+	public Object[] getColumn(int col, int start, int end) {
+		rebuildDataSet();
+		return super.getColumn(col, start, end);
+	}
+
+	public Object[] getRow(int row) {
+		rebuildDataSet();
+		return super.getRow(row);
+	}
+	
+	//public int getRowCount() - calls getEntryCount();
+	
+	public Object[] getHistoricalData(String key, int col, int start, int end) {
+		if(filters.isEmpty())
+			return original.getHistoricalData(key, col, start, end);
+		rebuildDataSet();
+		return super.getHistoricalData(key, col, start, end);
+	}
+	
+	public int getEntryCount() {
+		rebuildDataSet();
+		return super.getEntryCount();
+	}
+	
+	public IDataEntry getEntry(int entry) {
+		rebuildDataSet();
+		return super.getEntry(entry);
+	}
+ 	//End overwrite to ensure the data returned has all the filters applied
+
+	//IFilteredDataSet Methods
+	public void addFilter(IDataSetFilter filter) {
+		filters.add(filter);
+		filtersChanged = true;
+	}
+	
+	public boolean removeFilter(IDataSetFilter filter) {
+		boolean removed = filters.remove(filter);
+		if(removed)
+			filtersChanged = true;
+		return removed;
+	}
+	
+	public void clearFilters() {
+		filters.clear();
+		filtersChanged = true;
+	}
+	
+	public IDataSetFilter[] getFilters() {
+		IDataSetFilter[] f = new IDataSetFilter[filters.size()];
+		filters.toArray(f);
+		return f;
+	}
+	//End IFilteredDataSet Methods
+	
+	@SuppressWarnings("unchecked")
+	private void rebuildDataSet() {
+		int mods = original.getModCount();
+		if(!filtersChanged && mods == modCount)
+			return;
+		filtersChanged = false;
+		modCount = mods;
+
+		int count = original.getEntryCount();
+		if(filters.isEmpty()) {
+			this.data = new ArrayList<IDataEntry>(count);
+			for(int i=0; i<count; i++)
+				this.data.add(original.getEntry(i));
+			return;
+		}
+
+		ArrayList[] filterData = getFilterData(count);
+		for(int i=0; i<filters.size(); i++)
+			filterData = ((IDataSetFilter)filters.get(i)).filter(filterData);
+		setFilteredData(filterData);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private ArrayList[] getFilterData(int count) {
+		ArrayList[] data = new ArrayList[original.getColCount()];
+		for(int i=0; i<data.length; i++)
+			data[i] = new ArrayList<Object>(count);
+
+		Object[] row;
+		for(int j,i=0; i<count; i++) {
+			row = original.getRow(i);
+			for(j=0; j<data.length; j++)
+				data[j].add(row[j]);
+		}
+		
+		return data;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void setFilteredData(ArrayList[] data) {
+		this.data = new ArrayList<IDataEntry>();
+		
+		RowEntry entry;
+		Object[] row;
+		for(int j,i=0; i<data[0].size(); i++) {
+			row = new Object[data.length];
+			entry = new RowEntry();
+			for(j=0; j<data.length; j++)
+				row[j] = data[j].get(i);
+			entry.putRow(0, row);
+			this.data.add(entry);
+		}
+	}
+
+	private BoundedRowDataSet original;
+	private ArrayList<IDataSetFilter> filters;
+
+	private boolean filtersChanged;
+	private int modCount;
+}
@@ -11,11 +11,14 @@
 
 package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IFilteredDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IDataSetFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IncrementalFilterChain;
 
 
 
@@ -26,7 +29,7 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
 		this.data = data.data;
 		filters = new ArrayList<IDataSetFilter>();
 
-		filtersChanged = false;
+		filtersChanged = true;
 		topData = null;
 		dataCount = data.getRowCount();
 	}
@@ -57,6 +60,8 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
 
 	public Object[] getRow(int row) {
 		rebuildDataSet();
+		if(data instanceof RowList)
+			return ((RowList)data).getRow(row);
 		return super.getRow(row);
 	}
 	
@@ -64,6 +69,8 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
 	
 	public Object[] getHistoricalData(String key, int col, int start, int end) {
 		rebuildDataSet();
+		if(data instanceof RowList && 0 <= col && col < getColCount() && 0 <= start && start <= end && end <= data.size())
+			return ((RowList)data).getColumn(col, start, end);
 		return super.getHistoricalData(key, col, start, end);
 	}
 	
@@ -101,11 +108,40 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
 	}
 	//End IFilteredDataSet Methods
 	
+	/**
+	 * Brings the filtered data up to date with the original data set.  When
+	 * rows were only appended since the last call and the filters can be
+	 * applied incrementally, only the new rows go through the filters.
+	 */
 	@SuppressWarnings("unchecked")
 	private void rebuildDataSet() {
+		boolean rebuild = filtersChanged;
+		if(filtersChanged) {
+			filtersChanged = false;
+			chain = new IncrementalFilterChain(getFilters(), original.getColCount());
+			dataCount = 0;
+			topData = null;
+		}
+
+		if(chain.isIncremental()) {
+			int count = original.getRowCount();
+			if(count < dataCount || (dataCount > 0 && original.getEntry(dataCount-1) != topData)) {
+				chain.clear();
+				dataCount = 0;
+			}
+			for(; dataCount<count && chain.isIncremental(); dataCount++)
+				chain.add(original.getRow(dataCount));
+			if(chain.isIncremental()) {
+				topData = original.getEntry(dataCount-1);
+				setFilteredData(chain.getRows());
+				return;
+			}
+			rebuild = true;
+		}
+		
 		IDataEntry top = original.getEntry(original.getEntryCount()-1);
 
-		if(filtersChanged || dataCount != original.getRowCount() || topData != top) {
+		if(rebuild || dataCount != original.getRowCount() || topData != top) {
 			dataCount = original.getRowCount();
 			topData = top;
 
@@ -148,8 +184,51 @@ public class FilteredRowDataSet extends RowDataSet implements IFilteredDataSet {
 		}
 	}
 
+	/**
+	 * Shows the rows of the chain as entries, without copying them.
+	 */
+	private void setFilteredData(List<Object[]> rows) {
+		this.data = new RowList(rows);
+	}
+	
+	/**
+	 * The filtered rows as entries.  An entry is only made when one is asked
+	 * for; the rows and columns are read from the rows directly.
+	 */
+	private static final class RowList extends AbstractList<IDataEntry> {
+		RowList(List<Object[]> rows) {
+			this.rows = rows;
+		}
+		
+		public IDataEntry get(int index) {
+			RowEntry entry = new RowEntry();
+			entry.putRow(0, rows.get(index));
+			return entry;
+		}
+		
+		public int size() {
+			return rows.size();
+		}
+		
+		Object[] getRow(int row) {
+			if(row < 0 || row >= rows.size())
+				return null;
+			return rows.get(row);
+		}
+		
+		Object[] getColumn(int col, int start, int end) {
+			Object[] d = new Object[end - start];
+			for(int i=0; i<d.length; i++)
+				d[i] = rows.get(start+i)[col];
+			return d;
+		}
+		
+		List<Object[]> rows;
+	}
+
 	private RowDataSet original;
 	private ArrayList<IDataSetFilter> filters;
+	private IncrementalFilterChain chain;
 
 	private boolean filtersChanged;
 	private int dataCount;
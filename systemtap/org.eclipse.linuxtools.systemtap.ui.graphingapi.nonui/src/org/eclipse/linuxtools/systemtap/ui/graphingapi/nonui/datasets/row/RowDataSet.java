@@ -19,6 +19,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IHistoricalDataSet;
@@ -177,7 +178,7 @@ public class RowDataSet implements IHistoricalDataSet {
 	}
 	//End IHistoricalDataSet Methods
 	
-	protected ArrayList<IDataEntry> data;
+	protected List<IDataEntry> data;
 	private String[] titles;
 	public static final String ID = "org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.rowdataset";
 }
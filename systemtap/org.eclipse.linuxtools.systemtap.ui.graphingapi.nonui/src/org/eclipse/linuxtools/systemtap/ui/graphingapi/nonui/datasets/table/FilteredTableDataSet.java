@@ -12,10 +12,12 @@
 package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.table;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IFilteredDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IDataSetFilter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters.IncrementalFilterChain;
 
 
 
@@ -26,7 +28,7 @@ public class FilteredTableDataSet extends TableDataSet implements IFilteredDataS
 		this.data = data.data;
 		filters = new ArrayList<IDataSetFilter>();
 
-		filtersChanged = false;
+		filtersChanged = true;
 		historical = false;
 		topData = null;
 		dataCount = data.getRowCount();
@@ -113,14 +115,31 @@ public class FilteredTableDataSet extends TableDataSet implements IFilteredDataS
 	}
 	//End IFilteredDataSet Methods
 	
+	/**
+	 * Filters the latest table again when it changed.  Each table replaces
+	 * the previous one, so its rows all go through the filters, but when the
+	 * filters can be applied incrementally they are not copied for each filter.
+	 */
 	@SuppressWarnings("unchecked")
 	private void rebuildDataSet() {
 		IDataEntry top = original.getEntry(original.getEntryCount()-1);
 		
 		if(filtersChanged || dataCount != original.getRowCount() || topData != top || historical) {
+			if(filtersChanged)
+				chain = new IncrementalFilterChain(getFilters(), original.getColCount());
+			filtersChanged = false;
 			dataCount = original.getRowCount();
 			topData = top;
 			historical = false;
+
+			chain.clear();
+			Object[][] table = original.getData();
+			for(int i=0; i<table.length && chain.isIncremental(); i++)
+				chain.add(table[i]);
+			if(chain.isIncremental()) {
+				setFilteredData(chain.getRows());
+				return;
+			}
 			
  			ArrayList[] filterData = getFilterData();
 			for(int i=0; i<filters.size(); i++)
@@ -159,7 +178,17 @@ public class FilteredTableDataSet extends TableDataSet implements IFilteredDataS
 		this.data.add(entry);
 	}
 
+	private void setFilteredData(List<Object[]> rows) {
+		this.data = new ArrayList<TableEntry>();
+		
+		TableEntry entry = new TableEntry();
+		for(int i=0; i<rows.size(); i++)
+			entry.add(rows.get(i));
+		this.data.add(entry);
+	}
+
 	private TableDataSet original;
+	private IncrementalFilterChain chain;
 	private ArrayList<IDataSetFilter> filters;
 
 	private boolean filtersChanged;
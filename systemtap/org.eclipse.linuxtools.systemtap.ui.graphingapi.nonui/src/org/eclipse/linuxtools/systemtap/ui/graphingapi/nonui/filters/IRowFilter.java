@@ -0,0 +1,25 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters;
+
+/**
+ * A filter that keeps or removes each row on its own, independently of the
+ * other rows.  Such a filter can be applied to the rows as they are appended.
+ */
+public interface IRowFilter extends IDataSetFilter {
+	/**
+	 * @param row The row to check
+	 * @return true if the filter keeps the row
+	 */
+	public boolean accept(Object[] row);
+	public int getColumn();
+}
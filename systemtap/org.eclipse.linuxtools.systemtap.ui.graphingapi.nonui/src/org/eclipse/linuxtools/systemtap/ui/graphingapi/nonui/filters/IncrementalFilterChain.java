@@ -0,0 +1,420 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.filters;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.IDataAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.aggregates.RunningAggregate;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.NumberType;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.OrderStatisticTree;
+
+/**
+ * Applies a list of filters to rows as they are appended, giving the same
+ * rows as running the filters over the whole data set after each append.
+ * Row filters (<code>IRowFilter</code>) are checked once per row, a
+ * <code>SortFilter</code> keeps the rows in an <code>OrderStatisticTree</code>,
+ * and a <code>UniqueFilter</code> keeps one running aggregate per group, so
+ * each row costs O(log n).
+ * <p>
+ * This only works for some lists of filters: any number of row filters with
+ * either one <code>SortFilter</code> or one <code>UniqueFilter</code> after
+ * them.  Row filters may also follow the <code>SortFilter</code>, since
+ * removing rows does not change the order of the others.  For other lists,
+ * or when a row can not be handled incrementally, <code>isIncremental</code>
+ * returns false and the filters have to be run over the whole data set.
+ */
+public class IncrementalFilterChain {
+	/**
+	 * @param filters The filters, in the order they are applied
+	 * @param columns The number of columns of the rows
+	 */
+	public IncrementalFilterChain(IDataSetFilter[] filters, int columns) {
+		rowFilters = new ArrayList<IRowFilter>();
+		plain = new ArrayList<Object[]>();
+		incremental = true;
+
+		IDataSetFilter filter;
+		for(int i=0; i<filters.length && incremental; i++) {
+			filter = filters[i];
+			if(filter instanceof IRowFilter) {
+				if(null != unique || !isColumn(((IRowFilter)filter).getColumn(), columns))
+					incremental = false;
+				else
+					rowFilters.add((IRowFilter)filter);
+			} else if(filter instanceof SortFilter) {
+				SortFilter sortFilter = (SortFilter)filter;
+				if(null != sort || null != unique || !isColumn(sortFilter.getColumn(), columns))
+					incremental = false;
+				else
+					sort = new SortedRows(sortFilter.getColumn(), sortFilter.getStyle());
+			} else if(filter instanceof UniqueFilter) {
+				UniqueFilter uniqueFilter = (UniqueFilter)filter;
+				if(null != sort || null != unique || !isColumn(uniqueFilter.getColumn(), columns))
+					incremental = false;
+				else
+					unique = new UniqueRows(uniqueFilter.getColumn(), uniqueFilter.getAggregate(), columns);
+			} else {
+				incremental = false;
+			}
+		}
+	}
+
+	/**
+	 * Passes a new row through the filters.
+	 * @param row The row appended to the data set
+	 * @return false if the row could not be handled incrementally, in which
+	 * case the chain stops being incremental
+	 */
+	public boolean add(Object[] row) {
+		if(!incremental)
+			return false;
+		if(!accept(row))
+			return true;
+		return keep(row);
+	}
+
+	/**
+	 * Checks a row against the row filters only.  A rejected row is not kept
+	 * by the chain, so its array can be reused for the next row.
+	 * @param row The row appended to the data set
+	 * @return true if the row filters keep the row
+	 */
+	public boolean accept(Object[] row) {
+		for(int i=0; i<rowFilters.size(); i++) {
+			if(!rowFilters.get(i).accept(row))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Passes a row that was accepted by <code>accept</code> through the
+	 * other filters.  The chain keeps the row.
+	 * @param row The row appended to the data set
+	 * @return false if the row could not be handled incrementally, in which
+	 * case the chain stops being incremental
+	 */
+	public boolean keep(Object[] row) {
+		if(!incremental)
+			return false;
+
+		if(null != sort)
+			sort.add(row);
+		else if(null != unique)
+			incremental = unique.add(row);
+		else
+			plain.add(row);
+		return incremental;
+	}
+
+	/**
+	 * @return The filtered rows.  The list is updated as rows are added.
+	 */
+	public List<Object[]> getRows() {
+		if(null != sort)
+			return sort.getRows();
+		else if(null != unique)
+			return unique.getRows();
+		return plain;
+	}
+
+	/**
+	 * @return false if the filters have to be run over the whole data set
+	 */
+	public boolean isIncremental() {
+		return incremental;
+	}
+
+	/**
+	 * Forgets all the rows added so far.
+	 */
+	public void clear() {
+		plain.clear();
+		if(null != sort)
+			sort.clear();
+		if(null != unique)
+			unique.clear();
+	}
+
+	private static boolean isColumn(int column, int columns) {
+		return column >= 0 && column < columns;
+	}
+
+	/**
+	 * The rows kept by a <code>SortFilter</code>.  The values of the column
+	 * are compared as numbers until a value that is not a number is added,
+	 * then all the values are compared as objects, as the filter does.
+	 */
+	private static final class SortedRows {
+		SortedRows(int column, int style) {
+			this.column = column;
+			this.style = style;
+			numeric = true;
+			tree = new OrderStatisticTree<SortedRow>(new Comparator<SortedRow>() {
+				public int compare(SortedRow a, SortedRow b) {
+					int c = numeric ? compareNumbers(a.number, b.number) : compareObjects(a.row[SortedRows.this.column], b.row[SortedRows.this.column]);
+					return (SortFilter.DESCENDING == SortedRows.this.style) ? -c : c;
+				}
+			});
+		}
+
+		void add(Object[] row) {
+			SortedRow r = new SortedRow(row);
+			if(numeric) {
+				try {
+					r.number = NumberType.cleanObj2Num(row[column]);
+				} catch(NumberFormatException nfe) {
+					numeric = false;
+					resort();
+				}
+			}
+			tree.insert(r);
+		}
+
+		List<Object[]> getRows() {
+			return new AbstractList<Object[]>() {
+				public Object[] get(int index) {
+					return tree.get(index).row;
+				}
+
+				public int size() {
+					return tree.size();
+				}
+			};
+		}
+
+		void clear() {
+			tree.clear();
+			numeric = true;
+		}
+
+		private void resort() {
+			ArrayList<SortedRow> rows = new ArrayList<SortedRow>(tree);
+			tree.clear();
+			for(int i=0; i<rows.size(); i++)
+				tree.insert(rows.get(i));
+		}
+
+		private static int compareNumbers(Number a, Number b) {
+			if(isInteger(a) && isInteger(b)) {
+				long x = a.longValue();
+				long y = b.longValue();
+				return (x < y) ? -1 : ((x == y) ? 0 : 1);
+			}
+			return Double.compare(a.doubleValue(), b.doubleValue());
+		}
+
+		private static boolean isInteger(Number n) {
+			return !(n instanceof Double || n instanceof Float);
+		}
+
+		@SuppressWarnings("unchecked")
+		private static int compareObjects(Object a, Object b) {
+			if(a instanceof Comparable && a.getClass() == b.getClass())
+				return ((Comparable)a).compareTo(b);
+			return a.toString().compareTo(b.toString());
+		}
+
+		private int column;
+		private int style;
+		private boolean numeric;
+		private OrderStatisticTree<SortedRow> tree;
+	}
+
+	private static final class SortedRow {
+		SortedRow(Object[] row) {
+			this.row = row;
+		}
+
+		Object[] row;
+		Number number;
+	}
+
+	/**
+	 * The rows kept by a <code>UniqueFilter</code>: one group per value of the
+	 * column, ordered by the last row of each group as the filter does.
+	 */
+	private static final class UniqueRows {
+		UniqueRows(int column, IDataAggregate aggregate, int columns) {
+			this.column = column;
+			this.aggregate = aggregate;
+			this.columns = columns;
+			groups = new HashMap<String, Group>();
+			tree = new OrderStatisticTree<Group>(new Comparator<Group>() {
+				public int compare(Group a, Group b) {
+					return (a.sequence < b.sequence) ? -1 : ((a.sequence == b.sequence) ? 0 : 1);
+				}
+			});
+			sequence = 0;
+		}
+
+		boolean add(Object[] row) {
+			String key = row[column].toString();	//Same equivalence as the filter
+			Group group = groups.get(key);
+			if(null == group) {
+				group = new Group(column, aggregate, columns);
+				groups.put(key, group);
+			} else {
+				tree.removeItem(group);
+			}
+			if(!group.add(row))
+				return false;
+			group.sequence = sequence++;
+			tree.insert(group);
+			return true;
+		}
+
+		List<Object[]> getRows() {
+			return new AbstractList<Object[]>() {
+				public Object[] get(int index) {
+					return tree.get(index).getRow();
+				}
+
+				public int size() {
+					return tree.size();
+				}
+			};
+		}
+
+		void clear() {
+			groups.clear();
+			tree.clear();
+			sequence = 0;
+		}
+
+		private int column;
+		private IDataAggregate aggregate;
+		private int columns;
+		private HashMap<String, Group> groups;
+		private OrderStatisticTree<Group> tree;
+		private long sequence;
+	}
+
+	/**
+	 * The rows of a <code>UniqueFilter</code> group.  Each column is either
+	 * aggregated as numbers, or merged as strings, depending on its first value.
+	 * The filter goes over the rows of a group from the one before last back to
+	 * the first one, then the last one; the numbers take the type of the first
+	 * of them and the strings are merged in that order.
+	 */
+	private static final class Group {
+		@SuppressWarnings("unchecked")
+		Group(int column, IDataAggregate aggregate, int columns) {
+			this.column = column;
+			this.aggregate = aggregate;
+			numbers = new RunningAggregate[columns];
+			previous = new Number[columns];
+			lasts = new Number[columns];
+			strings = new LinkedHashSet[columns];
+			lastStrings = new String[columns];
+			count = 0;
+		}
+
+		boolean add(Object[] r) {
+			row = null;
+			for(int i=0; i<numbers.length; i++) {
+				if(i == column) {
+					key = r[i];
+					continue;
+				}
+
+				Number n = null;
+				try {
+					n = NumberType.cleanObj2Num(r[i]);
+				} catch(NumberFormatException nfe) {}
+
+				if(0 == count) {
+					if(null != n)
+						numbers[i] = new RunningAggregate(aggregate);
+					else
+						strings[i] = new LinkedHashSet<String>();
+				}
+
+				if(null != numbers[i]) {
+					if(null == n)
+						return false;
+					numbers[i].add(n);
+					previous[i] = lasts[i];
+					lasts[i] = n;
+				} else {
+					if(null != lastStrings[i]) {
+						strings[i].remove(lastStrings[i]);
+						strings[i].add(lastStrings[i]);
+					}
+					lastStrings[i] = r[i].toString();
+				}
+			}
+			count++;
+			return true;
+		}
+
+		Object[] getRow() {
+			if(null == row) {
+				row = new Object[numbers.length];
+				for(int i=0; i<row.length; i++) {
+					if(i == column)
+						row[i] = key;
+					else if(null != numbers[i])
+						row[i] = numbers[i].getValue((null == previous[i]) ? lasts[i] : previous[i]);
+					else
+						row[i] = merge(strings[i], lastStrings[i]);
+				}
+			}
+			return row;
+		}
+
+		/**
+		 * Merges the strings as <code>UniqueFilter.columnMerge</code> does.
+		 * Only the most recent occurrence of each string before the last one
+		 * matters, since the filter skips the strings it already merged.
+		 */
+		private static String merge(LinkedHashSet<String> set, String last) {
+			String[] s = new String[set.size() + 1];
+			Iterator<String> it = set.iterator();
+			for(int i=s.length-2; i>=0; i--)
+				s[i] = it.next();
+			s[s.length-1] = last;
+
+			StringBuilder sb = new StringBuilder(s[0]);
+			for(int i=1; i<s.length; i++) {
+				if(sb.indexOf(s[i]) < 0)
+					sb.append("/" + s[i]);
+			}
+			return sb.toString();
+		}
+
+		private int column;
+		private IDataAggregate aggregate;
+		private RunningAggregate[] numbers;
+		private Number[] previous;
+		private Number[] lasts;
+		private LinkedHashSet<String>[] strings;
+		private String[] lastStrings;
+		private Object key;
+		private Object[] row;
+		private int count;
+		long sequence;
+	}
+
+	private ArrayList<IRowFilter> rowFilters;
+	private SortedRows sort;
+	private UniqueRows unique;
+	private ArrayList<Object[]> plain;
+	private boolean incremental;
+}
@@ -18,7 +18,7 @@ import org.eclipse.ui.IMemento;
 
 
 
-public class MatchFilter implements IDataSetFilter {
+public class MatchFilter implements IRowFilter {
 	public MatchFilter(int column, Object value, int style) {
 		this.column = column;
 		this.value = value;
@@ -38,10 +38,8 @@ public class MatchFilter implements IDataSetFilter {
 			return null;
 		
 		ArrayList[] newData = Copier.copy(data);
-		boolean equals;
 		for(int j, i=newData[column].size()-1; i>=0; i--) {
-			equals = newData[column].get(i).toString().equals(value.toString());	//TODO: Find better equivilance method
-			if((equals && REMOVE_MATCHING == (style & 1)) || (!equals && KEEP_MATCHING == (style & 1))) {
+			if(!accept(newData[column].get(i))) {
 				for(j=0; j<newData.length; j++)
 					newData[j].remove(i);
 			}
@@ -49,6 +47,26 @@ public class MatchFilter implements IDataSetFilter {
 		return newData;
 	}
 	
+	/**
+	 * Apply the MatchFilter to a single row.
+	 * 
+	 * @param row The row to check.
+	 * 
+	 * @return True if the row is kept.
+	 */
+	public boolean accept(Object[] row) {
+		return accept(row[column]);
+	}
+	
+	private boolean accept(Object o) {
+		boolean equals = o.toString().equals(value.toString());	//TODO: Find better equivilance method
+		return !((equals && REMOVE_MATCHING == (style & 1)) || (!equals && KEEP_MATCHING == (style & 1)));
+	}
+	
+	public int getColumn() {
+		return column;
+	}
+	
 	public String getID() {
 		return ID;
 	}
@@ -19,7 +19,7 @@ import org.eclipse.ui.IMemento;
 
 
 
-public class RangeFilter implements IDataSetFilter {
+public class RangeFilter implements IRowFilter {
 	public RangeFilter(int column, Number lowerBound, Number upperBound, int style) {
 		this.column = column;
 		this.lowerBound = lowerBound;
@@ -49,6 +49,21 @@ public class RangeFilter implements IDataSetFilter {
 		return newData;
 	}
 	
+	/**
+	 * Apply the RangeFilter to a single row.
+	 * 
+	 * @param row The row to check.
+	 * 
+	 * @return True if the row is kept.
+	 */
+	public boolean accept(Object[] row) {
+		return inBounds(NumberType.obj2num(row[column]));
+	}
+	
+	public int getColumn() {
+		return column;
+	}
+	
 	public String getID() {
 		return ID;
 	}
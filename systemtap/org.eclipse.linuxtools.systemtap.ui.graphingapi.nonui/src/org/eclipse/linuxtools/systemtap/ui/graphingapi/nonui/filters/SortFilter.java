@@ -65,6 +65,17 @@ public class SortFilter implements IDataSetFilter {
 		return newData;
 	}
 	
+	public int getColumn() {
+		return column;
+	}
+	
+	/**
+	 * @return Either <code>ASCENDING</code> or <code>DESCENDING</code>
+	 */
+	public int getStyle() {
+		return style;
+	}
+	
 	public String getID() {
 		return ID;
 	}
@@ -87,6 +87,14 @@ public class UniqueFilter implements IDataSetFilter {
 		return sb.toString();
 	}
 	
+	public int getColumn() {
+		return column;
+	}
+	
+	public IDataAggregate getAggregate() {
+		return aggregate;
+	}
+	
 	public String getID() {
 		return ID;
 	}
@@ -0,0 +1,372 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataEntry;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSetParser;
+import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerBatchListener;
+import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerStopListener;
+
+
+
+/**
+ * A <code>ChartStreamDaemon</code> that decouples reading the output of the
+ * script from parsing it and from adding the entries to the data set.  Each
+ * stage runs in its own thread, and the stages are connected by bounded
+ * <code>RingBuffers</code>:
+ * <pre>
+ * StreamGobbler --lines--&gt; parser thread --entries--&gt; ingest thread --&gt; IDataSet
+ * </pre>
+ * The buffer of lines always blocks when full, since dropping part of the
+ * output would break the parsing.  The overflow policy only applies to the
+ * parsed entries, so with <code>DROP_OLDEST</code> or <code>SAMPLE</code> a
+ * slow data set never stalls the reading of the stream.
+ * <p>
+ * The data set and the parser are only changed by the parser thread, see
+ * <code>setParser</code>.  Once the stream has stopped the pipeline adds
+ * what is left to the data set, then ends its threads and disposes of itself.
+ */
+public class ChartStreamPipeline extends ChartStreamDaemon implements IGobblerBatchListener, IGobblerStopListener {
+	public ChartStreamPipeline(IDataSet d, IDataSetParser p) {
+		this(d, p, RingBuffer.BLOCK, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param d The <code>DataSet</code> receiving the parsed entries
+	 * @param p The parser of the output
+	 * @param policy The overflow policy of the entries, one of the <code>RingBuffer</code> policies
+	 * @param capacity The capacity of each buffer of the pipeline
+	 */
+	public ChartStreamPipeline(IDataSet d, IDataSetParser p, int policy, int capacity) {
+		super(d, p);
+		lines = new RingBuffer<String>(capacity, RingBuffer.BLOCK);
+		entries = new RingBuffer<IDataEntry>(capacity, policy);
+		
+		parserThread = new Thread(new Runnable() {
+			public void run() {
+				parse();
+			}
+		}, "ChartStreamPipeline parser");
+		ingestThread = new Thread(new Runnable() {
+			public void run() {
+				ingest();
+			}
+		}, "ChartStreamPipeline ingest");
+		parserThread.setDaemon(true);
+		ingestThread.setDaemon(true);
+		parserThread.start();
+		ingestThread.start();
+	}
+	
+	/**
+	 * Queues a line for the parser thread.
+	 */
+	public void handleDataEvent(String line) {
+		try {
+			lines.put(line);
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Queues all the lines of a read as a single block for the parser thread.
+	 */
+	public void handleDataEvents(byte[] buffer, int offset, int[] lineEnds, int count) {
+		int length = lineEnds[count-1] - offset;
+		try {
+			handleDataEvent(new String(buffer, offset, length, ENCODING));
+		} catch(UnsupportedEncodingException uee) {
+			handleDataEvent(new String(buffer, offset, length));
+		}
+	}
+	
+	/**
+	 * Called once the stream has stopped.  The lines already queued are still
+	 * parsed and added to the data set, then the pipeline disposes of itself.
+	 */
+	public void handleStopEvent() {
+		lines.close();
+	}
+	
+	/**
+	 * Changes the <code>DataSet</code> and the parser.  The change is made by
+	 * the parser thread, once the lines read so far have been parsed and added
+	 * to the old <code>DataSet</code>.  The output data is then replaced by
+	 * <code>output</code>, which must hold all of the lines read so far, and the
+	 * lines read after this call are parsed with the new parser.  Nothing
+	 * changes if the stream has already stopped.
+	 * @param d The new <code>DataSet</code> to store the parsed output.
+	 * @param p The new parser
+	 * @param output The output of the script so far
+	 */
+	public void setParser(IDataSet d, IDataSetParser p, String output) {
+		synchronized(swapLock) {
+			swapData = d;
+			swapParser = p;
+			swapOutput = output;
+			swapReadCount = lines.getPutCount();
+			swapPending = true;
+		}
+		lines.wakeUp();
+	}
+	
+	/**
+	 * @return The number of lines read before the pending change of parser, or -1
+	 */
+	private long getSwapReadCount() {
+		synchronized(swapLock) {
+			return swapPending ? swapReadCount : -1;
+		}
+	}
+	
+	/**
+	 * Applies the change requested by <code>setParser</code>.
+	 */
+	private void swapParser() throws InterruptedException {
+		IDataSet d;
+		IDataSetParser p;
+		String output;
+		synchronized(swapLock) {
+			swapPending = false;
+			d = swapData;
+			p = swapParser;
+			output = swapOutput;
+			swapData = null;
+			swapParser = null;
+			swapOutput = null;
+		}
+		
+		//The ingest thread uses the data set of the entries already parsed
+		synchronized(progress) {
+			while(ingestedCount + entries.getDropCount() < parsedCount && !disposing)
+				progress.wait();
+		}
+		data = d;
+		parser = p;
+		outputData = new StringBuilder(null == output ? "" : output);
+		pushData();
+	}
+	
+	/**
+	 * Parses all the entries available in the output data and queues them for
+	 * the ingest thread.
+	 */
+	protected void pushData() {
+		IDataSetParser p = parser;
+		StringBuilder output = outputData;
+		if(null == data || null == p || null == output)
+			return;
+		
+		try {
+			IDataEntry e;
+			while(null != (e = p.parse(output))) {
+				parsedCount++;
+				entries.put(e);
+			}
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * The parser stage: appends the queued lines to the output data and
+	 * parses them.  When it ends the entries buffer is closed, so that the
+	 * ingest thread ends once it has added the last entries.
+	 */
+	private void parse() {
+		ArrayList<String> batch = new ArrayList<String>(BATCH_SIZE);
+		try {
+			while(0 <= lines.drainTo(batch, BATCH_SIZE) && !disposing) {
+				int count = batch.size();
+				int split = count;
+				long swapAt = getSwapReadCount();
+				if(0 <= swapAt)
+					split = (int)Math.max(0, Math.min(count, swapAt - parsedLineCount));
+				append(batch, 0, split);
+				if(0 <= swapAt && parsedLineCount + split >= swapAt) {
+					swapParser();
+					append(batch, split, count);
+				}
+				batch.clear();
+				parsedLineCount += count;
+				progress();
+			}
+		} catch(InterruptedException ie) {
+		} finally {
+			entries.close();
+			progress();
+		}
+	}
+	
+	/**
+	 * Appends a range of the lines to the output data and parses them.
+	 */
+	private void append(ArrayList<String> batch, int from, int to) {
+		StringBuilder output = outputData;
+		if(null == output || from == to)
+			return;
+		for(int i=from; i<to; i++)
+			output.append(batch.get(i));
+		pushData();
+	}
+	
+	/**
+	 * The ingest stage: adds the parsed entries to the data set.  When the
+	 * stream has stopped it is the last thread running, and disposes of the
+	 * pipeline.
+	 */
+	private void ingest() {
+		ArrayList<IDataEntry> batch = new ArrayList<IDataEntry>(BATCH_SIZE);
+		try {
+			while(0 <= entries.drainTo(batch, BATCH_SIZE) && !disposing) {
+				IDataSet d = data;
+				if(null == d)
+					break;
+				for(int i=0; i<batch.size(); i++)
+					d.setData(batch.get(i));
+				ingestedCount += batch.size();
+				batch.clear();
+				progress();
+			}
+		} catch(InterruptedException ie) {
+		} finally {
+			progress();
+		}
+		if(lines.isClosed())
+			dispose();
+	}
+	
+	/**
+	 * @return The number of lines or blocks of lines read from the stream
+	 */
+	public long getReadCount() {
+		return lines.getPutCount();
+	}
+	
+	/**
+	 * @return The number of entries parsed from the output
+	 */
+	public long getParsedCount() {
+		return parsedCount;
+	}
+	
+	/**
+	 * @return The number of entries added to the data set
+	 */
+	public long getIngestedCount() {
+		return ingestedCount;
+	}
+	
+	/**
+	 * @return The number of entries lost because of the overflow policy
+	 */
+	public long getDroppedCount() {
+		return entries.getDropCount();
+	}
+	
+	/**
+	 * @return The number of lines and entries waiting in the pipeline
+	 */
+	public int getBacklog() {
+		return lines.size() + entries.size();
+	}
+	
+	/**
+	 * Waits until everything queued so far has been added to the data set.
+	 * @param timeout The maximum time to wait, in milliseconds
+	 * @return true if the pipeline is empty
+	 */
+	public boolean flush(long timeout) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeout;
+		synchronized(progress) {
+			while(parsedLineCount < lines.getPutCount()
+					|| ingestedCount + entries.getDropCount() < parsedCount) {
+				long remaining = deadline - System.currentTimeMillis();
+				if(remaining <= 0)
+					return false;
+				progress.wait(remaining);
+			}
+		}
+		return true;
+	}
+	
+	private void progress() {
+		synchronized(progress) {
+			progress.notifyAll();
+		}
+	}
+	
+	/**
+	 * Stops the threads of the pipeline, dropping what is still queued, and
+	 * waits for them to end before disposing of the internal data.
+	 */
+	public void dispose() {
+		synchronized(swapLock) {
+			if(disposing)
+				return;
+			disposing = true;
+		}
+		lines.close();
+		entries.close();
+		synchronized(progress) {
+			progress.notifyAll();
+		}
+		join(parserThread);
+		join(ingestThread);
+		super.dispose();
+	}
+	
+	/**
+	 * Waits for a thread of the pipeline to end, unless it is the calling thread.
+	 */
+	private static void join(Thread thread) {
+		if(thread == Thread.currentThread())
+			return;
+		boolean interrupted = false;
+		while(thread.isAlive()) {
+			try {
+				thread.join();
+			} catch(InterruptedException ie) {
+				interrupted = true;
+			}
+		}
+		if(interrupted)
+			Thread.currentThread().interrupt();
+	}
+	
+	private RingBuffer<String> lines;
+	private RingBuffer<IDataEntry> entries;
+	private Thread parserThread;
+	private Thread ingestThread;
+	private final Object progress = new Object();
+	private volatile long parsedLineCount = 0;
+	private volatile long parsedCount = 0;
+	private volatile long ingestedCount = 0;
+	private volatile boolean disposing = false;
+	
+	//The change requested by setParser, applied by the parser thread
+	private final Object swapLock = new Object();
+	private boolean swapPending = false;
+	private IDataSet swapData;
+	private IDataSetParser swapParser;
+	private String swapOutput;
+	private long swapReadCount;
+	
+	public static final int DEFAULT_CAPACITY = 4096;
+	private static final int BATCH_SIZE = 256;
+	private static final String ENCODING = "ISO-8859-1";
+}
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures;
+
+/**
+ * Reduces the series of a chart to the points that can be told apart on
+ * screen, so that the cost of rendering depends on the width of the chart
+ * rather than on the number of samples.  The methods return the indexes of
+ * the samples to keep, in increasing order, so that the same rows can be
+ * taken from every series and from the labels of the x axis.
+ */
+public final class Decimator {
+	/**
+	 * Keeps the first, last, smallest and largest samples of each bucket.
+	 * Peaks are never lost, which is what matters for line, area and bar charts.
+	 */
+	public static final int MIN_MAX = 0;
+
+	/**
+	 * Largest-Triangle-Three-Buckets: keeps one sample per bucket, chosen to
+	 * preserve the shape of the series.  Suited to scatter charts.
+	 */
+	public static final int LTTB = 1;
+
+	/**
+	 * Decimates several series sharing the same rows, keeping every row that
+	 * is selected for at least one of them.
+	 * 
+	 * @param series The values of each series, [series][row]
+	 * @param count The number of rows to consider
+	 * @param buckets The number of buckets, usually the width of the chart in pixels
+	 * @param style <code>MIN_MAX</code> or <code>LTTB</code>
+	 * 
+	 * @return The indexes of the rows to keep.
+	 */
+	public static int[] decimate(double[][] series, int count, int buckets, int style) {
+		if(0 == series.length || buckets <= 0)
+			return all(count);
+
+		boolean[] keep = new boolean[count];
+		int kept = 0;
+		int[] rows;
+		for(int i=0; i<series.length; i++) {
+			rows = (LTTB == style) ? lttb(series[i], count, buckets) : minMax(series[i], count, buckets);
+			if(rows.length == count)
+				return rows;
+			for(int j=0; j<rows.length; j++) {
+				if(!keep[rows[j]]) {
+					keep[rows[j]] = true;
+					kept++;
+				}
+			}
+		}
+
+		rows = new int[kept];
+		for(int i=0, j=0; i<count; i++) {
+			if(keep[i])
+				rows[j++] = i;
+		}
+		return rows;
+	}
+
+	/**
+	 * @param values The values of the series
+	 * @param count The number of values to consider
+	 * @param buckets The number of buckets the values are split into
+	 * 
+	 * @return The indexes of the first, last, smallest and largest values of
+	 * each bucket, or of all the values if there are no more than 4 per bucket.
+	 */
+	public static int[] minMax(double[] values, int count, int buckets) {
+		if(count <= 4 * buckets)
+			return all(count);
+
+		int[] rows = new int[4 * buckets];
+		int kept = 0;
+		int start, end, min, max, last;
+		for(int b=0; b<buckets; b++) {
+			start = (int)((long)b * count / buckets);
+			end = (int)((long)(b+1) * count / buckets);
+			min = max = start;
+			for(int i=start+1; i<end; i++) {
+				if(values[i] < values[min])
+					min = i;
+				if(values[i] > values[max])
+					max = i;
+			}
+			last = -1;
+			if(min > max) {
+				int t = min;
+				min = max;
+				max = t;
+			}
+			int[] candidates = new int[] {start, min, max, end-1};
+			for(int i=0; i<candidates.length; i++) {
+				if(candidates[i] != last)
+					rows[kept++] = last = candidates[i];
+			}
+		}
+
+		int[] result = new int[kept];
+		System.arraycopy(rows, 0, result, 0, kept);
+		return result;
+	}
+
+	/**
+	 * @param values The values of the series
+	 * @param count The number of values to consider
+	 * @param threshold The number of values to keep, at least 3
+	 * 
+	 * @return The indexes of the values kept by Largest-Triangle-Three-Buckets,
+	 * or of all the values if there are no more than <code>threshold</code>.
+	 */
+	public static int[] lttb(double[] values, int count, int threshold) {
+		if(count <= threshold || threshold < 3)
+			return all(count);
+
+		int[] rows = new int[threshold];
+		int kept = 0;
+		rows[kept++] = 0;
+
+		double size = (double)(count - 2) / (threshold - 2);
+		int a = 0;
+		int start, end, nextStart, nextEnd, chosen;
+		double avgX, avgY, area, maxArea;
+		for(int b=0; b<threshold-2; b++) {
+			start = (int)(b * size) + 1;
+			end = (int)((b + 1) * size) + 1;
+			nextStart = end;
+			nextEnd = Math.min((int)((b + 2) * size) + 1, count);
+
+			//Average of the next bucket, or the last value for the last bucket
+			avgX = 0;
+			avgY = 0;
+			if(nextStart >= count - 1) {
+				avgX = count - 1;
+				avgY = values[count - 1];
+			} else {
+				for(int i=nextStart; i<nextEnd; i++) {
+					avgX += i;
+					avgY += values[i];
+				}
+				avgX /= nextEnd - nextStart;
+				avgY /= nextEnd - nextStart;
+			}
+
+			chosen = start;
+			maxArea = -1;
+			for(int i=start; i<end; i++) {
+				area = Math.abs((a - avgX) * (values[i] - values[a]) - (a - i) * (avgY - values[a]));
+				if(area > maxArea) {
+					maxArea = area;
+					chosen = i;
+				}
+			}
+			rows[kept++] = a = chosen;
+		}
+		rows[kept++] = count - 1;
+		return rows;
+	}
+
+	private static int[] all(int count) {
+		int[] rows = new int[count];
+		for(int i=0; i<count; i++)
+			rows[i] = i;
+		return rows;
+	}
+}
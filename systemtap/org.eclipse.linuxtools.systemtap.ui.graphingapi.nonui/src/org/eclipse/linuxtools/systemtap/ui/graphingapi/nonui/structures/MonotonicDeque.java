@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures;
+
+/**
+ * Keeps the maximum (or minimum) of a sliding window of samples in amortized
+ * O(1) per sample.  The deque only holds the samples that can still become
+ * the extremum of the window: each new sample discards the older samples it
+ * dominates, so the values in the deque are monotonic and the extremum is
+ * always at its head.
+ */
+public class MonotonicDeque {
+	/**
+	 * @param maximum true to track the maximum of the window, false for the minimum
+	 */
+	public MonotonicDeque(boolean maximum) {
+		this.maximum = maximum;
+		indexes = new long[INITIAL_CAPACITY];
+		values = new double[INITIAL_CAPACITY];
+		clear();
+	}
+
+	/**
+	 * Adds a sample at the end of the window.
+	 * @param index The position of the sample, which must be greater than the previous ones
+	 * @param value The value of the sample
+	 */
+	public void add(long index, double value) {
+		while(size > 0 && dominates(value, values[(head + size - 1) & mask]))
+			size--;
+		if(size == indexes.length)
+			grow();
+		int i = (head + size) & mask;
+		indexes[i] = index;
+		values[i] = value;
+		size++;
+	}
+
+	/**
+	 * Removes the samples positioned before <code>start</code> from the window.
+	 */
+	public void evict(long start) {
+		while(size > 0 && indexes[head] < start) {
+			head = (head + 1) & mask;
+			size--;
+		}
+	}
+
+	/**
+	 * @return The extremum of the window, or NaN if the window is empty
+	 */
+	public double getExtremum() {
+		return (0 == size) ? Double.NaN : values[head];
+	}
+
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * @return The number of samples that could still become the extremum
+	 */
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		head = 0;
+		size = 0;
+		mask = indexes.length - 1;
+	}
+
+	private boolean dominates(double value, double other) {
+		return maximum ? value >= other : value <= other;
+	}
+
+	private void grow() {
+		long[] i = new long[indexes.length * 2];
+		double[] v = new double[values.length * 2];
+		for(int j=0; j<size; j++) {
+			i[j] = indexes[(head + j) & mask];
+			v[j] = values[(head + j) & mask];
+		}
+		indexes = i;
+		values = v;
+		head = 0;
+		mask = indexes.length - 1;
+	}
+
+	private boolean maximum;
+	private long[] indexes;
+	private double[] values;
+	private int head;
+	private int size;
+	private int mask;
+
+	private static final int INITIAL_CAPACITY = 16;
+}
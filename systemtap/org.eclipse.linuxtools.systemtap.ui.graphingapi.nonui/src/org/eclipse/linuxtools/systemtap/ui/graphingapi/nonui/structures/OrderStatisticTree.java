@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures;
+
+import java.util.AbstractList;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * A sorted list where items can be inserted, removed and accessed by index in
+ * O(log n).  The list is a treap where each node also holds the size of its
+ * subtree, so the index of an item is known while walking down the tree.
+ * Items that compare equal are kept in insertion order.
+ */
+public class OrderStatisticTree<T> extends AbstractList<T> {
+	public OrderStatisticTree(Comparator<? super T> comparator) {
+		this.comparator = comparator;
+		root = null;
+		random = new Random(0);
+	}
+
+	/**
+	 * Inserts an item after all the items that are not greater than it.
+	 * @return The index of the item in the list
+	 */
+	public int insert(T item) {
+		int index = 0;
+		Node<T> n = root;
+		while(null != n) {
+			if(comparator.compare(item, n.item) < 0) {
+				n = n.left;
+			} else {
+				index += size(n.left) + 1;
+				n = n.right;
+			}
+		}
+		root = insert(root, item, random.nextInt());
+		modCount++;
+		return index;
+	}
+
+	/**
+	 * Adds the item in sorted order, see <code>insert</code>.
+	 */
+	public boolean add(T item) {
+		insert(item);
+		return true;
+	}
+
+	public T get(int index) {
+		if(index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("" + index);
+		Node<T> n = root;
+		while(true) {
+			int left = size(n.left);
+			if(index < left) {
+				n = n.left;
+			} else if(index == left) {
+				return n.item;
+			} else {
+				index -= left + 1;
+				n = n.right;
+			}
+		}
+	}
+
+	public T remove(int index) {
+		T item = get(index);
+		root = remove(root, index);
+		modCount++;
+		return item;
+	}
+
+	/**
+	 * Removes an item, found with the comparator and then by identity among
+	 * the items that compare equal to it.
+	 * @return The index the item had, or -1 if it is not in the list
+	 */
+	public int removeItem(T item) {
+		int index = indexOfItem(item);
+		if(index >= 0)
+			remove(index);
+		return index;
+	}
+
+	/**
+	 * @return The index of the item, found as in <code>removeItem</code>, or -1
+	 */
+	public int indexOfItem(T item) {
+		int index = 0;
+		Node<T> n = root;
+		//Find the first item that is not smaller than the searched one
+		int first = -1;
+		while(null != n) {
+			if(comparator.compare(n.item, item) < 0) {
+				index += size(n.left) + 1;
+				n = n.right;
+			} else {
+				first = index + size(n.left);
+				n = n.left;
+			}
+		}
+		if(first < 0)
+			return -1;
+		for(int i=first; i<size(); i++) {
+			T t = get(i);
+			if(t == item)
+				return i;
+			if(comparator.compare(t, item) != 0)
+				break;
+		}
+		return -1;
+	}
+
+	public int size() {
+		return size(root);
+	}
+
+	public void clear() {
+		root = null;
+		modCount++;
+	}
+
+	private Node<T> insert(Node<T> n, T item, int priority) {
+		if(null == n)
+			return new Node<T>(item, priority);
+		if(comparator.compare(item, n.item) < 0) {
+			n.left = insert(n.left, item, priority);
+			if(n.left.priority > n.priority)
+				n = rotateRight(n);
+		} else {
+			n.right = insert(n.right, item, priority);
+			if(n.right.priority > n.priority)
+				n = rotateLeft(n);
+		}
+		update(n);
+		return n;
+	}
+
+	private Node<T> remove(Node<T> n, int index) {
+		int left = size(n.left);
+		if(index < left) {
+			n.left = remove(n.left, index);
+		} else if(index > left) {
+			n.right = remove(n.right, index - left - 1);
+		} else {
+			if(null == n.left)
+				return n.right;
+			if(null == n.right)
+				return n.left;
+			if(n.left.priority > n.right.priority) {
+				n = rotateRight(n);
+				n.right = remove(n.right, index - size(n.left) - 1);
+			} else {
+				n = rotateLeft(n);
+				n.left = remove(n.left, index);
+			}
+		}
+		update(n);
+		return n;
+	}
+
+	private Node<T> rotateRight(Node<T> n) {
+		Node<T> l = n.left;
+		n.left = l.right;
+		l.right = n;
+		update(n);
+		update(l);
+		return l;
+	}
+
+	private Node<T> rotateLeft(Node<T> n) {
+		Node<T> r = n.right;
+		n.right = r.left;
+		r.left = n;
+		update(n);
+		update(r);
+		return r;
+	}
+
+	private static <T> void update(Node<T> n) {
+		n.size = size(n.left) + size(n.right) + 1;
+	}
+
+	private static <T> int size(Node<T> n) {
+		return (null == n) ? 0 : n.size;
+	}
+
+	private static final class Node<T> {
+		Node(T item, int priority) {
+			this.item = item;
+			this.priority = priority;
+			size = 1;
+		}
+
+		T item;
+		int priority;
+		int size;
+		Node<T> left;
+		Node<T> right;
+	}
+
+	private Comparator<? super T> comparator;
+	private Node<T> root;
+	private Random random;
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures;
+
+import java.util.Collection;
+
+/**
+ * A bounded FIFO between two threads of a pipeline.  What happens when an
+ * item is put in a full buffer depends on its overflow policy:
+ * <ul>
+ * <li><code>BLOCK</code>: the producer waits until there is room.</li>
+ * <li><code>DROP_OLDEST</code>: the oldest item is discarded.</li>
+ * <li><code>SAMPLE</code>: only one item out of <code>sampleRate</code> is
+ * kept, in place of the oldest item, until the buffer has room again.</li>
+ * </ul>
+ * The buffer also counts the items that went through it so that the
+ * throughput of each stage of the pipeline can be monitored.
+ */
+public class RingBuffer<T> {
+	public RingBuffer(int capacity, int policy) {
+		this(capacity, policy, DEFAULT_SAMPLE_RATE);
+	}
+
+	public RingBuffer(int capacity, int policy, int sampleRate) {
+		if(capacity < 1)
+			throw new IllegalArgumentException("capacity");
+		if(BLOCK != policy && DROP_OLDEST != policy && SAMPLE != policy)
+			throw new IllegalArgumentException("policy");
+		items = new Object[capacity];
+		this.policy = policy;
+		this.sampleRate = Math.max(1, sampleRate);
+	}
+	
+	/**
+	 * Adds an item at the end of the buffer, applying the overflow policy
+	 * if the buffer is full.
+	 * @param item The item to add
+	 * @return false if the item was dropped or the buffer is closed
+	 * @throws InterruptedException if interrupted while waiting for room
+	 */
+	public synchronized boolean put(T item) throws InterruptedException {
+		if(closed)
+			return false;
+		if(size == items.length) {
+			switch(policy) {
+			case BLOCK:
+				while(size == items.length && !closed)
+					wait();
+				if(closed)
+					return false;
+				break;
+			case SAMPLE:
+				if(0 != (overflowCount++ % sampleRate)) {
+					dropCount++;
+					return false;
+				}
+				//Fall through, the sample replaces the oldest item
+			case DROP_OLDEST:
+				head = (head + 1) % items.length;
+				size--;
+				dropCount++;
+			}
+		} else {
+			overflowCount = 0;
+		}
+		items[(head + size) % items.length] = item;
+		size++;
+		putCount++;
+		notifyAll();
+		return true;
+	}
+	
+	/**
+	 * Moves the items of the buffer to the provided collection, waiting
+	 * for at least one item to be available or for <code>wakeUp</code>.
+	 * @param target The collection receiving the items
+	 * @param max The maximum number of items to move
+	 * @return The number of items moved, or -1 once the buffer is closed and empty
+	 * @throws InterruptedException if interrupted while waiting for an item
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized int drainTo(Collection<? super T> target, int max) throws InterruptedException {
+		while(0 == size && !closed && !woken)
+			wait();
+		woken = false;
+		if(0 == size)
+			return closed ? -1 : 0;
+
+		int count = Math.min(size, max);
+		for(int i=0; i<count; i++) {
+			target.add((T)items[head]);
+			items[head] = null;
+			head = (head + 1) % items.length;
+		}
+		size -= count;
+		takeCount += count;
+		notifyAll();
+		return count;
+	}
+	
+	/**
+	 * Makes the consumer return from <code>drainTo</code>, with no items if
+	 * the buffer is empty, so that it can handle a request from another thread.
+	 */
+	public synchronized void wakeUp() {
+		woken = true;
+		notifyAll();
+	}
+	
+	/**
+	 * Closes the buffer.  Items can no longer be added, and the threads
+	 * waiting on the buffer are released once it is empty.
+	 */
+	public synchronized void close() {
+		closed = true;
+		notifyAll();
+	}
+	
+	public synchronized boolean isClosed() {
+		return closed;
+	}
+	
+	public synchronized int size() {
+		return size;
+	}
+	
+	public int getCapacity() {
+		return items.length;
+	}
+	
+	public int getPolicy() {
+		return policy;
+	}
+	
+	/**
+	 * @return The number of items stored in the buffer, including the ones
+	 * later discarded by <code>DROP_OLDEST</code> or <code>SAMPLE</code>
+	 */
+	public synchronized long getPutCount() {
+		return putCount;
+	}
+	
+	/**
+	 * @return The number of items removed from the buffer by its consumer
+	 */
+	public synchronized long getTakeCount() {
+		return takeCount;
+	}
+	
+	/**
+	 * @return The number of items lost because of the overflow policy
+	 */
+	public synchronized long getDropCount() {
+		return dropCount;
+	}
+	
+	private Object[] items;
+	private int head = 0;
+	private int size = 0;
+	private boolean closed = false;
+	private boolean woken = false;
+	private int policy;
+	private int sampleRate;
+	private long overflowCount = 0;
+	private long putCount = 0;
+	private long takeCount = 0;
+	private long dropCount = 0;
+	
+	public static final int BLOCK = 0;
+	public static final int DROP_OLDEST = 1;
+	public static final int SAMPLE = 2;
+	
+	private static final int DEFAULT_SAMPLE_RATE = 10;
+}
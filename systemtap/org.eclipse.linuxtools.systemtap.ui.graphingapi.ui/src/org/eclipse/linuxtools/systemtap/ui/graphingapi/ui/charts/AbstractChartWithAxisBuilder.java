@@ -3,9 +3,14 @@ package org.eclipse.linuxtools.systemtap.ui.graphingapi.ui.charts;
 
 import org.eclipse.birt.chart.model.component.Axis;
 import org.eclipse.birt.chart.model.impl.ChartWithAxesImpl;
+import org.eclipse.swt.events.ControlAdapter;
+import org.eclipse.swt.events.ControlEvent;
 import org.eclipse.swt.widgets.Composite;
 
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.adapters.IAdapter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.adapters.IColumnarAdapter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.Decimator;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.NumberType;
 
 /**
  * Builds the chart with axis.
@@ -34,6 +39,13 @@ public abstract class AbstractChartWithAxisBuilder extends AbstractChartBuilder
      */
     protected Axis yAxis = null;
 
+    /**
+     * Width of the chart in pixels, the number of buckets the series are
+     * decimated into.  Updated on resize, since it can not be read from the
+     * thread that updates the data.
+     */
+    protected volatile int plotWidth = 0;
+
     /**
      * Constructor.
      * 
@@ -43,6 +55,12 @@ public abstract class AbstractChartWithAxisBuilder extends AbstractChartBuilder
     
     public AbstractChartWithAxisBuilder(IAdapter adapter, Composite parent, int style) {
     	 super(adapter, parent, style);
+    	 plotWidth = getClientArea().width;
+    	 addControlListener(new ControlAdapter() {
+    		 public void controlResized(ControlEvent e) {
+    			 plotWidth = getClientArea().width;
+    		 }
+    	 });
 	}
 
 	/*
@@ -58,4 +76,105 @@ public abstract class AbstractChartWithAxisBuilder extends AbstractChartBuilder
     {
     	
     }
+
+    /**
+     * Returns the last <code>ticks</code> rows of the adapter, decimated so
+     * that no more rows than the chart can show are handed to the renderer.
+     * Only the visible rows are read from the adapter.
+     * 
+     * @param ticks The number of rows visible in the chart
+     * @param style <code>Decimator.MIN_MAX</code> or <code>Decimator.LTTB</code>
+     * 
+     * @return The rows to render, [row][column] as <code>IAdapter.getData</code>
+     */
+    protected Object[][] getVisibleData(int ticks, int style) {
+    	int count = adapter.getRecordCount();
+    	int start = (count > ticks) ? count - ticks : 0;
+    	Object[][] rows = adapter.getData(start, count);
+    	if(plotWidth <= 0 || rows.length <= plotWidth)
+    		return rows;
+
+    	double[][] series = new double[adapter.getSeriesCount()][rows.length];
+    	for(int i=0; i<series.length; i++) {
+    		for(int j=0; j<rows.length; j++)
+    			series[i][j] = toDouble(rows[j][i+1]);
+    	}
+
+    	int[] kept = Decimator.decimate(series, rows.length, plotWidth, style);
+    	Object[][] decimated = new Object[kept.length][];
+    	for(int i=0; i<kept.length; i++)
+    		decimated[i] = rows[kept[i]];
+    	return decimated;
+    }
+
+    /**
+     * Same as <code>getVisibleData</code>, but reads the y series as
+     * primitives when the adapter can hand them out that way, so that the
+     * values are never boxed.  Missing values are drawn as 0, as
+     * <code>NumberType.obj2num</code> does for anything that is not a number.
+     * 
+     * @param ticks The number of rows visible in the chart
+     * @param style <code>Decimator.MIN_MAX</code> or <code>Decimator.LTTB</code>
+     * 
+     * @return The x labels and y values of the rows to render
+     */
+    protected VisibleSeries getVisibleSeries(int ticks, int style) {
+    	int count = adapter.getRecordCount();
+    	int start = (count > ticks) ? count - ticks : 0;
+    	double[][] series = null;
+    	if(adapter instanceof IColumnarAdapter)
+    		series = ((IColumnarAdapter)adapter).getYSeriesValues(start, count);
+
+    	if(null == series) {
+    		Object[][] rows = getVisibleData(ticks, style);
+    		VisibleSeries visible = new VisibleSeries(rows.length, adapter.getSeriesCount());
+    		double d;
+    		for(int j=0; j<rows.length; j++) {
+    			visible.x[j] = (null == rows[j][0]) ? "" : rows[j][0].toString();
+    			for(int i=0; i<visible.y.length; i++) {
+    				d = toDouble(rows[j][i+1]);
+    				visible.y[i][j] = Double.isNaN(d) ? 0 : d;
+    			}
+    		}
+    		return visible;
+    	}
+
+    	int length = count - start;
+    	int[] kept = null;
+    	if(plotWidth > 0 && length > plotWidth)
+    		kept = Decimator.decimate(series, length, plotWidth, style);
+    	int rows = (null == kept) ? length : kept.length;
+
+    	IColumnarAdapter columnar = (IColumnarAdapter)adapter;
+    	VisibleSeries visible = new VisibleSeries(rows, series.length);
+    	double d;
+    	for(int j=0; j<rows; j++) {
+    		int row = (null == kept) ? j : kept[j];
+    		visible.x[j] = columnar.getXLabel(start + row);
+    		for(int i=0; i<series.length; i++) {
+    			d = series[i][row];
+    			visible.y[i][j] = Double.isNaN(d) ? 0 : d;
+    		}
+    	}
+    	return visible;
+    }
+
+    private static double toDouble(Object o) {
+    	return (null == o) ? Double.NaN : NumberType.obj2num(o).doubleValue();
+    }
+
+    /**
+     * The rows of a chart, as returned by <code>getVisibleSeries</code>.
+     */
+    protected static final class VisibleSeries {
+    	VisibleSeries(int rows, int seriesCount) {
+    		x = new String[rows];
+    		y = new double[seriesCount][rows];
+    	}
+
+    	/** The label of the x value of each row */
+    	public final String[] x;
+    	/** [series][row] the y values */
+    	public final double[][] y;
+    }
 }
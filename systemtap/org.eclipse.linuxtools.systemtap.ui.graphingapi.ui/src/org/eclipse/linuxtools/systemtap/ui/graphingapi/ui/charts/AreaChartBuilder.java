@@ -51,6 +51,7 @@ import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Composite;
 
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.adapters.IAdapter;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.Decimator;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.structures.NumberType;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.ui.internal.GraphingAPIUIPlugin;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.ui.preferences.GraphingAPIPreferenceConstants;
@@ -234,7 +235,7 @@ public class AreaChartBuilder extends AbstractChartWithAxisBuilder {
      */
     protected void buildXSeries() {
     	
-          data = adapter.getData();
+          data = getVisibleData(xSeriesTicks, Decimator.MIN_MAX);
           
           int starting = 0;
           if (data.length > xSeriesTicks ) starting = data.length - xSeriesTicks;
@@ -328,14 +329,8 @@ public class AreaChartBuilder extends AbstractChartWithAxisBuilder {
     public void updateDataSet() {
         // Associate with Data Set
     	try{
-    	   data = adapter.getData();
-    	   int starting = 0;
-           if (data.length > xSeriesTicks ) starting = data.length - xSeriesTicks; 
-           
-    	
-           x= new String[data.length - starting];
-          for (int j=starting,k =0; j < data.length; j++,k++ )
-          	x[k] = data[j][0].toString();
+    	   VisibleSeries visible = getVisibleSeries(xSeriesTicks, Decimator.MIN_MAX);
+           x = visible.x;
           // X-Axis
           TextDataSet categoryValues = TextDataSetImpl.create(x);
           
@@ -352,13 +347,12 @@ public class AreaChartBuilder extends AbstractChartWithAxisBuilder {
        NumberDataSet orthoValuesDataSet1[] = new NumberDataSet[adapter.getSeriesCount()];
        for (int i=1; i<=adapter.getSeriesCount();i++)
        {
-       y= new Double[data.length - starting];
-       for (int j=starting,k=0; j < data.length; j++,k++ )
+       double[] values = visible.y[i-1];
+       for (int k=0; k < values.length; k++)
        {
-       	y[k] = NumberType.obj2num(data[j][i]).doubleValue();
-       	if ( max < y[k]) max = y[k];
+       	if ( max < values[k]) max = values[k];
        }
-       orthoValuesDataSet1[i-1]= NumberDataSetImpl.create(y);
+       orthoValuesDataSet1[i-1]= NumberDataSetImpl.create(values);
        SeriesDefinition sdY = (SeriesDefinition) yAxisPrimary
        .getSeriesDefinitions().get(i-1);
        ((Series) sdY.getSeries().get(0)).setDataSet(orthoValuesDataSet1[i-1]);
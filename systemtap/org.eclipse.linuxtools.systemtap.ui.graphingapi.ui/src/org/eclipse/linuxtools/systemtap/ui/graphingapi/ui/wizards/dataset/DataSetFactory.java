@@ -14,6 +14,12 @@ package org.eclipse.linuxtools.systemtap.ui.graphingapi.ui.wizards.dataset;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IDataSetParser;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.IFilteredDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnarDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.ColumnarTableDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.FilteredColumnarDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.column.FilteredColumnarTableDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.BoundedRowDataSet;
+import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.FilteredBoundedRowDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.FilteredRowDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowDataSet;
 import org.eclipse.linuxtools.systemtap.ui.graphingapi.nonui.datasets.row.RowParser;
@@ -33,6 +39,12 @@ public final class DataSetFactory {
 			return new RowDataSet(labels);
 		else if(id.equals(TableDataSet.ID))
 			return new TableDataSet(labels);
+		else if(id.equals(ColumnarDataSet.ID))
+			return new ColumnarDataSet(labels);
+		else if(id.equals(ColumnarTableDataSet.ID))
+			return new ColumnarTableDataSet(labels);
+		else if(id.equals(BoundedRowDataSet.ID))
+			return new BoundedRowDataSet(labels);
 		return null;
 	}
 	
@@ -41,6 +53,12 @@ public final class DataSetFactory {
 			return new FilteredRowDataSet(labels);
 		else if(id.equals(TableDataSet.ID))
 			return new FilteredTableDataSet(labels);
+		else if(id.equals(ColumnarDataSet.ID))
+			return new FilteredColumnarDataSet(labels);
+		else if(id.equals(ColumnarTableDataSet.ID))
+			return new FilteredColumnarTableDataSet(labels);
+		else if(id.equals(BoundedRowDataSet.ID))
+			return new FilteredBoundedRowDataSet(labels);
 		return new FilteredRowDataSet(labels);
 	}
 	
@@ -49,6 +67,12 @@ public final class DataSetFactory {
 			return new FilteredRowDataSet((RowDataSet)set);
 		else if(set instanceof TableDataSet)
 			return new FilteredTableDataSet((TableDataSet)set);
+		else if(set instanceof ColumnarDataSet)
+			return new FilteredColumnarDataSet((ColumnarDataSet)set);
+		else if(set instanceof ColumnarTableDataSet)
+			return new FilteredColumnarTableDataSet((ColumnarTableDataSet)set);
+		else if(set instanceof BoundedRowDataSet)
+			return new FilteredBoundedRowDataSet((BoundedRowDataSet)set);
 		return null;
 	}
 	
@@ -81,19 +105,19 @@ public final class DataSetFactory {
 	}
 	
 	public static IDataSetParser createParserXML(String id, IMemento source) {
-		if(id.equals(ids[0]))
+		if(id.equals(RowDataSet.ID) || id.equals(ColumnarDataSet.ID) || id.equals(BoundedRowDataSet.ID))
 			return new RowParser(source);
-		else if(id.equals(ids[1]))
+		else if(id.equals(TableDataSet.ID) || id.equals(ColumnarTableDataSet.ID))
 			return new TableParser(source);
 			
 		return null;
 	}
 	
 	public static DataGrid getDataGrid(Composite composite, IDataSet set) {
-		if(set instanceof RowDataSet)
-			return new DataGrid(composite, (RowDataSet)set, DataGrid.NONE);
-		else if(set instanceof TableDataSet)
-			return new DataGrid(composite, (TableDataSet)set, DataGrid.FULL_UPDATE);
+		if(set instanceof RowDataSet || set instanceof ColumnarDataSet || set instanceof BoundedRowDataSet)
+			return new DataGrid(composite, set, DataGrid.NONE);
+		else if(set instanceof TableDataSet || set instanceof ColumnarTableDataSet)
+			return new DataGrid(composite, set, DataGrid.FULL_UPDATE);
 			
 		return null;
 	}
@@ -107,12 +131,18 @@ public final class DataSetFactory {
 	
 	private static final String[] ids = {
 		RowDataSet.ID, 
-		TableDataSet.ID
+		TableDataSet.ID,
+		ColumnarDataSet.ID,
+		ColumnarTableDataSet.ID,
+		BoundedRowDataSet.ID
 	};
 	
 	private static final String[] names = {
 		Localization.getString("DataSetFactory.RowDataSet"),
-		Localization.getString("DataSetFactory.TableDataSet")
+		Localization.getString("DataSetFactory.TableDataSet"),
+		Localization.getString("DataSetFactory.ColumnarDataSet"),
+		Localization.getString("DataSetFactory.ColumnarTableDataSet"),
+		Localization.getString("DataSetFactory.BoundedRowDataSet")
 	};
 	
 	private static final String[] descriptions = {
@@ -136,11 +166,23 @@ public final class DataSetFactory {
 		"2343	2931	4423\n" +
 		"2234	2723	5233\n" +
 		"3215	3565	4922\n" +
-		"-------------------\n"
+		"-------------------\n",
+
+		Localization.getString("DataSetFactory.RowDataSetDescription") +
+		Localization.getString("DataSetFactory.ColumnarDataSetDescription"),
+
+		Localization.getString("DataSetFactory.TableDataSetDescription") +
+		Localization.getString("DataSetFactory.ColumnarDataSetDescription"),
+
+		Localization.getString("DataSetFactory.RowDataSetDescription") +
+		Localization.getString("DataSetFactory.BoundedRowDataSetDescription")
 	};
 	
 	private static final ParsingWizardPage[] dataSetWizards = new ParsingWizardPage[] {
 		new SelectRowParsingWizardPage(),
-		new SelectTableParsingWizardPage()
+		new SelectTableParsingWizardPage(),
+		new SelectRowParsingWizardPage(ColumnarDataSet.ID),
+		new SelectTableParsingWizardPage(ColumnarTableDataSet.ID),
+		new SelectRowParsingWizardPage(BoundedRowDataSet.ID)
 	};
 }
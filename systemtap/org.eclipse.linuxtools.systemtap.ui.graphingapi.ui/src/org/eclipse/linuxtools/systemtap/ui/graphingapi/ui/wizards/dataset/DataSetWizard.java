@@ -93,6 +93,7 @@ public class DataSetWizard extends Wizard implements INewWizard {
 			
 			saveColumns(child, dataSet.getTitles());
 			parser.saveXML(child);
+			child.putString(IDataSetParser.XMLdataset, dataSet.getID());
 			
 			FileWriter writer = new FileWriter(metaFile);
 			data.save(writer);
@@ -30,8 +30,16 @@ import org.eclipse.ui.XMLMemento;
 
 public class SelectRowParsingWizardPage extends ParsingWizardPage {
 	public SelectRowParsingWizardPage() {
+		this(RowDataSet.ID);
+	}
+	
+	/**
+	 * @param dataSetID The ID of the row based <code>DataSet</code> created by the page
+	 */
+	public SelectRowParsingWizardPage(String dataSetID) {
 		super("selectRowDataSetParsing");
 		setTitle(Localization.getString("SelectRowParsingWizardPage.SelectRowDataSetParsing"));
+		this.dataSetID = dataSetID;
 	}
 	
 	public void createControl(Composite parent) {
@@ -65,7 +73,7 @@ public class SelectRowParsingWizardPage extends ParsingWizardPage {
 			if(i>=children.length)	//Didn't find file
 				return false;
 			
-			if(0 != children[i].getString(IDataSetParser.XMLdataset).compareTo(RowDataSet.ID))
+			if(0 != children[i].getString(IDataSetParser.XMLdataset).compareTo(dataSetID))
 				return false;
 			
 			IMemento[] children2 = children[i].getChildren(IDataSetParser.XMLColumn);
@@ -111,7 +119,7 @@ public class SelectRowParsingWizardPage extends ParsingWizardPage {
 		if(super.checkComplete()) {
 			try {
 				wizard.parser = new RowParser(regEx);
-				wizard.dataSet = DataSetFactory.createDataSet(RowDataSet.ID, labels);
+				wizard.dataSet = DataSetFactory.createDataSet(dataSetID, labels);
 				return true;
 			} catch(PatternSyntaxException pse) {}
 		}
@@ -123,4 +131,6 @@ public class SelectRowParsingWizardPage extends ParsingWizardPage {
 	public void dispose() {
 		super.dispose();
 	}
+	
+	private String dataSetID;
 }
@@ -32,8 +32,16 @@ import org.eclipse.ui.XMLMemento;
 
 public class SelectTableParsingWizardPage extends ParsingWizardPage {
 	public SelectTableParsingWizardPage() {
+		this(TableDataSet.ID);
+	}
+	
+	/**
+	 * @param dataSetID The ID of the table based <code>DataSet</code> created by the page
+	 */
+	public SelectTableParsingWizardPage(String dataSetID) {
 		super("selectTableDataSetParsing");
 		setTitle(Localization.getString("SelectTableParsingWizardPage.SelectTableDataSetParsing"));
+		this.dataSetID = dataSetID;
 	}
 	
 	public void createControl(Composite parent) {
@@ -75,7 +83,7 @@ public class SelectTableParsingWizardPage extends ParsingWizardPage {
 			if(i>=children.length)	//Didn't find file
 				return false;
 			
-			if(0 != children[i].getString(IDataSetParser.XMLdataset).compareTo(TableDataSet.ID))
+			if(0 != children[i].getString(IDataSetParser.XMLdataset).compareTo(dataSetID))
 				return false;
 			
 			IMemento[] children2 = children[i].getChildren(IDataSetParser.XMLColumn);
@@ -123,7 +131,7 @@ public class SelectTableParsingWizardPage extends ParsingWizardPage {
 		if(super.checkComplete() && txtDelim.getText().length() > 0) {
 			try {
 				wizard.parser = new TableParser(regEx, txtDelim.getText());
-				wizard.dataSet = DataSetFactory.createDataSet(TableDataSet.ID, labels);
+				wizard.dataSet = DataSetFactory.createDataSet(dataSetID, labels);
 				return true;
 			} catch(PatternSyntaxException pse) {}
 		}
@@ -142,4 +150,5 @@ public class SelectTableParsingWizardPage extends ParsingWizardPage {
 	}
 	
 	protected Text txtDelim;
+	private String dataSetID;
 }
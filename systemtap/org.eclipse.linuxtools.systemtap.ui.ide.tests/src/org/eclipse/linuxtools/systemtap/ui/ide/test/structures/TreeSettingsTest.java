@@ -58,6 +58,14 @@ public class TreeSettingsTest extends TestCase {
 		assertTrue("TreeDate changed", d1 < d2);
 	}
 
+	public void testGetTreeFileKey() {
+		TreeSettings.setTrees(new TreeNode("f", false), new TreeNode("p", false), "stap 1.0 | /tapsets");
+		assertEquals("Key stored", "stap 1.0 | /tapsets", TreeSettings.getTreeFileKey());
+		
+		TreeSettings.setTrees(new TreeNode("f", false), new TreeNode("p", false));
+		assertEquals("No key", "", TreeSettings.getTreeFileKey());
+	}
+
 	public void testGetFunctionTree() {
 		TreeNode temp;
 		TreeNode t = new TreeNode("f", false);
@@ -12,7 +12,12 @@
 package org.eclipse.linuxtools.systemtap.ui.ide.structures;
 
 import java.io.File;
+import java.util.ArrayList;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.dialogs.InputDialog;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.linuxtools.systemtap.ui.ide.IDESessionSettings;
@@ -48,17 +53,40 @@ public final class TapsetLibrary {
 	 * assuming that new information will be avilable soon.  By registering
 	 * a listener at that point the class can be notified when an update is
 	 * available.
+	 * 
+	 * The stored trees are shown right away.  Running stap to find out
+	 * whether they are still current, and to parse the tapsets when they
+	 * are not, is left to a background job.
 	 */
 	public static void init() {
-		if(null != stpp && stpp.isRunning())
+		if(null != loader || (null != stpp && stpp.isRunning()))
 			return;
 		
-		if(IDEPlugin.getDefault().getPreferenceStore()
-				.getBoolean(IDEPreferenceConstants.P_STORED_TREE) && 
-				isTreeFileCurrent())
+		final IPreferenceStore p = IDEPlugin.getDefault().getPreferenceStore();
+		final File tapsetLocation = getTapsetLocation(p);	//May prompt, so stays on this thread
+		final boolean stored = p.getBoolean(IDEPreferenceConstants.P_STORED_TREE);
+		if(stored)
 			readTreeFile();
-		else
-			runStapParser();
+		if(null == functionTree)
+			functionTree = new TreeNode("", false);
+		if(null == probeTree)
+			probeTree = new TreeNode("", false);
+		
+		loader = new Job(Localization.getString("TapsetLibrary.Loading")) {
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					cacheKey = TapsetParser.getStapVersion() + " | " + p.getString(IDEPreferenceConstants.P_TAPSETS);
+					if(!stored || !isTreeFileCurrent(tapsetLocation)) {
+						runStapParser();
+						fireUpdateEvent();
+					}
+				} finally {
+					loader = null;
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		loader.schedule();
 	}
 	
 	/**
@@ -70,8 +98,8 @@ public final class TapsetLibrary {
 								.getString(IDEPreferenceConstants.P_TAPSETS).split(File.pathSeparator);
 		
 		stpp = new TapsetParser(tapsets);
-		stpp.start();
 		stpp.addListener(completionListener);
+		stpp.start();
 		functionTree = stpp.getFunctions();
 		probeTree = stpp.getProbes();
 	}
@@ -87,16 +115,21 @@ public final class TapsetLibrary {
 	
 	/**
 	 * This method checks to see if the tapsets have changed
-	 * at all since the TreeSettings.xml file was created.
+	 * at all since the TreeSettings.xml file was created.  The file must
+	 * also have been generated by the same version of stap, with the same
+	 * tapset directories.
+	 * @param tapsetLocation The default tapset directory
 	 * @return boolean indecating whether or not the TreeSettings.xml file has the most up-to-date version
 	 */
-	private static boolean isTreeFileCurrent() {
+	private static boolean isTreeFileCurrent(File tapsetLocation) {
 		long treesDate = TreeSettings.getTreeFileDate();
+		if(!cacheKey.equals(TreeSettings.getTreeFileKey()))
+			return false;
 
 		IPreferenceStore p = IDEPlugin.getDefault().getPreferenceStore();
 		String[] tapsets = p.getString(IDEPreferenceConstants.P_TAPSETS).split(File.pathSeparator);
 
-		File f = getTapsetLocation(p);
+		File f = tapsetLocation;
 		
 		if(!checkIsCurrentFolder(treesDate, f))
 			return false;
@@ -163,24 +196,41 @@ public final class TapsetLibrary {
 	}
 	
 	/**
-	 * Adds a new listener to the TapsetParser
+	 * Adds a new listener that is told whenever the trees are updated.  The
+	 * listener is kept across runs of the TapsetParser.
 	 * @param listener the listener to be added
 	 * @return boolean indacating whether or not the listener was added
 	 */
 	public static boolean addListener(IUpdateListener listener) {
-		if(null == stpp)
+		if(null == listener)
 			return false;
 		
-		stpp.addListener(listener);
+		synchronized(listeners) {
+			listeners.add(listener);
+		}
 		return true;
 	}
 	
 	/**
-	 * Removes the provided listener from the tapsetParser.
-	 * @param listener The listener to be removed from the tapsetParser
+	 * Removes the provided listener.
+	 * @param listener The listener to be removed
 	 */
 	public static void removeUpdateListener(IUpdateListener listener) {
-		stpp.removeListener(listener);
+		synchronized(listeners) {
+			listeners.remove(listener);
+		}
+	}
+	
+	/**
+	 * Tells the listeners that the trees were updated.
+	 */
+	private static void fireUpdateEvent() {
+		IUpdateListener[] l;
+		synchronized(listeners) {
+			l = listeners.toArray(new IUpdateListener[listeners.size()]);
+		}
+		for(int i=0; i<l.length; i++)
+			l[i].handleUpdateEvent();
 	}
 	
 	/**
@@ -192,11 +242,15 @@ public final class TapsetLibrary {
 			functionTree = stpp.getFunctions();
 			probeTree = stpp.getProbes();
 			if(stpp.isFinishSuccessful())
-				TreeSettings.setTrees(functionTree, probeTree);
+				TreeSettings.setTrees(functionTree, probeTree, cacheKey);
+			fireUpdateEvent();
 		}
 	};
 	
-	private static TreeNode functionTree = null;
-	private static TreeNode probeTree = null;
-	private static TapsetParser stpp = null;
+	private static volatile TreeNode functionTree = null;
+	private static volatile TreeNode probeTree = null;
+	private static volatile TapsetParser stpp = null;
+	private static volatile Job loader = null;
+	private static volatile String cacheKey = "";
+	private static final ArrayList<IUpdateListener> listeners = new ArrayList<IUpdateListener>();
 }
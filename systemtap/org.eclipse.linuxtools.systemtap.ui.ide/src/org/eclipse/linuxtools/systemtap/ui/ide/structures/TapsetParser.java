@@ -12,11 +12,17 @@
 package org.eclipse.linuxtools.systemtap.ui.ide.structures;
 
 import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.linuxtools.systemtap.ui.logging.LogManager;
+import org.eclipse.linuxtools.systemtap.ui.structures.LoggingStreamDaemon;
 import org.eclipse.linuxtools.systemtap.ui.structures.TreeDefinitionNode;
 import org.eclipse.linuxtools.systemtap.ui.structures.TreeNode;
 import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IUpdateListener;
+import org.eclipse.linuxtools.systemtap.ui.structures.runnable.Command;
 import org.eclipse.linuxtools.systemtap.ui.structures.runnable.LoggedCommand;
 
 
@@ -119,17 +125,85 @@ public class TapsetParser implements Runnable {
 	 * point the trees are both filled with all data obtained from stap -vp1
 	 * After each tree is finished, an update event will be fired so callers
 	 * know that they can update.
+	 * 
+	 * The functions and each top level probe group only touch their own part
+	 * of the trees, so they are run concurrently, one stap process per processor.
 	 */
 	public void run() {
-		runPass2Functions();
-		fireUpdateEvent();	//Inform listeners that a new batch of functions has variable info
-		runPass2Probes();
-		fireUpdateEvent();	//Inform listeners that a new batch of probes has variable info
+		ExecutorService pool = Executors.newFixedThreadPool(
+				Math.max(1, Runtime.getRuntime().availableProcessors()));
+		
+		try {
+			Future<?> functionsDone = pool.submit(new Runnable() {
+				public void run() {
+					runPass2Functions();
+				}
+			});
+			ArrayList<Future<?>> probesDone = runPass2Probes(pool);
+			
+			waitFor(functionsDone);
+			fireUpdateEvent();	//Inform listeners that a new batch of functions has variable info
+			for(int i=0; i<probesDone.size(); i++)
+				waitFor(probesDone.get(i));
+			fireUpdateEvent();	//Inform listeners that a new batch of probes has variable info
+		} finally {
+			pool.shutdown();
+		}
+		
+		successfulFinish = !stopped;	//Incomplete trees must not be cached
 		stop();
-		successfulFinish = true;
 		fireUpdateEvent();	//Inform listeners that everything is done
 	}
 	
+	/**
+	 * Blocks until the given task is done.  A failed task stops the parser.
+	 * @param task The task to wait for
+	 */
+	private void waitFor(Future<?> task) {
+		try {
+			task.get();
+		} catch(InterruptedException e) {
+			LogManager.logCritical("InterruptedException waitFor: " + e.getMessage(), this);
+			stop();
+		} catch(ExecutionException e) {
+			LogManager.logCritical("ExecutionException waitFor: " + e.getCause(), this);
+			stop();
+		}
+	}
+	
+	/**
+	 * Runs stap -V to find out which version of stap the tapsets are parsed with.
+	 * stap is killed if it does not answer within <code>STAP_VERSION_TIMEOUT</code>.
+	 * @return The version banner printed by stap, or an empty String if stap could not be run.
+	 */
+	public static String getStapVersion() {
+		Command cmd = new Command(new String[] {"stap", "-V"}, null, null, STAP_MONITOR_DELAY);
+		LoggingStreamDaemon version = new LoggingStreamDaemon();
+		cmd.addErrorStreamListener(version);
+		cmd.addInputStreamListener(version);
+		cmd.start();
+		
+		long deadline = System.currentTimeMillis() + STAP_VERSION_TIMEOUT;
+		while(cmd.isRunning() && System.currentTimeMillis() < deadline) {
+			try {
+				Thread.sleep(STAP_MONITOR_DELAY);
+			} catch(InterruptedException e) {
+				break;
+			}
+		}
+		
+		boolean finished = !cmd.isRunning();
+		cmd.dispose();
+		String s = version.getOutput();
+		version.dispose();
+		if(!finished || null == s)	//A partial banner must not be used as a cache key
+			return "";
+		s = s.trim();
+		if(s.indexOf('\n') > 0)
+			s = s.substring(0, s.indexOf('\n'));
+		return s;
+	}
+	
 	/**
 	 * This method will register a new listener with the parser
 	 * @param listener The listener that will receive updateEvents
@@ -189,13 +263,13 @@ public class TapsetParser implements Runnable {
 				script[script.length-options.length-2+i] = options[i];
 		}
 		
-		LoggedCommand cmd = new LoggedCommand(script, null, null, 0);
+		LoggedCommand cmd = new LoggedCommand(script, null, null, STAP_MONITOR_DELAY);
 		cmd.start();
 		
 		//Block to prevent errors.
 		while(cmd.isRunning()) {
 			try {
-				Thread.sleep(100);
+				Thread.sleep(STAP_MONITOR_DELAY);
 			} catch(InterruptedException e) {
 				LogManager.logCritical("InterruptedException runStap: " + e.getMessage(), this);
 			}
@@ -393,16 +467,24 @@ public class TapsetParser implements Runnable {
 	/**
 	 * Runs stap -up2 on the probe tree.  The tree is broken up into
 	 * smaller components to allow components to be completed at a time.
+	 * Each top level probe group is given to the pool as a separate task.
+	 * @param pool The pool to run the probe groups in
+	 * @return The tasks, one per probe group
 	 */
-	private void runPass2Probes() {
+	private ArrayList<Future<?>> runPass2Probes(ExecutorService pool) {
+		ArrayList<Future<?>> tasks = new ArrayList<Future<?>>();
+		
 		//Add Probes
-		TreeNode temp;
 		for(int i=0; i<probes.getChildCount(); i++) {
-			if(stopped)
-				return;
-			temp = probes.getChildAt(i);
-			runPass2ProbeSet(temp, 0, temp.getChildCount());
+			final TreeNode temp = probes.getChildAt(i);
+			tasks.add(pool.submit(new Runnable() {
+				public void run() {
+					if(!stopped)
+						runPass2ProbeSet(temp, 0, temp.getChildCount());
+				}
+			}));
 		}
+		return tasks;
 	}
 	
 	/**
@@ -415,6 +497,8 @@ public class TapsetParser implements Runnable {
 	private void runPass2ProbeSet(TreeNode probe, int low, int high) {
 		if(low == high)
 			return;
+		if(stopped)
+			return;
 		
 		TreeNode temp;
 		StringBuilder probeStr = new StringBuilder("");
@@ -669,11 +753,13 @@ public class TapsetParser implements Runnable {
 		}
 	}
 	
-	private boolean stopped = true;
+	private volatile boolean stopped = true;
 	private boolean disposed = true;
 	private boolean successfulFinish = false;
 	private ArrayList<IUpdateListener> listeners;
 	private TreeNode functions;
 	private TreeNode probes;
 	private String[] tapsets;
+	private static final int STAP_MONITOR_DELAY = 10;
+	private static final int STAP_VERSION_TIMEOUT = 5000;
 }
\ No newline at end of file
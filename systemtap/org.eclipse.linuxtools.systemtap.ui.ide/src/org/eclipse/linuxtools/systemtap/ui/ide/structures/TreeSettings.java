@@ -46,6 +46,16 @@ public final class TreeSettings {
 		return treeFileDate;
 	}
 
+	/**
+	 * Returns the key the Tree File was stored with, which identifies the stap version
+	 * and tapset directories it was generated from.
+	 * @return The key, or null if there is no valid Tree file.
+	 */
+	public static String getTreeFileKey() {
+		if(!readData()) return null;
+		return treeFileKey;
+	}
+
 	/**
 	 * Allows access to the Tapset Function tree, which contains information about all
 	 * functions stored in the tapset library.
@@ -73,29 +83,55 @@ public final class TreeSettings {
 	 * @return True if the caching is successful.
 	 */
 	public static boolean setTrees(TreeNode func, TreeNode probe) {
+		return setTrees(func, probe, "");
+	}
+	
+	/**
+	 * Sets the Probe Alias and Function trees that are being cached to the trees given as arguments.
+	 * @param func The Function tree to store in cache.
+	 * @param probe The Probe Alias tree to store in cache.
+	 * @param key Identifies the stap version and tapsets the trees were generated from.
+	 * @return True if the caching is successful.
+	 */
+	public static boolean setTrees(TreeNode func, TreeNode probe, String key) {
 		if(null == func || null == probe) return false;
 		functions = func;
 		probes = probe;
+		treeFileKey = key;
+		loaded = false;	//Read back what was written on the next access
 		return writeData();
 	}
 	
 	/**
-	 * Reads the contents of the cache file into memory.
+	 * Reads the contents of the cache file into memory.  The file is only read
+	 * again once new trees have been set.
 	 * @return True if the read is successful.
 	 */
 	private static boolean readData() {
+		if(loaded)
+			return true;
 		if(null == settingsFile && !openFile())
 			return false;
 
+		FileReader reader = null;
 		try {
-			FileReader reader = new FileReader(settingsFile);
+			reader = new FileReader(settingsFile);
 
 			if(!reader.ready())
 				return false;
 
 			XMLMemento data = XMLMemento.createReadRoot(reader, "TreeSettings");
 
-			IMemento child = data.getChild("functionTree");
+			//Trees written in another format are regenerated
+			IMemento child = data.getChild("cacheVersion");
+			if(null == child || null == child.getInteger("version") || 
+					CACHE_VERSION != child.getInteger("version").intValue())
+				return false;
+			
+			child = data.getChild("cacheKey");
+			treeFileKey = child.getString("key");
+			
+			child = data.getChild("functionTree");
 			String s = child.getString("string");
 			if("<null>".equals(s))
 				s = null;
@@ -124,8 +160,15 @@ public final class TreeSettings {
 			return false;
 		} catch(Exception e) {
 			return false;
+		} finally {
+			if(null != reader) {
+				try {
+					reader.close();
+				} catch(IOException ioe) {}
+			}
 		}
 
+		loaded = true;
 		return true;
 	}
 	
@@ -140,14 +183,21 @@ public final class TreeSettings {
 		try {
 			XMLMemento data = XMLMemento.createWriteRoot("TreeSettings");
 
-			IMemento child = data.createChild("functionTree");
+			IMemento child = data.createChild("cacheVersion");
+			child.putInteger("version", CACHE_VERSION);
+			
+			child = data.createChild("cacheKey");
+			child.putString("key", treeFileKey);
+			
+			child = data.createChild("functionTree");
 			writeTree(child, functions, 0);
 
 			child = data.createChild("probeTree");
 			writeTree(child, probes, 0);
 
 			child = data.createChild("modifiedDate");
-			child.putString("date", (new Long(Calendar.getInstance().getTimeInMillis())).toString());
+			treeFileDate = Calendar.getInstance().getTimeInMillis();
+			child.putString("date", (new Long(treeFileDate)).toString());
 
 			FileWriter writer = new FileWriter(settingsFile);
 			data.save(writer);
@@ -246,8 +296,11 @@ public final class TreeSettings {
 	}
 	
 	private static long treeFileDate;
+	private static String treeFileKey;
+	private static boolean loaded = false;
 	private static TreeNode functions;
 	private static TreeNode probes;
 	private static final String fileName = "/TreeSettings.xml";
 	private static File settingsFile = null;
+	private static final int CACHE_VERSION = 2;
 }
@@ -45,7 +45,8 @@ public class FunctionBrowserView extends BrowserView {
 		LogManager.logDebug("Start createPartControl: parent-" + parent, this);
 		super.createPartControl(parent);
 		TapsetLibrary.init();
-		TapsetLibrary.addListener(new ViewUpdater());
+		updater = new ViewUpdater();
+		TapsetLibrary.addListener(updater);
 		refresh();
 		makeActions();
 		LogManager.logDebug("End createPartControl:", this);
@@ -112,6 +113,8 @@ public class FunctionBrowserView extends BrowserView {
 	public void dispose() {
 		LogManager.logInfo("Disposing", this);
 		super.dispose();
+		TapsetLibrary.removeUpdateListener(updater);
+		updater = null;
 		if(null != doubleClickAction)
 			doubleClickAction.dispose();
 		doubleClickAction = null;
@@ -136,4 +139,5 @@ public class FunctionBrowserView extends BrowserView {
 	private TreeNode functions;
 	private TreeNode localFunctions;
 	private Menu menu;
+	private ViewUpdater updater;
 }
\ No newline at end of file
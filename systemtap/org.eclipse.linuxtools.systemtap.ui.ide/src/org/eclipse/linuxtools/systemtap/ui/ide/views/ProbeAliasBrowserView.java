@@ -44,7 +44,8 @@ public class ProbeAliasBrowserView extends BrowserView {
 		LogManager.logDebug("Start createPartControl: parent-" + parent, this);
 		super.createPartControl(parent);
 		TapsetLibrary.init();
-		TapsetLibrary.addListener(new ViewUpdater());
+		updater = new ViewUpdater();
+		TapsetLibrary.addListener(updater);
 		refresh();
 		makeActions();
 		LogManager.logDebug("End createPartControl:", this);
@@ -85,6 +86,8 @@ public class ProbeAliasBrowserView extends BrowserView {
 	public void dispose() {
 		LogManager.logInfo("Disposing", this);
 		super.dispose();
+		TapsetLibrary.removeUpdateListener(updater);
+		updater = null;
 		if(null != doubleClickAction)
 			doubleClickAction.dispose();
 		doubleClickAction = null;
@@ -100,4 +103,5 @@ public class ProbeAliasBrowserView extends BrowserView {
 	private ProbeAliasAction doubleClickAction;
 	private IDoubleClickListener dblClickListener;
 	private Menu menu;
+	private ViewUpdater updater;
 }
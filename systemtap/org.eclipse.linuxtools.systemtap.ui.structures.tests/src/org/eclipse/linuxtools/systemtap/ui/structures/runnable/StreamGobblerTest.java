@@ -11,6 +11,14 @@
 
 package org.eclipse.linuxtools.systemtap.ui.structures.runnable;
 
+import java.io.ByteArrayInputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.ArrayList;
+
+import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerBatchListener;
+import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerListener;
+import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerStopListener;
 import org.eclipse.linuxtools.systemtap.ui.structures.runnable.StreamGobbler;
 
 import junit.framework.TestCase;
@@ -54,6 +62,153 @@ public class StreamGobblerTest extends TestCase {
 		assertFalse(sg.isRunning());
 	}
 	
+	public void testLines() throws InterruptedException {
+		StringBuilder expected = new StringBuilder();
+		for(int i=0; i<20000; i++)
+			expected.append("line ").append(i).append('\n');
+		for(int i=0; i<100000; i++)	//Longer than the buffer
+			expected.append((char)('a' + i%26));
+		expected.append("\n\nlast");
+		
+		final ArrayList<String> lines = new ArrayList<String>();
+		StreamGobbler gobbler = gobble(expected.toString(), new IGobblerListener() {
+			public void handleDataEvent(String line) {
+				lines.add(line);
+			}
+		});
+		
+		assertEquals(20000 + 2 + 1, lines.size());
+		assertEquals("line 0\n", lines.get(0));
+		assertEquals("line 19999\n", lines.get(19999));
+		assertEquals(100001, lines.get(20000).length());
+		assertEquals("\n", lines.get(20001));
+		assertEquals("last", lines.get(20002));
+		
+		StringBuilder actual = new StringBuilder();
+		for(String line : lines)
+			actual.append(line);
+		assertEquals(expected.toString(), actual.toString());
+		assertEquals("", gobbler.readLine());
+	}
+	
+	public void testBatchListener() throws InterruptedException {
+		StringBuilder expected = new StringBuilder();
+		for(int i=0; i<20000; i++)
+			expected.append("probe ").append(i).append('\n');
+		
+		final StringBuilder actual = new StringBuilder();
+		final int[] lines = new int[1];
+		gobble(expected.toString(), new IGobblerBatchListener() {
+			public void handleDataEvent(String line) {
+				actual.append(line);
+			}
+
+			public void handleDataEvents(byte[] buffer, int offset, int[] lineEnds, int count) {
+				for(int i=0; i<count; i++) {
+					assertEquals('\n', buffer[lineEnds[i]-1]);
+					actual.append(new String(buffer, offset, lineEnds[i] - offset));
+					offset = lineEnds[i];
+				}
+				lines[0] += count;
+			}
+		});
+		
+		assertEquals(20000, lines[0]);
+		assertEquals(expected.toString(), actual.toString());
+	}
+	
+	public void testStopEvent() throws InterruptedException {
+		final StringBuilder events = new StringBuilder();
+		IGobblerStopListener listener = new IGobblerStopListener() {
+			public synchronized void handleDataEvent(String line) {
+				events.append(line);
+			}
+
+			public synchronized void handleStopEvent() {
+				events.append("stop;");
+			}
+		};
+		StreamGobbler gobbler = gobble("a\nb", listener);
+		for(int i=0; i<500 && !events.toString().endsWith("stop;"); i++)
+			Thread.sleep(10);
+		synchronized(listener) {
+			assertEquals("a\nbstop;", events.toString());
+		}
+		
+		//Only once, and right away for a listener added later
+		gobbler.stop();
+		gobbler.addDataListener(new IGobblerStopListener() {
+			public void handleDataEvent(String line) {}
+
+			public void handleStopEvent() {
+				events.append("late;");
+			}
+		});
+		assertEquals("a\nbstop;late;", events.toString());
+	}
+	
+	public void testReadLine() throws Exception {
+		PipedOutputStream out = new PipedOutputStream();
+		final ArrayList<String> lines = new ArrayList<String>();
+		StreamGobbler gobbler = new StreamGobbler(new PipedInputStream(out));
+		gobbler.addDataListener(new IGobblerListener() {
+			public synchronized void handleDataEvent(String line) {
+				lines.add(line);
+			}
+		});
+		gobbler.start();
+		
+		out.write("ab\ncd".getBytes());
+		out.flush();
+		for(int i=0; i<500 && !"cd".equals(gobbler.readLine()); i++)
+			Thread.sleep(10);
+		assertEquals("cd", gobbler.readLine());
+		assertEquals("ab\n", lines.get(0));
+		
+		gobbler.stop();
+		assertEquals("", gobbler.readLine());
+		out.close();
+	}
+	
+	public void testNoDataAfterStop() throws Exception {
+		PipedOutputStream out = new PipedOutputStream();
+		final StringBuilder events = new StringBuilder();
+		StreamGobbler gobbler = new StreamGobbler(new PipedInputStream(out));
+		gobbler.addDataListener(new IGobblerListener() {
+			public void handleDataEvent(String line) {
+				synchronized(events) {
+					events.append(line);
+				}
+			}
+		});
+		gobbler.start();
+		
+		out.write("a\n".getBytes());
+		out.flush();
+		for(int i=0; i<500 && 0 == events.length(); i++)
+			Thread.sleep(10);
+		
+		//The reader is blocked in read() when the gobbler stops
+		gobbler.stop();
+		out.write("b\n".getBytes());
+		out.flush();
+		Thread.sleep(1200);
+		synchronized(events) {
+			assertEquals("a\n", events.toString());
+		}
+		out.close();
+	}
+	
+	private static StreamGobbler gobble(String data, IGobblerListener listener) throws InterruptedException {
+		StreamGobbler gobbler = new StreamGobbler(new ByteArrayInputStream(data.getBytes()));
+		gobbler.addDataListener(listener);
+		gobbler.start();
+		for(int i=0; i<500 && gobbler.isRunning(); i++)
+			Thread.sleep(10);
+		assertFalse("StreamGobbler stopped", gobbler.isRunning());
+		return gobbler;
+	}
+	
 	protected void tearDown() throws Exception {
 		super.tearDown();
 	}
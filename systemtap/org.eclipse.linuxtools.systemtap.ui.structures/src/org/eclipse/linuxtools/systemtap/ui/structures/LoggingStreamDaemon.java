@@ -15,12 +15,13 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 
-import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerListener;
+import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerBatchListener;
 
 
 
-public class LoggingStreamDaemon implements IGobblerListener {
+public class LoggingStreamDaemon implements IGobblerBatchListener {
 	
 	/**
 	 * Sets up an output to log to.
@@ -57,6 +58,19 @@ public class LoggingStreamDaemon implements IGobblerListener {
 		this.pushData();
 	}
 
+	/**
+	 * Outputs all the lines of a read at once.
+	 */
+	public void handleDataEvents(byte[] buffer, int offset, int[] lineEnds, int count) {
+		int length = lineEnds[count-1] - offset;
+		try {
+			output.append(new String(buffer, offset, length, ENCODING));
+		} catch(UnsupportedEncodingException uee) {
+			output.append(new String(buffer, offset, length));
+		}
+		this.pushData();
+	}
+
 	/**
 	 * Reads in and returns the output produced.
 	 * 
@@ -128,4 +142,5 @@ public class LoggingStreamDaemon implements IGobblerListener {
 	private boolean saveLog;
 
 	private static final int BUFFER_SIZE = 1024;
+	private static final String ENCODING = "ISO-8859-1";
 }
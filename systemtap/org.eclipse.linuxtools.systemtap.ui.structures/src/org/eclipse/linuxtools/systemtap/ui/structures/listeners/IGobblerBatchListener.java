@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.structures.listeners;
+
+/**
+ * An <code>IGobblerListener</code> that receives all of the lines found by
+ * one read of the stream at once, as ranges of the gobbler's buffer, instead
+ * of one <code>String</code> per line.
+ */
+public interface IGobblerBatchListener extends IGobblerListener {
+
+	/**
+	 * called by streamgobbler when new lines are present.
+	 * Line i spans the bytes from <code>lineEnds[i-1]</code> (or
+	 * <code>offset</code> for the first line) up to <code>lineEnds[i]</code>,
+	 * exclusive, and includes its terminating '\n'.  The buffer is reused
+	 * by the gobbler, so the data must be copied if it is kept.
+	 * @param buffer The bytes read from the stream
+	 * @param offset The start of the first line
+	 * @param lineEnds The end of each line
+	 * @param count The number of lines
+	 */
+	public void handleDataEvents(byte[] buffer, int offset, int[] lineEnds, int count);
+}
@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.structures.listeners;
+
+/**
+ * An <code>IGobblerListener</code> that is also told when the stream it
+ * listens to has ended, so that it can release what it holds.
+ */
+public interface IGobblerStopListener extends IGobblerListener {
+
+	/**
+	 * called by streamgobbler once it has stopped monitoring the stream,
+	 * after the last data event.  A listener added to a gobbler that has
+	 * already stopped is called right away.
+	 */
+	public void handleStopEvent();
+}
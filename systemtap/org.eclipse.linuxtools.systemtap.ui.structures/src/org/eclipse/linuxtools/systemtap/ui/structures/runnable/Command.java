@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import org.eclipse.linuxtools.systemtap.ui.structures.IPasswordPrompt;
 import org.eclipse.linuxtools.systemtap.ui.structures.internal.Localization;
 import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerListener;
+import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerStopListener;
 
 
 
@@ -129,20 +130,32 @@ public class Command implements Runnable {
 	
 	/**
 	 * Stops the process from running and stops the <code>StreamGobblers</code> from monitering
-	 * the dead process.
+	 * the dead process.  <code>IGobblerStopListeners</code> are told through the gobblers,
+	 * or directly if the process never started.
 	 */
 	public synchronized void stop() {
 		if(!stopped) {
 			stopped = true;
 			if(null != errorGobbler)
 				errorGobbler.stop();
+			else
+				fireStopEvent(errorListeners);
 			if(null != inputGobbler)
 				inputGobbler.stop();
+			else
+				fireStopEvent(inputListeners);
 			if(null != process)
 				process.destroy();
 		}
 	}
 	
+	private static void fireStopEvent(ArrayList<IGobblerListener> listeners) {
+		for(int i=0; i<listeners.size(); i++) {
+			if(listeners.get(i) instanceof IGobblerStopListener)
+				((IGobblerStopListener)listeners.get(i)).handleStopEvent();
+		}
+	}
+	
 	/**
 	 * Method to check whether or not the process in running.
 	 * @return The execution status.
@@ -176,8 +189,11 @@ public class Command implements Runnable {
 	public void addInputStreamListener(IGobblerListener listener) {
 		if(null != inputGobbler)
 			inputGobbler.addDataListener(listener);
-		else
+		else {
 			inputListeners.add(listener);
+			if(stopped && listener instanceof IGobblerStopListener)
+				((IGobblerStopListener)listener).handleStopEvent();
+		}
 	}
 	
 	/**
@@ -187,8 +203,11 @@ public class Command implements Runnable {
 	public void addErrorStreamListener(IGobblerListener listener) {
 		if(null != errorGobbler)
 			errorGobbler.addDataListener(listener);
-		else
+		else {
 			errorListeners.add(listener);
+			if(stopped && listener instanceof IGobblerStopListener)
+				((IGobblerStopListener)listener).handleStopEvent();
+		}
 	}
 	
 	/**
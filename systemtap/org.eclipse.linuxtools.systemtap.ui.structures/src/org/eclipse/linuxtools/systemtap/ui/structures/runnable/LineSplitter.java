@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.linuxtools.systemtap.ui.structures.runnable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Finds the '\n' in a byte buffer eight bytes at a time.  Each word is
+ * tested for a newline with a few arithmetic operations, so the bytes of a
+ * line are never looked at one by one.
+ */
+final class LineSplitter {
+	private LineSplitter() {
+	}
+
+	/**
+	 * Wraps a buffer for use by <code>split</code>.
+	 * @param buffer The buffer to scan
+	 * @return The view of the buffer
+	 */
+	static ByteBuffer wrap(byte[] buffer) {
+		return ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Records the position following each '\n' found between
+	 * <code>from</code> and <code>to</code>.
+	 * @param view The buffer, as returned by <code>wrap</code>
+	 * @param from The first byte to scan
+	 * @param to The end of the data (exclusive)
+	 * @param lineEnds Receives the end of each line. Must be able to hold
+	 * <code>to - from</code> entries.
+	 * @return The number of lines found
+	 */
+	static int split(ByteBuffer view, int from, int to, int[] lineEnds) {
+		int count = 0;
+		int i = from;
+		for(int last = to - WORD; i <= last; i += WORD) {
+			long word = view.getLong(i) ^ NEWLINES;
+			//High bit of each byte set if, and only if, that byte was a '\n'
+			long found = ~(((word & LOW_BITS) + LOW_BITS) | word | LOW_BITS);
+			while(0 != found) {
+				lineEnds[count++] = i + (Long.numberOfTrailingZeros(found) >>> 3) + 1;
+				found &= found - 1;
+			}
+		}
+		for(; i < to; i++) {
+			if('\n' == view.get(i))
+				lineEnds[count++] = i + 1;
+		}
+		return count;
+	}
+
+	private static final int WORD = 8;
+	private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+	private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+}
@@ -13,9 +13,13 @@ package org.eclipse.linuxtools.systemtap.ui.structures.runnable;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
+import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerBatchListener;
 import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerListener;
+import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerStopListener;
 
 
 
@@ -23,13 +27,18 @@ import org.eclipse.linuxtools.systemtap.ui.structures.listeners.IGobblerListener
  * A separate thread to listen to an InputStream and pull all the data
  * out of it. When data is found a new event is fired share the data with
  * any <code>IDataListener</code> that is listening.
+ * 
+ * The stream is read in large blocks with blocking reads, and all of the
+ * lines found in a block are delivered together: <code>IGobblerBatchListeners</code>
+ * get the line ranges of the buffer, other listeners get one <code>String</code>
+ * per line.  <code>IGobblerStopListeners</code> are also told once the
+ * gobbler has stopped, after the last data event.
  * @author Ryan Morse
  */
 public class StreamGobbler implements Runnable {
 	public StreamGobbler(InputStream is) {
 		if(null != is) {
 			this.is = is;
-			line = new StringBuilder();
 			listeners = new ArrayList<IGobblerListener>();
 		}
 		locked = false;
@@ -44,6 +53,7 @@ public class StreamGobbler implements Runnable {
 	//Make sure to call this method to start the StreamGobbler
 	public void start() {
 		t = new Thread(this, "StreamGobbler");
+		t.setDaemon(true);	//A read blocked on a stream that never closes must not keep the VM alive
 		t.start();
 	}
 	
@@ -56,48 +66,67 @@ public class StreamGobbler implements Runnable {
 	}
 
 	/**
-	 * The main method of this class. It monitors the provided thread to see
-	 * when new data is available and then appends it to its current list of
-	 * data.  When a new line is read it will fire a DataEvent for listeners
-	 * to get ahold of the data.
+	 * The main method of this class. It blocks on the provided stream until
+	 * data is available, reads as much of it as the buffer can hold and fires
+	 * a DataEvent for all of the complete lines read.  The last incomplete
+	 * line is kept at the start of the buffer for the next read.
 	 */
 	public void run() {
 		Thread thisThread = Thread.currentThread();
+		InputStream in = is;
 		try {
-			int val=-1;
-
 			while(t == thisThread) {
-				while(0 < is.available()) {
-					if(-1 == (val = is.read()))
-						this.stop();
-					else
-						line.append((char)val);
-					if ('\n' == val)
-						this.fireNewDataEvent();
-					
+				int n;
+				synchronized(bufferLock) {
+					makeRoom();
+					n = end;
+				}
+				//Only the free end of the buffer is written, which nobody else looks at
+				n = in.read(buffer, n, buffer.length - n);
+				if(-1 == n) {
+					this.stop();
+					break;
+				}
+				synchronized(bufferLock) {
+					//stop() may have delivered the last data event during the read
+					if(t != thisThread)
+						break;
+					int count = LineSplitter.split(view, end, end + n, lineEnds);
+					end += n;
+					if(0 < count) {
+						fireNewDataEvents(count);
+						start = lineEnds[count-1];
+					}
+					bufferLock.notifyAll();
 				}
-				try {
-					Thread.sleep(10);
-				} catch(InterruptedException ie) {}
 			}
 		} catch (IOException ioe) {}	//If stream closed before thread shuts down
+		finally {
+			synchronized(bufferLock) {
+				bufferLock.notifyAll();
+			}
+		}
 	}
 
 	/**
 	 * Stops the gobbler from monitering the stream, and fires one last data event
 	 * to make sure that listeners have the entire contents of what was read in
-	 * from the stream.
+	 * from the stream.  The first call also fires the stop event.
 	 */
 	public synchronized void stop() {
-		try {	//Make sure we don't stop while there is still data in the stream
-			while(0 != is.available()) {
-				Thread.sleep(10);
-			}
-		} catch(Exception e) {}
-		t = null;
+		Thread reader = t;
+		synchronized(bufferLock) {
+			try {	//Make sure we don't stop while there is still data in the stream
+				while(null != reader && reader.isAlive() && reader != Thread.currentThread()
+						&& 0 != is.available())
+					bufferLock.wait(STOP_TIMEOUT);
+			} catch(Exception e) {}
+			//Fire one last time to ensure listeners have gotten everything.
+			this.fireNewDataEvent();
+			t = null;
+		}
+		fireStopEvent();
 		notify();
-		//Fire one last time to ensure listeners have gotten everything.
-		this.fireNewDataEvent();
 	}
 	
 	/**
@@ -106,7 +135,9 @@ public class StreamGobbler implements Runnable {
 	 * <code>InputStream</code>
 	 */
 	public String readLine() {
-		return line.toString();
+		synchronized(bufferLock) {	//The incomplete line is only decoded when asked for
+			return decode(buffer, start, end);
+		}
 	}
 	
 	/**
@@ -115,61 +146,120 @@ public class StreamGobbler implements Runnable {
 	public void dispose() {
 		if(isRunning())
 			stop();
-		line = null;
 		t = null;
 		is = null;
 	}
 	
+	/**
+	 * Makes sure that there is free space at the end of the buffer, either by
+	 * moving the incomplete line to the start of the buffer or, when the line
+	 * fills the whole buffer, by growing it.
+	 */
+	private void makeRoom() {
+		if(end < buffer.length)
+			return;
+		if(0 < start) {
+			System.arraycopy(buffer, start, buffer, 0, end - start);
+			end -= start;
+			start = 0;
+		} else {
+			byte[] larger = new byte[buffer.length * 2];
+			System.arraycopy(buffer, 0, larger, 0, end);
+			buffer = larger;
+			view = LineSplitter.wrap(buffer);
+			lineEnds = new int[buffer.length];
+		}
+	}
+	
+	/**
+	 * Fires new events to everything that is monitering this stream for the
+	 * <code>count</code> lines starting at the beginning of the buffer.
+	 */
+	private void fireNewDataEvents(int count) {
+		IGobblerListener[] current = getListeners();
+		for(int i = 0; i < current.length; i++) {
+			if(current[i] instanceof IGobblerBatchListener) {
+				((IGobblerBatchListener)current[i]).handleDataEvents(buffer, start, lineEnds, count);
+			} else {
+				int from = start;
+				for(int j = 0; j < count; j++) {
+					current[i].handleDataEvent(decode(buffer, from, lineEnds[j]));
+					from = lineEnds[j];
+				}
+			}
+		}
+	}
+	
 	/**
 	 * Fires new events to everything that is monitering this stream. Then clears
 	 * the current line of data.
 	 */
 	private void fireNewDataEvent() {
-		//Implement our own lock since using synchronized causes a deadlock here
-	/*	while(locked) {
-			try {
-				wait(10);
-			} catch(Exception e) {}
-		}
-		locked = true;*/
-		for(int i = 0; i < listeners.size(); i++)
+		String line = decode(buffer, start, end);
+		start = end;	//The reader may be filling the rest of the buffer
+		fireNewDataEvent(line);
+	}
+	
+	public void fireNewDataEvent(String l) {
+		IGobblerListener[] current = getListeners();
+		for(int i = 0; i < current.length; i++)
 		{
-		
-			((IGobblerListener)(listeners.get(i))).handleDataEvent(line.toString());
+			current[i].handleDataEvent(l);
 		}
-		line.delete(0, line.length());
 		locked = false;
 	}
 	
-	public void fireNewDataEvent(String l) {
-		//Implement our own lock since using synchronized causes a deadlock here
-	/*	while(locked) {
-			try {
-				wait(10);
-			} catch(Exception e) {}
+	/**
+	 * Tells the <code>IGobblerStopListeners</code> that the stream will not
+	 * be read any more.  Only the first call does anything.
+	 */
+	private void fireStopEvent() {
+		IGobblerListener[] current;
+		synchronized(listeners) {
+			if(stopped)
+				return;
+			stopped = true;
+			current = listeners.toArray(new IGobblerListener[listeners.size()]);
 		}
-		locked = true;*/
-		for(int i = 0; i < listeners.size(); i++)
-		{
-			((IGobblerListener)(listeners.get(i))).handleDataEvent(l);
+		for(int i = 0; i < current.length; i++) {
+			if(current[i] instanceof IGobblerStopListener)
+				((IGobblerStopListener)current[i]).handleStopEvent();
+		}
+	}
+	
+	private IGobblerListener[] getListeners() {
+		synchronized(listeners) {
+			return listeners.toArray(new IGobblerListener[listeners.size()]);
 		}
-//		line.delete(0, line.length());
-		locked = false;
 	}
 	
 	/**
-	 * Registers the provided listener to get data events.
+	 * Builds the string for a range of the buffer.  Each byte maps to one
+	 * character, as the stream has always been read.
+	 */
+	private static String decode(byte[] bytes, int from, int to) {
+		try {
+			return new String(bytes, from, to - from, ENCODING);
+		} catch(UnsupportedEncodingException uee) {
+			return new String(bytes, from, to - from);
+		}
+	}
+	
+	/**
+	 * Registers the provided listener to get data events.  An
+	 * <code>IGobblerStopListener</code> added after the gobbler has stopped
+	 * gets its stop event right away.
 	 * @param l A listener that needs to moniter the stream.
 	 */
 	public void addDataListener(IGobblerListener l) {
-		
-		if(l != null && !listeners.contains(l))
-		{
-			
-			listeners.add(l);
-			
+		boolean alreadyStopped;
+		synchronized(listeners) {
+			if(l != null && !listeners.contains(l))
+				listeners.add(l);
+			alreadyStopped = stopped;
 		}
-		
+		if(alreadyStopped && l instanceof IGobblerStopListener)
+			((IGobblerStopListener)l).handleStopEvent();
 	}
 
 	/**
@@ -178,8 +268,9 @@ public class StreamGobbler implements Runnable {
 	 */
 	public void removeDataListener(IGobblerListener l) {
 		
-		if(listeners.contains(l))
+		synchronized(listeners) {
 			listeners.remove(l);
+		}
 	}
 
 	/**
@@ -192,10 +283,22 @@ public class StreamGobbler implements Runnable {
 	}
 	
 	private ArrayList<IGobblerListener> listeners;
-	private StringBuilder line;
-	private Thread t;
+	private volatile Thread t;
 	private InputStream is;
+	private boolean stopped = false;	//Guarded by listeners, set once the stop event has fired
+	
+	//The bytes read but not delivered yet are buffer[start, end)
+	private final Object bufferLock = new Object();
+	private byte[] buffer = new byte[BUFFER_SIZE];
+	private ByteBuffer view = LineSplitter.wrap(buffer);
+	private int[] lineEnds = new int[BUFFER_SIZE];
+	private int start = 0;
+	private int end = 0;
 	
 	@SuppressWarnings("unused")
 	private boolean locked;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final long STOP_TIMEOUT = 100;
+	private static final String ENCODING = "ISO-8859-1";
 }
\ No newline at end of file
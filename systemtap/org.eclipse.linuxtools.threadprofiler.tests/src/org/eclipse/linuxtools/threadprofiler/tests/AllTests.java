@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.threadprofiler.tests;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class AllTests {
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite(
+				"Test for org.eclipse.linuxtools.threadprofiler.tests"); //$NON-NLS-1$
+		//$JUnit-BEGIN$
+		suite.addTestSuite(CircularPointBufferTest.class);
+		suite.addTestSuite(ThreadProfilerParserTest.class);
+		//$JUnit-END$
+		return suite;
+	}
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.threadprofiler.tests;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.threadprofiler.internal.CircularPointBuffer;
+import org.eclipse.linuxtools.threadprofiler.internal.DataPoint;
+
+public class CircularPointBufferTest extends TestCase {
+
+	private CircularPointBuffer buffer;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		buffer = new CircularPointBuffer(3);
+	}
+
+	public void testAdd() {
+		assertEquals(0, buffer.size());
+		buffer.add(1, 10, DataPoint.DATA_POINT);
+		buffer.add(new DataPoint(2, 20, DataPoint.AXIS_POINT));
+		assertEquals(2, buffer.size());
+		assertEquals(1, buffer.getX(0));
+		assertEquals(10, buffer.getY(0));
+		assertEquals(DataPoint.DATA_POINT, buffer.getType(0));
+		assertEquals(2, buffer.getX(1));
+		assertEquals(20, buffer.getY(1));
+		assertEquals(DataPoint.AXIS_POINT, buffer.getType(1));
+	}
+
+	public void testWrapAround() {
+		//Fill the buffer more than twice, the last points overwrite the oldest
+		for (int i = 0; i < 8; i++)
+			buffer.add(i, 10 * i, i % 2);
+		assertEquals(3, buffer.size());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(5 + i, buffer.getX(i));
+			assertEquals(10 * (5 + i), buffer.getY(i));
+			assertEquals((5 + i) % 2, buffer.getType(i));
+		}
+	}
+
+	public void testIndexOutOfBounds() {
+		buffer.add(1, 1, DataPoint.DATA_POINT);
+		try {
+			buffer.getX(1);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			//Expected
+		}
+		try {
+			buffer.getY(-1);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			//Expected
+		}
+
+		//Slots that were written but not yet reached after a wrap stay out of range
+		for (int i = 0; i < 4; i++)
+			buffer.add(i, i, DataPoint.DATA_POINT);
+		try {
+			buffer.getType(3);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			//Expected
+		}
+	}
+
+	public void testIterator() {
+		for (int i = 0; i < 5; i++)
+			buffer.add(i, -i, DataPoint.DATA_POINT);
+		Iterator<DataPoint> it = buffer.getIterator();
+		for (int i = 2; i < 5; i++) {
+			assertTrue(it.hasNext());
+			DataPoint p = it.next();
+			assertEquals(i, p.getX());
+			assertEquals(-i, p.getY());
+			assertEquals(DataPoint.DATA_POINT, p.getType());
+		}
+		assertFalse(it.hasNext());
+		try {
+			it.next();
+			fail();
+		} catch (NoSuchElementException e) {
+			//Expected
+		}
+	}
+
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.threadprofiler.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.callgraph.core.FileTail;
+import org.eclipse.linuxtools.threadprofiler.ThreadProfilerParser;
+
+public class ThreadProfilerParserTest extends TestCase {
+
+	private static final int MAGIC = 0x54505246;
+	private static final int RECORD_SIZE = 64;
+	private static final int PAYLOAD_SIZE = 56;
+
+	/**
+	 * Keeps the decoded records instead of passing them to a view.
+	 */
+	private static class RecordParser extends ThreadProfilerParser {
+		final ArrayList<long[]> samples = new ArrayList<long[]>();
+		final ArrayList<Integer> sampleIds = new ArrayList<Integer>();
+		final ArrayList<Integer> tids = new ArrayList<Integer>();
+		final ArrayList<String> names = new ArrayList<String>();
+
+		@Override
+		protected void sampleRead(int id, long[] values) {
+			sampleIds.add(id);
+			samples.add(values.clone());
+		}
+
+		@Override
+		protected void threadRead(int tid, String name) {
+			tids.add(tid);
+			names.add(name);
+		}
+
+		void open(String path) throws Exception {
+			setSourcePath(path);
+			setInternalData();
+		}
+
+		int read() throws IOException, InterruptedException {
+			return readRecords((FileTail) getInternalData());
+		}
+
+		void close() throws IOException {
+			((FileTail) getInternalData()).close();
+		}
+	}
+
+	private File file;
+	private FileOutputStream out;
+	private RecordParser parser;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		file = File.createTempFile("threadprofiler", ".out"); //$NON-NLS-1$ //$NON-NLS-2$
+		out = new FileOutputStream(file);
+		parser = new RecordParser();
+		parser.open(file.getPath());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		parser.close();
+		out.close();
+		file.delete();
+		super.tearDown();
+	}
+
+	private void append(ByteBuffer b) throws IOException {
+		out.write(b.array(), 0, b.position());
+		out.flush();
+	}
+
+	private static ByteBuffer header(ByteOrder order) {
+		ByteBuffer b = ByteBuffer.allocate(8).order(order);
+		b.putInt(MAGIC);
+		b.putInt(1);
+		return b;
+	}
+
+	private static ByteBuffer sample(ByteOrder order, int id, long first) {
+		ByteBuffer b = ByteBuffer.allocate(RECORD_SIZE).order(order);
+		b.putInt(1);
+		b.putInt(id);
+		for (int i = 0; i < 7; i++)
+			b.putLong(first + i);
+		return b;
+	}
+
+	private static ByteBuffer thread(ByteOrder order, int tid, byte[] name) {
+		ByteBuffer b = ByteBuffer.allocate(RECORD_SIZE).order(order);
+		b.putInt(2);
+		b.putInt(tid);
+		b.put(name);
+		while (b.hasRemaining())
+			b.put((byte) ' ');
+		return b;
+	}
+
+	private void checkByteOrder(ByteOrder order) throws Exception {
+		append(header(order));
+		append(sample(order, 7, 0x0102030405060708L));
+		append(thread(order, 0x1234, "main".getBytes())); //$NON-NLS-1$
+		assertEquals(2, parser.read());
+
+		assertEquals(1, parser.samples.size());
+		assertEquals(7, parser.sampleIds.get(0).intValue());
+		long[] values = parser.samples.get(0);
+		for (int i = 0; i < 7; i++)
+			assertEquals(0x0102030405060708L + i, values[i]);
+		assertEquals(0x1234, parser.tids.get(0).intValue());
+		assertEquals("main", parser.names.get(0)); //$NON-NLS-1$
+	}
+
+	public void testBigEndian() throws Exception {
+		checkByteOrder(ByteOrder.BIG_ENDIAN);
+	}
+
+	public void testLittleEndian() throws Exception {
+		checkByteOrder(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	public void testBadMagic() throws Exception {
+		ByteBuffer b = ByteBuffer.allocate(8);
+		b.putInt(0x12345678);
+		b.putInt(1);
+		append(b);
+		assertEquals(-1, parser.read());
+	}
+
+	public void testSplitRecord() throws Exception {
+		ByteOrder order = ByteOrder.LITTLE_ENDIAN;
+		ByteBuffer record = sample(order, 3, 100);
+
+		//The header and the start of the record arrive first
+		append(header(order));
+		out.write(record.array(), 0, 20);
+		out.flush();
+		assertEquals(0, parser.read());
+		assertTrue(parser.samples.isEmpty());
+
+		//The rest of the record completes it
+		out.write(record.array(), 20, RECORD_SIZE - 20);
+		out.flush();
+		assertEquals(1, parser.read());
+		assertEquals(3, parser.sampleIds.get(0).intValue());
+		assertEquals(106, parser.samples.get(0)[6]);
+	}
+
+	public void testSplitHeader() throws Exception {
+		ByteBuffer b = header(ByteOrder.BIG_ENDIAN);
+		out.write(b.array(), 0, 5);
+		out.flush();
+		assertEquals(0, parser.read());
+
+		out.write(b.array(), 5, 3);
+		append(sample(ByteOrder.BIG_ENDIAN, 1, 0));
+		assertEquals(1, parser.read());
+	}
+
+	public void testTruncatedRecord() throws Exception {
+		ByteOrder order = ByteOrder.BIG_ENDIAN;
+		append(header(order));
+		append(sample(order, 1, 0));
+		append(sample(order, 2, 0));
+		//The writer stopped in the middle of the last record
+		out.write(sample(order, 3, 0).array(), 0, RECORD_SIZE - 1);
+		out.flush();
+
+		assertEquals(2, parser.read());
+		assertEquals(0, parser.read());
+		assertEquals(2, parser.samples.size());
+		assertEquals(2, parser.sampleIds.get(1).intValue());
+	}
+
+	public void testNames() throws Exception {
+		ByteOrder order = ByteOrder.BIG_ENDIAN;
+		byte[] full = new byte[PAYLOAD_SIZE];
+		for (int i = 0; i < full.length; i++)
+			full[i] = (byte) ('a' + i % 26);
+		byte[] terminated = "worker\0garbage".getBytes(); //$NON-NLS-1$
+
+		append(header(order));
+		//A name as wide as the payload has no padding at all
+		append(thread(order, 1, full));
+		append(thread(order, 2, "padded".getBytes())); //$NON-NLS-1$
+		append(thread(order, 3, terminated));
+		append(sample(order, 4, 0));
+		assertEquals(4, parser.read());
+
+		assertEquals(new String(full), parser.names.get(0));
+		assertEquals("padded", parser.names.get(1)); //$NON-NLS-1$
+		assertEquals("worker", parser.names.get(2)); //$NON-NLS-1$
+		//The name does not leak into the following record
+		assertEquals(4, parser.sampleIds.get(0).intValue());
+	}
+
+}
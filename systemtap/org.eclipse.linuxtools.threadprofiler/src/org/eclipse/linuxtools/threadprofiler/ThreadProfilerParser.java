@@ -1,61 +1,182 @@
 package org.eclipse.linuxtools.threadprofiler;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.linuxtools.callgraph.core.FileTail;
 import org.eclipse.linuxtools.callgraph.core.SystemTapParser;
 
+/**
+ * Reads the binary records written by ThreadProfile.stp. The output starts
+ * with a header of two 4 byte words, MAGIC and VERSION, followed by fixed
+ * width records of RECORD_SIZE bytes: a 4 byte record type, a 4 byte id and
+ * a payload. A sample record carries the sample counter as id and seven
+ * 8 byte values; a thread record carries the tid as id and the name of the
+ * thread's first function, space padded to the payload width.
+ * <br><br>
+ * stap writes in the byte order of the traced machine, which is detected
+ * from the magic number.
+ */
 public class ThreadProfilerParser extends SystemTapParser {
-	
+	/** "TPRF" */
+	private static final int MAGIC = 0x54505246;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 8;
+	private static final int RECORD_SIZE = 64;
+	private static final int PAYLOAD_SIZE = RECORD_SIZE - 8;
+	private static final int RECORD_SAMPLE = 1;
+	private static final int RECORD_THREAD = 2;
+	private static final int SAMPLE_VALUES = 7;
+	/** Records read from the file at once */
+	private static final int RECORDS_PER_READ = 256;
+
+	private ByteBuffer buffer;
+	private boolean headerRead;
+	private final long[] values = new long[SAMPLE_VALUES];
+	private final char[] name = new char[PAYLOAD_SIZE];
+
 	@Override
 	protected void initialize() {
 	}
 
+	@Override
+	protected void setInternalData() throws Exception {
+		super.setInternalData();
+		buffer = ByteBuffer.allocate(RECORD_SIZE * RECORDS_PER_READ);
+		headerRead = false;
+	}
+
 	@Override
 	public IStatus nonRealTimeParsing() {
 		return realTimeParsing();
 	}
-	int counter = 0;
+
 	@Override
 	public IStatus realTimeParsing() {
-		if (!(internalData instanceof BufferedReader))
+		if (!(internalData instanceof FileTail))
 			return Status.CANCEL_STATUS;
-		
+
 		if (!(view instanceof ThreadProfilerView))
 			return Status.CANCEL_STATUS;
-		
-		BufferedReader buff = (BufferedReader) internalData;
 
-		String line;
-		
 		try {
-			while ((line = buff.readLine()) != null) {
-				if (line.equals("--"))
-					((ThreadProfilerView) view).tick();
-				if (line.contains(", ")) {
-					String[] blargh = line.split(", ");
-					((ThreadProfilerView) view).addDataPoints(counter++, blargh);
-				} else {
-					String[] data = line.split(":");
-					//TODO: Log error
-					try {
-						int tid = Integer.parseInt(data[0]);
-						((ThreadProfilerView) view).addThread(tid, data[1]);
-					} catch (NumberFormatException e) {
-						//Do nothing
-					}
-				}
+			int read = readRecords((FileTail) internalData);
+			if (read < 0) {
+				parsingError("Not a thread profiler output file"); //$NON-NLS-1$
+				return Status.CANCEL_STATUS;
 			}
-			view.update();
+			if (read > 0)
+				view.update();
 		} catch (IOException e) {
 			e.printStackTrace();
 		} catch (InterruptedException e) {
 			e.printStackTrace();
-		} 
+		}
 
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Decodes the complete records appended to the output since the last
+	 * call. A record that is only partially written is kept for the next call.
+	 *
+	 * @return The number of records read, or -1 if the header is invalid.
+	 */
+	protected int readRecords(FileTail tail) throws IOException, InterruptedException {
+		int read = 0;
+		while (tail.read(buffer) > 0) {
+			buffer.flip();
+			if (!headerRead) {
+				if (buffer.remaining() < HEADER_SIZE) {
+					buffer.compact();
+					continue;
+				}
+				if (!readHeader())
+					return -1;
+			}
+			while (buffer.remaining() >= RECORD_SIZE) {
+				readRecord();
+				read++;
+			}
+			//Keep a partially written record for the next read
+			buffer.compact();
+		}
+		return read;
+	}
+
+	/**
+	 * Called for each sample record.
+	 *
+	 * @param values Reused for the next sample, copy to keep.
+	 */
+	protected void sampleRead(int id, long[] values) {
+		ThreadProfilerView tpView = (ThreadProfilerView) view;
+		tpView.tick();
+		tpView.addSample(id, values);
+	}
+
+	/**
+	 * Called for each thread record.
+	 */
+	protected void threadRead(int tid, String name) {
+		((ThreadProfilerView) view).addThread(tid, name);
+	}
+
+	/**
+	 * Checks the header and sets the byte order from it.
+	 *
+	 * @return False if the output was not written by a compatible script.
+	 */
+	private boolean readHeader() {
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		int magic = buffer.getInt(buffer.position());
+		if (magic == Integer.reverseBytes(MAGIC))
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+		else if (magic != MAGIC)
+			return false;
+		buffer.getInt();
+		if (buffer.getInt() != VERSION)
+			return false;
+		headerRead = true;
+		return true;
+	}
+
+	private void readRecord() {
+		int start = buffer.position();
+		int type = buffer.getInt();
+		int id = buffer.getInt();
+		switch (type) {
+		case RECORD_SAMPLE:
+			for (int i = 0; i < SAMPLE_VALUES; i++)
+				values[i] = buffer.getLong();
+			sampleRead(id, values);
+			break;
+		case RECORD_THREAD:
+			threadRead(id, readName());
+			break;
+		default:
+			break;
+		}
+		buffer.position(start + RECORD_SIZE);
+	}
+
+	/**
+	 * Function names are ASCII, so bytes map directly to chars.
+	 */
+	private String readName() {
+		int length = 0;
+		for (int i = 0; i < PAYLOAD_SIZE; i++) {
+			char c = (char) (buffer.get() & 0xff);
+			if (c == 0)
+				break;
+			name[length++] = c;
+		}
+		while (length > 0 && name[length - 1] == ' ')
+			length--;
+		return new String(name, 0, length);
+	}
+
 }
@@ -1,6 +1,7 @@
 package org.eclipse.linuxtools.threadprofiler;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -47,6 +48,7 @@ public class ThreadProfilerView extends SystemTapView {
 	private long lastRefresh = 0l;
 	private ArrayList<GraphModel> graphs;
 	private ArrayList<ThreadGraph> threads;
+	private HashMap<Integer, ThreadGraph> threadsByTid;
 
 	private Canvas graphCanvas;
 	private GC graphGC;
@@ -104,8 +106,11 @@ public class ThreadProfilerView extends SystemTapView {
 			graphs = new ArrayList<GraphModel>();
 		if (threads == null)
 			threads = new ArrayList<ThreadGraph>();
+		if (threadsByTid == null)
+			threadsByTid = new HashMap<Integer, ThreadGraph>();
 		graphs.clear();
 		threads.clear();
+		threadsByTid.clear();
 		segments = 0;
 
 		IViewReference ref = getSite().getPage().
@@ -291,6 +296,8 @@ public class ThreadProfilerView extends SystemTapView {
 //					}
 					//TODO: removeAll is an O(N^2) operation
 					threads.removeAll(toRemove);
+					for (ThreadGraph tg : toRemove)
+						threadsByTid.remove(tg.getTid());
 					graphGC.drawImage(buf, 0, 0);
 					buf.dispose();
 					System.out.println("-----------");
@@ -368,58 +375,47 @@ public class ThreadProfilerView extends SystemTapView {
 	
 
 	
-	public void addDataPoints(int counter, String[] blargh) {
+	/**
+	 * Adds one sample to the CPU, memory and disk graphs.
+	 * 
+	 * @param counter Sample number
+	 * @param values CPU total, CPU IO block, memory total, memory data,
+	 * disk total, disk read and disk write, in that order
+	 */
+	public void addSample(int counter, long[] values) {
 		if (segments < GraphModel.BUFFER_SIZE)
 			segments++;
-		if (blargh.length < 2)
-			return;
-		this.addPoint(new DataPoint(counter, Integer.parseInt(blargh[1]), 1), CPU_BUFFER, 0);
-		
-		if (blargh.length < 3)
-			return;
-		this.addPoint(new DataPoint(counter, Integer.parseInt(blargh[2]), 1), CPU_BUFFER, 1);
-		
-		if (blargh.length < 4)
-			return;
-		this.addPoint(new DataPoint(counter, Integer.parseInt(blargh[3]), 1), MEM_BUFFER, 0);
-		
-		if (blargh.length < 5)
-			return;
-		this.addPoint(new DataPoint(counter, Integer.parseInt(blargh[4]), 1), MEM_BUFFER, 1);
-		
-		if (blargh.length < 6)
-			return;
-		addPoint(new DataPoint(counter, Integer.parseInt(blargh[5]), 1), DISK_BUFFER, 0);
-		
-		if (blargh.length < 7)
-			return;
-		addPoint(new DataPoint(counter, Integer.parseInt(blargh[6]), 1), DISK_BUFFER, 1);
-		
-		if (blargh.length < 8)
-			return;
-		addPoint(new DataPoint(counter, Integer.parseInt(blargh[7]), 1), DISK_BUFFER, 2);
+		addPoint(counter, values[0], CPU_BUFFER, 0);
+		addPoint(counter, values[1], CPU_BUFFER, 1);
+		addPoint(counter, values[2], MEM_BUFFER, 0);
+		addPoint(counter, values[3], MEM_BUFFER, 1);
+		addPoint(counter, values[4], DISK_BUFFER, 0);
+		addPoint(counter, values[5], DISK_BUFFER, 1);
+		addPoint(counter, values[6], DISK_BUFFER, 2);
 	}
 	
 	
-	private void addPoint(DataPoint point, int dataSet, int subIndex) {
+	private void addPoint(int counter, long value, int dataSet, int subIndex) {
 		if (graphs.size() < 1)
 			return;
-		graphs.get(dataSet).add(point, subIndex);
+		//The graphs are int based; clamp instead of wrapping around
+		int y = (int) Math.min(value, Integer.MAX_VALUE);
+		graphs.get(dataSet).add(counter, y, 1, subIndex);
 	}
 
 	public void addThread(int tid, String line) {
-		int i = threadExists(tid);
-		if (i < 0) {
-			ThreadGraph tg = new ThreadGraph(line, tid);
+		ThreadGraph tg = threadsByTid.get(tid);
+		if (tg == null) {
+			tg = new ThreadGraph(line, tid);
 			tg.setXOffset(START_X_POS);
 			for (int j = 0; j < segments; j++) {
 				//Fill with empty segments
-				tg.add(new DataPoint(0, 0, DataPoint.THREAD_INACTIVE), 0);
+				tg.add(0, 0, DataPoint.THREAD_INACTIVE, 0);
 			}
 			threads.add(tg);
-			i = threads.size() - 1;
+			threadsByTid.put(tid, tg);
 		}
-		threads.get(i).addPoint();
+		tg.addPoint();
 	}
 	
 
@@ -429,21 +425,6 @@ public class ThreadProfilerView extends SystemTapView {
 			tg.tick();
 		}
 	}		
-	
-	/**
-	 * Returns true if a thread with the given tid exists
-	 * 
-	 * @param tid
-	 * @return
-	 */
-	private int threadExists(int tid) {
-		for (int i = 0; i < threads.size(); i++) {
-			if (threads.get(i).getTid() == tid) {
-				return i;
-			}
-		}
-		return -1;
-	}
 
 
 
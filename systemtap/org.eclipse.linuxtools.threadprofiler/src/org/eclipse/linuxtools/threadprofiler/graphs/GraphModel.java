@@ -90,6 +90,10 @@ public abstract class GraphModel {
 	}
 
 	public void add(DataPoint point, int subIndex) {
+		add(point.getX(), point.getY(), point.getType(), subIndex);
+	}
+	
+	public void add(int x, int y, int type, int subIndex) {
 		if (subIndex == data.size()) {
 			data.add(new CircularPointBuffer(BUFFER_SIZE));
 		} else if (subIndex > data.size()) {
@@ -97,16 +101,16 @@ public abstract class GraphModel {
 			return;
 		}
 		if (flexible == FLEXIBLE_Y) {
-			if (point.getY() > maxY ) {
-				maxY = point.getY();
+			if (y > maxY ) {
+				maxY = y;
 				coordinates.setLabel(maxY + " " + units);
-				if ( point.getY() > height) {
+				if ( y > height) {
 					double newScale = (double) height/maxY;
 					coordinates.setYScale(newScale);
 				}
 			}
 		}
-		data.get(subIndex).add(point);
+		data.get(subIndex).add(x, y, type);
 		setChanged(true);
 	}
 	
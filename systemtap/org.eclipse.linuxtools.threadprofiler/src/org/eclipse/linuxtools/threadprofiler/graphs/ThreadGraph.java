@@ -1,14 +1,13 @@
 package org.eclipse.linuxtools.threadprofiler.graphs;
 
-import java.util.Iterator;
-
+import org.eclipse.linuxtools.threadprofiler.internal.CircularPointBuffer;
 import org.eclipse.linuxtools.threadprofiler.internal.DataPoint;
 import org.eclipse.swt.graphics.GC;
 
 public class ThreadGraph extends GraphModel{
 
 	private int tid;
-	private DataPoint dp;
+	private boolean active;
 	private boolean empty;
 	
 	public ThreadGraph(String name, int tid) {
@@ -41,15 +40,14 @@ public class ThreadGraph extends GraphModel{
 		double increment = getXIncrement(gc);
 
 		//Each thread should only have one buffer
-		Iterator<DataPoint> buffer = data.get(0).getIterator();
+		CircularPointBuffer buffer = data.get(0);
 		double xPos = this.getXOffset();
 		empty = true;
-		if (!buffer.hasNext())
+		if (buffer.size() == 0)
 			empty = false;
 		double temp = 0;
-		while (buffer.hasNext()) {
-			DataPoint p = buffer.next();
-			if (p.getType() == DataPoint.THREAD_ACTIVE) {
+		for (int i = 0; i < buffer.size(); i++) {
+			if (buffer.getType(i) == DataPoint.THREAD_ACTIVE) {
 				temp += increment;
 				empty = false;
 			} else {
@@ -66,17 +64,12 @@ public class ThreadGraph extends GraphModel{
 	}
 
 	public void addPoint() {
-		dp = new DataPoint(0, 0, DataPoint.THREAD_ACTIVE);
+		active = true;
 	}
 	
 	public void tick() {
-		//TODO: This method of updating requires passing around a bulky datapoint variable
-		if (dp != null)
-			add(dp, 0);
-		else {
-			add(new DataPoint(0, 0, DataPoint.THREAD_INACTIVE), 0);
-		}
-		dp = null;
+		add(0, 0, active ? DataPoint.THREAD_ACTIVE : DataPoint.THREAD_INACTIVE, 0);
+		active = false;
  	}
  
  }
\ No newline at end of file
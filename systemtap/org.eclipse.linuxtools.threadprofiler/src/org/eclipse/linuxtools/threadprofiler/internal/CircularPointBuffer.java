@@ -4,10 +4,17 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 
+/**
+ * Fixed size ring of points. Points are kept as parallel int arrays rather
+ * than DataPoint objects so that adding a sample does not allocate; a
+ * DataPoint is only created when the buffer is iterated.
+ */
 public class CircularPointBuffer {
 	
-	private DataPoint[] buffer;
-	private int head, tail;
+	private int[] xs;
+	private int[] ys;
+	private int[] types;
+	private int head, count;
 	
 	
 	/**
@@ -15,56 +22,83 @@ public class CircularPointBuffer {
 	 * @param size
 	 */
 	public CircularPointBuffer(int size) {
-		buffer = new DataPoint[size];
+		xs = new int[size];
+		ys = new int[size];
+		types = new int[size];
 		head = 0;
-		tail = 0;
+		count = 0;
 	}
 
 	public void add(DataPoint p) {
-		buffer[tail] = p;
-		tail++;
-		if (tail >= buffer.length) {
-			tail = 0;
-		} 
-		if (tail == head) {
+		add(p.getX(), p.getY(), p.getType());
+	}
+	
+	public void add(int x, int y, int type) {
+		int tail = head + count;
+		if (tail >= xs.length)
+			tail -= xs.length;
+		xs[tail] = x;
+		ys[tail] = y;
+		types[tail] = type;
+		if (count < xs.length) {
+			count++;
+		} else {
 			head++;
-			if (head >= buffer.length) {
+			if (head >= xs.length) {
 				head = 0;
 			}
 		}
 	}
 	
+	/**
+	 * @return Number of points in the buffer, oldest first
+	 */
+	public int size() {
+		return count;
+	}
+	
+	public int getX(int index) {
+		return xs[slot(index)];
+	}
+	
+	public int getY(int index) {
+		return ys[slot(index)];
+	}
+	
+	public int getType(int index) {
+		return types[slot(index)];
+	}
+	
+	private int slot(int index) {
+		if (index < 0 || index >= count)
+			throw new IndexOutOfBoundsException();
+		int i = head + index;
+		return (i >= xs.length) ? i - xs.length : i;
+	}
+	
 	public Iterator<DataPoint> getIterator() {
 		return new CircularIterator();
 	}
 	
 	private class CircularIterator implements Iterator<DataPoint> {
-		private int tempHead;
-		private boolean finished;
+		private int index;
 		
 		public CircularIterator() {
-			tempHead = head;
-			finished = false;
+			index = 0;
 		}
 
 		@Override
 		public boolean hasNext() {
-			return tempHead != tail;
+			return index < count;
 		}
 
 		@Override
 		public DataPoint next() {
-			if (finished)
+			if (index >= count)
 				throw new NoSuchElementException();
 			
-			DataPoint p = buffer[tempHead];
-			if (tempHead == tail)
-				finished = true;
-			else {
-				tempHead++;
-				if (tempHead == buffer.length)
-					tempHead = 0;
-			}
+			DataPoint p = new DataPoint(getX(index), getY(index), getType(index));
+			index++;
 			return p;
 		}
 
@@ -27,6 +27,8 @@ public class AllTests {
 		suite.addTestSuite(LaunchConfigTabTest.class);
 		suite.addTestSuite(MultiProcessTest.class);
 		suite.addTestSuite(ExpandCollapseTest.class);
+		suite.addTestSuite(CachegrindDiffTest.class);
+		suite.addTestSuite(CachegrindParserTest.class);
 		//$JUnit-END$
 		return suite;
 	}
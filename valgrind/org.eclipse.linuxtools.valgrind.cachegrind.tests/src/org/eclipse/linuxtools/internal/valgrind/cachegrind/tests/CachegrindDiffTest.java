@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.cachegrind.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.CachegrindParser;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindDiff;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindDiffFunction;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindDiffLine;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindOutput;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.ICachegrindElement;
+
+public class CachegrindDiffTest extends TestCase {
+	protected static final String BASELINE = "events: Ir Dr Dw\n" //$NON-NLS-1$
+			+ "fl=test.c\n" //$NON-NLS-1$
+			+ "fn=same\n" //$NON-NLS-1$
+			+ "1 10 2 1\n" //$NON-NLS-1$
+			+ "fn=changed\n" //$NON-NLS-1$
+			+ "5 100 20 10\n" //$NON-NLS-1$
+			+ "6 30 0 0\n" //$NON-NLS-1$
+			+ "fn=removed\n" //$NON-NLS-1$
+			+ "9 7 0 0\n"; //$NON-NLS-1$
+
+	// records fewer events than the baseline, in another order
+	protected static final String CURRENT = "events: Dw Ir\n" //$NON-NLS-1$
+			+ "fl=test.c\n" //$NON-NLS-1$
+			+ "fn=same\n" //$NON-NLS-1$
+			+ "1 1 10\n" //$NON-NLS-1$
+			+ "fn=changed\n" //$NON-NLS-1$
+			+ "5 10 150\n" //$NON-NLS-1$
+			+ "6 0 30\n" //$NON-NLS-1$
+			+ "5 0 50\n" //$NON-NLS-1$
+			+ "fn=added\n" //$NON-NLS-1$
+			+ "3 4 40\n"; //$NON-NLS-1$
+
+	protected File outputDir;
+	protected CachegrindDiff diff;
+
+	@Override
+	protected void setUp() throws Exception {
+		outputDir = File.createTempFile("cachegrind", null); //$NON-NLS-1$
+		outputDir.delete();
+		outputDir.mkdir();
+		diff = new CachegrindDiff(parse(CURRENT, 101), parse(BASELINE, 100));
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		for (File file : outputDir.listFiles()) {
+			file.delete();
+		}
+		outputDir.delete();
+	}
+
+	protected static File writeOutput(File dir, int pid, String text) throws IOException {
+		File file = new File(dir, "cachegrind_" + pid + ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(text.getBytes());
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	protected CachegrindOutput parse(String text, int pid) throws IOException {
+		CachegrindOutput output = new CachegrindOutput();
+		CachegrindParser.getParser().parse(output, writeOutput(outputDir, pid, text));
+		return output;
+	}
+
+	protected CachegrindDiffFunction getFunction(String name) {
+		for (CachegrindDiffFunction function : diff.getFunctions()) {
+			if (function.getName().equals(name)) {
+				return function;
+			}
+		}
+		return null;
+	}
+
+	public void testEventsAligned() throws Exception {
+		// only the events of both runs, in the current run's order
+		assertTrue(Arrays.equals(new String[] { "Dw", "Ir" }, diff.getEvents())); //$NON-NLS-1$ //$NON-NLS-2$
+
+		CachegrindDiffFunction changed = getFunction("changed"); //$NON-NLS-1$
+		assertNotNull(changed);
+		assertEquals("test.c", changed.getPath()); //$NON-NLS-1$
+		assertTrue(Arrays.equals(new long[] { 0, 100 }, changed.getDeltas()));
+	}
+
+	public void testFunctionsInOneRun() throws Exception {
+		CachegrindDiffFunction added = getFunction("added"); //$NON-NLS-1$
+		assertNotNull(added);
+		assertNotNull(added.getCurrent());
+		assertNull(added.getBaseline());
+		assertTrue(Arrays.equals(new long[] { 4, 40 }, added.getDeltas()));
+		ICachegrindElement[] lines = added.getChildren();
+		assertEquals(1, lines.length);
+		assertEquals(3, ((CachegrindDiffLine) lines[0]).getLine());
+
+		CachegrindDiffFunction removed = getFunction("removed"); //$NON-NLS-1$
+		assertNotNull(removed);
+		assertNull(removed.getCurrent());
+		assertNotNull(removed.getBaseline());
+		assertTrue(Arrays.equals(new long[] { 0, -7 }, removed.getDeltas()));
+		lines = removed.getChildren();
+		assertEquals(1, lines.length);
+		assertEquals(9, ((CachegrindDiffLine) lines[0]).getLine());
+		assertTrue(Arrays.equals(new long[] { 0, -7 }, ((CachegrindDiffLine) lines[0]).getDeltas()));
+	}
+
+	public void testDuplicateLinesSummed() throws Exception {
+		// line 5 is listed twice in the current run, line 6 did not change
+		ICachegrindElement[] lines = getFunction("changed").getChildren(); //$NON-NLS-1$
+		assertEquals(1, lines.length);
+		CachegrindDiffLine line = (CachegrindDiffLine) lines[0];
+		assertEquals(5, line.getLine());
+		assertSame(getFunction("changed"), line.getParent()); //$NON-NLS-1$
+		assertTrue(Arrays.equals(new long[] { 0, 100 }, line.getDeltas()));
+	}
+
+	public void testUnchangedFunctionDropped() throws Exception {
+		assertEquals(3, diff.getFunctions().length);
+		assertNull(getFunction("same")); //$NON-NLS-1$
+	}
+
+	public void testSameOutput() throws Exception {
+		CachegrindOutput output = parse(CURRENT, 102);
+		diff = new CachegrindDiff(output, output);
+		assertEquals(0, diff.getFunctions().length);
+	}
+}
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.cachegrind.tests;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.CachegrindParser;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFile;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFunction;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindLine;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindOutput;
+
+public class CachegrindParserTest extends TestCase {
+	// the parser maps this much of the file at once
+	private static final long WINDOW_SIZE = 64 * 1024 * 1024;
+
+	protected File outputDir;
+
+	@Override
+	protected void setUp() throws Exception {
+		outputDir = File.createTempFile("cachegrind", null); //$NON-NLS-1$
+		outputDir.delete();
+		outputDir.mkdir();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		for (File file : outputDir.listFiles()) {
+			file.delete();
+		}
+		outputDir.delete();
+	}
+
+	protected CachegrindOutput parse(File file) throws IOException {
+		CachegrindOutput output = new CachegrindOutput();
+		CachegrindParser.getParser().parse(output, file);
+		return output;
+	}
+
+	protected CachegrindOutput parse(String text) throws IOException {
+		return parse(CachegrindDiffTest.writeOutput(outputDir, 100, text));
+	}
+
+	protected static CachegrindFile getFile(CachegrindOutput output, String path) {
+		for (CachegrindFile file : output.getFiles()) {
+			if (file.getPath().equals(path)) {
+				return file;
+			}
+		}
+		return null;
+	}
+
+	protected static CachegrindFunction getFunction(CachegrindFile file, String name) {
+		for (CachegrindFunction function : file.getFunctions()) {
+			if (function.getName().equals(name)) {
+				return function;
+			}
+		}
+		return null;
+	}
+
+	public void testCompressedNames() throws Exception {
+		CachegrindOutput output = parse("events: Ir Dr\n" //$NON-NLS-1$
+				+ "fl=(1) test.c\n" //$NON-NLS-1$
+				+ "fn=(1) main\n" //$NON-NLS-1$
+				+ "3 10 1\n" //$NON-NLS-1$
+				+ "fn=(2) f\n" //$NON-NLS-1$
+				+ "8 5 2\n" //$NON-NLS-1$
+				+ "fl=(2) other.c\n" //$NON-NLS-1$
+				+ "fn=(1)\n" //$NON-NLS-1$
+				+ "5 4 0\n" //$NON-NLS-1$
+				+ "fl=(1)\n" //$NON-NLS-1$
+				+ "fn=(2)\n" //$NON-NLS-1$
+				+ "9 1 1\n"); //$NON-NLS-1$
+		assertEquals(100, output.getPid().intValue());
+		assertEquals(2, output.getFiles().length);
+
+		CachegrindFile test = getFile(output, "test.c"); //$NON-NLS-1$
+		assertEquals(2, test.getFunctions().length);
+		assertTrue(Arrays.equals(new long[] { 10, 1 }, getFunction(test, "main").getTotals())); //$NON-NLS-1$
+		assertTrue(Arrays.equals(new long[] { 6, 3 }, getFunction(test, "f").getTotals())); //$NON-NLS-1$
+
+		// "(1)" names the function defined as 1, whatever file it is in
+		CachegrindFile other = getFile(output, "other.c"); //$NON-NLS-1$
+		assertEquals(1, other.getFunctions().length);
+		assertTrue(Arrays.equals(new long[] { 4, 0 }, getFunction(other, "main").getTotals())); //$NON-NLS-1$
+	}
+
+	public void testUndefinedCompressedName() throws Exception {
+		try {
+			parse("events: Ir\nfl=(1) test.c\nfn=(2)\n3 10\n"); //$NON-NLS-1$
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testRepeatedNamesMerged() throws Exception {
+		CachegrindOutput output = parse("events: Ir Dr\n" //$NON-NLS-1$
+				+ "fl=test.c\n" //$NON-NLS-1$
+				+ "fn=main\n" //$NON-NLS-1$
+				+ "3 10 1\n" //$NON-NLS-1$
+				+ "fl=other.c\n" //$NON-NLS-1$
+				+ "fn=g\n" //$NON-NLS-1$
+				+ "5 4 0\n" //$NON-NLS-1$
+				+ "fl=test.c\n" //$NON-NLS-1$
+				+ "fn=f\n" //$NON-NLS-1$
+				+ "12 2 2\n" //$NON-NLS-1$
+				+ "fn=main\n" //$NON-NLS-1$
+				+ "7 1 1\n"); //$NON-NLS-1$
+		assertEquals(2, output.getFiles().length);
+
+		CachegrindFile test = getFile(output, "test.c"); //$NON-NLS-1$
+		assertEquals(2, test.getFunctions().length);
+		CachegrindFunction main = getFunction(test, "main"); //$NON-NLS-1$
+		assertTrue(Arrays.equals(new long[] { 11, 2 }, main.getTotals()));
+		CachegrindLine[] lines = main.getLines();
+		assertEquals(2, lines.length);
+		assertEquals(3, lines[0].getLine());
+		assertTrue(Arrays.equals(new long[] { 10, 1 }, lines[0].getValues()));
+		assertEquals(7, lines[1].getLine());
+		assertTrue(Arrays.equals(new long[] { 1, 1 }, lines[1].getValues()));
+	}
+
+	public void testShortLinesPadded() throws Exception {
+		CachegrindOutput output = parse("events: Ir Dr Dw\n" //$NON-NLS-1$
+				+ "fl=test.c\n" //$NON-NLS-1$
+				+ "fn=main\n" //$NON-NLS-1$
+				+ "3 10\n" //$NON-NLS-1$
+				+ "4 10 2\r\n" //$NON-NLS-1$
+				+ "5 10 2 1"); //$NON-NLS-1$
+		CachegrindLine[] lines = getFunction(getFile(output, "test.c"), "main").getLines(); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(3, lines.length);
+		assertTrue(Arrays.equals(new long[] { 10, 0, 0 }, lines[0].getValues()));
+		assertTrue(Arrays.equals(new long[] { 10, 2, 0 }, lines[1].getValues()));
+		assertTrue(Arrays.equals(new long[] { 10, 2, 1 }, lines[2].getValues()));
+	}
+
+	public void testLineValueOutOfRange() throws Exception {
+		CachegrindOutput output = parse("events: Ir Dr
+" //$NON-NLS-1$
+				+ "fl=test.c
+" //$NON-NLS-1$
+				+ "fn=main
+" //$NON-NLS-1$
+				+ "3 10 1
+" //$NON-NLS-1$
+				+ "4 20 2
+"); //$NON-NLS-1$
+		CachegrindLine[] lines = getFunction(getFile(output, "test.c"), "main").getLines(); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(1, lines[0].getValue(1));
+		// the costs of the next line follow in the same array
+		try {
+			lines[0].getValue(2);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+		try {
+			lines[1].getValue(-1);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	public void testTooManyCosts() throws Exception {
+		try {
+			parse("events: Ir\nfl=test.c\nfn=main\n3 10 1\n"); //$NON-NLS-1$
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testLinesAcrossMappings() throws Exception {
+		// cost lines padded to 64 KiB fill the first mapping, and the
+		// function line after them straddles its end
+		byte[] padding = new byte[64 * 1024];
+		Arrays.fill(padding, (byte) ' ');
+		byte[] filler = "1 1 1".getBytes(); //$NON-NLS-1$
+		byte[] header = "events: Ir Dr\nfl=test.c\nfn=filler\n".getBytes(); //$NON-NLS-1$
+		byte[] across = "fn=across\n".getBytes(); //$NON-NLS-1$
+		byte[] costs = "20 7 3\n".getBytes(); //$NON-NLS-1$
+
+		File file = new File(outputDir, "cachegrind_100.txt"); //$NON-NLS-1$
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+		long position = 0;
+		int fillerLines = 0;
+		try {
+			out.write(header);
+			position += header.length;
+			while (position + filler.length + padding.length + 1 < WINDOW_SIZE - across.length / 2) {
+				out.write(filler);
+				out.write(padding);
+				out.write('\n');
+				position += filler.length + padding.length + 1;
+				fillerLines++;
+			}
+			// a short filler line to put the next line across the boundary
+			int rest = (int) (WINDOW_SIZE - across.length / 2 - position) - filler.length - 1;
+			out.write(filler);
+			out.write(padding, 0, rest);
+			out.write('\n');
+			position += filler.length + rest + 1;
+			fillerLines++;
+			assertTrue(position < WINDOW_SIZE && position + across.length > WINDOW_SIZE);
+			out.write(across);
+			out.write(costs);
+			out.write("fn=filler\n".getBytes()); //$NON-NLS-1$
+			out.write(costs);
+		} finally {
+			out.close();
+		}
+
+		CachegrindOutput output = parse(file);
+		CachegrindFile test = getFile(output, "test.c"); //$NON-NLS-1$
+		assertEquals(1, output.getFiles().length);
+		assertEquals(2, test.getFunctions().length);
+		CachegrindFunction function = getFunction(test, "filler"); //$NON-NLS-1$
+		assertEquals(fillerLines + 1, function.getLines().length);
+		assertTrue(Arrays.equals(new long[] { fillerLines + 7, fillerLines + 3 }, function.getTotals()));
+		function = getFunction(test, "across"); //$NON-NLS-1$
+		assertEquals(1, function.getLines().length);
+		assertEquals(20, function.getLines()[0].getLine());
+		assertTrue(Arrays.equals(new long[] { 7, 3 }, function.getTotals()));
+	}
+}
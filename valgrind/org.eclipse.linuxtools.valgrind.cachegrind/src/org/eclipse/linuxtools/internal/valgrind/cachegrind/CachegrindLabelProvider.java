@@ -15,10 +15,13 @@ import java.text.DecimalFormat;
 import org.eclipse.cdt.core.model.util.CElementBaseLabels;
 import org.eclipse.cdt.ui.CElementLabelProvider;
 import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.debug.ui.DebugUITools;
 import org.eclipse.debug.ui.IDebugUIConstants;
 import org.eclipse.jface.viewers.CellLabelProvider;
 import org.eclipse.jface.viewers.ViewerCell;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindDiffFunction;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindDiffLine;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFile;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFunction;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindLine;
@@ -40,6 +43,7 @@ public class CachegrindLabelProvider extends CellLabelProvider {
 	};
 
 	protected DecimalFormat df = new DecimalFormat("#,##0"); //$NON-NLS-1$
+	protected DecimalFormat deltaFormat = new DecimalFormat("+#,##0;-#,##0"); //$NON-NLS-1$
 
 	protected static final Image FUNC_IMG = CachegrindPlugin.imageDescriptorFromPlugin(CachegrindPlugin.PLUGIN_ID, "icons/function_obj.gif").createImage(); //$NON-NLS-1$
 
@@ -83,16 +87,36 @@ public class CachegrindLabelProvider extends CellLabelProvider {
 				cell.setText(NLS.bind(Messages.getString("CachegrindViewPart.Total_PID"), ((CachegrindOutput) element).getPid())); //$NON-NLS-1$
 				cell.setImage(DebugUITools.getImage(IDebugUIConstants.IMG_OBJS_REGISTER));
 			}
+			else if (element instanceof CachegrindDiffFunction) {
+				// functions of all files are listed together, so name the file too
+				CachegrindDiffFunction function = (CachegrindDiffFunction) element;
+				String file = function.getPath();
+				if (Path.ROOT.isValidPath(file)) {
+					file = Path.fromOSString(file).lastSegment();
+				}
+				cell.setText(NLS.bind(Messages.getString("CachegrindViewPart.Function_in_file"), function.getName(), file)); //$NON-NLS-1$
+				cell.setImage(FUNC_IMG);
+			}
+			else if (element instanceof CachegrindDiffLine) {
+				cell.setText(NLS.bind(Messages.getString("CachegrindViewPart.line"), ((CachegrindDiffLine) element).getLine())); //$NON-NLS-1$
+				cell.setImage(DebugUITools.getImage(IDebugUIConstants.IMG_OBJS_INSTRUCTION_POINTER_TOP));
+			}
 		}
 		else if (element instanceof CachegrindFunction) {
 			cell.setText(df.format(((CachegrindFunction) element).getTotals()[index - 1]));
 		}
 		else if (element instanceof CachegrindLine) {
-			cell.setText(df.format(((CachegrindLine) element).getValues()[index - 1]));
+			cell.setText(df.format(((CachegrindLine) element).getValue(index - 1)));
 		}
 		else if (element instanceof CachegrindOutput) {
 			cell.setText(df.format(((CachegrindOutput) element).getSummary()[index - 1]));
 		}
+		else if (element instanceof CachegrindDiffFunction) {
+			cell.setText(deltaFormat.format(((CachegrindDiffFunction) element).getDeltas()[index - 1]));
+		}
+		else if (element instanceof CachegrindDiffLine) {
+			cell.setText(deltaFormat.format(((CachegrindDiffLine) element).getDeltas()[index - 1]));
+		}
 	}
 
 	public CElementLabelProvider getCLabelProvider() {
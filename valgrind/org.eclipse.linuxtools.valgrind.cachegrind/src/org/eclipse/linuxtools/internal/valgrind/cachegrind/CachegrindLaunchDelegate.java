@@ -14,6 +14,8 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.eclipse.cdt.debug.core.ICDTLaunchConfigurationConstants;
 import org.eclipse.core.runtime.CoreException;
@@ -25,6 +27,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindOutput;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindParserPool;
 import org.eclipse.linuxtools.valgrind.launch.IValgrindLaunchDelegate;
 import org.eclipse.linuxtools.valgrind.ui.IValgrindToolView;
 import org.osgi.framework.Version;
@@ -62,12 +65,19 @@ public class CachegrindLaunchDelegate implements IValgrindLaunchDelegate {
 	}
 
 	protected void parseOutput(File[] cachegrindOutputs, IProgressMonitor monitor) throws IOException {
-		outputs = new CachegrindOutput[cachegrindOutputs.length];
-		
-		for (int i = 0; i < cachegrindOutputs.length; i++) {
-			outputs[i] = new CachegrindOutput();
-			CachegrindParser.getParser().parse(outputs[i], cachegrindOutputs[i]);
+		// the outputs of forked processes are parsed at the same time
+		List<Callable<CachegrindOutput>> tasks = new ArrayList<Callable<CachegrindOutput>>();
+		for (final File cachegrindOutput : cachegrindOutputs) {
+			tasks.add(new Callable<CachegrindOutput>() {
+				public CachegrindOutput call() throws IOException {
+					CachegrindOutput output = new CachegrindOutput();
+					CachegrindParser.getParser().parse(output, cachegrindOutput);
+					return output;
+				}
+			});
 		}
+		List<CachegrindOutput> results = ValgrindParserPool.parseAll(tasks);
+		outputs = results.toArray(new CachegrindOutput[results.size()]);
 		monitor.worked(2);
 	}
 	
@@ -99,6 +109,10 @@ public class CachegrindLaunchDelegate implements IValgrindLaunchDelegate {
 			throws CoreException {
 		if (outputs != null && view instanceof CachegrindViewPart) {
 			((CachegrindViewPart) view).setOutputs(outputs);
+			// keep this run to compare the next one with
+			CachegrindPlugin plugin = CachegrindPlugin.getDefault();
+			((CachegrindViewPart) view).setPreviousOutputs(plugin.getPreviousOutputs());
+			plugin.setPreviousOutputs(outputs);
 		}
 		monitor.worked(1);
 	}
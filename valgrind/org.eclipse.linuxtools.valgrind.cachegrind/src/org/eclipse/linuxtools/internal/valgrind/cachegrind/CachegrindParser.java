@@ -10,38 +10,51 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.cachegrind;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindDescription;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFile;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFunction;
-import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindLine;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindOutput;
 import org.eclipse.linuxtools.valgrind.core.ValgrindParserUtils;
 
+/**
+ * Parses Cachegrind output files. The file is mapped and scanned byte by
+ * byte, so that the many cost lines are parsed without creating strings,
+ * and each line's costs are stored in its {@link CachegrindFile}.
+ * The name compressed forms of fl= and fn=, "(id) name" to define a name
+ * and "(id)" to refer to it again, are supported.
+ */
 public class CachegrindParser {
 	private static final String COLON = ":"; //$NON-NLS-1$
 	private static final String SPACE = " "; //$NON-NLS-1$
-	private static final String EQUALS = "="; //$NON-NLS-1$
 	
 	private static final String CMD = "cmd"; //$NON-NLS-1$
 	private static final String DESC = "desc"; //$NON-NLS-1$
-	private static final String FL = "fl"; //$NON-NLS-1$
-	private static final String FN = "fn"; //$NON-NLS-1$
 	private static final String EVENTS = "events"; //$NON-NLS-1$
 	private static final String SUMMARY = "summary"; //$NON-NLS-1$
+	private static final byte[] FL = { 'f', 'l', '=' };
+	private static final byte[] FN = { 'f', 'n', '=' };
 
 	private static final String COMMA = ","; //$NON-NLS-1$
+	private static final String UTF_8 = "UTF-8"; //$NON-NLS-1$
+	
+	// bytes mapped at once, lines never span two mappings
+	private static final long WINDOW_SIZE = 64 * 1024 * 1024;
 
 	protected static CachegrindParser instance;
 
 	protected CachegrindParser() {
 	}
 
-	public static CachegrindParser getParser() {
+	public static synchronized CachegrindParser getParser() {
 		if (instance == null) {
 			instance = new CachegrindParser();
 		}
@@ -49,17 +62,117 @@ public class CachegrindParser {
 	}
 
 	public void parse(CachegrindOutput output, File cgOut) throws IOException {
-		BufferedReader br = null;
+		FileInputStream fis = new FileInputStream(cgOut);
 		try {
-			br = new BufferedReader(new FileReader(cgOut));
 			output.setPid(ValgrindParserUtils.parsePID(cgOut.getName(), CachegrindLaunchDelegate.OUT_PREFIX));
 
-			String line;
-			CachegrindFile curFl = null;
-			CachegrindFunction curFn = null;
-			while ((line = br.readLine()) != null) {		
+			FileChannel channel = fis.getChannel();
+			long size = channel.size();
+			ParseState state = new ParseState(output);
+			long position = 0;
+			while (position < size) {
+				long length = Math.min(WINDOW_SIZE, size - position);
+				MappedByteBuffer buf = channel.map(MapMode.READ_ONLY, position, length);
+				int consumed = parseLines(state, buf, position + length == size);
+				if (consumed == 0) {
+					// a single line longer than the window
+					ValgrindParserUtils.fail(state.getString(buf, 0, Math.min(buf.limit(), 80)));
+				}
+				position += consumed;
+			}
+			
+			for (CachegrindFile file : output.getFiles()) {
+				file.trimCosts();
+			}
+		} finally {
+			fis.close();
+		}
+	}
+	
+	/**
+	 * Parses the complete lines in buf.
+	 * @return the number of bytes parsed
+	 */
+	private int parseLines(ParseState state, MappedByteBuffer buf, boolean last) throws IOException {
+		int limit = buf.limit();
+		int start = 0;
+		for (int i = 0; i < limit; i++) {
+			if (buf.get(i) == '\n') {
+				state.parseLine(buf, start, i);
+				start = i + 1;
+			}
+		}
+		if (last && start < limit) {
+			state.parseLine(buf, start, limit);
+			start = limit;
+		}
+		return start;
+	}
+
+	/**
+	 * What has been read so far from one output file.
+	 */
+	private class ParseState {
+		private CachegrindOutput output;
+		private CachegrindFile curFl;
+		private CachegrindFunction curFn;
+		private int numEvents;
+		private long[] values = new long[16];
+		private byte[] bytes = new byte[256];
+		// compressed names by id
+		private Map<Integer, String> flNames = new HashMap<Integer, String>();
+		private Map<Integer, String> fnNames = new HashMap<Integer, String>();
+		// fl= and fn= may name a file or function seen before
+		private Map<String, CachegrindFile> files = new HashMap<String, CachegrindFile>();
+		private Map<CachegrindFile, Map<String, CachegrindFunction>> functions = new HashMap<CachegrindFile, Map<String, CachegrindFunction>>();
+		
+		public ParseState(CachegrindOutput output) {
+			this.output = output;
+		}
+		
+		public void parseLine(MappedByteBuffer buf, int start, int end) throws IOException {
+			if (end > start && buf.get(end - 1) == '\r') {
+				end--;
+			}
+			if (start == end) {
+				return;
+			}
+			
+			byte first = buf.get(start);
+			if (first >= '0' && first <= '9') {
+				parseCosts(buf, start, end);
+			}
+			else if (startsWith(buf, start, end, FL)) {
+				String name = parseName(buf, start, end, start + FL.length, flNames);
+				curFl = files.get(name);
+				if (curFl == null) {
+					curFl = new CachegrindFile(output, name);
+					output.addFile(curFl);
+					files.put(name, curFl);
+					functions.put(curFl, new HashMap<String, CachegrindFunction>());
+				}
+				curFn = null;
+			}
+			else if (startsWith(buf, start, end, FN)) {
+				String name = parseName(buf, start, end, start + FN.length, fnNames);
+				if (curFl == null) {
+					ValgrindParserUtils.fail(getString(buf, start, end));
+				}
+				Map<String, CachegrindFunction> flFunctions = functions.get(curFl);
+				curFn = flFunctions.get(name);
+				if (curFn == null) {
+					curFn = new CachegrindFunction(curFl, name);
+					curFl.addFunction(curFn);
+					flFunctions.put(name, curFn);
+				}
+			}
+			else {
+				// header and summary lines are few, parse them as strings
+				String line = getString(buf, start, end);
 				if (line.startsWith(EVENTS + COLON)) {
-					output.setEvents(ValgrindParserUtils.parseStrValue(line, COLON + SPACE).split(SPACE));
+					String[] events = ValgrindParserUtils.parseStrValue(line, COLON + SPACE).split(SPACE);
+					output.setEvents(events);
+					numEvents = events.length;
 				}
 				else if (line.startsWith(CMD + COLON)) {
 					output.setCommand(ValgrindParserUtils.parseStrValue(line, COLON + SPACE));
@@ -68,45 +181,127 @@ public class CachegrindParser {
 					CachegrindDescription description = parseDescription(line);
 					output.addDescription(description);
 				}
-				else if (line.startsWith(FL + EQUALS)) {
-					curFl = new CachegrindFile(output, ValgrindParserUtils.parseStrValue(line, EQUALS));
-					output.addFile(curFl);
-				}
-				else if (line.startsWith(FN + EQUALS)) {				
-					if (curFl != null) {
-						curFn = new CachegrindFunction(curFl, ValgrindParserUtils.parseStrValue(line, EQUALS));
-						curFl.addFunction(curFn);
-					}
-					else {
-						ValgrindParserUtils.fail(line);
-					}
-				}
 				else if (line.startsWith(SUMMARY + COLON)) {
 					long[] summary = parseData(line, ValgrindParserUtils.parseStrValue(line, COLON + SPACE).split(SPACE));
 					output.setSummary(summary);
 				}
-				else { // line data
-					String[] tokens = line.split(SPACE, 2);
-					if (ValgrindParserUtils.isNumber(tokens[0])) {
-						int lineNo = Integer.parseInt(tokens[0]);
-
-						long[] data = parseData(line, tokens[1].split(SPACE));
-						if (curFn != null) {
-							curFn.addLine(new CachegrindLine(curFn, lineNo, data));
-						}
-						else {
-							ValgrindParserUtils.fail(line);
-						}
-					}
-					else {
-						ValgrindParserUtils.fail(line);
-					}
+				else {
+					ValgrindParserUtils.fail(line);
 				}
 			}
-		} finally {
-			if (br != null) {
-				br.close();
+		}
+		
+		/**
+		 * Parses "[LINE] [COST]..." into the current file's costs. Costs left
+		 * off the end of the line are zero.
+		 */
+		private void parseCosts(MappedByteBuffer buf, int start, int end) throws IOException {
+			int pos = start;
+			int lineNo = 0;
+			byte b;
+			while (pos < end && (b = buf.get(pos)) >= '0' && b <= '9') {
+				lineNo = lineNo * 10 + (b - '0');
+				pos++;
+			}
+			
+			int count = 0;
+			while (pos < end) {
+				if (buf.get(pos) != ' ') {
+					ValgrindParserUtils.fail(getString(buf, start, end));
+				}
+				while (pos < end && buf.get(pos) == ' ') {
+					pos++;
+				}
+				if (pos == end) {
+					break;
+				}
+				long value = 0;
+				int digits = 0;
+				while (pos < end && (b = buf.get(pos)) >= '0' && b <= '9') {
+					value = value * 10 + (b - '0');
+					pos++;
+					digits++;
+				}
+				if (digits == 0) {
+					ValgrindParserUtils.fail(getString(buf, start, end));
+				}
+				if (count == values.length) {
+					long[] newValues = new long[count * 2];
+					System.arraycopy(values, 0, newValues, 0, count);
+					values = newValues;
+				}
+				values[count++] = value;
+			}
+			
+			if (numEvents == 0) {
+				// no events line, every line must then have the same number of costs
+				numEvents = count;
+			}
+			if (curFn == null || count == 0 || count > numEvents) {
+				ValgrindParserUtils.fail(getString(buf, start, end));
+			}
+			for (int i = count; i < numEvents; i++) {
+				values[i] = 0;
+			}
+			int offset = curFl.addCosts(values, numEvents);
+			curFn.addLine(lineNo, offset, numEvents);
+		}
+		
+		/**
+		 * Parses the name following fl= or fn=, which may be compressed:
+		 * "(id) name" defines the name for id, "(id)" refers to it.
+		 */
+		private String parseName(MappedByteBuffer buf, int start, int end, int pos, Map<Integer, String> names) throws IOException {
+			if (pos < end && buf.get(pos) == '(') {
+				int id = 0;
+				int idStart = ++pos;
+				byte b;
+				while (pos < end && (b = buf.get(pos)) >= '0' && b <= '9') {
+					id = id * 10 + (b - '0');
+					pos++;
+				}
+				if (pos == idStart || pos == end || buf.get(pos) != ')') {
+					ValgrindParserUtils.fail(getString(buf, start, end));
+				}
+				pos++;
+				while (pos < end && buf.get(pos) == ' ') {
+					pos++;
+				}
+				if (pos < end) {
+					String name = getString(buf, pos, end);
+					names.put(id, name);
+					return name;
+				}
+				String name = names.get(id);
+				if (name == null) {
+					ValgrindParserUtils.fail(getString(buf, start, end));
+				}
+				return name;
+			}
+			return getString(buf, pos, end);
+		}
+		
+		private boolean startsWith(MappedByteBuffer buf, int start, int end, byte[] prefix) {
+			if (end - start < prefix.length) {
+				return false;
+			}
+			for (int i = 0; i < prefix.length; i++) {
+				if (buf.get(start + i) != prefix[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+		
+		public String getString(MappedByteBuffer buf, int start, int end) throws IOException {
+			int length = end - start;
+			if (length > bytes.length) {
+				bytes = new byte[Math.max(length, bytes.length * 2)];
+			}
+			for (int i = 0; i < length; i++) {
+				bytes[i] = buf.get(start + i);
 			}
+			return new String(bytes, 0, length, UTF_8);
 		}
 	}
 
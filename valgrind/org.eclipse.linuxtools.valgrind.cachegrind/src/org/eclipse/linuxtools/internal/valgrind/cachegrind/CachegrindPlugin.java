@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.cachegrind;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindOutput;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
 
@@ -24,6 +27,8 @@ public class CachegrindPlugin extends AbstractUIPlugin {
 	// The shared instance
 	private static CachegrindPlugin plugin;
 	
+	private CachegrindOutput[] previousOutputs;
+	
 	public static final String TOOL_ID = "org.eclipse.linuxtools.valgrind.launch.cachegrind";
 	
 	/**
@@ -58,5 +63,27 @@ public class CachegrindPlugin extends AbstractUIPlugin {
 	public static CachegrindPlugin getDefault() {
 		return plugin;
 	}
+	
+	/**
+	 * @return the outputs of the last Cachegrind run shown
+	 */
+	public CachegrindOutput[] getPreviousOutputs() {
+		return previousOutputs;
+	}
+	
+	public void setPreviousOutputs(CachegrindOutput[] previousOutputs) {
+		this.previousOutputs = previousOutputs;
+	}
+
+	/**
+	 * Logs an error that happened where it cannot be shown to the user.
+	 * @param message - a description of the error
+	 * @param e - the exception, or null
+	 */
+	public static void logError(String message, Throwable e) {
+		if (plugin != null) {
+			plugin.getLog().log(new Status(IStatus.ERROR, PLUGIN_ID, message, e));
+		}
+	}
 
 }
@@ -10,15 +10,23 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.cachegrind;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 
 import org.eclipse.cdt.core.model.CModelException;
 import org.eclipse.cdt.core.model.ISourceRange;
 import org.eclipse.cdt.core.model.ISourceReference;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.MenuManager;
+import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.viewers.DoubleClickEvent;
 import org.eclipse.jface.viewers.IDoubleClickListener;
@@ -29,6 +37,9 @@ import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.TreeViewerColumn;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindDiff;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindDiffFunction;
+import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindDiffLine;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFile;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindFunction;
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindLine;
@@ -36,6 +47,7 @@ import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.CachegrindOutpu
 import org.eclipse.linuxtools.internal.valgrind.cachegrind.model.ICachegrindElement;
 import org.eclipse.linuxtools.profiling.ui.ProfileUIUtils;
 import org.eclipse.linuxtools.valgrind.ui.IValgrindToolView;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
@@ -43,6 +55,8 @@ import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeColumn;
@@ -61,6 +75,13 @@ public class CachegrindViewPart extends ViewPart implements IValgrindToolView {
 	protected ExpandAction expandAction;
 	protected CollapseAction collapseAction;
 	
+	// comparison with an earlier run
+	protected CachegrindOutput[] previousOutputs;
+	protected CachegrindDiff diff;
+	protected Action comparePreviousAction;
+	protected Action compareFileAction;
+	protected Action showOutputAction;
+	
 	// Events - Cache
 	protected static final String IR = "Ir"; //$NON-NLS-1$
 	protected static final String I1MR = "I1mr"; //$NON-NLS-1$
@@ -121,9 +142,19 @@ public class CachegrindViewPart extends ViewPart implements IValgrindToolView {
 					path = file.getPath();
 					line = element.getLine();
 				}
-				else if (selection instanceof CachegrindFunction) {
-					CachegrindFunction function = (CachegrindFunction) selection;
-					path = ((CachegrindFile) function.getParent()).getPath();
+				else if (selection instanceof CachegrindDiffLine) {
+					CachegrindDiffLine element = (CachegrindDiffLine) selection;
+					path = ((CachegrindDiffFunction) element.getParent()).getPath();
+					line = element.getLine();
+				}
+				else if (selection instanceof CachegrindFunction || selection instanceof CachegrindDiffFunction) {
+					ICachegrindElement function = (ICachegrindElement) selection;
+					if (function instanceof CachegrindDiffFunction) {
+						path = ((CachegrindDiffFunction) function).getPath();
+					}
+					else {
+						path = ((CachegrindFile) function.getParent()).getPath();
+					}
 					if (function.getModel() instanceof ISourceReference) {
 						ISourceReference model = (ISourceReference) function.getModel();
 						try {
@@ -152,6 +183,29 @@ public class CachegrindViewPart extends ViewPart implements IValgrindToolView {
 		expandAction = new ExpandAction(viewer);
 		collapseAction = new CollapseAction(viewer);
 		
+		comparePreviousAction = new Action(Messages.getString("CachegrindViewPart.Compare_previous")) { //$NON-NLS-1$
+			@Override
+			public void run() {
+				compareWith(previousOutputs);
+			}
+		};
+		comparePreviousAction.setEnabled(false);
+		compareFileAction = new Action(Messages.getString("CachegrindViewPart.Compare_file")) { //$NON-NLS-1$
+			@Override
+			public void run() {
+				compareWithFile();
+			}
+		};
+		compareFileAction.setEnabled(false);
+		showOutputAction = new Action(Messages.getString("CachegrindViewPart.Show_output")) { //$NON-NLS-1$
+			@Override
+			public void run() {
+				diff = null;
+				refreshView();
+			}
+		};
+		showOutputAction.setEnabled(false);
+		
 		MenuManager manager = new MenuManager();
 		manager.addMenuListener(new IMenuListener() {
 			public void menuAboutToShow(IMenuManager manager) {
@@ -175,28 +229,128 @@ public class CachegrindViewPart extends ViewPart implements IValgrindToolView {
 	}
 
 	public IAction[] getToolbarActions() {
-		return null;
+		return new IAction[] { comparePreviousAction, compareFileAction, showOutputAction };
 	}
 
 	public void refreshView() {
 		if (outputs != null && outputs.length > 0) {
-			String[] events = outputs[0].getEvents();
+			comparePreviousAction.setEnabled(previousOutputs != null && previousOutputs.length > 0);
+			compareFileAction.setEnabled(true);
+			showOutputAction.setEnabled(diff != null);
+			
+			Tree tree = viewer.getTree();
+			// remove the event columns of the previous input
+			TreeColumn[] columns = tree.getColumns();
+			for (int i = 1; i < columns.length; i++) {
+				columns[i].dispose();
+			}
+			tree.setSortColumn(null);
+			viewer.setComparator(null);
+			
+			String[] events = diff != null ? diff.getEvents() : outputs[0].getEvents();
 			for (int i = 0; i < events.length; i++) {
 				TreeViewerColumn column = new TreeViewerColumn(viewer, SWT.NONE);
-				column.getColumn().setText(events[i]);
+				String longName = getFullEventName(events[i]);
+				if (diff != null) {
+					column.getColumn().setText(NLS.bind(Messages.getString("CachegrindViewPart.Delta"), events[i])); //$NON-NLS-1$
+					longName = NLS.bind(Messages.getString("CachegrindViewPart.Delta_long"), longName); //$NON-NLS-1$
+				}
+				else {
+					column.getColumn().setText(events[i]);
+				}
 				column.getColumn().setWidth(COLUMN_SIZE);
-				column.getColumn().setToolTipText(getFullEventName(events[i]));
+				column.getColumn().setToolTipText(longName);
 				column.getColumn().setResizable(true);
 				column.getColumn().addSelectionListener(getHeaderListener());
 				column.setLabelProvider(labelProvider);
 			}
-			viewer.setInput(outputs);
-			viewer.getTree().layout(true);
+			
+			if (diff != null) {
+				viewer.setInput(diff);
+				if (events.length > 0) {
+					// largest regression of the first event first
+					tree.setSortColumn(tree.getColumn(1));
+					tree.setSortDirection(SWT.DOWN);
+					viewer.setComparator(createComparator());
+				}
+			}
+			else {
+				viewer.setInput(outputs);
+			}
+			tree.layout(true);
 		}
 	}
 
 	public void setOutputs(CachegrindOutput[] outputs) {
 		this.outputs = outputs;
+		diff = null;
+	}
+	
+	/**
+	 * @param previousOutputs - the outputs of the previous Cachegrind run, to compare with
+	 */
+	public void setPreviousOutputs(CachegrindOutput[] previousOutputs) {
+		this.previousOutputs = previousOutputs;
+	}
+	
+	/**
+	 * Shows how the costs changed from a baseline run. The first process of
+	 * this run is compared with the baseline's process that ran the same
+	 * command, or with its first process.
+	 * @param baseline - the outputs of the baseline run
+	 */
+	public void compareWith(CachegrindOutput[] baseline) {
+		if (outputs == null || outputs.length == 0 || baseline == null || baseline.length == 0) {
+			return;
+		}
+		CachegrindOutput current = outputs[0];
+		CachegrindOutput base = baseline[0];
+		for (CachegrindOutput output : baseline) {
+			if (output.getCmd() != null && output.getCmd().equals(current.getCmd())) {
+				base = output;
+				break;
+			}
+		}
+		diff = new CachegrindDiff(current, base);
+		refreshView();
+	}
+	
+	protected void compareWithFile() {
+		FileDialog dialog = new FileDialog(getSite().getShell(), SWT.OPEN);
+		dialog.setFilterExtensions(new String[] { CachegrindLaunchDelegate.OUT_PREFIX + "*", "*" }); //$NON-NLS-1$ //$NON-NLS-2$
+		final String path = dialog.open();
+		if (path != null) {
+			// the baseline may be large, so it is read outside the UI thread
+			Job job = new Job(NLS.bind(Messages.getString("CachegrindViewPart.Compare_job"), path)) { //$NON-NLS-1$
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					final CachegrindOutput baseline = new CachegrindOutput();
+					try {
+						CachegrindParser.getParser().parse(baseline, new File(path));
+					} catch (IOException e) {
+						final String message = NLS.bind(Messages.getString("CachegrindViewPart.Compare_error"), path); //$NON-NLS-1$
+						CachegrindPlugin.logError(message, e);
+						Display.getDefault().asyncExec(new Runnable() {
+							public void run() {
+								if (!viewer.getControl().isDisposed()) {
+									MessageDialog.openError(getSite().getShell(), Messages.getString("CachegrindViewPart.Compare_title"), message); //$NON-NLS-1$
+								}
+							}
+						});
+						return Status.OK_STATUS;
+					}
+					Display.getDefault().asyncExec(new Runnable() {
+						public void run() {
+							if (!viewer.getControl().isDisposed()) {
+								compareWith(new CachegrindOutput[] { baseline });
+							}
+						}
+					});
+					return Status.OK_STATUS;
+				}
+			};
+			job.schedule();
+		}
 	}
 
 	public CachegrindOutput[] getOutputs() {
@@ -225,53 +379,65 @@ public class CachegrindViewPart extends ViewPart implements IValgrindToolView {
 					tree.setSortDirection(SWT.UP);
 				}
 				tree.setSortColumn(column);
-				viewer.setComparator(new ViewerComparator() {
-					@Override
-					public int compare(Viewer viewer, Object e1, Object e2) {
-						Tree tree = ((TreeViewer) viewer).getTree();
-						int direction = tree.getSortDirection();
-						ICachegrindElement o1 = (ICachegrindElement) e1;
-						ICachegrindElement o2 = (ICachegrindElement) e2;
-						long result = 0;
-						
-						int sortIndex = Arrays.asList(tree.getColumns()).indexOf(tree.getSortColumn());
-						if (sortIndex == 0) { // use compareTo
-							result = o1.compareTo(o2);
-						}
-						else {
-							long[] v1 = null;
-							long[] v2 = null;
-							if (o1 instanceof CachegrindFunction && o2 instanceof CachegrindFunction) {
-								v1 = ((CachegrindFunction) o1).getTotals();
-								v2 = ((CachegrindFunction) o2).getTotals();
-							}
-							else if (o1 instanceof CachegrindLine && o2 instanceof CachegrindLine) {
-								v1 = ((CachegrindLine) o1).getValues();
-								v2 = ((CachegrindLine) o2).getValues();
-							}
-							else if (o1 instanceof CachegrindOutput && o2 instanceof CachegrindOutput) {
-								v1 = ((CachegrindOutput) o1).getSummary();
-								v2 = ((CachegrindOutput) o2).getSummary(); 
-							}
-							
-							if (v1 != null && v2 != null) {
-								result = v1[sortIndex - 1] - v2[sortIndex - 1];
-							}
-						}
-						
-						// ascending or descending
-						result = direction == SWT.UP ? result : -result;
-						
-						// overflow check
-						if (result > Integer.MAX_VALUE) {
-							result = Integer.MAX_VALUE;
-						} else if (result < Integer.MIN_VALUE) {
-							result = Integer.MIN_VALUE;
-						}
-						
-						return (int) result;
+				viewer.setComparator(createComparator());
+			}
+		};
+	}
+
+	private ViewerComparator createComparator() {
+		return new ViewerComparator() {
+			@Override
+			public int compare(Viewer viewer, Object e1, Object e2) {
+				Tree tree = ((TreeViewer) viewer).getTree();
+				int direction = tree.getSortDirection();
+				ICachegrindElement o1 = (ICachegrindElement) e1;
+				ICachegrindElement o2 = (ICachegrindElement) e2;
+				long result = 0;
+				
+				int sortIndex = Arrays.asList(tree.getColumns()).indexOf(tree.getSortColumn());
+				if (sortIndex == 0) { // use compareTo
+					result = o1.compareTo(o2);
+				}
+				else {
+					long[] v1 = null;
+					long[] v2 = null;
+					if (o1 instanceof CachegrindFunction && o2 instanceof CachegrindFunction) {
+						v1 = ((CachegrindFunction) o1).getTotals();
+						v2 = ((CachegrindFunction) o2).getTotals();
+					}
+					else if (o1 instanceof CachegrindLine && o2 instanceof CachegrindLine) {
+						// read the costs in place rather than copying them for every comparison
+						result = ((CachegrindLine) o1).getValue(sortIndex - 1) - ((CachegrindLine) o2).getValue(sortIndex - 1);
 					}
-				});
+					else if (o1 instanceof CachegrindOutput && o2 instanceof CachegrindOutput) {
+						v1 = ((CachegrindOutput) o1).getSummary();
+						v2 = ((CachegrindOutput) o2).getSummary(); 
+					}
+					else if (o1 instanceof CachegrindDiffFunction && o2 instanceof CachegrindDiffFunction) {
+						v1 = ((CachegrindDiffFunction) o1).getDeltas();
+						v2 = ((CachegrindDiffFunction) o2).getDeltas();
+					}
+					else if (o1 instanceof CachegrindDiffLine && o2 instanceof CachegrindDiffLine) {
+						v1 = ((CachegrindDiffLine) o1).getDeltas();
+						v2 = ((CachegrindDiffLine) o2).getDeltas();
+					}
+					
+					if (v1 != null && v2 != null) {
+						result = v1[sortIndex - 1] - v2[sortIndex - 1];
+					}
+				}
+				
+				// ascending or descending
+				result = direction == SWT.UP ? result : -result;
+				
+				// overflow check
+				if (result > Integer.MAX_VALUE) {
+					result = Integer.MAX_VALUE;
+				} else if (result < Integer.MIN_VALUE) {
+					result = Integer.MIN_VALUE;
+				}
+				
+				return (int) result;
 			}
 		};
 	}
@@ -327,6 +493,9 @@ public class CachegrindViewPart extends ViewPart implements IValgrindToolView {
 			if (parentElement instanceof CachegrindOutput[]) {
 				result = (CachegrindOutput[]) parentElement;
 			}
+			else if (parentElement instanceof CachegrindDiff) {
+				result = ((CachegrindDiff) parentElement).getFunctions();
+			}
 			else if (parentElement instanceof ICachegrindElement) {
 				result = ((ICachegrindElement) parentElement).getChildren();
 			}
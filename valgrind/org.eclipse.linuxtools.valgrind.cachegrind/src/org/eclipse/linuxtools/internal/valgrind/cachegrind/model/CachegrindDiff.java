@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.cachegrind.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The difference between two Cachegrind outputs, for comparing a run with
+ * an earlier baseline run. Functions of the two outputs are matched by file
+ * and function name through a hash table, so that whole-program profiles
+ * are compared in linear time. Only the events recorded in both outputs
+ * are compared, and only functions whose costs changed are kept.
+ */
+public class CachegrindDiff {
+	protected CachegrindOutput current;
+	protected CachegrindOutput baseline;
+	protected String[] events;
+	// index of each compared event in the current and baseline outputs
+	protected int[] currentIndex;
+	protected int[] baselineIndex;
+	protected CachegrindDiffFunction[] functions;
+
+	public CachegrindDiff(CachegrindOutput current, CachegrindOutput baseline) {
+		this.current = current;
+		this.baseline = baseline;
+		matchEvents();
+		matchFunctions();
+	}
+
+	protected void matchEvents() {
+		String[] curEvents = current.getEvents();
+		List<String> baseEvents = new ArrayList<String>();
+		if (baseline.getEvents() != null) {
+			for (String event : baseline.getEvents()) {
+				baseEvents.add(event);
+			}
+		}
+		List<String> common = new ArrayList<String>();
+		List<Integer> curIdx = new ArrayList<Integer>();
+		List<Integer> baseIdx = new ArrayList<Integer>();
+		if (curEvents != null) {
+			for (int i = 0; i < curEvents.length; i++) {
+				int j = baseEvents.indexOf(curEvents[i]);
+				if (j >= 0) {
+					common.add(curEvents[i]);
+					curIdx.add(i);
+					baseIdx.add(j);
+				}
+			}
+		}
+		events = common.toArray(new String[common.size()]);
+		currentIndex = new int[events.length];
+		baselineIndex = new int[events.length];
+		for (int i = 0; i < events.length; i++) {
+			currentIndex[i] = curIdx.get(i);
+			baselineIndex[i] = baseIdx.get(i);
+		}
+	}
+
+	protected void matchFunctions() {
+		// build side: the baseline's functions by file and name
+		Map<FunctionKey, CachegrindFunction> baseFunctions = new HashMap<FunctionKey, CachegrindFunction>();
+		for (CachegrindFile file : baseline.getFiles()) {
+			for (CachegrindFunction function : file.getFunctions()) {
+				baseFunctions.put(new FunctionKey(file.getPath(), function.getName()), function);
+			}
+		}
+
+		// probe side: the current functions, removing the baseline's matches
+		List<CachegrindDiffFunction> result = new ArrayList<CachegrindDiffFunction>();
+		for (CachegrindFile file : current.getFiles()) {
+			for (CachegrindFunction function : file.getFunctions()) {
+				CachegrindFunction base = baseFunctions.remove(new FunctionKey(file.getPath(), function.getName()));
+				addIfChanged(result, file.getPath(), function.getName(), function, base);
+			}
+		}
+		// functions that are no longer run
+		for (Map.Entry<FunctionKey, CachegrindFunction> entry : baseFunctions.entrySet()) {
+			addIfChanged(result, entry.getKey().path, entry.getKey().name, null, entry.getValue());
+		}
+		functions = result.toArray(new CachegrindDiffFunction[result.size()]);
+	}
+
+	private void addIfChanged(List<CachegrindDiffFunction> result, String path, String name, CachegrindFunction cur, CachegrindFunction base) {
+		long[] deltas = subtract(cur != null ? cur.getTotals() : null, base != null ? base.getTotals() : null);
+		if (isChanged(deltas)) {
+			result.add(new CachegrindDiffFunction(this, path, name, cur, base, deltas));
+		}
+	}
+
+	/**
+	 * @return the per-event differences, current minus baseline, with
+	 * missing costs counted as zero
+	 */
+	protected long[] subtract(long[] cur, long[] base) {
+		long[] deltas = new long[events.length];
+		for (int i = 0; i < events.length; i++) {
+			long curValue = cur != null && currentIndex[i] < cur.length ? cur[currentIndex[i]] : 0;
+			long baseValue = base != null && baselineIndex[i] < base.length ? base[baselineIndex[i]] : 0;
+			deltas[i] = curValue - baseValue;
+		}
+		return deltas;
+	}
+
+	/**
+	 * Matches the lines of two versions of a function by line number.
+	 */
+	protected CachegrindDiffLine[] diffLines(CachegrindDiffFunction parent, CachegrindFunction cur, CachegrindFunction base) {
+		Map<Integer, long[]> baseLines = new HashMap<Integer, long[]>();
+		if (base != null) {
+			for (CachegrindLine line : base.getLines()) {
+				addValues(baseLines, line);
+			}
+		}
+		Map<Integer, long[]> curLines = new HashMap<Integer, long[]>();
+		List<Integer> lineNos = new ArrayList<Integer>();
+		if (cur != null) {
+			for (CachegrindLine line : cur.getLines()) {
+				if (addValues(curLines, line)) {
+					lineNos.add(line.getLine());
+				}
+			}
+		}
+		for (Integer lineNo : baseLines.keySet()) {
+			if (!curLines.containsKey(lineNo)) {
+				lineNos.add(lineNo);
+			}
+		}
+
+		List<CachegrindDiffLine> result = new ArrayList<CachegrindDiffLine>();
+		for (Integer lineNo : lineNos) {
+			long[] deltas = subtract(curLines.get(lineNo), baseLines.get(lineNo));
+			if (lineNo > 0 && isChanged(deltas)) {
+				result.add(new CachegrindDiffLine(parent, lineNo, deltas));
+			}
+		}
+		return result.toArray(new CachegrindDiffLine[result.size()]);
+	}
+
+	/**
+	 * Sums the costs of lines with the same number.
+	 * @return true if this is the first line with its number
+	 */
+	private boolean addValues(Map<Integer, long[]> lines, CachegrindLine line) {
+		long[] values = line.getValues();
+		long[] sum = lines.get(line.getLine());
+		if (sum == null) {
+			lines.put(line.getLine(), values);
+			return true;
+		}
+		for (int i = 0; i < sum.length && i < values.length; i++) {
+			sum[i] += values[i];
+		}
+		return false;
+	}
+
+	private boolean isChanged(long[] deltas) {
+		for (long delta : deltas) {
+			if (delta != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the events compared, those recorded in both outputs
+	 */
+	public String[] getEvents() {
+		return events;
+	}
+
+	/**
+	 * @return the functions whose costs differ between the outputs
+	 */
+	public CachegrindDiffFunction[] getFunctions() {
+		return functions;
+	}
+
+	public CachegrindOutput getCurrent() {
+		return current;
+	}
+
+	public CachegrindOutput getBaseline() {
+		return baseline;
+	}
+
+	/**
+	 * Identifies a function by its file and name, with the hash computed once.
+	 */
+	private static final class FunctionKey {
+		private final String path;
+		private final String name;
+		private final int hash;
+
+		public FunctionKey(String path, String name) {
+			this.path = path;
+			this.name = name;
+			hash = 31 * path.hashCode() + name.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof FunctionKey)) {
+				return false;
+			}
+			FunctionKey other = (FunctionKey) obj;
+			return hash == other.hash && name.equals(other.name) && path.equals(other.path);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.cachegrind.model;
+
+import org.eclipse.core.runtime.IAdaptable;
+
+/**
+ * A function whose costs differ between two Cachegrind outputs. Its lines
+ * are only compared when first asked for.
+ */
+public class CachegrindDiffFunction implements ICachegrindElement {
+	protected CachegrindDiff diff;
+	protected String path;
+	protected String name;
+	// either may be null if the function is only in one of the outputs
+	protected CachegrindFunction current;
+	protected CachegrindFunction baseline;
+	protected long[] deltas;
+	protected CachegrindDiffLine[] lines;
+
+	public CachegrindDiffFunction(CachegrindDiff diff, String path, String name, CachegrindFunction current, CachegrindFunction baseline, long[] deltas) {
+		this.diff = diff;
+		this.path = path;
+		this.name = name;
+		this.current = current;
+		this.baseline = baseline;
+		this.deltas = deltas;
+	}
+
+	public ICachegrindElement[] getChildren() {
+		if (lines == null) {
+			lines = diff.diffLines(this, current, baseline);
+		}
+		return lines.length > 0 ? lines : null;
+	}
+
+	public ICachegrindElement getParent() {
+		return null;
+	}
+
+	public IAdaptable getModel() {
+		CachegrindFunction function = current != null ? current : baseline;
+		return function.getModel();
+	}
+
+	/**
+	 * @return the per-event differences, current minus baseline
+	 */
+	public long[] getDeltas() {
+		return deltas;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public CachegrindFunction getCurrent() {
+		return current;
+	}
+
+	public CachegrindFunction getBaseline() {
+		return baseline;
+	}
+
+	public int compareTo(ICachegrindElement o) {
+		int result = 0;
+		if (o instanceof CachegrindDiffFunction) {
+			result = name.compareTo(((CachegrindDiffFunction) o).getName());
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.cachegrind.model;
+
+import org.eclipse.core.runtime.IAdaptable;
+
+/**
+ * A line whose costs differ between two Cachegrind outputs.
+ */
+public class CachegrindDiffLine implements ICachegrindElement {
+	protected CachegrindDiffFunction parent;
+	protected int line;
+	protected long[] deltas;
+
+	public CachegrindDiffLine(CachegrindDiffFunction parent, int line, long[] deltas) {
+		this.parent = parent;
+		this.line = line;
+		this.deltas = deltas;
+	}
+
+	public ICachegrindElement[] getChildren() {
+		return null;
+	}
+
+	public ICachegrindElement getParent() {
+		return parent;
+	}
+
+	public IAdaptable getModel() {
+		return null;
+	}
+
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * @return the per-event differences, current minus baseline
+	 */
+	public long[] getDeltas() {
+		return deltas;
+	}
+
+	public int compareTo(ICachegrindElement o) {
+		int result = 0;
+		if (o instanceof CachegrindDiffLine) {
+			result = line - ((CachegrindDiffLine) o).getLine();
+		}
+		return result;
+	}
+
+}
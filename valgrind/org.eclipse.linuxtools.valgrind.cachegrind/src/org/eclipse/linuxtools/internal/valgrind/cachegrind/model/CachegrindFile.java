@@ -21,11 +21,14 @@ import org.eclipse.core.runtime.Path;
 
 public class CachegrindFile implements ICachegrindElement {
 	private static final String UNKNOWN_FILE = "???"; //$NON-NLS-1$
-
+	private static final int INITIAL_COSTS = 64;
 
 	protected CachegrindOutput parent;
 	protected String path;
 	protected List<CachegrindFunction> functions;
+	// the costs of every line in the file, one after the other
+	protected long[] costs;
+	protected int costsSize;
 
 	protected IAdaptable model;
 
@@ -50,6 +53,47 @@ public class CachegrindFile implements ICachegrindElement {
 		functions.add(func);
 	}
 
+	/**
+	 * Stores the costs of a line of this file.
+	 * @param values the line's costs
+	 * @param length the number of costs to take from values
+	 * @return the offset of the line's costs, used to read them back
+	 */
+	public int addCosts(long[] values, int length) {
+		if (costs == null) {
+			costs = new long[Math.max(INITIAL_COSTS, length)];
+		}
+		else if (costsSize + length > costs.length) {
+			long[] newCosts = new long[Math.max(costs.length * 2, costsSize + length)];
+			System.arraycopy(costs, 0, newCosts, 0, costsSize);
+			costs = newCosts;
+		}
+		int offset = costsSize;
+		System.arraycopy(values, 0, costs, offset, length);
+		costsSize += length;
+		return offset;
+	}
+	
+	/**
+	 * @param offset the offset returned by {@link #addCosts(long[], int)}
+	 * @param index the index of the event
+	 * @return the line's cost for the event
+	 */
+	public long getCost(int offset, int index) {
+		return costs[offset + index];
+	}
+	
+	/**
+	 * Releases the space reserved for costs once all lines have been added.
+	 */
+	public void trimCosts() {
+		if (costs != null && costs.length > costsSize) {
+			long[] newCosts = new long[costsSize];
+			System.arraycopy(costs, 0, newCosts, 0, costsSize);
+			costs = newCosts;
+		}
+	}
+
 	public CachegrindFunction[] getFunctions() {
 		return functions.toArray(new CachegrindFunction[functions.size()]);
 	}
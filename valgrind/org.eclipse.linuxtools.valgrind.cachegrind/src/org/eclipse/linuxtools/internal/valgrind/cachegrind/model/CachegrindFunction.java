@@ -10,7 +10,6 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.cachegrind.model;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.cdt.core.model.CModelException;
@@ -26,7 +25,12 @@ import org.eclipse.core.runtime.IAdaptable;
 public class CachegrindFunction implements ICachegrindElement {
 	protected CachegrindFile parent;
 	protected String name;
-	protected List<CachegrindLine> lines;
+	// line numbers and cost offsets of the lines, line objects are only created when asked for
+	protected int[] lineNumbers;
+	protected int[] offsets;
+	protected int lineCount;
+	protected int costsLength;
+	protected CachegrindLine[] lines;
 	protected long[] totals;
 
 	protected IAdaptable model;
@@ -36,7 +40,8 @@ public class CachegrindFunction implements ICachegrindElement {
 	public CachegrindFunction(CachegrindFile parent, String name) {
 		this.parent = parent;
 		this.name = name;
-		lines = new ArrayList<CachegrindLine>();
+		lineNumbers = new int[4];
+		offsets = new int[4];
 
 		IAdaptable pModel = parent.getModel();
 		if (pModel instanceof ICElement) {
@@ -89,15 +94,32 @@ public class CachegrindFunction implements ICachegrindElement {
 		return element;
 	}
 
-	public void addLine(CachegrindLine line) {
-		long[] values = line.getValues();
+	/**
+	 * Adds a line whose costs have been stored in this function's file.
+	 * @param lineNo the line number
+	 * @param offset the offset of the line's costs in the file
+	 * @param length the number of costs
+	 */
+	public void addLine(int lineNo, int offset, int length) {
 		if (totals == null) {
-			totals = new long[values.length];
+			totals = new long[length];
+			costsLength = length;
 		}
-		for (int i = 0; i < values.length; i++) {
-			totals[i] += values[i];
+		for (int i = 0; i < totals.length && i < length; i++) {
+			totals[i] += parent.getCost(offset, i);
 		}
-		lines.add(line);
+		if (lineCount == lineNumbers.length) {
+			int[] newLineNumbers = new int[lineCount * 2];
+			int[] newOffsets = new int[lineCount * 2];
+			System.arraycopy(lineNumbers, 0, newLineNumbers, 0, lineCount);
+			System.arraycopy(offsets, 0, newOffsets, 0, lineCount);
+			lineNumbers = newLineNumbers;
+			offsets = newOffsets;
+		}
+		lineNumbers[lineCount] = lineNo;
+		offsets[lineCount] = offset;
+		lineCount++;
+		lines = null;
 	}
 
 	public String getName() {
@@ -113,13 +135,19 @@ public class CachegrindFunction implements ICachegrindElement {
 	}
 
 	public CachegrindLine[] getLines() {
-		return lines.toArray(new CachegrindLine[lines.size()]);
+		if (lines == null) {
+			lines = new CachegrindLine[lineCount];
+			for (int i = 0; i < lineCount; i++) {
+				lines[i] = new CachegrindLine(this, lineNumbers[i], offsets[i], costsLength);
+			}
+		}
+		return lines.clone();
 	}
 
 	public ICachegrindElement[] getChildren() {
 		ICachegrindElement[] children = null;
 		// if there is only a summary don't return any children
-		if (lines.get(0).getLine() > 0) {
+		if (lineCount > 0 && lineNumbers[0] > 0) {
 			children = getLines();
 		}
 		return children;
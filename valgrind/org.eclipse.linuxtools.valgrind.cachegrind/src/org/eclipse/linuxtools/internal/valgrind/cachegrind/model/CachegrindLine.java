@@ -16,12 +16,15 @@ import org.eclipse.core.runtime.IAdaptable;
 public class CachegrindLine implements ICachegrindElement {
 	protected CachegrindFunction parent;
 	protected int line;
-	protected long[] values;
+	// where the line's costs are stored in its file
+	protected int offset;
+	protected int length;
 	
-	public CachegrindLine(CachegrindFunction parent, int line, long[] values) {
+	public CachegrindLine(CachegrindFunction parent, int line, int offset, int length) {
 		this.parent = parent;
 		this.line = line;
-		this.values = values;
+		this.offset = offset;
+		this.length = length;
 	}
 
 	public ICachegrindElement[] getChildren() {
@@ -33,8 +36,25 @@ public class CachegrindLine implements ICachegrindElement {
 	}
 	
 	public long[] getValues() {
+		long[] values = new long[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = getValue(i);
+		}
 		return values;
 	}
+	
+	/**
+	 * @param index the index of the event
+	 * @return the line's cost for the event, without copying all its costs
+	 * @throws IndexOutOfBoundsException if the line has no cost for the index
+	 */
+	public long getValue(int index) {
+		// the costs array is shared with the other lines of the file
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		return ((CachegrindFile) parent.getParent()).getCost(offset, index);
+	}
 
 	public ICachegrindElement getParent() {
 		return parent;
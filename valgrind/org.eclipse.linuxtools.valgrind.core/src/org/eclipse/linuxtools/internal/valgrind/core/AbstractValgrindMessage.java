@@ -16,6 +16,7 @@ import org.eclipse.debug.core.ILaunch;
 import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
 
 public class AbstractValgrindMessage implements IValgrindMessage {
+	private static final IValgrindMessage[] NO_CHILDREN = new IValgrindMessage[0];
 
 	protected IValgrindMessage parent;
 	protected ILaunch launch;
@@ -23,7 +24,6 @@ public class AbstractValgrindMessage implements IValgrindMessage {
 	protected String text;
 
 	public AbstractValgrindMessage(IValgrindMessage parent, String text, ILaunch launch) {
-		children = new ArrayList<IValgrindMessage>();
 		this.parent = parent;
 		this.text = text;
 		this.launch = launch;
@@ -34,6 +34,10 @@ public class AbstractValgrindMessage implements IValgrindMessage {
 	}
 
 	public void addChild(IValgrindMessage message) {
+		// most messages are stack frames without children
+		if (children == null) {
+			children = new ArrayList<IValgrindMessage>(4);
+		}
 		children.add(message);
 	}
 
@@ -46,6 +50,9 @@ public class AbstractValgrindMessage implements IValgrindMessage {
 	}
 
 	public IValgrindMessage[] getChildren() {
+		if (children == null) {
+			return NO_CHILDREN;
+		}
 		return children.toArray(new IValgrindMessage[children.size()]);
 	}
 
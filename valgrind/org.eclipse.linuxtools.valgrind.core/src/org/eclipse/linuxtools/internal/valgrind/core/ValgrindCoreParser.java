@@ -15,6 +15,7 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Stack;
 
@@ -31,74 +32,181 @@ public class ValgrindCoreParser {
 	protected List<IValgrindMessage> messages;
 	protected int pid;
 	protected ILaunch launch;
+	// keep track of nested messages and their corresponding indents
+	protected Stack<IValgrindMessage> messageStack;
+	protected Stack<Integer> indentStack;
+	// number of top-level messages returned by getNewMessages
+	protected int delivered;
+	protected ValgrindFrameTable frames;
+	// the first report of each error, by its message text and stack
+	protected HashMap<StackKey, ValgrindError> errorsByStack;
+	// the last top-level error, which may still be given more children
+	protected ValgrindError ungrouped;
 
 	public ValgrindCoreParser(File inputFile, ILaunch launch) throws IOException {
-		this.launch = launch;
+		this(inputFile, launch, new ValgrindFrameTable());
+	}
+	
+	/**
+	 * Parses a log whose stack frames are kept in a table shared with other logs.
+	 */
+	public ValgrindCoreParser(File inputFile, ILaunch launch, ValgrindFrameTable frames) throws IOException {
+		this(launch, 0, frames);
 		BufferedReader br = new BufferedReader(new FileReader(inputFile));
-		// keep track of nested messages and their corresponding indents
-		Stack<IValgrindMessage> messageStack = new Stack<IValgrindMessage>();
-		Stack<Integer> indentStack = new Stack<Integer>();
-		messages = new ArrayList<IValgrindMessage>();
 
 		try { 
 			pid = ValgrindParserUtils.parsePID(inputFile.getName(), CommandLineConstants.LOG_PREFIX);
 			String line;
 			while ((line = br.readLine()) != null) {
-				// remove PID string
-				// might encounter warnings also #325130
-				line = line.replaceFirst("==\\d+==|\\*\\*\\d+\\*\\*", EMPTY_STRING); //$NON-NLS-1$
+				parseLine(line);
+			}
+			groupLastError();
+		} finally {
+			if (br != null) {
+				br.close();
+			}
+		}
+	}
+
+	/**
+	 * Creates a parser that is given the log one line at a time with
+	 * {@link #parseLine(String)}, so that a log can be parsed while Valgrind
+	 * is still writing it.
+	 * @param launch the launch the log belongs to
+	 * @param pid the PID of the process the log is for
+	 */
+	public ValgrindCoreParser(ILaunch launch, int pid) {
+		this(launch, pid, new ValgrindFrameTable());
+	}
+	
+	/**
+	 * Creates a parser that is given the log one line at a time, keeping its
+	 * stack frames in a table shared with other logs.
+	 * @param launch the launch the log belongs to
+	 * @param pid the PID of the process the log is for
+	 * @param frames the table to keep stack frames in
+	 */
+	public ValgrindCoreParser(ILaunch launch, int pid, ValgrindFrameTable frames) {
+		this.launch = launch;
+		this.pid = pid;
+		this.frames = frames;
+		messageStack = new Stack<IValgrindMessage>();
+		indentStack = new Stack<Integer>();
+		messages = new ArrayList<IValgrindMessage>();
+		errorsByStack = new HashMap<StackKey, ValgrindError>();
+	}
 
-				int indent;
-				for (indent = 0; indent < line.length()
-				&& line.charAt(indent) == ' '; indent++)
-					;
+	/**
+	 * Parses the next line of the log.
+	 * @param line a complete line, without its terminator
+	 * @throws IOException
+	 */
+	public void parseLine(String line) throws IOException {
+		// remove PID string
+		// might encounter warnings also #325130
+		line = line.replaceFirst("==\\d+==|\\*\\*\\d+\\*\\*", EMPTY_STRING); //$NON-NLS-1$
 
-				line = line.trim();
-				if (!line.equals(EMPTY_STRING)) { 
-					/*
-					 * indent == 1 -> top level message
-					 * indent > 1 -> child message
-					 * indent == 0 -> should not occur
-					 */
-					if (indent == 1) {
-						// top-level message, clear stacks
-						IValgrindMessage message = getMessage(null, line);
-						messages.add(message);
-						messageStack.clear();
-						messageStack.push(message);
-						indentStack.clear();
-						indentStack.push(indent);
-					}
-					else if (indent > 1) {
-						// find this message's parent
-						while (indent <= indentStack.peek()) {
-							messageStack.pop();
-							indentStack.pop();
-						}
+		int indent;
+		for (indent = 0; indent < line.length()
+		&& line.charAt(indent) == ' '; indent++)
+			;
 
-						messageStack.push(getMessage(messageStack.peek(), line));
-						indentStack.push(indent);
-					}
+		line = line.trim();
+		if (!line.equals(EMPTY_STRING)) { 
+			/*
+			 * indent == 1 -> top level message
+			 * indent > 1 -> child message
+			 * indent == 0 -> should not occur
+			 */
+			if (indent == 1) {
+				// top-level message, clear stacks
+				groupLastError();
+				IValgrindMessage message = getMessage(null, line);
+				messages.add(message);
+				if (message instanceof ValgrindError) {
+					ungrouped = (ValgrindError) message;
 				}
+				messageStack.clear();
+				messageStack.push(message);
+				indentStack.clear();
+				indentStack.push(indent);
 			}
-		} finally {
-			if (br != null) {
-				br.close();
+			else if (indent > 1) {
+				// find this message's parent
+				while (indent <= indentStack.peek()) {
+					messageStack.pop();
+					indentStack.pop();
+				}
+
+				messageStack.push(getMessage(messageStack.peek(), line));
+				indentStack.push(indent);
 			}
 		}
 	}
 
+	/**
+	 * Returns the top-level messages parsed since the previous call.  The
+	 * last message may still be given more children by the lines that follow
+	 * it, so it is left out unless includeLast is set.
+	 * @param includeLast whether to return the last message parsed too
+	 * @return the new top-level messages
+	 */
+	public IValgrindMessage[] getNewMessages(boolean includeLast) {
+		if (includeLast) {
+			groupLastError();
+		}
+		int end = includeLast ? messages.size() : messages.size() - 1;
+		if (end <= delivered) {
+			return new IValgrindMessage[0];
+		}
+		IValgrindMessage[] result = messages.subList(delivered, end).toArray(new IValgrindMessage[end - delivered]);
+		delivered = end;
+		return result;
+	}
+
 	protected IValgrindMessage getMessage(IValgrindMessage message, String line) throws IOException {
 		if (line.startsWith(AT) || line.startsWith(BY)) {
-			Object[] parsed = ValgrindParserUtils.parseFilename(line);
-			String filename = (String) parsed[0];
-			int lineNo = (Integer) parsed[1];
-			return new ValgrindStackFrame(message, line, launch, filename, lineNo);
+			return new ValgrindStackFrame(message, launch, frames, frames.intern(line));
 		}
 		return new ValgrindError(message, line, launch, pid);
 	}
 	
+	/**
+	 * Once the last top-level error is complete, counts it as another
+	 * occurrence of an earlier error with the same text and stack, if there
+	 * is one, and removes it from the messages. An error that has already
+	 * been returned by {@link #getNewMessages(boolean)} is left as it is.
+	 */
+	protected void groupLastError() {
+		ValgrindError error = ungrouped;
+		ungrouped = null;
+		if (error == null) {
+			return;
+		}
+		StackKey key = new StackKey(error);
+		if (!key.hasFrames) {
+			// not an error report, e.g. the heap summary
+			return;
+		}
+		ValgrindError first = errorsByStack.get(key);
+		if (first == null) {
+			errorsByStack.put(key, error);
+		}
+		else if (messages.size() > delivered && messages.get(messages.size() - 1) == error) {
+			messages.remove(messages.size() - 1);
+			first.addOccurrence();
+		}
+	}
+	
+	/**
+	 * @return the table holding the stack frames of this log
+	 */
+	public ValgrindFrameTable getFrameTable() {
+		return frames;
+	}
+	
 	public IValgrindMessage[] getMessages() {
+		groupLastError();
 		return messages.toArray(new IValgrindMessage[messages.size()]);
 	}
 	
@@ -111,4 +219,75 @@ public class ValgrindCoreParser {
 			printMessages(child, indent + 1);
 		}
 	}
+	
+	/**
+	 * Identifies an error by its text and the frame ids of its stack, so
+	 * that repeated reports of an error are found without comparing the
+	 * frames' text.
+	 */
+	protected static class StackKey {
+		protected ValgrindError error;
+		protected int hash;
+		protected boolean hasFrames;
+		
+		public StackKey(ValgrindError error) {
+			this.error = error;
+			hash = hash(error);
+		}
+		
+		private int hash(IValgrindMessage message) {
+			if (message instanceof ValgrindStackFrame) {
+				hasFrames = true;
+				return ((ValgrindStackFrame) message).getFrameId();
+			}
+			int result = rawText(message).hashCode();
+			for (IValgrindMessage child : message.getChildren()) {
+				result = 31 * result + hash(child);
+			}
+			return result;
+		}
+		
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof StackKey)) {
+				return false;
+			}
+			StackKey other = (StackKey) obj;
+			return hash == other.hash && sameStack(error, other.error);
+		}
+		
+		private static boolean sameStack(IValgrindMessage a, IValgrindMessage b) {
+			if (a instanceof ValgrindStackFrame || b instanceof ValgrindStackFrame) {
+				return a instanceof ValgrindStackFrame && b instanceof ValgrindStackFrame
+						&& ((ValgrindStackFrame) a).getFrameId() == ((ValgrindStackFrame) b).getFrameId();
+			}
+			if (!rawText(a).equals(rawText(b))) {
+				return false;
+			}
+			IValgrindMessage[] aChildren = a.getChildren();
+			IValgrindMessage[] bChildren = b.getChildren();
+			if (aChildren.length != bChildren.length) {
+				return false;
+			}
+			for (int i = 0; i < aChildren.length; i++) {
+				if (!sameStack(aChildren[i], bChildren[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+		
+		// the text without the occurrence count, which changes as errors are grouped
+		private static String rawText(IValgrindMessage message) {
+			if (message instanceof AbstractValgrindMessage) {
+				return ((AbstractValgrindMessage) message).text;
+			}
+			return message.getText();
+		}
+	}
 }
@@ -12,10 +12,13 @@ package org.eclipse.linuxtools.internal.valgrind.core;
 
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+import org.eclipse.osgi.util.NLS;
 
 
 public class ValgrindError extends AbstractValgrindMessage {
 	protected int pid;
+	// number of times Valgrind reported this error with the same stack
+	protected int count = 1;
 	
 	public ValgrindError(IValgrindMessage message, String text, ILaunch launch, int pid) {
 		super(message, text, launch);
@@ -26,8 +29,23 @@ public class ValgrindError extends AbstractValgrindMessage {
 		return pid;
 	}
 	
+	public int getCount() {
+		return count;
+	}
+	
+	/**
+	 * Records another report of this error with the same stack.
+	 */
+	public void addOccurrence() {
+		count++;
+	}
+	
 	@Override
 	public String getText() {
-		return super.getText() + " [PID: " + pid + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+		String text = super.getText() + " [PID: " + pid + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+		if (count > 1) {
+			text += " " + NLS.bind(Messages.getString("ValgrindError.Occurrences"), count); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return text;
 	}
 }
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.eclipse.linuxtools.valgrind.core.ValgrindParserUtils;
+
+/**
+ * Stores each distinct stack frame line once. A frame is parsed the first
+ * time it is seen and given an id, and {@link ValgrindStackFrame}s refer to
+ * it by that id. A table may be shared by the parsers of several logs.
+ */
+public class ValgrindFrameTable {
+	private static final int INITIAL_CAPACITY = 256;
+
+	protected HashMap<String, Integer> ids;
+	// file names shared by frames from the same file
+	protected HashMap<String, String> files;
+	protected ArrayList<String> frameTexts;
+	protected ArrayList<String> frameFiles;
+	protected int[] frameLines;
+
+	public ValgrindFrameTable() {
+		ids = new HashMap<String, Integer>();
+		files = new HashMap<String, String>();
+		frameTexts = new ArrayList<String>();
+		frameFiles = new ArrayList<String>();
+		frameLines = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * @param text the frame line with the PID and indent removed
+	 * @return the id of the frame, which is added to the table if it is new
+	 */
+	public synchronized int intern(String text) {
+		Integer id = ids.get(text);
+		if (id != null) {
+			return id;
+		}
+
+		Object[] parsed = ValgrindParserUtils.parseFilename(text);
+		String file = (String) parsed[0];
+		if (file != null) {
+			String shared = files.get(file);
+			if (shared == null) {
+				files.put(file, file);
+			}
+			else {
+				file = shared;
+			}
+		}
+
+		int newId = frameTexts.size();
+		if (newId == frameLines.length) {
+			int[] lines = new int[newId * 2];
+			System.arraycopy(frameLines, 0, lines, 0, newId);
+			frameLines = lines;
+		}
+		frameTexts.add(text);
+		frameFiles.add(file);
+		frameLines[newId] = (Integer) parsed[1];
+		ids.put(text, newId);
+		return newId;
+	}
+
+	public synchronized String getText(int id) {
+		return frameTexts.get(id);
+	}
+
+	public synchronized String getFile(int id) {
+		return frameFiles.get(id);
+	}
+
+	public synchronized int getLine(int id) {
+		return frameLines[id];
+	}
+
+	/**
+	 * @return the number of distinct frames in the table
+	 */
+	public synchronized int size() {
+		return frameTexts.size();
+	}
+}
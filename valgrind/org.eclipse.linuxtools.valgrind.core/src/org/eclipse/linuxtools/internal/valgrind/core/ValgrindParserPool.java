@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Worker threads shared by the tools to parse the output files that
+ * Valgrind writes for each process, so that the files of a program that
+ * forks are parsed at the same time.
+ */
+public final class ValgrindParserPool {
+	private static final String THREAD_NAME = "Valgrind output parser"; //$NON-NLS-1$
+
+	private static ExecutorService executor;
+
+	/**
+	 * Receives the result of each parsing task as soon as it is done.
+	 */
+	public interface IParseListener<T> {
+		/**
+		 * Called in the thread that started the tasks, in the order the
+		 * tasks finish.
+		 * @param index - the index of the task in the list of tasks
+		 * @param result - the result of the task
+		 */
+		public void parsed(int index, T result) throws IOException, CoreException;
+	}
+
+	private ValgrindParserPool() {
+	}
+
+	protected static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+			executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, THREAD_NAME);
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return executor;
+	}
+
+	/**
+	 * Runs a task on a worker thread.
+	 * @param task - the task to run
+	 */
+	public static void execute(Runnable task) {
+		getExecutor().execute(task);
+	}
+
+	/**
+	 * Parses on the worker threads and waits for all parsers to finish.
+	 * A single task is run in the calling thread.
+	 * @param tasks - the parsing tasks
+	 * @return the results of the tasks, in the same order
+	 * @throws IOException if a task failed, the first failure in task order
+	 */
+	public static <T> List<T> parseAll(List<? extends Callable<T>> tasks) throws IOException {
+		List<T> results = new ArrayList<T>(tasks.size());
+		if (tasks.size() == 1) {
+			try {
+				results.add(tasks.get(0).call());
+			} catch (IOException e) {
+				throw e;
+			} catch (Exception e) {
+				throw wrap(e);
+			}
+			return results;
+		}
+
+		List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+		for (Callable<T> task : tasks) {
+			futures.add(getExecutor().submit(task));
+		}
+		try {
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw wrap(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw wrap(e.getCause());
+		} finally {
+			for (Future<T> future : futures) {
+				future.cancel(true);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Parses on the worker threads and passes each result to the listener
+	 * as soon as its task is done, rather than once all tasks are done.
+	 * A single task is run in the calling thread.
+	 * @param tasks - the parsing tasks
+	 * @param listener - receives the results, in the calling thread
+	 * @throws IOException if a task failed, the first failure to finish;
+	 * the tasks still running are cancelled
+	 * @throws CoreException if the listener failed
+	 */
+	public static <T> void parseEach(List<? extends Callable<T>> tasks, IParseListener<T> listener) throws IOException, CoreException {
+		if (tasks.size() == 1) {
+			T result;
+			try {
+				result = tasks.get(0).call();
+			} catch (IOException e) {
+				throw e;
+			} catch (Exception e) {
+				throw wrap(e);
+			}
+			listener.parsed(0, result);
+			return;
+		}
+
+		CompletionService<T> completion = new ExecutorCompletionService<T>(getExecutor());
+		Map<Future<T>, Integer> futures = new HashMap<Future<T>, Integer>();
+		for (int i = 0; i < tasks.size(); i++) {
+			futures.put(completion.submit(tasks.get(i)), i);
+		}
+		try {
+			for (int i = 0; i < tasks.size(); i++) {
+				Future<T> future = completion.take();
+				listener.parsed(futures.get(future), future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw wrap(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw wrap(e.getCause());
+		} finally {
+			for (Future<T> future : futures.keySet()) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Stops the worker threads.
+	 */
+	public static synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	private static IOException wrap(Throwable t) {
+		IOException e = new IOException(t.getMessage());
+		e.initCause(t);
+		return e;
+	}
+}
@@ -44,6 +44,7 @@ public class ValgrindPlugin extends AbstractUIPlugin {
 	 * @see org.eclipse.core.runtime.Plugin#stop(org.osgi.framework.BundleContext)
 	 */
 	public void stop(BundleContext context) throws Exception {
+		ValgrindParserPool.shutdown();
 		plugin = null;
 		super.stop(context);
 	}
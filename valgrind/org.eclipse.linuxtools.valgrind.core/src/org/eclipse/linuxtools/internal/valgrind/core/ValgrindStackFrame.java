@@ -16,6 +16,9 @@ import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
 public class ValgrindStackFrame extends AbstractValgrindMessage {
 	protected String file;
 	protected int line;
+	// set when the frame's text, file and line are kept in a frame table
+	protected ValgrindFrameTable frames;
+	protected int frameId = -1;
 	
 	public ValgrindStackFrame(IValgrindMessage message, String text, ILaunch launch, String file, int line) {
 		super(message, text, launch);
@@ -23,16 +26,41 @@ public class ValgrindStackFrame extends AbstractValgrindMessage {
 		this.line = line;
 	}
 	
+	/**
+	 * Creates a frame whose text, file and line are looked up in a frame table.
+	 * @param message the parent message
+	 * @param launch the launch the frame belongs to
+	 * @param frames the table holding the frame
+	 * @param frameId the id of the frame in the table
+	 */
+	public ValgrindStackFrame(IValgrindMessage message, ILaunch launch, ValgrindFrameTable frames, int frameId) {
+		super(message, null, launch);
+		this.frames = frames;
+		this.frameId = frameId;
+	}
+	
 	public ILaunch getLaunch() {
 		return launch;
 	}
 	
+	@Override
+	public String getText() {
+		return frames != null ? frames.getText(frameId) : text;
+	}
+	
 	public String getFile() {
-		return file;
+		return frames != null ? frames.getFile(frameId) : file;
 	}
 	
 	public int getLine() {
-		return line;
+		return frames != null ? frames.getLine(frameId) : line;
+	}
+	
+	/**
+	 * @return the id of the frame in its frame table, or -1 if it is not kept in one
+	 */
+	public int getFrameId() {
+		return frameId;
 	}
 		
 }
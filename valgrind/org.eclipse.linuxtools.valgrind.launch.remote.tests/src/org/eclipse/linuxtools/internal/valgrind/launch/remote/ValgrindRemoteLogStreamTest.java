@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2011 Red Hat Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.launch.remote;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.Path;
+import org.eclipse.linuxtools.profiling.launch.remote.RemoteConnectionException;
+
+public class ValgrindRemoteLogStreamTest extends TestCase {
+	private static final String[] LOGS = { "valgrind_123.txt", "valgrind_124.txt" }; //$NON-NLS-1$ //$NON-NLS-2$
+	private static final int PIECES = 3;
+
+	protected File tempDir;
+	protected File localDir;
+
+	@Override
+	protected void setUp() throws Exception {
+		tempDir = File.createTempFile("valgrind", null); //$NON-NLS-1$
+		tempDir.delete();
+		tempDir.mkdir();
+		localDir = new File(tempDir, "local"); //$NON-NLS-1$
+		localDir.mkdir();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		delete(tempDir);
+	}
+
+	public void testDecodeBase64() throws Exception {
+		assertEquals("Man", new String(ValgrindRemoteLogStream.decodeBase64("TWFu"))); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Ma", new String(ValgrindRemoteLogStream.decodeBase64("TWE="))); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("M", new String(ValgrindRemoteLogStream.decodeBase64("TQ=="))); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(0, ValgrindRemoteLogStream.decodeBase64("").length); //$NON-NLS-1$
+
+		byte[] all = new byte[256];
+		for (int i = 0; i < all.length; i++) {
+			all[i] = (byte) i;
+		}
+		String encoded = "AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8gISIjJCUmJygpKissLS4vMDEyMzQ1Njc4OTo7PD0+P0BBQkNERUZHSElKS0xNTk9QUVJTVFVWV1hZWltcXV5fYGFiY2RlZmdoaWprbG1ub3BxcnN0dXZ3eHl6e3x9fn+AgYKDhIWGh4iJiouMjY6PkJGSk5SVlpeYmZqbnJ2en6ChoqOkpaanqKmqq6ytrq+wsbKztLW2t7i5uru8vb6/wMHCw8TFxsfIycrLzM3Oz9DR0tPU1dbX2Nna29zd3t/g4eLj5OXm5+jp6uvs7e7v8PHy8/T19vf4+fr7/P3+/w=="; //$NON-NLS-1$
+		assertTrue(Arrays.equals(all, ValgrindRemoteLogStream.decodeBase64(encoded)));
+	}
+
+	public void testDecodeBadBase64() throws Exception {
+		try {
+			ValgrindRemoteLogStream.decodeBase64("TW Fu"); //$NON-NLS-1$
+			fail();
+		} catch (IOException e) {
+			assertEquals(Messages.ValgrindRemoteLogStream_error_bad_chunk, e.getMessage());
+		}
+	}
+
+	public void testBadChunk() throws Exception {
+		ValgrindRemoteLogStream stream = new ValgrindRemoteLogStream(new Path(localDir.getAbsolutePath()));
+		stream.outputLine(ValgrindRemoteLogStream.CHUNK + "valgrind_123.txt 0"); //$NON-NLS-1$
+		stream.outputLine("not*base64"); //$NON-NLS-1$
+		try {
+			stream.outputLine(ValgrindRemoteLogStream.END);
+			fail();
+		} catch (RemoteConnectionException e) {
+			assertEquals(Messages.ValgrindRemoteLogStream_error_bad_chunk, e.getMessage());
+		}
+		assertEquals(0, stream.getChunkCount());
+	}
+
+	public void testOtherOutputKept() throws Exception {
+		ValgrindRemoteLogStream stream = new ValgrindRemoteLogStream(new Path(localDir.getAbsolutePath()));
+		String[] lines = {
+				"program output", //$NON-NLS-1$
+				ValgrindRemoteLogStream.CHUNK + "../valgrind_123.txt 0", //$NON-NLS-1$
+				ValgrindRemoteLogStream.CHUNK + "valgrind_123.txt", //$NON-NLS-1$
+				ValgrindRemoteLogStream.CHUNK + "valgrind_123.txt start", //$NON-NLS-1$
+				ValgrindRemoteLogStream.END
+		};
+		for (String line : lines) {
+			stream.outputLine(line);
+		}
+		assertEquals(Arrays.asList(lines), stream.getOutput());
+		assertEquals(0, stream.getChunkCount());
+		assertEquals(0, localDir.list().length);
+	}
+
+	public void testLoopback() throws Exception {
+		// the logs are written in pieces, a second apart, by a fake Valgrind
+		File sourceDir = new File(tempDir, "source"); //$NON-NLS-1$
+		sourceDir.mkdir();
+		File remoteDir = new File(tempDir, "remote 'output'"); //$NON-NLS-1$
+		remoteDir.mkdir();
+		Random random = new Random(42);
+		ByteArrayOutputStream[] expected = new ByteArrayOutputStream[LOGS.length];
+		for (int i = 0; i < LOGS.length; i++) {
+			expected[i] = new ByteArrayOutputStream();
+			for (int j = 0; j < PIECES; j++) {
+				byte[] piece = new byte[10000 + random.nextInt(50000)];
+				random.nextBytes(piece);
+				write(new File(sourceDir, LOGS[i] + '.' + j), piece);
+				expected[i].write(piece);
+			}
+		}
+		StringBuilder script = new StringBuilder();
+		script.append("echo program output\n"); //$NON-NLS-1$
+		script.append("for i in 0 1 2; do\n"); //$NON-NLS-1$
+		for (String log : LOGS) {
+			script.append("cat \"$1/").append(log).append(".$i\" >> \"$2/").append(log).append("\"\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		script.append("sleep 1\ndone\nexit 3\n"); //$NON-NLS-1$
+		File valgrind = new File(tempDir, "valgrind.sh"); //$NON-NLS-1$
+		write(valgrind, script.toString().getBytes());
+
+		final int[] changes = new int[1];
+		ValgrindRemoteLogStream stream = new ValgrindRemoteLogStream(new Path(localDir.getAbsolutePath())) {
+			@Override
+			protected void filesChanged() throws IOException {
+				changes[0]++;
+			}
+		};
+		String valgrindCommand = "sh " + quote(valgrind.getAbsolutePath()) + ' ' //$NON-NLS-1$
+				+ quote(sourceDir.getAbsolutePath()) + ' ' + quote(remoteDir.getAbsolutePath());
+		String command = stream.getCommand(valgrindCommand, new Path(remoteDir.getAbsolutePath()));
+		Process process = new ProcessBuilder("sh", "-c", command).redirectErrorStream(true).start(); //$NON-NLS-1$ //$NON-NLS-2$
+		BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				stream.outputLine(line);
+			}
+		} finally {
+			reader.close();
+		}
+
+		// Valgrind's exit status and output are passed on
+		assertEquals(3, process.waitFor());
+		assertEquals(Arrays.asList("program output"), stream.getOutput()); //$NON-NLS-1$
+		// the output was sent while Valgrind ran, not only at the end
+		assertTrue(stream.getChunkCount() > LOGS.length);
+		assertEquals(stream.getChunkCount(), changes[0]);
+		assertFalse(new File(remoteDir.getAbsolutePath() + ValgrindRemoteLogStream.SENT_SUFFIX).exists());
+
+		for (int i = 0; i < LOGS.length; i++) {
+			assertTrue(LOGS[i], Arrays.equals(expected[i].toByteArray(), read(new File(localDir, LOGS[i]))));
+		}
+	}
+
+	private static String quote(String path) {
+		return '\'' + path.replace("'", "'\\''") + '\''; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static void write(File file, byte[] data) throws IOException {
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(data);
+		} finally {
+			out.close();
+		}
+	}
+
+	private static byte[] read(File file) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		InputStream in = new FileInputStream(file);
+		try {
+			byte[] buf = new byte[8192];
+			int n;
+			while ((n = in.read(buf)) > 0) {
+				out.write(buf, 0, n);
+			}
+		} finally {
+			in.close();
+		}
+		return out.toByteArray();
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
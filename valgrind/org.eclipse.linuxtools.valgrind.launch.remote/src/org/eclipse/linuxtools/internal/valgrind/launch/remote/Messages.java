@@ -20,6 +20,7 @@ public class Messages extends NLS {
 	public static String ValgrindRemoteLaunchDelegate_error_no_proc;
 	public static String ValgrindRemoteLaunchDelegate_error_no_streams;
 	public static String ValgrindRemoteLaunchDelegate_task_name;
+	public static String ValgrindRemoteLogStream_error_bad_chunk;
 	public static String ValgrindRemoteProcess_error_proc_not_term;
 	public static String ValgrindRemoteTab_error_dest_wd;
 	public static String ValgrindRemoteTab_error_location_VG;
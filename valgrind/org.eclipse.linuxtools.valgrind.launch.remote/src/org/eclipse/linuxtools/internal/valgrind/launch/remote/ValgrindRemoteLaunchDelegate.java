@@ -29,6 +29,7 @@ import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchManager;
 import org.eclipse.linuxtools.internal.valgrind.launch.ValgrindLaunchConfigurationDelegate;
 import org.eclipse.linuxtools.internal.valgrind.launch.ValgrindLaunchPlugin;
+import org.eclipse.linuxtools.internal.valgrind.launch.ValgrindLogMonitor;
 import org.eclipse.linuxtools.internal.valgrind.ui.ValgrindUIPlugin;
 import org.eclipse.linuxtools.internal.valgrind.ui.ValgrindViewPart;
 import org.eclipse.linuxtools.profiling.launch.remote.RemoteConnection;
@@ -123,34 +124,48 @@ ValgrindLaunchConfigurationDelegate {
 			for (String argument : arguments) {
 				command += " " + argument; //$NON-NLS-1$
 			}
-			ArrayList<String> commandOutput = new ArrayList<String>();
-			int returnValue = rc.runCommand(command, remoteDir, commandOutput, new SubProgressMonitor(monitor, 1));
-
-			// delete remote binary
-			rc.delete(remoteBinFile, new SubProgressMonitor(monitor, 1));
-
-			if (returnValue == 0)
-			// move remote log files to local directory
-				rc.download(outputPath, localOutputDir, new SubProgressMonitor(monitor, 1));
-
-			// remove remote log dir and all files under it
-			rc.delete(outputPath, new SubProgressMonitor(monitor, 1));
-			
-			if (returnValue != 0) {
-				StringBuffer buf = new StringBuffer();
-				for (int i = 0; i < commandOutput.size(); ++i) {
-					buf.append(commandOutput.get(i));
-					buf.append("\n"); //$NON-NLS-1$
+			// copy the log files back and parse them while Valgrind runs
+			final ValgrindLogMonitor logMonitor = new ValgrindLogMonitor(localOutputDir, LOG_FILTER, launch);
+			ValgrindRemoteLogStream stream = new ValgrindRemoteLogStream(localOutputDir) {
+				@Override
+				protected void filesChanged() throws IOException {
+					showMessages(logMonitor.poll(false));
 				}
-				abort(buf.toString(), null, ICDTLaunchConfigurationConstants.ERR_INTERNAL_ERROR);
+			};
+			IValgrindMessage[] messages;
+			try {
+				int returnValue = rc.runCommand(stream.getCommand(command, outputPath), remoteDir, stream, new SubProgressMonitor(monitor, 1));
+				ArrayList<String> commandOutput = stream.getOutput();
+
+				// delete remote binary
+				rc.delete(remoteBinFile, new SubProgressMonitor(monitor, 1));
+
+				if (returnValue == 0 && stream.getChunkCount() == 0)
+				// nothing was sent back, so move remote log files to local directory
+					rc.download(outputPath, localOutputDir, new SubProgressMonitor(monitor, 1));
+
+				// remove remote log dir and all files under it
+				rc.delete(outputPath, new SubProgressMonitor(monitor, 1));
+				
+				if (returnValue != 0) {
+					StringBuffer buf = new StringBuffer();
+					for (int i = 0; i < commandOutput.size(); ++i) {
+						buf.append(commandOutput.get(i));
+						buf.append("\n"); //$NON-NLS-1$
+					}
+					abort(buf.toString(), null, ICDTLaunchConfigurationConstants.ERR_INTERNAL_ERROR);
+				}
+		
+				// store these for use by other classes
+				getPlugin().setCurrentLaunchConfiguration(config);
+				getPlugin().setCurrentLaunch(launch);
+
+				// parse what remains of the Valgrind logs
+				showMessages(logMonitor.poll(true));
+				messages = getMessages(logMonitor.getParsers());
+			} finally {
+				logMonitor.dispose();
 			}
-	
-			// store these for use by other classes
-			getPlugin().setCurrentLaunchConfiguration(config);
-			getPlugin().setCurrentLaunch(launch);
-
-			// parse Valgrind logs
-			IValgrindMessage[] messages = parseLogs(localOutputDir);
 
 			// create launch summary string to distinguish this launch
 			launchStr = createLaunchStr();
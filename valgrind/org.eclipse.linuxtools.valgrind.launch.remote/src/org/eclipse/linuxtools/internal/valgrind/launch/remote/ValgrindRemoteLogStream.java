@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2011 Red Hat Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.launch.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.linuxtools.profiling.launch.remote.IRemoteOutputListener;
+import org.eclipse.linuxtools.profiling.launch.remote.RemoteConnectionException;
+
+/**
+ * Copies Valgrind's output files from the target while Valgrind runs.
+ * The command run on the target starts Valgrind in the background and
+ * every second prints what was appended to each output file since the
+ * last time, gzipped and base64 encoded, between a header line giving the
+ * file name and offset and an end line. Each such chunk is written to the
+ * local output directory as soon as it has been received. Other output
+ * of the command is kept.
+ * <br><br>
+ * The target needs gzip, base64, tail and head in addition to a POSIX shell.
+ */
+public class ValgrindRemoteLogStream implements IRemoteOutputListener {
+	protected static final String CHUNK = "@@VALGRIND-CHUNK "; //$NON-NLS-1$
+	protected static final String END = "@@VALGRIND-END"; //$NON-NLS-1$
+	// suffix of the remote directory recording how much of each file was sent
+	protected static final String SENT_SUFFIX = "-sent"; //$NON-NLS-1$
+	// where Valgrind's and the program's own output goes on the target
+	protected static final String CONSOLE_FILE = ".console"; //$NON-NLS-1$
+
+	protected File localOutputDir;
+	protected ArrayList<String> output;
+	protected int chunks;
+
+	// the chunk being received
+	protected String fileName;
+	protected long offset;
+	protected StringBuilder data;
+
+	public ValgrindRemoteLogStream(IPath localOutputDir) {
+		this.localOutputDir = localOutputDir.toFile();
+		output = new ArrayList<String>();
+	}
+
+	/**
+	 * @param command - the Valgrind command line
+	 * @param remoteOutputDir - where Valgrind writes its output files on the target
+	 * @return the command to run on the target so that the output is sent back
+	 * while Valgrind runs, returning Valgrind's exit status
+	 */
+	public String getCommand(String command, IPath remoteOutputDir) {
+		String out = quote(remoteOutputDir.toString());
+		String sent = quote(remoteOutputDir.toString() + SENT_SUFFIX);
+		StringBuilder buf = new StringBuilder();
+		buf.append("mkdir -p ").append(sent).append("; "); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append(command).append(" > ").append(sent).append('/').append(CONSOLE_FILE).append(" 2>&1 & vgpid=$!; "); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append("vgsend() { for f in ").append(out).append("/*; do [ -f \"$f\" ] || continue; "); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append("b=${f##*/}; n=$(wc -c < \"$f\"); o=$(cat ").append(sent).append("/\"$b\" 2>/dev/null || echo 0); "); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append("if [ $n -gt $o ]; then echo \"").append(CHUNK).append("$b $o\"; "); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append("tail -c +$((o + 1)) \"$f\" | head -c $((n - o)) | gzip -c | base64; "); //$NON-NLS-1$
+		buf.append("echo ").append(END).append("; echo $n > ").append(sent).append("/\"$b\"; fi; done; }; "); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		buf.append("while kill -0 $vgpid 2>/dev/null; do vgsend; sleep 1; done; "); //$NON-NLS-1$
+		buf.append("wait $vgpid; vgrc=$?; vgsend; cat ").append(sent).append('/').append(CONSOLE_FILE).append("; "); //$NON-NLS-1$
+		buf.append("rm -rf ").append(sent).append("; (exit $vgrc)"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+
+	public void outputLine(String line) throws RemoteConnectionException {
+		if (data != null) {
+			if (line.startsWith(END)) {
+				try {
+					writeChunk();
+				} catch (IOException e) {
+					throw new RemoteConnectionException(e.getLocalizedMessage(), e);
+				}
+				data = null;
+			}
+			else {
+				data.append(line.trim());
+			}
+		}
+		else if (line.startsWith(CHUNK)) {
+			String[] parts = line.substring(CHUNK.length()).trim().split(" "); //$NON-NLS-1$
+			// only accept plain file names in the output directory
+			if (parts.length == 2 && parts[0].length() > 0 && parts[0].indexOf('/') < 0 && !parts[0].equals("..")) { //$NON-NLS-1$
+				try {
+					offset = Long.parseLong(parts[1]);
+					fileName = parts[0];
+					data = new StringBuilder();
+				} catch (NumberFormatException e) {
+					output.add(line);
+				}
+			}
+			else {
+				output.add(line);
+			}
+		}
+		else {
+			output.add(line);
+		}
+	}
+
+	/**
+	 * Called after a chunk has been written to the local output directory.
+	 * @throws IOException
+	 */
+	protected void filesChanged() throws IOException {
+	}
+
+	/**
+	 * @return the lines of output that were not part of a file
+	 */
+	public ArrayList<String> getOutput() {
+		return output;
+	}
+
+	/**
+	 * @return the number of chunks of output files received
+	 */
+	public int getChunkCount() {
+		return chunks;
+	}
+
+	protected void writeChunk() throws IOException {
+		byte[] compressed = decodeBase64(data);
+		GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed));
+		RandomAccessFile file = new RandomAccessFile(new File(localOutputDir, fileName), "rw"); //$NON-NLS-1$
+		try {
+			file.seek(offset);
+			byte[] buf = new byte[8192];
+			int n;
+			while ((n = in.read(buf)) > 0) {
+				file.write(buf, 0, n);
+			}
+		} finally {
+			file.close();
+			in.close();
+		}
+		chunks++;
+		filesChanged();
+	}
+
+	protected static byte[] decodeBase64(CharSequence text) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(text.length() * 3 / 4);
+		int bits = 0;
+		int count = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			int value;
+			if (c >= 'A' && c <= 'Z') {
+				value = c - 'A';
+			}
+			else if (c >= 'a' && c <= 'z') {
+				value = c - 'a' + 26;
+			}
+			else if (c >= '0' && c <= '9') {
+				value = c - '0' + 52;
+			}
+			else if (c == '+') {
+				value = 62;
+			}
+			else if (c == '/') {
+				value = 63;
+			}
+			else if (c == '=') {
+				break;
+			}
+			else {
+				throw new IOException(Messages.ValgrindRemoteLogStream_error_bad_chunk);
+			}
+			bits = (bits << 6) | value;
+			count += 6;
+			if (count >= 8) {
+				count -= 8;
+				out.write((bits >> count) & 0xff);
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private static String quote(String path) {
+		return '\'' + path.replace("'", "'\\''") + '\''; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.Callable;
 
 import org.eclipse.cdt.debug.core.CDebugUtils;
 import org.eclipse.cdt.debug.core.ICDTLaunchConfigurationConstants;
@@ -48,7 +49,9 @@ import org.eclipse.linuxtools.internal.valgrind.core.LaunchConfigurationConstant
 import org.eclipse.linuxtools.internal.valgrind.core.ValgrindCommand;
 import org.eclipse.linuxtools.internal.valgrind.core.ValgrindCoreParser;
 import org.eclipse.linuxtools.internal.valgrind.core.ValgrindError;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindFrameTable;
 import org.eclipse.linuxtools.internal.valgrind.core.ValgrindInfo;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindParserPool;
 import org.eclipse.linuxtools.internal.valgrind.core.ValgrindStackFrame;
 import org.eclipse.linuxtools.internal.valgrind.ui.ValgrindUIPlugin;
 import org.eclipse.linuxtools.internal.valgrind.ui.ValgrindViewPart;
@@ -152,16 +155,26 @@ public class ValgrindLaunchConfigurationDelegate extends AbstractCLaunchDelegate
 			process = createNewProcess(launch, command.getProcess(), commandArray[0]);
 			// set the command line used
 			process.setAttribute(IProcess.ATTR_CMDLINE, command.getCommandLine());
-			while (!process.isTerminated()) {
-				Thread.sleep(100);
-			}
-			
-			// store these for use by other classes
-			getPlugin().setCurrentLaunchConfiguration(config);
-			getPlugin().setCurrentLaunch(launch);
 
-			// parse Valgrind logs
-			IValgrindMessage[] messages = parseLogs(outputPath);
+			// show Valgrind's messages as it writes them
+			ValgrindLogMonitor logMonitor = new ValgrindLogMonitor(outputPath, LOG_FILTER, launch);
+			IValgrindMessage[] messages;
+			try {
+				while (!process.isTerminated()) {
+					showMessages(logMonitor.poll(false));
+					Thread.sleep(100);
+				}
+				showMessages(logMonitor.poll(true));
+			
+				// store these for use by other classes
+				getPlugin().setCurrentLaunchConfiguration(config);
+				getPlugin().setCurrentLaunch(launch);
+
+				// the logs have been parsed while Valgrind ran
+				messages = getMessages(logMonitor.getParsers());
+			} finally {
+				logMonitor.dispose();
+			}
 
 			// create launch summary string to distinguish this launch
 			launchStr = createLaunchStr();
@@ -215,23 +228,69 @@ public class ValgrindLaunchConfigurationDelegate extends AbstractCLaunchDelegate
 	}
 
 	protected IValgrindMessage[] parseLogs(IPath outputPath) throws IOException, CoreException {
+		// parse the logs of forked processes at the same time, and show the
+		// messages of each log as soon as it is parsed
+		List<Callable<ValgrindCoreParser>> tasks = new ArrayList<Callable<ValgrindCoreParser>>();
+		final ValgrindFrameTable frames = new ValgrindFrameTable();
+		for (final File log : outputPath.toFile().listFiles(LOG_FILTER)) {
+			tasks.add(new Callable<ValgrindCoreParser>() {
+				public ValgrindCoreParser call() throws IOException {
+					return new ValgrindCoreParser(log, launch, frames);
+				}
+			});
+		}
+		final IValgrindMessage[][] results = new IValgrindMessage[tasks.size()][];
+		ValgrindParserPool.parseEach(tasks, new ValgrindParserPool.IParseListener<ValgrindCoreParser>() {
+			public void parsed(int index, ValgrindCoreParser parser) throws IOException, CoreException {
+				results[index] = getMessages(parser);
+				showMessages(results[index]);
+			}
+		});
+
+		// keep the messages in the order of the logs
+		List<IValgrindMessage> messages = new ArrayList<IValgrindMessage>();
+		for (IValgrindMessage[] result : results) {
+			messages.addAll(Arrays.asList(result));
+		}
+		return messages.toArray(new IValgrindMessage[messages.size()]);
+	}
+	
+	/**
+	 * Collects the messages of each log's parser and creates their markers.
+	 */
+	protected IValgrindMessage[] getMessages(ValgrindCoreParser[] parsers) throws IOException, CoreException {
 		List<IValgrindMessage> messages = new ArrayList<IValgrindMessage>();
 		
-		for (File log : outputPath.toFile().listFiles(LOG_FILTER)) {
-			ValgrindCoreParser parser = new ValgrindCoreParser(log, launch);
-			IValgrindMessage[] results = parser.getMessages();
-			
-			if (results.length == 0){
-				results = new IValgrindMessage[1];
-				results[0] = new ValgrindInfo(null, Messages.getString("ValgrindOutputView.No_output"), launch);
-			}
-			messages.addAll(Arrays.asList(results));
-			createMarkers(results);
+		for (ValgrindCoreParser parser : parsers) {
+			messages.addAll(Arrays.asList(getMessages(parser)));
 		}
 		
 		return messages.toArray(new IValgrindMessage[messages.size()]);
 	}
 	
+	/**
+	 * Collects the messages of a log's parser and creates their markers.
+	 */
+	protected IValgrindMessage[] getMessages(ValgrindCoreParser parser) throws IOException, CoreException {
+		IValgrindMessage[] results = parser.getMessages();
+		
+		if (results.length == 0){
+			results = new IValgrindMessage[1];
+			results[0] = new ValgrindInfo(null, Messages.getString("ValgrindOutputView.No_output"), launch);
+		}
+		createMarkers(results);
+		return results;
+	}
+	
+	/**
+	 * Adds messages to the view while Valgrind is running.
+	 */
+	protected void showMessages(IValgrindMessage[] messages) {
+		if (messages.length > 0) {
+			ValgrindUIPlugin.getDefault().addMessages(messages);
+		}
+	}
+	
 	protected void createMarkers(IValgrindMessage[] messages) throws CoreException, IOException {
 		// find the topmost stack frame within the workspace to annotate with marker
 		// traverse nested errors as well
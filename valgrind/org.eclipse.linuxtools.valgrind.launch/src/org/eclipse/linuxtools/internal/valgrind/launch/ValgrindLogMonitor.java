@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.launch;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.linuxtools.internal.valgrind.core.CommandLineConstants;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindCoreParser;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindFrameTable;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindParserPool;
+import org.eclipse.linuxtools.valgrind.core.ValgrindParserUtils;
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+
+/**
+ * Follows the Valgrind log files while Valgrind is still running, giving
+ * each one's new lines to its own {@link ValgrindCoreParser} as they are
+ * written. Log files of child processes are picked up as they appear.
+ */
+public class ValgrindLogMonitor {
+	private static final int CHUNK = 8192;
+
+	protected IPath outputPath;
+	protected FileFilter filter;
+	protected ILaunch launch;
+	protected Map<File, LogTail> tails;
+	// stack frames are shared between the logs of a launch
+	protected ValgrindFrameTable frames;
+
+	public ValgrindLogMonitor(IPath outputPath, FileFilter filter, ILaunch launch) {
+		this.outputPath = outputPath;
+		this.filter = filter;
+		this.launch = launch;
+		tails = new LinkedHashMap<File, LogTail>();
+		frames = new ValgrindFrameTable();
+	}
+
+	/**
+	 * Parses what was appended to the logs since the previous call.
+	 * @param finished true once Valgrind has exited, so that a last line
+	 * without a line terminator is parsed too
+	 * @return the top-level messages completed since the previous call
+	 * @throws IOException
+	 */
+	public IValgrindMessage[] poll(final boolean finished) throws IOException {
+		File[] logs = outputPath.toFile().listFiles(filter);
+		if (logs != null) {
+			for (File log : logs) {
+				if (!tails.containsKey(log)) {
+					int pid = ValgrindParserUtils.parsePID(log.getName(), CommandLineConstants.LOG_PREFIX);
+					tails.put(log, new LogTail(log, new ValgrindCoreParser(launch, pid, frames)));
+				}
+			}
+		}
+
+		// the logs of forked processes are read at the same time
+		List<Callable<IValgrindMessage[]>> reads = new ArrayList<Callable<IValgrindMessage[]>>();
+		for (final LogTail tail : tails.values()) {
+			reads.add(new Callable<IValgrindMessage[]>() {
+				public IValgrindMessage[] call() throws IOException {
+					tail.read(finished);
+					// Valgrind writes a message in several bursts, so the last
+					// message is only complete once the next one starts or
+					// Valgrind has exited
+					return tail.parser.getNewMessages(finished);
+				}
+			});
+		}
+		
+		List<IValgrindMessage> result = new ArrayList<IValgrindMessage>();
+		for (IValgrindMessage[] messages : ValgrindParserPool.parseAll(reads)) {
+			result.addAll(Arrays.asList(messages));
+		}
+		return result.toArray(new IValgrindMessage[result.size()]);
+	}
+
+	/**
+	 * @return the parsers of the logs found so far, in the order the logs appeared
+	 */
+	public ValgrindCoreParser[] getParsers() {
+		ValgrindCoreParser[] parsers = new ValgrindCoreParser[tails.size()];
+		int i = 0;
+		for (LogTail tail : tails.values()) {
+			parsers[i++] = tail.parser;
+		}
+		return parsers;
+	}
+
+	/**
+	 * Closes the log files.
+	 */
+	public void dispose() {
+		for (LogTail tail : tails.values()) {
+			try {
+				tail.reader.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		tails.clear();
+	}
+
+	protected static class LogTail {
+		protected ValgrindCoreParser parser;
+		protected Reader reader;
+		protected char[] chunk = new char[CHUNK];
+		// text read that does not form a complete line yet
+		protected StringBuilder pending = new StringBuilder();
+
+		public LogTail(File log, ValgrindCoreParser parser) throws IOException {
+			this.parser = parser;
+			reader = new InputStreamReader(new FileInputStream(log));
+		}
+
+		/**
+		 * Parses the complete lines appended since the last read.
+		 */
+		public void read(boolean finished) throws IOException {
+			int n;
+			while ((n = reader.read(chunk)) > 0) {
+				int start = 0;
+				for (int i = 0; i < n; i++) {
+					if (chunk[i] == '\n') {
+						pending.append(chunk, start, i - start);
+						parseLine();
+						start = i + 1;
+					}
+				}
+				pending.append(chunk, start, n - start);
+			}
+			if (finished && pending.length() > 0) {
+				parseLine();
+			}
+		}
+
+		private void parseLine() throws IOException {
+			int end = pending.length();
+			if (end > 0 && pending.charAt(end - 1) == '\r') {
+				end--;
+			}
+			parser.parseLine(pending.substring(0, end));
+			pending.setLength(0);
+		}
+	}
+}
@@ -31,6 +31,9 @@ public class AllTests {
 		suite.addTestSuite(ExpandCollapseTest.class);
 		suite.addTestSuite(SortTest.class);
 		suite.addTestSuite(ChartExportTest.class);
+		suite.addTestSuite(MassifOutputTest.class);
+		suite.addTestSuite(MassifHeapTreeLoaderTest.class);
+		suite.addTestSuite(ValgrindParserPoolTest.class);
 		//$JUnit-END$
 		return suite;
 	}
@@ -10,7 +10,9 @@
  *******************************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.massif.tests;
 
+import java.io.File;
 import java.util.Arrays;
+import java.util.Random;
 
 import org.eclipse.birt.chart.computation.DataPointHints;
 import org.eclipse.birt.chart.event.WrappedStructureSource;
@@ -25,6 +27,7 @@ import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.linuxtools.internal.valgrind.massif.MassifHeapTreeNode;
 import org.eclipse.linuxtools.internal.valgrind.massif.MassifLaunchConstants;
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifParser;
 import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot;
 import org.eclipse.linuxtools.internal.valgrind.massif.MassifViewPart;
 import org.eclipse.linuxtools.internal.valgrind.massif.birt.ChartControl;
@@ -137,6 +140,118 @@ public class ChartTests extends AbstractMassifTest {
 		checkLine(element);
 	}
 
+	public void testDownsampleFewSnapshots() throws Exception {
+		MassifSnapshot[] snapshots = snapshots(random(1), -1);
+		// every snapshot fits when there are two pixels for each
+		assertTrue(Arrays.equals(range(0, 99), HeapChart.downsample(snapshots, 0, 99, 50)));
+		assertTrue(Arrays.equals(range(20, 39), HeapChart.downsample(snapshots, 20, 39, 10)));
+		assertTrue(Arrays.equals(range(0, 99), HeapChart.downsample(snapshots, 0, 99, 0)));
+	}
+
+	public void testDownsampleKeepsPeak() throws Exception {
+		// the peak is neither the lowest nor the highest snapshot of its bucket
+		MassifSnapshot[] snapshots = snapshots(sawtooth(), 35);
+		assertEquals(MassifSnapshot.SnapshotType.PEAK, snapshots[35].getType());
+		int[] result = HeapChart.downsample(snapshots, 0, 99, 10);
+		assertTrue(Arrays.binarySearch(result, 35) >= 0);
+		assertTrue(Arrays.binarySearch(result, 34) < 0);
+		assertTrue(Arrays.binarySearch(result, 33) >= 0);
+		assertTrue(Arrays.binarySearch(result, 36) >= 0);
+	}
+
+	public void testDownsampleKeepsEnds() throws Exception {
+		// the ends are neither the lowest nor the highest snapshots of their buckets
+		MassifSnapshot[] snapshots = snapshots(sawtooth(), -1);
+		int[] result = HeapChart.downsample(snapshots, 0, 99, 10);
+		assertEquals(0, result[0]);
+		assertEquals(99, result[result.length - 1]);
+
+		result = HeapChart.downsample(snapshots, 11, 88, 5);
+		assertEquals(11, result[0]);
+		assertEquals(88, result[result.length - 1]);
+	}
+
+	public void testDownsampleSorted() throws Exception {
+		MassifSnapshot[] snapshots = snapshots(random(42), 57);
+		for (int width = 1; width < 50; width++) {
+			int[] result = HeapChart.downsample(snapshots, 3, 96, width);
+			assertTrue(result.length <= 3 * width + 2);
+			assertEquals(3, result[0]);
+			assertEquals(96, result[result.length - 1]);
+			for (int i = 1; i < result.length; i++) {
+				assertTrue(result[i - 1] < result[i]);
+			}
+		}
+	}
+
+	/*
+	 * Totals that repeat every ten snapshots, lowest at 3 and highest at 6.
+	 */
+	private static long[] sawtooth() {
+		long[] totals = new long[100];
+		for (int i = 0; i < totals.length; i++) {
+			switch (i % 10) {
+			case 3:
+				totals[i] = 1000;
+				break;
+			case 6:
+				totals[i] = 9000;
+				break;
+			default:
+				totals[i] = 5000 + i;
+			}
+		}
+		return totals;
+	}
+
+	private static long[] random(long seed) {
+		Random random = new Random(seed);
+		long[] totals = new long[100];
+		for (int i = 0; i < totals.length; i++) {
+			totals[i] = random.nextInt(10000);
+		}
+		return totals;
+	}
+
+	private static int[] range(int first, int last) {
+		int[] result = new int[last - first + 1];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = first + i;
+		}
+		return result;
+	}
+
+	/*
+	 * Parses snapshots of the given totals, one of which may be the peak.
+	 */
+	private static MassifSnapshot[] snapshots(long[] totals, int peak) throws Exception {
+		StringBuilder buf = new StringBuilder();
+		buf.append("desc: --heap=yes\ncmd: ./alloctest\ntime_unit: i\n"); //$NON-NLS-1$
+		for (int i = 0; i < totals.length; i++) {
+			buf.append("#-----------\nsnapshot=").append(i).append("\n#-----------\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			// snapshots are not taken at even intervals
+			buf.append("time=").append(i * i).append('\n'); //$NON-NLS-1$
+			buf.append("mem_heap_B=").append(totals[i]).append("\nmem_heap_extra_B=0\nmem_stacks_B=0\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			if (i == peak) {
+				buf.append("heap_tree=peak\n"); //$NON-NLS-1$
+				buf.append("n0: ").append(totals[i]).append(" (heap allocation functions) malloc/new/new[], --alloc-fns, etc.\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			else {
+				buf.append("heap_tree=empty\n"); //$NON-NLS-1$
+			}
+		}
+		File dir = File.createTempFile("massif", null); //$NON-NLS-1$
+		dir.delete();
+		dir.mkdir();
+		File file = MassifOutputTest.writeOutput(dir, 100, buf.toString());
+		try {
+			return new MassifParser(file).getSnapshots();
+		} finally {
+			file.delete();
+			dir.delete();
+		}
+	}
+
 	private void byteScalingHelper(int ix, long times, long bytes, String testName) throws Exception {
 		ILaunchConfiguration config = createConfiguration(proj.getProject());
 		ILaunchConfigurationWorkingCopy wc = config.getWorkingCopy();
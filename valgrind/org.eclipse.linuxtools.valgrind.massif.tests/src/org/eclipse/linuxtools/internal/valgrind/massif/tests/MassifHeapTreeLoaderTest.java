@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.massif.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifHeapTreeNode;
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifOutput;
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifParser;
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot;
+
+public class MassifHeapTreeLoaderTest extends TestCase {
+	protected File outputDir;
+
+	@Override
+	protected void setUp() throws Exception {
+		outputDir = File.createTempFile("massif", null); //$NON-NLS-1$
+		outputDir.delete();
+		outputDir.mkdir();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		for (File file : outputDir.listFiles()) {
+			file.delete();
+		}
+		outputDir.delete();
+	}
+
+	/*
+	 * Makes an output file whose snapshots are all detailed, with the same
+	 * tree shape and sizes that grow with the snapshot number.
+	 */
+	private static String output(int snapshots, String eol, int nameLength) {
+		StringBuilder name = new StringBuilder();
+		for (int i = 0; i < nameLength; i++) {
+			name.append('x');
+		}
+		StringBuilder buf = new StringBuilder();
+		buf.append("desc: --heap=yes").append(eol); //$NON-NLS-1$
+		buf.append("cmd: ./alloctest").append(eol); //$NON-NLS-1$
+		buf.append("time_unit: i").append(eol); //$NON-NLS-1$
+		for (int n = 0; n < snapshots; n++) {
+			int k = n + 1;
+			buf.append("#-----------").append(eol); //$NON-NLS-1$
+			buf.append("snapshot=").append(n).append(eol); //$NON-NLS-1$
+			buf.append("#-----------").append(eol); //$NON-NLS-1$
+			buf.append("time=").append(1000 * k).append(eol); //$NON-NLS-1$
+			buf.append("mem_heap_B=").append(100 * k).append(eol); //$NON-NLS-1$
+			buf.append("mem_heap_extra_B=8").append(eol); //$NON-NLS-1$
+			buf.append("mem_stacks_B=0").append(eol); //$NON-NLS-1$
+			buf.append("heap_tree=detailed").append(eol); //$NON-NLS-1$
+			buf.append("n2: ").append(100 * k).append(" (heap allocation functions) malloc/new/new[], --alloc-fns, etc.").append(eol); //$NON-NLS-1$ //$NON-NLS-2$
+			buf.append(" n1: ").append(60 * k).append(" 0x400510: f").append(n).append(name).append(" (test.c:5)").append(eol); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			buf.append("  n0: ").append(60 * k).append(" 0x400600: main (test.c:20)").append(eol); //$NON-NLS-1$ //$NON-NLS-2$
+			buf.append(" n0: ").append(40 * k).append(" 0x400620: main (test.c:21)").append(eol); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return buf.toString();
+	}
+
+	private static void checkTree(MassifSnapshot snapshot, String name) {
+		int n = (int) snapshot.getNumber();
+		int k = n + 1;
+		MassifHeapTreeNode root = snapshot.getRoot();
+		assertTrue(root.hasChildren());
+		assertEquals(2, root.getNumChildren());
+
+		MassifHeapTreeNode[] children = root.getChildren();
+		assertEquals(2, children.length);
+		assertSame(root, children[0].getParent());
+		assertEquals("f" + n + name, children[0].getFunction()); //$NON-NLS-1$
+		assertEquals(60 * k, children[0].getBytes());
+		assertEquals(5, children[0].getLine());
+		MassifHeapTreeNode[] grandchildren = children[0].getChildren();
+		assertEquals(1, grandchildren.length);
+		assertEquals("main", grandchildren[0].getFunction()); //$NON-NLS-1$
+		assertEquals(20, grandchildren[0].getLine());
+		assertEquals(0, grandchildren[0].getChildren().length);
+		assertEquals(40 * k, children[1].getBytes());
+		assertEquals(21, children[1].getLine());
+		assertEquals(0, children[1].getChildren().length);
+	}
+
+	public void testChildrenReadWhenNeeded() throws Exception {
+		File file = MassifOutputTest.writeOutput(outputDir, 100, output(3, "\n", 0)); //$NON-NLS-1$
+		MassifSnapshot[] snapshots = new MassifParser(file).getSnapshots();
+		assertEquals(3, snapshots.length);
+		for (MassifSnapshot snapshot : snapshots) {
+			checkTree(snapshot, ""); //$NON-NLS-1$
+		}
+
+		// the tree is kept once read
+		MassifHeapTreeNode root = snapshots[1].getRoot();
+		assertSame(root.getChildren()[0], root.getChildren()[0]);
+	}
+
+	public void testLineOffsets() throws Exception {
+		// CRLF line terminators, and lines longer than the parser's buffers
+		StringBuilder name = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			name.append('x');
+		}
+		File file = MassifOutputTest.writeOutput(outputDir, 100, output(5, "\r\n", name.length())); //$NON-NLS-1$
+		MassifSnapshot[] snapshots = new MassifParser(file).getSnapshots();
+		assertEquals(5, snapshots.length);
+		// in reverse, so that each tree is found from its own offset
+		for (int i = snapshots.length - 1; i >= 0; i--) {
+			checkTree(snapshots[i], name.toString());
+		}
+	}
+
+	public void testEvictedTreeReadAgain() throws Exception {
+		File file = MassifOutputTest.writeOutput(outputDir, 100, output(20, "\n", 0)); //$NON-NLS-1$
+		MassifSnapshot[] snapshots = new MassifParser(file).getSnapshots();
+		MassifHeapTreeNode root = snapshots[0].getRoot();
+		MassifHeapTreeNode[] children = root.getChildren();
+
+		// more trees than are kept
+		for (int i = 1; i < snapshots.length; i++) {
+			snapshots[i].getRoot().getChildren();
+		}
+
+		MassifHeapTreeNode[] reread = root.getChildren();
+		assertNotSame(children[0], reread[0]);
+		assertEquals(children.length, reread.length);
+		for (int i = 0; i < children.length; i++) {
+			assertEquals(children[i].getText(), reread[i].getText());
+			assertEquals(children[i].getBytes(), reread[i].getBytes());
+			assertEquals(children[i].getChildren().length, reread[i].getChildren().length);
+		}
+		checkTree(snapshots[0], ""); //$NON-NLS-1$
+	}
+
+	public void testFileChanged() throws Exception {
+		File file = MassifOutputTest.writeOutput(outputDir, 100, output(3, "\n", 0)); //$NON-NLS-1$
+		MassifSnapshot[] snapshots = new MassifParser(file).getSnapshots();
+		FileOutputStream out = new FileOutputStream(file, true);
+		try {
+			out.write("#-----------\n".getBytes()); //$NON-NLS-1$
+		} finally {
+			out.close();
+		}
+
+		// the tree is no longer where it was
+		MassifHeapTreeNode root = snapshots[0].getRoot();
+		assertTrue(root.hasChildren());
+		assertEquals(0, root.getChildren().length);
+	}
+
+	public void testFileDeleted() throws Exception {
+		// the output of a launch outlives its files, which the next launch deletes
+		MassifOutput output = new MassifOutput();
+		try {
+			File file = MassifOutputTest.writeOutput(outputDir, 100, output(3, "\n", 0)); //$NON-NLS-1$
+			output.putFile(100, file);
+			MassifSnapshot[] snapshots = output.parse(100);
+			assertTrue(file.delete());
+			MassifOutputTest.writeOutput(outputDir, 100, output(3, "\n", 50)); //$NON-NLS-1$
+
+			for (MassifSnapshot snapshot : snapshots) {
+				checkTree(snapshot, ""); //$NON-NLS-1$
+			}
+		} finally {
+			output.dispose();
+		}
+	}
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.massif.tests;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifOutput;
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot;
+
+public class MassifOutputTest extends TestCase {
+	/**
+	 * A small Massif output file with three snapshots, of which the second
+	 * and the third are detailed.
+	 */
+	protected static final String OUTPUT = "desc: --heap=yes\n" //$NON-NLS-1$
+			+ "cmd: ./alloctest\n" //$NON-NLS-1$
+			+ "time_unit: i\n" //$NON-NLS-1$
+			+ "#-----------\n" //$NON-NLS-1$
+			+ "snapshot=0\n" //$NON-NLS-1$
+			+ "#-----------\n" //$NON-NLS-1$
+			+ "time=0\n" //$NON-NLS-1$
+			+ "mem_heap_B=0\n" //$NON-NLS-1$
+			+ "mem_heap_extra_B=0\n" //$NON-NLS-1$
+			+ "mem_stacks_B=0\n" //$NON-NLS-1$
+			+ "heap_tree=empty\n" //$NON-NLS-1$
+			+ "#-----------\n" //$NON-NLS-1$
+			+ "snapshot=1\n" //$NON-NLS-1$
+			+ "#-----------\n" //$NON-NLS-1$
+			+ "time=1000\n" //$NON-NLS-1$
+			+ "mem_heap_B=100\n" //$NON-NLS-1$
+			+ "mem_heap_extra_B=8\n" //$NON-NLS-1$
+			+ "mem_stacks_B=0\n" //$NON-NLS-1$
+			+ "heap_tree=detailed\n" //$NON-NLS-1$
+			+ "n2: 100 (heap allocation functions) malloc/new/new[], --alloc-fns, etc.\n" //$NON-NLS-1$
+			+ " n1: 60 0x400510: f (test.c:5)\n" //$NON-NLS-1$
+			+ "  n0: 60 0x400600: main (test.c:20)\n" //$NON-NLS-1$
+			+ " n0: 40 0x400620: main (test.c:21)\n" //$NON-NLS-1$
+			+ "#-----------\n" //$NON-NLS-1$
+			+ "snapshot=2\n" //$NON-NLS-1$
+			+ "#-----------\n" //$NON-NLS-1$
+			+ "time=2000\n" //$NON-NLS-1$
+			+ "mem_heap_B=150\n" //$NON-NLS-1$
+			+ "mem_heap_extra_B=16\n" //$NON-NLS-1$
+			+ "mem_stacks_B=0\n" //$NON-NLS-1$
+			+ "heap_tree=peak\n" //$NON-NLS-1$
+			+ "n1: 150 (heap allocation functions) malloc/new/new[], --alloc-fns, etc.\n" //$NON-NLS-1$
+			+ " n0: 150 0x400510: f (test.c:5)\n"; //$NON-NLS-1$
+
+	/**
+	 * Tells how many output files are open.
+	 */
+	protected static class CountingOutput extends MassifOutput {
+		public static final int MAX = MAX_OPEN_FILES;
+
+		public synchronized int getOpenFiles() {
+			return files.size();
+		}
+	}
+
+	protected File outputDir;
+	protected CountingOutput output;
+
+	@Override
+	protected void setUp() throws Exception {
+		outputDir = File.createTempFile("massif", null); //$NON-NLS-1$
+		outputDir.delete();
+		outputDir.mkdir();
+		output = new CountingOutput();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		output.dispose();
+		for (File file : outputDir.listFiles()) {
+			file.delete();
+		}
+		outputDir.delete();
+	}
+
+	protected static File writeOutput(File dir, int pid, String text) throws IOException {
+		File file = new File(dir, "massif_" + pid + ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(text.getBytes());
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	public void testParsedWhenNeeded() throws Exception {
+		output.putFile(101, writeOutput(outputDir, 101, OUTPUT));
+		output.putFile(100, writeOutput(outputDir, 100, OUTPUT));
+		assertTrue(Arrays.equals(new Integer[] { 100, 101 }, output.getPids()));
+		assertFalse(output.isParsed(100));
+		assertFalse(output.isParsed(101));
+
+		MassifSnapshot[] snapshots = output.parse(100);
+		assertEquals(3, snapshots.length);
+		assertEquals(150, snapshots[2].getHeapBytes());
+		assertTrue(output.isParsed(100));
+		assertFalse(output.isParsed(101));
+		assertSame(snapshots, output.getSnapshots(100));
+
+		assertEquals(3, output.getSnapshots(101).length);
+		assertTrue(output.isParsed(101));
+	}
+
+	public void testUnknownPid() throws Exception {
+		assertNull(output.parse(7));
+		assertFalse(output.isParsed(7));
+	}
+
+	public void testParseLater() throws Exception {
+		output.putFile(100, writeOutput(outputDir, 100, OUTPUT));
+		final CountDownLatch done = new CountDownLatch(1);
+		output.parseLater(100, new Runnable() {
+			public void run() {
+				done.countDown();
+			}
+		});
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertTrue(output.isParsed(100));
+		assertEquals(3, output.getSnapshots(100).length);
+	}
+
+	public void testFileDeletedBeforeParsing() throws Exception {
+		// the next launch clears the output directory
+		File file = writeOutput(outputDir, 100, OUTPUT);
+		output.putFile(100, file);
+		assertTrue(file.delete());
+		writeOutput(outputDir, 100, "cmd: ./other\n"); //$NON-NLS-1$
+
+		MassifSnapshot[] snapshots = output.parse(100);
+		assertEquals(3, snapshots.length);
+		assertEquals("./alloctest", snapshots[0].getCmd()); //$NON-NLS-1$
+	}
+
+	public void testOpenFilesBounded() throws Exception {
+		int count = CountingOutput.MAX + 2;
+		for (int pid = 100; pid < 100 + count; pid++) {
+			output.putFile(pid, writeOutput(outputDir, pid, OUTPUT));
+		}
+		assertEquals(CountingOutput.MAX, output.getOpenFiles());
+		assertEquals(count, output.getPids().length);
+
+		// the files that are not kept open are parsed from their path
+		MassifSnapshot[] snapshots = output.parse(100 + count - 1);
+		assertEquals(3, snapshots.length);
+		assertEquals(150, snapshots[2].getHeapBytes());
+		assertEquals(1, snapshots[2].getRoot().getChildren().length);
+		assertEquals(CountingOutput.MAX, output.getOpenFiles());
+
+		// the next launch clears the output directory
+		for (File file : outputDir.listFiles()) {
+			assertTrue(file.delete());
+		}
+		assertEquals(3, output.parse(100).length);
+		try {
+			output.parse(100 + count - 2);
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testParseError() throws Exception {
+		output.putFile(100, writeOutput(outputDir, 100, OUTPUT.replace("n2: 100", "n2: lots"))); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			output.parse(100);
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+		assertNull(output.getSnapshots(100));
+	}
+
+	public void testDispose() throws Exception {
+		output.putFile(100, writeOutput(outputDir, 100, OUTPUT));
+		output.putFile(101, writeOutput(outputDir, 101, OUTPUT));
+		MassifSnapshot[] snapshots = output.parse(100);
+		output.dispose();
+
+		// what was parsed is kept, the rest can no longer be parsed
+		assertSame(snapshots, output.getSnapshots(100));
+		try {
+			output.parse(101);
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+}
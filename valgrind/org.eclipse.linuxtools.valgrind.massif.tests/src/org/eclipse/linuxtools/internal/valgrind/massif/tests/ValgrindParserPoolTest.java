@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.massif.tests;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindParserPool;
+
+public class ValgrindParserPoolTest extends TestCase {
+
+	public void testResultsInTaskOrder() throws Exception {
+		List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+		for (int i = 0; i < 20; i++) {
+			final int n = i;
+			tasks.add(new Callable<Integer>() {
+				public Integer call() throws Exception {
+					// the earlier tasks finish last
+					Thread.sleep(2 * (20 - n));
+					return n;
+				}
+			});
+		}
+		List<Integer> results = ValgrindParserPool.parseAll(tasks);
+		assertEquals(20, results.size());
+		for (int i = 0; i < 20; i++) {
+			assertEquals(i, results.get(i).intValue());
+		}
+	}
+
+	public void testSingleTaskInCallingThread() throws Exception {
+		List<Thread> results = ValgrindParserPool.parseAll(Collections.singletonList(new Callable<Thread>() {
+			public Thread call() {
+				return Thread.currentThread();
+			}
+		}));
+		assertSame(Thread.currentThread(), results.get(0));
+	}
+
+	public void testNoTasks() throws Exception {
+		assertEquals(0, ValgrindParserPool.parseAll(new ArrayList<Callable<Object>>()).size());
+	}
+
+	public void testFirstFailureInTaskOrder() throws Exception {
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+		tasks.add(new Callable<Object>() {
+			public Object call() {
+				return null;
+			}
+		});
+		tasks.add(new Callable<Object>() {
+			public Object call() throws Exception {
+				Thread.sleep(100);
+				throw new IOException("first"); //$NON-NLS-1$
+			}
+		});
+		tasks.add(new Callable<Object>() {
+			public Object call() throws IOException {
+				throw new IOException("second"); //$NON-NLS-1$
+			}
+		});
+		try {
+			ValgrindParserPool.parseAll(tasks);
+			fail();
+		} catch (IOException e) {
+			assertEquals("first", e.getMessage()); //$NON-NLS-1$
+		}
+	}
+
+	public void testOtherFailureWrapped() throws Exception {
+		final IllegalStateException error = new IllegalStateException("bad"); //$NON-NLS-1$
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+		for (int i = 0; i < 2; i++) {
+			tasks.add(new Callable<Object>() {
+				public Object call() {
+					throw error;
+				}
+			});
+		}
+		try {
+			ValgrindParserPool.parseAll(tasks);
+			fail();
+		} catch (IOException e) {
+			assertSame(error, e.getCause());
+		}
+		try {
+			ValgrindParserPool.parseAll(tasks.subList(0, 1));
+			fail();
+		} catch (IOException e) {
+			assertSame(error, e.getCause());
+		}
+	}
+
+	public void testEachResultAsDone() throws Exception {
+		final CountDownLatch firstSeen = new CountDownLatch(1);
+		List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+		tasks.add(new Callable<Boolean>() {
+			public Boolean call() {
+				return true;
+			}
+		});
+		tasks.add(new Callable<Boolean>() {
+			public Boolean call() throws Exception {
+				// only finishes once the first result has been handed over
+				return firstSeen.await(5, TimeUnit.SECONDS);
+			}
+		});
+		final Thread caller = Thread.currentThread();
+		final List<Integer> indices = new ArrayList<Integer>();
+		ValgrindParserPool.parseEach(tasks, new ValgrindParserPool.IParseListener<Boolean>() {
+			public void parsed(int index, Boolean result) {
+				assertSame(caller, Thread.currentThread());
+				assertTrue(result);
+				indices.add(index);
+				firstSeen.countDown();
+			}
+		});
+		assertEquals(2, indices.size());
+		assertEquals(0, indices.get(0).intValue());
+		assertEquals(1, indices.get(1).intValue());
+	}
+
+	public void testEachFailure() throws Exception {
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+		tasks.add(new Callable<Object>() {
+			public Object call() {
+				return null;
+			}
+		});
+		tasks.add(new Callable<Object>() {
+			public Object call() throws IOException {
+				throw new IOException("failed"); //$NON-NLS-1$
+			}
+		});
+		final List<Integer> indices = new ArrayList<Integer>();
+		try {
+			ValgrindParserPool.parseEach(tasks, new ValgrindParserPool.IParseListener<Object>() {
+				public void parsed(int index, Object result) {
+					indices.add(index);
+				}
+			});
+			fail();
+		} catch (IOException e) {
+			assertEquals("failed", e.getMessage()); //$NON-NLS-1$
+		}
+		// the results that were done before the failure were handed over
+		assertTrue(indices.size() <= 1);
+		assertFalse(indices.contains(1));
+	}
+}
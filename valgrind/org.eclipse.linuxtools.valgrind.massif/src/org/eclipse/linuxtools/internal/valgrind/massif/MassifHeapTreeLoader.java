@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.massif;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Reads the heap trees of a Massif output file when they are first needed.
+ * Only the root of each detailed snapshot's tree is created when the file
+ * is parsed, along with the file offset of the rest of the tree. The trees
+ * viewed most recently are kept, and the others are read again if needed.
+ * The trees are read from the file the snapshots were parsed from, which
+ * must not change meanwhile: if the parser was given the open file, it is
+ * read through that, and otherwise the file is checked for changes first.
+ */
+public class MassifHeapTreeLoader {
+	// number of trees kept
+	private static final int CACHE_SIZE = 8;
+	private static final MassifHeapTreeNode[] NO_CHILDREN = new MassifHeapTreeNode[0];
+
+	protected File file;
+	// the open file, or null if the file is opened for each tree
+	protected FileChannel channel;
+	// to detect that the file was changed after it was parsed
+	protected long length;
+	protected long lastModified;
+	protected MassifParser parser;
+	protected Map<MassifHeapTreeNode, TreeLocation> locations;
+	protected Map<MassifHeapTreeNode, MassifHeapTreeNode[]> trees;
+
+	/**
+	 * @param file - the Massif output file
+	 * @param channel - the open file, or null to open the file when a tree is read
+	 * @param parser - the parser of the file
+	 */
+	public MassifHeapTreeLoader(File file, FileChannel channel, MassifParser parser) {
+		this.file = file;
+		this.channel = channel;
+		length = file.length();
+		lastModified = file.lastModified();
+		this.parser = parser;
+		locations = new HashMap<MassifHeapTreeNode, TreeLocation>();
+		trees = new LinkedHashMap<MassifHeapTreeNode, MassifHeapTreeNode[]>(CACHE_SIZE, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<MassifHeapTreeNode, MassifHeapTreeNode[]> eldest) {
+				return size() > CACHE_SIZE;
+			}
+		};
+	}
+
+	/**
+	 * Makes the children of a root node be read when they are first asked for.
+	 * @param root - the root of a snapshot's heap tree
+	 * @param snapshot - the snapshot
+	 * @param offset - the offset in the file of the line after the root's
+	 */
+	public synchronized void add(MassifHeapTreeNode root, MassifSnapshot snapshot, long offset) {
+		locations.put(root, new TreeLocation(snapshot, offset));
+		root.setLoader(this);
+	}
+
+	/**
+	 * @param root - a root node given to {@link #add}
+	 * @return the root's children, read from the file if they are not kept
+	 */
+	public synchronized MassifHeapTreeNode[] getChildren(MassifHeapTreeNode root) {
+		MassifHeapTreeNode[] children = trees.get(root);
+		if (children == null) {
+			try {
+				children = read(root);
+				trees.put(root, children);
+			} catch (IOException e) {
+				MassifPlugin.logError(NLS.bind(Messages.getString("MassifHeapTreeLoader.Error_reading_tree"), file.getPath()), e); //$NON-NLS-1$
+				children = NO_CHILDREN;
+			}
+		}
+		return children;
+	}
+
+	protected MassifHeapTreeNode[] read(MassifHeapTreeNode root) throws IOException {
+		TreeLocation location = locations.get(root);
+		if (channel != null) {
+			channel.position(location.offset);
+			// closing the stream would close the channel
+			return read(root, location, Channels.newInputStream(channel));
+		}
+
+		if (file.length() != length || file.lastModified() != lastModified) {
+			throw new IOException(NLS.bind(Messages.getString("MassifHeapTreeLoader.File_changed"), file.getPath())); //$NON-NLS-1$
+		}
+		FileInputStream in = new FileInputStream(file);
+		try {
+			in.getChannel().position(location.offset);
+			return read(root, location, in);
+		} finally {
+			in.close();
+		}
+	}
+
+	private MassifHeapTreeNode[] read(MassifHeapTreeNode root, TreeLocation location, InputStream in) throws IOException {
+		MassifHeapTreeNode[] children = new MassifHeapTreeNode[root.getNumChildren()];
+		BufferedReader br = new BufferedReader(new InputStreamReader(in));
+		for (int i = 0; i < children.length; i++) {
+			children[i] = parser.parseTree(location.snapshot, root, br);
+		}
+		return children;
+	}
+
+	protected static class TreeLocation {
+		protected MassifSnapshot snapshot;
+		protected long offset;
+
+		public TreeLocation(MassifSnapshot snapshot, long offset) {
+			this.snapshot = snapshot;
+			this.offset = offset;
+		}
+	}
+}
@@ -23,7 +23,11 @@ public class MassifHeapTreeNode {
 	protected String function;
 	protected String filename;
 	protected int line;
+	// allocated when the first child is added, as most nodes are leaves
 	protected List<MassifHeapTreeNode> children;
+	protected int numChildren;
+	// reads the children of a root node when they are needed
+	protected MassifHeapTreeLoader loader;
 	
 	public MassifHeapTreeNode(MassifHeapTreeNode parent, double percent, long bytes, String address, String function, String filename, int line) {
 		this.parent = parent;
@@ -49,7 +53,6 @@ public class MassifHeapTreeNode {
 		this.filename = filename;
 		this.line = line;
 		this.text = nodeText.toString();
-		children = new ArrayList<MassifHeapTreeNode>();
 	}
 
 	public MassifHeapTreeNode(MassifHeapTreeNode parent, double percent, long bytes, String text) {
@@ -65,7 +68,6 @@ public class MassifHeapTreeNode {
 		this.filename = null;
 		this.line = 0;
 		this.text = nodeText.toString();
-		children = new ArrayList<MassifHeapTreeNode>();
 	}
 
 	private void formatBytes(double percent, long bytes, StringBuffer buffer) {
@@ -76,6 +78,9 @@ public class MassifHeapTreeNode {
 	}
 	
 	public void addChild(MassifHeapTreeNode child) {
+		if (children == null) {
+			children = new ArrayList<MassifHeapTreeNode>(numChildren > 0 ? numChildren : 1);
+		}
 		children.add(child);
 	}
 	
@@ -84,9 +89,40 @@ public class MassifHeapTreeNode {
 	}
 	
 	public MassifHeapTreeNode[] getChildren() {
+		if (loader != null) {
+			return loader.getChildren(this);
+		}
+		if (children == null) {
+			return new MassifHeapTreeNode[0];
+		}
 		return children.toArray(new MassifHeapTreeNode[children.size()]);
 	}
 	
+	/**
+	 * @return whether this node has children, without reading them
+	 */
+	public boolean hasChildren() {
+		if (loader != null) {
+			return numChildren > 0;
+		}
+		return children != null && !children.isEmpty();
+	}
+	
+	/**
+	 * @return the number of children given in the Massif output
+	 */
+	public int getNumChildren() {
+		return numChildren;
+	}
+	
+	protected void setNumChildren(int numChildren) {
+		this.numChildren = numChildren;
+	}
+	
+	protected void setLoader(MassifHeapTreeLoader loader) {
+		this.loader = loader;
+	}
+	
 	public String getText() {
 		return text;
 	}
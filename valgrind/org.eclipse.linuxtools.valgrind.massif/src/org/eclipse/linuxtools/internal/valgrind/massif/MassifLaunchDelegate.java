@@ -25,6 +25,7 @@ import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.linuxtools.valgrind.core.ValgrindParserUtils;
 import org.eclipse.linuxtools.valgrind.launch.IValgrindLaunchDelegate;
 import org.eclipse.linuxtools.valgrind.ui.IValgrindToolView;
 import org.osgi.framework.Version;
@@ -68,9 +69,16 @@ public class MassifLaunchDelegate implements IValgrindLaunchDelegate {
 
 	protected void parseOutput(File[] massifOutputs, IProgressMonitor monitor) throws IOException {
 		output = new MassifOutput();
-		for (File file : massifOutputs) {
-			MassifParser parser = new MassifParser(file);
-			output.putSnapshots(parser.getPid(), parser.getSnapshots());
+		try {
+			for (File file : massifOutputs) {
+				output.putFile(ValgrindParserUtils.parsePID(file.getName(), OUT_PREFIX), file);
+			}
+			// the first process is shown first, the others are parsed when selected
+			output.parse(output.getPids()[0]);
+		} catch (IOException e) {
+			output.dispose();
+			output = null;
+			throw e;
 		}
 		monitor.worked(2);
 	}
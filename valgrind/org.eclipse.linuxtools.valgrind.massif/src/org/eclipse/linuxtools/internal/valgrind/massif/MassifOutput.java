@@ -10,25 +10,178 @@
  *******************************************************************************/ 
 package org.eclipse.linuxtools.internal.valgrind.massif;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindParserPool;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * The snapshots of each process. A process's output file is only parsed
+ * once its snapshots are asked for, so the outputs of processes that are
+ * never shown are not parsed. The output files of the first
+ * {@link #MAX_OPEN_FILES} processes are kept open until {@link #dispose()},
+ * as the output directory is cleared by the next launch. The files of the
+ * other processes are only opened while they are read, so a program that
+ * forks a lot does not use up file descriptors.
+ */
 public class MassifOutput {
-	protected Map<Integer, MassifSnapshot[]> pidMap;
+	protected static final int MAX_OPEN_FILES = 16;
+
+	protected Map<Integer, FutureTask<MassifSnapshot[]>> pidMap;
+	protected Map<Integer, FileInputStream> files;
+	protected boolean disposed;
 	
 	public MassifOutput() {
-		pidMap = new HashMap<Integer, MassifSnapshot[]>();
+		pidMap = new TreeMap<Integer, FutureTask<MassifSnapshot[]>>();
+		files = new HashMap<Integer, FileInputStream>();
+	}
+	
+	public synchronized void putSnapshots(Integer pid, final MassifSnapshot[] snapshots) {
+		FutureTask<MassifSnapshot[]> task = new FutureTask<MassifSnapshot[]>(new Callable<MassifSnapshot[]>() {
+			public MassifSnapshot[] call() {
+				return snapshots;
+			}
+		});
+		task.run();
+		pidMap.put(pid, task);
+	}
+	
+	/**
+	 * Adds a process whose output file is parsed when first needed.
+	 * @param pid - the process's PID
+	 * @param file - the process's Massif output file
+	 * @throws IOException if the file cannot be opened
+	 */
+	public synchronized void putFile(Integer pid, final File file) throws IOException {
+		FileInputStream old = files.remove(pid);
+		if (old != null) {
+			old.close();
+		}
+		if (files.size() < MAX_OPEN_FILES) {
+			final FileInputStream in = new FileInputStream(file);
+			files.put(pid, in);
+			pidMap.put(pid, new FutureTask<MassifSnapshot[]>(new Callable<MassifSnapshot[]>() {
+				public MassifSnapshot[] call() throws IOException {
+					return new MassifParser(file, in.getChannel()).getSnapshots();
+				}
+			}));
+		}
+		else {
+			// opened to be parsed, then for each heap tree that is read
+			pidMap.put(pid, new FutureTask<MassifSnapshot[]>(new Callable<MassifSnapshot[]>() {
+				public MassifSnapshot[] call() throws IOException {
+					if (isDisposed()) {
+						throw new ClosedChannelException();
+					}
+					return new MassifParser(file).getSnapshots();
+				}
+			}));
+		}
+	}
+	
+	/**
+	 * Parses the output of a process, unless this has been done already.
+	 * Waits if it is being parsed by another thread.
+	 * @param pid - the process's PID
+	 * @return the process's snapshots, or null if the PID is unknown
+	 * @throws IOException if the output could not be parsed
+	 */
+	public MassifSnapshot[] parse(Integer pid) throws IOException {
+		FutureTask<MassifSnapshot[]> task = getTask(pid);
+		if (task == null) {
+			return null;
+		}
+		// does nothing if the task has already run or is running
+		task.run();
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			IOException ioe = new IOException(e.getMessage());
+			ioe.initCause(e);
+			throw ioe;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			IOException ioe = new IOException(e.getCause().getMessage());
+			ioe.initCause(e.getCause());
+			throw ioe;
+		}
+	}
+	
+	/**
+	 * Parses the output of a process on a worker thread.
+	 * @param pid - the process's PID
+	 * @param done - run on the worker thread once the snapshots are ready
+	 */
+	public void parseLater(final Integer pid, final Runnable done) {
+		ValgrindParserPool.execute(new Runnable() {
+			public void run() {
+				getSnapshots(pid);
+				done.run();
+			}
+		});
 	}
 	
-	public void putSnapshots(Integer pid, MassifSnapshot[] snapshots) {
-		pidMap.put(pid, snapshots);
+	/**
+	 * @param pid - the process's PID
+	 * @return whether the snapshots of the process can be had without parsing
+	 */
+	public boolean isParsed(Integer pid) {
+		FutureTask<MassifSnapshot[]> task = getTask(pid);
+		return task != null && task.isDone();
 	}
 	
+	/**
+	 * Like {@link #parse(Integer)}, but logs an error instead of throwing it.
+	 * @param pid - the process's PID
+	 * @return the process's snapshots, or null if the PID is unknown or the
+	 * output could not be parsed
+	 */
 	public MassifSnapshot[] getSnapshots(Integer pid) {
-		return pidMap.get(pid);
+		try {
+			return parse(pid);
+		} catch (IOException e) {
+			MassifPlugin.logError(NLS.bind(Messages.getString("MassifOutput.Error_parsing_output"), pid), e); //$NON-NLS-1$
+			return null;
+		}
 	}
 	
-	public Integer[] getPids() {
+	public synchronized Integer[] getPids() {
 		return pidMap.keySet().toArray(new Integer[pidMap.size()]);
 	}
+	
+	protected synchronized FutureTask<MassifSnapshot[]> getTask(Integer pid) {
+		return pidMap.get(pid);
+	}
+	
+	protected synchronized boolean isDisposed() {
+		return disposed;
+	}
+	
+	/**
+	 * Closes the output files. Processes that were not parsed yet can no
+	 * longer be.
+	 */
+	public synchronized void dispose() {
+		disposed = true;
+		for (FileInputStream in : files.values()) {
+			try {
+				in.close();
+			} catch (IOException e) {
+				MassifPlugin.logError(e.getLocalizedMessage(), e);
+			}
+		}
+		files.clear();
+	}
 }
@@ -12,9 +12,14 @@ package org.eclipse.linuxtools.internal.valgrind.massif;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot.SnapshotType;
 import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot.TimeUnit;
@@ -41,15 +46,60 @@ public class MassifParser {
 	private static final String PEAK = "peak"; //$NON-NLS-1$
 	private static final String DETAILED = "detailed"; //$NON-NLS-1$
 	private static final String EMPTY = "empty"; //$NON-NLS-1$
+	
+	private static final int BUFFER_SIZE = 8192;
 
 	protected Integer pid;
 	protected MassifSnapshot[] snapshots;
+	protected MassifHeapTreeLoader loader;
+	// call sites repeat across snapshots, so each is stored once
+	protected Map<String, String> names;
+	
+	// offset of the next line to read
+	private long offset;
+	private byte[] buffer;
+	private int position;
+	private int limit;
+	private byte[] lineBuffer;
 
+	/**
+	 * Parses the snapshots of a Massif output file. The heap trees of
+	 * detailed snapshots are only read up to their roots, and the rest of
+	 * a tree is read when the children of its root are first asked for.
+	 * @param inputFile - the Massif output file
+	 * @throws IOException
+	 */
 	public MassifParser(File inputFile) throws IOException {
+		InputStream in = new FileInputStream(inputFile);
+		try {
+			parse(inputFile, null, in);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Parses the snapshots of a Massif output file that is already open,
+	 * so that it can still be read if it is deleted meanwhile. The heap
+	 * trees are read through the open file too.
+	 * @param inputFile - the Massif output file
+	 * @param channel - the open file, which is read from its start and is
+	 * left open
+	 * @throws IOException
+	 */
+	public MassifParser(File inputFile, FileChannel channel) throws IOException {
+		channel.position(0);
+		// closing the stream would close the channel
+		parse(inputFile, channel, Channels.newInputStream(channel));
+	}
+
+	private void parse(File inputFile, FileChannel channel, InputStream in) throws IOException {
 		ArrayList<MassifSnapshot> list = new ArrayList<MassifSnapshot>();
-		BufferedReader br = null;
+		loader = new MassifHeapTreeLoader(inputFile, channel, this);
+		names = new HashMap<String, String>();
 		try {
-			br = new BufferedReader(new FileReader(inputFile));
+			buffer = new byte[BUFFER_SIZE];
+			lineBuffer = new byte[256];
 			String line;
 			MassifSnapshot snapshot = null;
 			String cmd = null;
@@ -61,7 +111,7 @@ public class MassifParser {
 			pid = ValgrindParserUtils.parsePID(filename, MassifLaunchDelegate.OUT_PREFIX);
 
 			// parse contents of file
-			while ((line = br.readLine()) != null) {
+			while ((line = readLine(in)) != null) {
 				if (line.startsWith(CMD + COLON)){
 					cmd = ValgrindParserUtils.parseStrValue(line, COLON + SPACE);
 				}
@@ -96,9 +146,15 @@ public class MassifParser {
 					switch (type) {
 					case DETAILED:
 					case PEAK:
-						MassifHeapTreeNode node = parseTree(snapshot, null, br);
+						line = readLine(in);
+						if (line == null) {
+							throw new IOException(Messages.getString("MassifParser.Unexpected_EOF")); //$NON-NLS-1$
+						}
+						MassifHeapTreeNode node = parseNode(snapshot, null, line);
 						node.setText(NLS.bind(Messages.getString("MassifParser.Snapshot_n"), n, node.getText())); // prepend snapshot number //$NON-NLS-1$
 						snapshot.setRoot(node);
+						// the rest of the tree is skipped by the loop, as no lines of it match
+						loader.add(node, snapshot, offset);
 					}
 				}
 			}
@@ -108,17 +164,75 @@ public class MassifParser {
 			}
 			snapshots = list.toArray(new MassifSnapshot[list.size()]);
 		} finally {
-			if (br != null) {
-				br.close();
+			buffer = null;
+			lineBuffer = null;
+		}
+	}
+
+	/*
+	 * Reads a line, counting the bytes read so that the position of the
+	 * heap trees in the file is known.
+	 */
+	private String readLine(InputStream in) throws IOException {
+		int length = 0;
+		boolean eol = false;
+		while (!eol) {
+			if (position == limit) {
+				limit = in.read(buffer);
+				position = 0;
+				if (limit <= 0) {
+					limit = 0;
+					if (length == 0) {
+						return null;
+					}
+					break;
+				}
 			}
+			int start = position;
+			while (position < limit && buffer[position] != '\n') {
+				position++;
+			}
+			int count = position - start;
+			if (position < limit) {
+				position++; // skip the line terminator
+				eol = true;
+			}
+			offset += position - start;
+			if (length + count > lineBuffer.length) {
+				byte[] grown = new byte[Math.max(lineBuffer.length * 2, length + count)];
+				System.arraycopy(lineBuffer, 0, grown, 0, length);
+				lineBuffer = grown;
+			}
+			System.arraycopy(buffer, start, lineBuffer, length, count);
+			length += count;
 		}
+		if (length > 0 && lineBuffer[length - 1] == '\r') {
+			length--;
+		}
+		return new String(lineBuffer, 0, length);
 	}
 
-	private MassifHeapTreeNode parseTree(MassifSnapshot snapshot, MassifHeapTreeNode parent, BufferedReader br) throws IOException {
+	/**
+	 * Reads a node and its subtree.
+	 * @param snapshot - the snapshot of the tree
+	 * @param parent - the node's parent
+	 * @param br - a reader positioned at the node's line
+	 * @return the node
+	 * @throws IOException
+	 */
+	protected MassifHeapTreeNode parseTree(MassifSnapshot snapshot, MassifHeapTreeNode parent, BufferedReader br) throws IOException {
 		String line = br.readLine();
 		if (line == null) {
 			throw new IOException(Messages.getString("MassifParser.Unexpected_EOF")); //$NON-NLS-1$
 		}
+		MassifHeapTreeNode node = parseNode(snapshot, parent, line);
+		for (int i = 0; i < node.getNumChildren(); i++) {
+			node.addChild(parseTree(snapshot, node, br));
+		}
+		return node;
+	}
+
+	private MassifHeapTreeNode parseNode(MassifSnapshot snapshot, MassifHeapTreeNode parent, String line) throws IOException {
 		line = line.trim(); // remove leading whitespace
 		String[] parts = line.split(" "); //$NON-NLS-1$
 		// bounds checking so we can fail with a more informative error
@@ -155,13 +269,13 @@ public class MassifParser {
 				ValgrindParserUtils.fail(line);
 			}
 			// remove colon from address
-			address = parts[2].substring(0, parts[2].length() - 1);
+			address = intern(parts[2].substring(0, parts[2].length() - 1));
 			
-			function = parseFunction(parts[3], line);
+			function = intern(parseFunction(parts[3], line));
 			
 			// Parse source file if specified
 			Object[] subparts = ValgrindParserUtils.parseFilename(line);
-			filename = (String) subparts[0];
+			filename = intern((String) subparts[0]);
 			lineNo = (Integer) subparts[1];
 			
 			node = new MassifHeapTreeNode(parent, percentage, numBytes, address, function, filename, lineNo);
@@ -176,13 +290,21 @@ public class MassifParser {
 			
 			node = new MassifHeapTreeNode(parent, percentage, numBytes, text.toString().trim());
 		}
-		
-		
-		for (int i = 0; i < numChildren.intValue(); i++) {
-			node.addChild(parseTree(snapshot, node, br));
-		}
+		node.setNumChildren(numChildren);
 		return node;
 	}
+	
+	private synchronized String intern(String name) {
+		if (name == null) {
+			return null;
+		}
+		String shared = names.get(name);
+		if (shared == null) {
+			names.put(name, name);
+			shared = name;
+		}
+		return shared;
+	}
 
 	private String parseFunction(String start, String line) throws IOException {
 		String function = null;
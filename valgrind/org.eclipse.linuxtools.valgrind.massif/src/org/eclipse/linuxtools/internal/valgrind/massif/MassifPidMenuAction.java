@@ -58,11 +58,25 @@ public class MassifPidMenuAction extends Action implements IMenuCreator {
 							}
 							setChecked(true);
 							view.setPid(pid);
-							Display.getDefault().syncExec(new Runnable() {
+							final Runnable refresh = new Runnable() {
 								public void run() {
-									view.refreshView();
-								}							
-							});
+									// another process may have been selected meanwhile
+									if (pid.equals(view.getPid())) {
+										view.refreshView();
+									}
+								}
+							};
+							if (view.getOutput().isParsed(pid)) {
+								Display.getDefault().syncExec(refresh);
+							}
+							else {
+								// parse the process's output without blocking the UI
+								view.getOutput().parseLater(pid, new Runnable() {
+									public void run() {
+										Display.getDefault().asyncExec(refresh);
+									}
+								});
+							}
 						}
 					});
 					item.fill(menu, -1);
@@ -11,6 +11,8 @@
 package org.eclipse.linuxtools.internal.valgrind.massif;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.model.ISourceLocator;
 import org.eclipse.debug.core.sourcelookup.ISourceLookupDirector;
@@ -114,4 +116,15 @@ public class MassifPlugin extends AbstractUIPlugin {
 		return plugin;
 	}
 
+	/**
+	 * Logs an error that happened where it cannot be shown to the user.
+	 * @param message - a description of the error
+	 * @param e - the exception, or null
+	 */
+	public static void logError(String message, Throwable e) {
+		if (plugin != null) {
+			plugin.getLog().log(new Status(IStatus.ERROR, PLUGIN_ID, message, e));
+		}
+	}
+
 }
@@ -47,8 +47,7 @@ public class MassifTreeViewer {
 			}
 
 			public boolean hasChildren(Object element) {
-				MassifHeapTreeNode[] children = ((MassifHeapTreeNode) element).getChildren();
-				return children != null && children.length > 0;
+				return ((MassifHeapTreeNode) element).hasChildren();
 			}
 
 			public Object[] getElements(Object inputElement) {
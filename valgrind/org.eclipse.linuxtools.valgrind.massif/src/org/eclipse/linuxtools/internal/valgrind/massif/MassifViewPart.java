@@ -378,6 +378,9 @@ public class MassifViewPart extends ViewPart implements IValgrindToolView {
 				}
 			}
 		}
+		if (output != null) {
+			output.dispose();
+		}
 		super.dispose();
 	}
 
@@ -387,6 +390,9 @@ public class MassifViewPart extends ViewPart implements IValgrindToolView {
 	}
 
 	public void setOutput(MassifOutput output) {
+		if (this.output != null && this.output != output) {
+			this.output.dispose();
+		}
 		this.output = output;
 	}
 
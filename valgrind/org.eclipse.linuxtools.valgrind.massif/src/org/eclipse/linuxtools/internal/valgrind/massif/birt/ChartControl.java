@@ -12,6 +12,8 @@
 package org.eclipse.linuxtools.internal.valgrind.massif.birt;
 
 import org.eclipse.birt.chart.computation.DataPointHints;
+import org.eclipse.birt.chart.computation.withaxes.AutoScale;
+import org.eclipse.birt.chart.computation.withaxes.PlotWithAxes;
 import org.eclipse.birt.chart.device.ICallBackNotifier;
 import org.eclipse.birt.chart.device.IDeviceRenderer;
 import org.eclipse.birt.chart.event.WrappedStructureSource;
@@ -23,6 +25,8 @@ import org.eclipse.birt.chart.model.Chart;
 import org.eclipse.birt.chart.model.attribute.Bounds;
 import org.eclipse.birt.chart.model.attribute.CallBackValue;
 import org.eclipse.birt.chart.model.attribute.impl.BoundsImpl;
+import org.eclipse.birt.chart.model.data.DataElement;
+import org.eclipse.birt.chart.model.data.NumberDataElement;
 import org.eclipse.birt.chart.util.PluginSettings;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TableViewer;
@@ -36,6 +40,7 @@ import org.eclipse.swt.events.ControlListener;
 import org.eclipse.swt.events.DisposeEvent;
 import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.events.MouseEvent;
+import org.eclipse.swt.events.MouseWheelListener;
 import org.eclipse.swt.events.PaintEvent;
 import org.eclipse.swt.events.PaintListener;
 import org.eclipse.swt.graphics.GC;
@@ -81,6 +86,20 @@ public class ChartControl extends Canvas implements PaintListener, ControlListen
 
 			addPaintListener(this);
 			addControlListener(this);
+			addMouseWheelListener(new MouseWheelListener() {
+				public void mouseScrolled(MouseEvent e) {
+					if (cm instanceof HeapChart) {
+						HeapChart chart = (HeapChart) cm;
+						if (e.count > 0) {
+							chart.zoomIn(getTime(e.x));
+						}
+						else {
+							chart.zoomOut();
+						}
+						regenerateChart();
+					}
+				}
+			});
 		} catch (ChartException e) {
 			e.printStackTrace();
 		}
@@ -96,7 +115,12 @@ public class ChartControl extends Canvas implements PaintListener, ControlListen
 		TableViewer viewer = view.getTableViewer();
 		view.setTopControl(viewer.getControl());
 		
-		MassifSnapshot snapshot = (MassifSnapshot) viewer.getElementAt(point.getIndex());
+		int index = point.getIndex();
+		if (cm instanceof HeapChart) {
+			// the chart may not plot every snapshot
+			index = ((HeapChart) cm).getSnapshotIndex(index);
+		}
+		MassifSnapshot snapshot = (MassifSnapshot) viewer.getElementAt(index);
 		
 		switch (mEvent.count) {
 		case 1: // single click
@@ -114,6 +138,33 @@ public class ChartControl extends Canvas implements PaintListener, ControlListen
 		}
 	}
 
+	/**
+	 * Maps a point of the control to the time axis, as it was laid out when
+	 * the chart was last generated.
+	 * @param x - the x coordinate of the point
+	 * @return the time at the point, in the units of the axis, or NaN if the
+	 * chart has not been laid out yet
+	 */
+	protected double getTime(int x) {
+		if (state == null || !(state.getComputations() instanceof PlotWithAxes)) {
+			return Double.NaN;
+		}
+		AutoScale scale = ((PlotWithAxes) state.getComputations()).getAxes().getPrimaryBase().getScale();
+		DataElement min = scale.getMinimum();
+		DataElement max = scale.getMaximum();
+		double start = scale.getStart();
+		double end = scale.getEnd();
+		if (!(min instanceof NumberDataElement) || !(max instanceof NumberDataElement) || start == end) {
+			return Double.NaN;
+		}
+		// the chart is laid out in points, starting from the plot's left edge
+		double point = x * 72d / deviceRenderer.getDisplayServer().getDpiResolution();
+		double fraction = Math.max(0, Math.min(1, (point - start) / (end - start)));
+		double minValue = ((NumberDataElement) min).getValue();
+		double maxValue = ((NumberDataElement) max).getValue();
+		return minValue + fraction * (maxValue - minValue);
+	}
+
 	public Chart getDesignTimeModel() {
 		return cm;
 	}
@@ -191,6 +242,10 @@ public class ChartControl extends Canvas implements PaintListener, ControlListen
 				Generator gr = Generator.instance();
 				if (needsGeneration) {
 					needsGeneration = false;
+					if (cm instanceof HeapChart) {
+						// plot at most two snapshots per pixel
+						((HeapChart) cm).setWidth(adjustedRe.width - 2 * X_OFFSET);
+					}
 					RunTimeContext rtc = new RunTimeContext();
 
 					state = gr.build(deviceRenderer
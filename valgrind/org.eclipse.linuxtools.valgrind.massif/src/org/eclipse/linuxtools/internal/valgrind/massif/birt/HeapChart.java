@@ -11,6 +11,8 @@
  ***********************************************************************/
 package org.eclipse.linuxtools.internal.valgrind.massif.birt;
 
+import java.util.Arrays;
+
 import org.eclipse.birt.chart.model.attribute.ActionType;
 import org.eclipse.birt.chart.model.attribute.AxisType;
 import org.eclipse.birt.chart.model.attribute.ChartDimension;
@@ -29,7 +31,6 @@ import org.eclipse.birt.chart.model.component.Series;
 import org.eclipse.birt.chart.model.component.impl.SeriesImpl;
 import org.eclipse.birt.chart.model.data.BaseSampleData;
 import org.eclipse.birt.chart.model.data.DataFactory;
-import org.eclipse.birt.chart.model.data.NumberDataSet;
 import org.eclipse.birt.chart.model.data.OrthogonalSampleData;
 import org.eclipse.birt.chart.model.data.SampleData;
 import org.eclipse.birt.chart.model.data.SeriesDefinition;
@@ -45,10 +46,17 @@ import org.eclipse.birt.chart.model.type.LineSeries;
 import org.eclipse.birt.chart.model.type.impl.LineSeriesImpl;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot;
+import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot.SnapshotType;
 import org.eclipse.linuxtools.internal.valgrind.massif.MassifSnapshot.TimeUnit;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontData;
 
+/**
+ * Plots the heap usage of a process over time. When there are more
+ * snapshots than the chart has room for, only the lowest and highest
+ * snapshot of each pixel column is plotted, so that the shape of the graph
+ * and its peak are kept. Zooming in plots fewer snapshots in more detail.
+ */
 public class HeapChart extends ChartWithAxesImpl {
 
 	private static String[] byteUnits = { Messages.getString("HeapChart.B"), //$NON-NLS-1$
@@ -75,34 +83,39 @@ public class HeapChart extends ChartWithAxesImpl {
 	protected static final int MS_LIMIT = secondUnits.length - 1;
 
 	protected static final int SCALING_THRESHOLD = 20;
+	
+	// fewest snapshots shown when zoomed in
+	protected static final int MIN_ZOOM = 4;
 
 	protected String xUnits;
 	protected String yUnits;
+	
+	protected MassifSnapshot[] snapshots;
+	protected long xScaling;
+	protected long yScaling;
+	protected boolean isStack;
+	
+	// range of snapshots shown and the width in pixels they are shown in
+	protected int first;
+	protected int last;
+	protected int width;
+	// the snapshot of each point plotted
+	protected int[] indices;
+	
+	protected Series seCategory;
+	protected LineSeries ls1;
+	protected LineSeries ls2;
+	protected LineSeries lsS;
+	protected LineSeries ls3;
 
 	public HeapChart(MassifSnapshot[] snapshots) {
+		this.snapshots = snapshots;
 		TimeUnit timeUnit = snapshots[0].getUnit();
-		long xScaling = getXScaling(snapshots, timeUnit);
-		long yScaling = getYScaling(snapshots);
-
-		double[] time = new double[snapshots.length];
-		double[] dataUseful = new double[snapshots.length];
-		double[] dataExtra = new double[snapshots.length];
-		double[] dataStacks = null;
-
-		boolean isStack = isStackProfiled(snapshots);
-		if (isStack) {
-			dataStacks = new double[snapshots.length];
-		}
-		double[] dataTotal = new double[snapshots.length];
-		for (int i = 0; i < snapshots.length; i++) {
-			time[i] = snapshots[i].getTime() / xScaling;
-			dataUseful[i] = snapshots[i].getHeapBytes() / yScaling;
-			dataExtra[i] = snapshots[i].getHeapExtra() / yScaling;
-			dataTotal[i] = dataUseful[i] + dataExtra[i];
-			if (isStack) {
-				dataStacks[i] = snapshots[i].getStacks() / yScaling;
-			}
-		}
+		xScaling = getXScaling(snapshots, timeUnit);
+		yScaling = getYScaling(snapshots);
+		isStack = isStackProfiled(snapshots);
+		first = 0;
+		last = snapshots.length - 1;
 
 		initialize();
 		setDimension(ChartDimension.TWO_DIMENSIONAL_LITERAL);
@@ -174,16 +187,6 @@ public class HeapChart extends ChartWithAxesImpl {
 		legendFont.setName(fd.getName());
 		legendFont.setSize(fd.getHeight());
 
-		// Data Set
-		NumberDataSet mainValues = NumberDataSetImpl.create(time);
-		NumberDataSet orthoValues1 = NumberDataSetImpl.create(dataUseful);
-		NumberDataSet orthoValues2 = NumberDataSetImpl.create(dataExtra);
-		NumberDataSet orthoValuesS = null;
-		if (isStack) {
-			orthoValuesS = NumberDataSetImpl.create(dataStacks);
-		}
-		NumberDataSet orthoValues3 = NumberDataSetImpl.create(dataTotal);
-
 		SampleData sd = DataFactory.eINSTANCE.createSampleData();
 		BaseSampleData sdBase = DataFactory.eINSTANCE.createBaseSampleData();
 		sdBase.setDataSetRepresentation("");//$NON-NLS-1$
@@ -218,15 +221,13 @@ public class HeapChart extends ChartWithAxesImpl {
 		setSampleData(sd);
 
 		// X-Series
-		Series seCategory = SeriesImpl.create();
-		seCategory.setDataSet(mainValues);
+		seCategory = SeriesImpl.create();
 		SeriesDefinition sdX = SeriesDefinitionImpl.create();
 		xAxisPrimary.getSeriesDefinitions().add(sdX);
 		sdX.getSeries().add(seCategory);
 
 		// Y-Series
-		LineSeries ls1 = (LineSeries) LineSeriesImpl.create();
-		ls1.setDataSet(orthoValues1);
+		ls1 = (LineSeries) LineSeriesImpl.create();
 		ls1.getLineAttributes().setColor(ColorDefinitionImpl.CREAM());
 		for (int i = 0; i < ls1.getMarkers().size(); i++) {
 			Marker marker = (Marker) ls1.getMarkers().get(i);
@@ -239,8 +240,7 @@ public class HeapChart extends ChartWithAxesImpl {
 		ls1.getTriggers().add(getDblClickTrigger(ls1));
 
 		// Y-Series
-		LineSeries ls2 = (LineSeries) LineSeriesImpl.create();
-		ls2.setDataSet(orthoValues2);
+		ls2 = (LineSeries) LineSeriesImpl.create();
 		ls2.getLineAttributes().setColor(ColorDefinitionImpl.CREAM());
 		for (int i = 0; i < ls2.getMarkers().size(); i++) {
 			Marker marker = (Marker) ls2.getMarkers().get(i);
@@ -252,10 +252,8 @@ public class HeapChart extends ChartWithAxesImpl {
 		ls2.getTriggers().add(getDblClickTrigger(ls2));
 
 		// Y-Series
-		LineSeries lsS = null;
 		if (isStack) {
 			lsS = (LineSeries) LineSeriesImpl.create();
-			lsS.setDataSet(orthoValuesS);
 			lsS.getLineAttributes().setColor(ColorDefinitionImpl.CREAM());
 			for (int i = 0; i < lsS.getMarkers().size(); i++) {
 				Marker marker = (Marker) lsS.getMarkers().get(i);
@@ -268,8 +266,7 @@ public class HeapChart extends ChartWithAxesImpl {
 		}
 
 		// Y-Series
-		LineSeries ls3 = (LineSeries) LineSeriesImpl.create();
-		ls3.setDataSet(orthoValues3);
+		ls3 = (LineSeries) LineSeriesImpl.create();
 		ls3.getLineAttributes().setColor(ColorDefinitionImpl.CREAM());
 		for (int i = 0; i < ls3.getMarkers().size(); i++) {
 			Marker marker = (Marker) ls3.getMarkers().get(i);
@@ -293,6 +290,185 @@ public class HeapChart extends ChartWithAxesImpl {
 		// // Z-Series
 		// SeriesDefinition sdZ = SeriesDefinitionImpl.create();
 		// zAxis.getSeriesDefinitions().add(sdZ);
+		
+		// Data Set
+		updateDataSets();
+	}
+	
+	/**
+	 * Sets the width of the plot, which limits the number of points plotted.
+	 * @param width - the width in pixels, or 0 to plot every snapshot
+	 */
+	public void setWidth(int width) {
+		if (width != this.width) {
+			this.width = width;
+			updateDataSets();
+		}
+	}
+	
+	/**
+	 * Shows half as many snapshots.
+	 * @param time - where to zoom in, in the units of the time axis, or NaN
+	 * to zoom in on the middle of the snapshots shown
+	 */
+	public void zoomIn(double time) {
+		int count = last - first + 1;
+		if (count > MIN_ZOOM) {
+			int middle = Double.isNaN(time) ? (first + last) / 2 : findSnapshot(time * xScaling);
+			setRange(middle, Math.max(MIN_ZOOM, count / 2));
+		}
+	}
+	
+	/**
+	 * Shows twice as many snapshots.
+	 */
+	public void zoomOut() {
+		int count = last - first + 1;
+		if (count < snapshots.length) {
+			setRange((first + last) / 2, count * 2);
+		}
+	}
+	
+	/**
+	 * @param point - the index of a plotted point
+	 * @return the index of the point's snapshot
+	 */
+	public int getSnapshotIndex(int point) {
+		return indices[point];
+	}
+	
+	/**
+	 * Finds the snapshot shown that was taken closest to a time. Snapshots
+	 * are not taken at even intervals, so this searches by time.
+	 * @param time - the time, in the snapshots' units
+	 * @return the index of the snapshot
+	 */
+	protected int findSnapshot(double time) {
+		int low = first;
+		int high = last;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (snapshots[mid].getTime() < time) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		if (low > first && time - snapshots[low - 1].getTime() < snapshots[low].getTime() - time) {
+			low--;
+		}
+		return low;
+	}
+	
+	protected void setRange(int middle, int count) {
+		count = Math.min(count, snapshots.length);
+		first = Math.max(0, middle - count / 2);
+		last = first + count - 1;
+		if (last >= snapshots.length) {
+			last = snapshots.length - 1;
+			first = last - count + 1;
+		}
+		updateDataSets();
+	}
+	
+	protected void updateDataSets() {
+		indices = downsample(snapshots, first, last, width);
+		
+		double[] time = new double[indices.length];
+		double[] dataUseful = new double[indices.length];
+		double[] dataExtra = new double[indices.length];
+		double[] dataStacks = null;
+		if (isStack) {
+			dataStacks = new double[indices.length];
+		}
+		double[] dataTotal = new double[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			MassifSnapshot snapshot = snapshots[indices[i]];
+			time[i] = snapshot.getTime() / xScaling;
+			dataUseful[i] = snapshot.getHeapBytes() / yScaling;
+			dataExtra[i] = snapshot.getHeapExtra() / yScaling;
+			dataTotal[i] = dataUseful[i] + dataExtra[i];
+			if (isStack) {
+				dataStacks[i] = snapshot.getStacks() / yScaling;
+			}
+		}
+		
+		seCategory.setDataSet(NumberDataSetImpl.create(time));
+		ls1.setDataSet(NumberDataSetImpl.create(dataUseful));
+		ls2.setDataSet(NumberDataSetImpl.create(dataExtra));
+		if (isStack) {
+			lsS.setDataSet(NumberDataSetImpl.create(dataStacks));
+		}
+		ls3.setDataSet(NumberDataSetImpl.create(dataTotal));
+	}
+	
+	/**
+	 * Picks the snapshots to plot in a range when there is only room for two
+	 * points per pixel. The range is split into one bucket per pixel, and the
+	 * snapshots with the lowest and the highest total in each bucket are kept,
+	 * as are the ends of the range and the peak snapshot.
+	 * @param snapshots - all snapshots
+	 * @param first - the first snapshot of the range
+	 * @param last - the last snapshot of the range
+	 * @param width - the number of buckets, or 0 to keep every snapshot
+	 * @return the indices of the snapshots kept, in order
+	 */
+	public static int[] downsample(MassifSnapshot[] snapshots, int first, int last, int width) {
+		int count = last - first + 1;
+		if (width <= 0 || count <= 2 * width) {
+			int[] result = new int[count];
+			for (int i = 0; i < count; i++) {
+				result[i] = first + i;
+			}
+			return result;
+		}
+		
+		int[] result = new int[3 * width + 2];
+		int n = 0;
+		int[] kept = new int[5];
+		for (int bucket = 0; bucket < width; bucket++) {
+			int start = first + (int) ((long) count * bucket / width);
+			int end = first + (int) ((long) count * (bucket + 1) / width) - 1;
+			int min = start;
+			int max = start;
+			int peak = -1;
+			for (int i = start; i <= end; i++) {
+				long total = snapshots[i].getTotal();
+				if (total < snapshots[min].getTotal()) {
+					min = i;
+				}
+				if (total > snapshots[max].getTotal()) {
+					max = i;
+				}
+				if (snapshots[i].getType() == SnapshotType.PEAK) {
+					peak = i;
+				}
+			}
+			
+			int k = 0;
+			kept[k++] = min;
+			kept[k++] = max;
+			if (peak >= 0) {
+				kept[k++] = peak;
+			}
+			if (bucket == 0) {
+				kept[k++] = first;
+			}
+			if (bucket == width - 1) {
+				kept[k++] = last;
+			}
+			Arrays.sort(kept, 0, k);
+			for (int i = 0; i < k; i++) {
+				if (n == 0 || kept[i] != result[n - 1]) {
+					result[n++] = kept[i];
+				}
+			}
+		}
+		
+		int[] trimmed = new int[n];
+		System.arraycopy(result, 0, trimmed, 0, n);
+		return trimmed;
 	}
 
 	private Trigger getClickTrigger(LineSeries ls) {
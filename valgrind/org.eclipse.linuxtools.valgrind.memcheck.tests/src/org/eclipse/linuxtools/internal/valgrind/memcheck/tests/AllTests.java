@@ -33,6 +33,9 @@ public class AllTests {
 		suite.addTestSuite(SignalTest.class);
 		suite.addTestSuite(MinVersionTest.class);
 		suite.addTestSuite(LocationPreferenceTest.class);
+		suite.addTestSuite(ValgrindCoreParserTest.class);
+		suite.addTestSuite(ValgrindFrameTableTest.class);
+		suite.addTestSuite(ValgrindLogMonitorTest.class);
 		// $JUnit-END$
 		return suite;
 	}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.memcheck.tests;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindCoreParser;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindError;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindFrameTable;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindStackFrame;
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+
+public class ValgrindCoreParserTest extends TestCase {
+	protected static final String HEADER = "==42== Memcheck, a memory error detector"; //$NON-NLS-1$
+	protected static final String INVALID_WRITE = "==42== Invalid write of size 4"; //$NON-NLS-1$
+	protected static final String MAIN_FRAME = "==42==    at 0x4004E4: main (test.c:10)"; //$NON-NLS-1$
+	protected static final String ADDRESS = "==42==  Address 0x0 is not stack'd, malloc'd or (recently) free'd"; //$NON-NLS-1$
+	protected static final String LEAK = "==42== 10 bytes in 1 blocks are definitely lost in loss record 1 of 1"; //$NON-NLS-1$
+	protected static final String MALLOC_FRAME = "==42==    at 0x4A05E1C: malloc (vg_replace_malloc.c:195)"; //$NON-NLS-1$
+	protected static final String LEAK_FRAME = "==42==    by 0x4004F1: main (test.c:12)"; //$NON-NLS-1$
+
+	protected ValgrindCoreParser parser;
+
+	@Override
+	protected void setUp() throws Exception {
+		parser = new ValgrindCoreParser(null, 42);
+	}
+
+	protected void parse(String... lines) throws Exception {
+		for (String line : lines) {
+			parser.parseLine(line);
+		}
+	}
+
+	public void testParseLine() throws Exception {
+		parse(HEADER, "==42== ", INVALID_WRITE, MAIN_FRAME, ADDRESS); //$NON-NLS-1$
+
+		IValgrindMessage[] messages = parser.getMessages();
+		assertEquals(2, messages.length);
+		assertEquals("Memcheck, a memory error detector [PID: 42]", messages[0].getText()); //$NON-NLS-1$
+		assertEquals(0, messages[0].getChildren().length);
+
+		assertTrue(messages[1] instanceof ValgrindError);
+		assertEquals(42, ((ValgrindError) messages[1]).getPid());
+		IValgrindMessage[] children = messages[1].getChildren();
+		assertEquals(2, children.length);
+		assertTrue(children[0] instanceof ValgrindStackFrame);
+		ValgrindStackFrame frame = (ValgrindStackFrame) children[0];
+		assertEquals("at 0x4004E4: main (test.c:10)", frame.getText()); //$NON-NLS-1$
+		assertEquals("test.c", frame.getFile()); //$NON-NLS-1$
+		assertEquals(10, frame.getLine());
+		assertFalse(children[1] instanceof ValgrindStackFrame);
+		assertSame(messages[1], children[1].getParent());
+	}
+
+	public void testNestedMessages() throws Exception {
+		parse(INVALID_WRITE, MAIN_FRAME, ADDRESS, "==42==    at 0x4004F1: f (test.c:4)"); //$NON-NLS-1$
+
+		IValgrindMessage[] children = parser.getMessages()[0].getChildren();
+		assertEquals(2, children.length);
+		assertEquals(0, children[0].getChildren().length);
+		// the frame below "Address" belongs to it, not to the error
+		assertEquals(1, children[1].getChildren().length);
+	}
+
+	public void testLastMessageHeldBack() throws Exception {
+		parse(HEADER, INVALID_WRITE);
+		IValgrindMessage[] messages = parser.getNewMessages(false);
+		assertEquals(1, messages.length);
+		assertTrue(messages[0].getText().startsWith("Memcheck")); //$NON-NLS-1$
+
+		// nothing new until the error is followed by another message
+		parse(MAIN_FRAME);
+		assertEquals(0, parser.getNewMessages(false).length);
+		parse(ADDRESS);
+		assertEquals(0, parser.getNewMessages(false).length);
+
+		parse(LEAK);
+		messages = parser.getNewMessages(false);
+		assertEquals(1, messages.length);
+		assertTrue(messages[0].getText().startsWith("Invalid write")); //$NON-NLS-1$
+		assertEquals(2, messages[0].getChildren().length);
+
+		messages = parser.getNewMessages(true);
+		assertEquals(1, messages.length);
+		assertTrue(messages[0].getText().startsWith("10 bytes")); //$NON-NLS-1$
+		assertEquals(0, parser.getNewMessages(true).length);
+	}
+
+	public void testMessagesDeliveredOnce() throws Exception {
+		parse(HEADER, INVALID_WRITE, MAIN_FRAME, LEAK, MALLOC_FRAME);
+		IValgrindMessage[] first = parser.getNewMessages(false);
+		assertEquals(2, first.length);
+		assertEquals(0, parser.getNewMessages(false).length);
+
+		IValgrindMessage[] last = parser.getNewMessages(true);
+		assertEquals(1, last.length);
+		assertEquals(0, parser.getNewMessages(true).length);
+
+		IValgrindMessage[] all = parser.getMessages();
+		assertEquals(3, all.length);
+		assertSame(first[0], all[0]);
+		assertSame(first[1], all[1]);
+		assertSame(last[0], all[2]);
+	}
+
+	public void testRepeatedErrorsGrouped() throws Exception {
+		parse(INVALID_WRITE, MAIN_FRAME, ADDRESS, LEAK, MALLOC_FRAME, LEAK_FRAME,
+				INVALID_WRITE, MAIN_FRAME, ADDRESS, INVALID_WRITE, MAIN_FRAME, ADDRESS);
+
+		IValgrindMessage[] messages = parser.getMessages();
+		assertEquals(2, messages.length);
+		assertEquals(3, ((ValgrindError) messages[0]).getCount());
+		assertEquals(1, ((ValgrindError) messages[1]).getCount());
+		assertTrue(messages[0].getText().startsWith("Invalid write of size 4 [PID: 42] ")); //$NON-NLS-1$
+	}
+
+	public void testDifferentStacksNotGrouped() throws Exception {
+		parse(INVALID_WRITE, MAIN_FRAME, INVALID_WRITE, "==42==    at 0x4004F1: f (test.c:4)", //$NON-NLS-1$
+				INVALID_WRITE, MAIN_FRAME, LEAK_FRAME);
+
+		IValgrindMessage[] messages = parser.getMessages();
+		assertEquals(3, messages.length);
+		for (IValgrindMessage message : messages) {
+			assertEquals(1, ((ValgrindError) message).getCount());
+		}
+	}
+
+	public void testMessagesWithoutFramesNotGrouped() throws Exception {
+		parse(HEADER, "==42== HEAP SUMMARY:", HEADER, "==42== HEAP SUMMARY:"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(4, parser.getMessages().length);
+	}
+
+	public void testGroupedBeforeDelivery() throws Exception {
+		parse(INVALID_WRITE, MAIN_FRAME, INVALID_WRITE, MAIN_FRAME);
+		IValgrindMessage[] messages = parser.getNewMessages(false);
+		assertEquals(1, messages.length);
+
+		// the repeat was still being parsed, so it is counted and never returned
+		parse(LEAK, MALLOC_FRAME);
+		assertEquals(0, parser.getNewMessages(false).length);
+		assertEquals(2, ((ValgrindError) messages[0]).getCount());
+		assertEquals(1, parser.getNewMessages(true).length);
+		assertEquals(2, parser.getMessages().length);
+	}
+
+	public void testGroupedIntoDeliveredError() throws Exception {
+		parse(INVALID_WRITE, MAIN_FRAME);
+		IValgrindMessage[] first = parser.getNewMessages(true);
+		assertEquals(1, first.length);
+
+		// a repeat of an error already returned only adds to its count
+		parse(INVALID_WRITE, MAIN_FRAME);
+		assertEquals(0, parser.getNewMessages(true).length);
+		assertEquals(2, ((ValgrindError) first[0]).getCount());
+		assertEquals(1, parser.getMessages().length);
+		assertSame(first[0], parser.getMessages()[0]);
+	}
+
+	public void testSharedFrameTable() throws Exception {
+		ValgrindFrameTable frames = new ValgrindFrameTable();
+		ValgrindCoreParser parser1 = new ValgrindCoreParser(null, 42, frames);
+		ValgrindCoreParser parser2 = new ValgrindCoreParser(null, 43, frames);
+		parser1.parseLine(INVALID_WRITE);
+		parser1.parseLine(MAIN_FRAME);
+		parser2.parseLine("==43== Invalid write of size 4"); //$NON-NLS-1$
+		parser2.parseLine("==43==    at 0x4004E4: main (test.c:10)"); //$NON-NLS-1$
+		parser2.parseLine("==43== Invalid write of size 4"); //$NON-NLS-1$
+		parser2.parseLine("==43==    at 0x4004E4: main (test.c:10)"); //$NON-NLS-1$
+
+		assertSame(frames, parser1.getFrameTable());
+		assertSame(frames, parser2.getFrameTable());
+		assertEquals(1, frames.size());
+
+		ValgrindStackFrame frame1 = (ValgrindStackFrame) parser1.getMessages()[0].getChildren()[0];
+		ValgrindStackFrame frame2 = (ValgrindStackFrame) parser2.getMessages()[0].getChildren()[0];
+		assertEquals(frame1.getFrameId(), frame2.getFrameId());
+		assertEquals("test.c", frame2.getFile()); //$NON-NLS-1$
+
+		// errors are grouped within a process, not across processes
+		assertEquals(1, parser1.getMessages().length);
+		assertEquals(1, ((ValgrindError) parser1.getMessages()[0]).getCount());
+		assertEquals(1, parser2.getMessages().length);
+		assertEquals(2, ((ValgrindError) parser2.getMessages()[0]).getCount());
+	}
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.memcheck.tests;
+
+import junit.framework.TestCase;
+
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindFrameTable;
+
+public class ValgrindFrameTableTest extends TestCase {
+	protected ValgrindFrameTable frames;
+
+	@Override
+	protected void setUp() throws Exception {
+		frames = new ValgrindFrameTable();
+	}
+
+	public void testIntern() throws Exception {
+		int main = frames.intern("at 0x4004E4: main (test.c:10)"); //$NON-NLS-1$
+		int malloc = frames.intern("at 0x4A05E1C: malloc (vg_replace_malloc.c:195)"); //$NON-NLS-1$
+		assertFalse(main == malloc);
+		assertEquals(main, frames.intern(new String("at 0x4004E4: main (test.c:10)"))); //$NON-NLS-1$
+		assertEquals(2, frames.size());
+
+		assertEquals("at 0x4004E4: main (test.c:10)", frames.getText(main)); //$NON-NLS-1$
+		assertEquals("test.c", frames.getFile(main)); //$NON-NLS-1$
+		assertEquals(10, frames.getLine(main));
+		assertEquals("vg_replace_malloc.c", frames.getFile(malloc)); //$NON-NLS-1$
+		assertEquals(195, frames.getLine(malloc));
+	}
+
+	public void testLibraryFrame() throws Exception {
+		int id = frames.intern("by 0x3A9C21EC5C: (below main) (in /lib64/libc-2.12.so)"); //$NON-NLS-1$
+		assertEquals("/lib64/libc-2.12.so", frames.getFile(id)); //$NON-NLS-1$
+		assertEquals(0, frames.getLine(id));
+	}
+
+	public void testFileNamesShared() throws Exception {
+		int a = frames.intern("at 0x4004E4: main (test.c:10)"); //$NON-NLS-1$
+		int b = frames.intern("by 0x4004F1: f (test.c:4)"); //$NON-NLS-1$
+		assertSame(frames.getFile(a), frames.getFile(b));
+	}
+
+	public void testGrows() throws Exception {
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, frames.intern("at 0x" + i + ": f" + i + " (test.c:" + i + ")")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+		assertEquals(1000, frames.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, frames.getLine(i));
+			assertEquals("at 0x" + i + ": f" + i + " (test.c:" + i + ")", frames.getText(i)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2009 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Red Hat - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.linuxtools.internal.valgrind.memcheck.tests;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.Path;
+import org.eclipse.linuxtools.internal.valgrind.core.CommandLineConstants;
+import org.eclipse.linuxtools.internal.valgrind.core.ValgrindCoreParser;
+import org.eclipse.linuxtools.internal.valgrind.launch.ValgrindLogMonitor;
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
+
+public class ValgrindLogMonitorTest extends TestCase {
+	private static final FileFilter LOG_FILTER = new FileFilter() {
+		public boolean accept(File pathname) {
+			return pathname.getName().startsWith(CommandLineConstants.LOG_PREFIX);
+		}
+	};
+
+	protected File outputDir;
+	protected ValgrindLogMonitor monitor;
+
+	@Override
+	protected void setUp() throws Exception {
+		outputDir = File.createTempFile("valgrind", null); //$NON-NLS-1$
+		outputDir.delete();
+		outputDir.mkdir();
+		monitor = new ValgrindLogMonitor(new Path(outputDir.getAbsolutePath()), LOG_FILTER, null);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		monitor.dispose();
+		for (File file : outputDir.listFiles()) {
+			file.delete();
+		}
+		outputDir.delete();
+	}
+
+	protected void append(int pid, String text) throws IOException {
+		File log = new File(outputDir, CommandLineConstants.LOG_PREFIX + pid + ".txt"); //$NON-NLS-1$
+		FileOutputStream out = new FileOutputStream(log, true);
+		try {
+			out.write(text.getBytes());
+		} finally {
+			out.close();
+		}
+	}
+
+	public void testLogInPieces() throws Exception {
+		// a line is only parsed once its terminator has been written
+		append(42, "==42== Memcheck, a memory error detector\n==42== Invalid wr"); //$NON-NLS-1$
+		assertEquals(0, monitor.poll(false).length);
+		append(42, "ite of size 4\n"); //$NON-NLS-1$
+		IValgrindMessage[] messages = monitor.poll(false);
+		assertEquals(1, messages.length);
+		assertTrue(messages[0].getText().startsWith("Memcheck")); //$NON-NLS-1$
+
+		// the error is only complete once the next message starts, however
+		// many polls find nothing new in between
+		append(42, "==42==    at 0x4004E4: main (test.c:10)\n"); //$NON-NLS-1$
+		assertEquals(0, monitor.poll(false).length);
+		assertEquals(0, monitor.poll(false).length);
+		append(42, "==42==  Address 0x0 is not stack'd\n"); //$NON-NLS-1$
+		assertEquals(0, monitor.poll(false).length);
+
+		append(42, "==42== HEAP SUMMARY:\n==42==     in use at exit: 0 bytes in 0 blocks"); //$NON-NLS-1$
+		messages = monitor.poll(false);
+		assertEquals(1, messages.length);
+		assertEquals("Invalid write of size 4 [PID: 42]", messages[0].getText()); //$NON-NLS-1$
+		assertEquals(2, messages[0].getChildren().length);
+
+		// the last line has no terminator, and is parsed once Valgrind exits
+		messages = monitor.poll(true);
+		assertEquals(1, messages.length);
+		assertTrue(messages[0].getText().startsWith("HEAP SUMMARY:")); //$NON-NLS-1$
+		assertEquals(1, messages[0].getChildren().length);
+		assertEquals(0, monitor.poll(true).length);
+	}
+
+	public void testChildProcessLogs() throws Exception {
+		append(42, "==42== Memcheck, a memory error detector\n"); //$NON-NLS-1$
+		assertEquals(0, monitor.poll(false).length);
+
+		append(43, "==43== Memcheck, a memory error detector\n==43== Invalid read of size 1\n"); //$NON-NLS-1$
+		append(42, "==42== Invalid write of size 4\n"); //$NON-NLS-1$
+		IValgrindMessage[] messages = monitor.poll(false);
+		assertEquals(2, messages.length);
+
+		messages = monitor.poll(true);
+		assertEquals(2, messages.length);
+
+		ValgrindCoreParser[] parsers = monitor.getParsers();
+		assertEquals(2, parsers.length);
+		assertEquals(2, parsers[0].getMessages().length);
+		assertEquals(2, parsers[1].getMessages().length);
+		// the logs share their stack frames
+		assertSame(parsers[0].getFrameTable(), parsers[1].getFrameTable());
+	}
+}
@@ -10,6 +10,8 @@
  *******************************************************************************/ 
 package org.eclipse.linuxtools.internal.valgrind.ui;
 
+import java.util.List;
+
 import org.eclipse.cdt.debug.ui.CDebugUIPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.debug.core.DebugPlugin;
@@ -65,6 +67,10 @@ public class CoreMessagesViewer {
 				if (parentElement instanceof Object[]) {
 					return (Object[]) parentElement;
 				}
+				else if (parentElement instanceof List) {
+					// messages added while Valgrind is running
+					return ((List<?>) parentElement).toArray();
+				}
 				return ((IValgrindMessage) parentElement).getChildren();
 			}
 
@@ -19,6 +19,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.linuxtools.internal.valgrind.core.PluginConstants;
+import org.eclipse.linuxtools.valgrind.core.IValgrindMessage;
 import org.eclipse.linuxtools.valgrind.ui.IValgrindToolView;
 import org.eclipse.linuxtools.valgrind.ui.ValgrindUIConstants;
 import org.eclipse.swt.widgets.Display;
@@ -119,6 +120,34 @@ public class ValgrindUIPlugin extends AbstractUIPlugin {
 		});
 	}
 	
+	/**
+	 * Adds messages to the Valgrind view while Valgrind is running,
+	 * opening the view if it has not been created yet. Does not block
+	 * the calling thread.
+	 * @param messages - top-level messages to add
+	 */
+	public void addMessages(final IValgrindMessage[] messages) {
+		if (messages.length == 0) {
+			return;
+		}
+		Display.getDefault().asyncExec(new Runnable() {
+			public void run() {
+				try {
+					if (view == null) {
+						activePage = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+						activePage.showView(ValgrindUIConstants.VIEW_ID, null, IWorkbenchPage.VIEW_VISIBLE);
+					}
+					// the view is only set once its part is created, which may have failed
+					if (view != null) {
+						view.addMessages(messages);
+					}
+				} catch (PartInitException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+	}
+	
 	/**
 	 * Refreshes the Valgrind view
 	 */
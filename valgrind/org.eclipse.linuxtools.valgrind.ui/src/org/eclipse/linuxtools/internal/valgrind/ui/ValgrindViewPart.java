@@ -10,6 +10,9 @@
  *******************************************************************************/ 
 package org.eclipse.linuxtools.internal.valgrind.ui;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.ActionContributionItem;
@@ -34,6 +37,8 @@ public class ValgrindViewPart extends ViewPart {
 	protected IValgrindToolView dynamicView;
 	protected ActionContributionItem[] dynamicActions;
 	protected IValgrindMessage[] messages;
+	// messages shown while Valgrind is still running
+	protected ArrayList<IValgrindMessage> liveMessages;
 	protected CoreMessagesViewer messagesViewer;
 	protected Action showCoreAction;
 	protected Action showToolAction;
@@ -87,9 +92,10 @@ public class ValgrindViewPart extends ViewPart {
 		}
 	
 		// remove old messages
-		if (messages != null){
+		if (messages != null || liveMessages != null){
 			messagesViewer.getTreeViewer().setInput(null);
 			messages = null;
+			liveMessages = null;
 		}
 		
 		for (Control child : dynamicViewHolder.getChildren()) {
@@ -141,6 +147,22 @@ public class ValgrindViewPart extends ViewPart {
 		return messages;
 	}
 	
+	/**
+	 * Appends messages to the core page while Valgrind is still running.
+	 * The final messages replace these once set and refreshed.
+	 * @param newMessages - top-level messages to append
+	 */
+	public void addMessages(IValgrindMessage[] newMessages) {
+		if (liveMessages == null) {
+			liveMessages = new ArrayList<IValgrindMessage>();
+			messagesViewer.getTreeViewer().setInput(liveMessages);
+			showCoreAction.setEnabled(true);
+			showCorePage();
+		}
+		liveMessages.addAll(Arrays.asList(newMessages));
+		messagesViewer.getTreeViewer().add(liveMessages, (Object[]) newMessages);
+	}
+	
 	@Override
 	public void setFocus() {
 		if (dynamicView != null) {
@@ -150,6 +172,7 @@ public class ValgrindViewPart extends ViewPart {
 
 	public void refreshView() {
 		if (messages != null) {
+			liveMessages = null;
 			messagesViewer.getTreeViewer().setInput(messages);
 			
 			// decide which page to show